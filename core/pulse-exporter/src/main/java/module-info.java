@@ -0,0 +1,13 @@
+/**
+ * Module for Pulse exporters, which publish Pulse metrics to monitoring systems.
+ *
+ */
+module org.torch.pulse.exporter {
+  exports org.torch.pulse.exporter;
+  exports org.torch.pulse.exporter.prometheus;
+  exports org.torch.pulse.exporter.push;
+
+  requires org.torch.pulse.logger;
+  requires transitive org.torch.pulse.oshi;
+  requires jdk.httpserver;
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for text wire formats, with numbers encoded straight to ASCII digits rather
+ * than through {@link String#format} or {@link Double#toString}.
+ *
+ * <p>
+ * The buffer only grows, so a renderer that reuses one instance stops allocating once it has seen
+ * its largest payload. Not thread-safe.
+ */
+public final class AsciiBuffer {
+
+  private static final byte[] NAN = ascii("NaN");
+  private static final byte[] POSITIVE_INFINITY = ascii("+Inf");
+  private static final byte[] NEGATIVE_INFINITY = ascii("-Inf");
+  private static final byte[] LONG_MIN_VALUE = ascii(Long.toString(Long.MIN_VALUE));
+  // Integers below this are exact as longs and as doubles.
+  private static final double INTEGER_LIMIT = 0x1p53;
+  // Fixed point covers [1e-3, 1e12); other magnitudes are shorter in exponent notation.
+  private static final double FIXED_POINT_MAX = 1e12;
+  private static final double FIXED_POINT_MIN = 1e-3;
+  // Powers of ten that are exact both as longs and as doubles.
+  private static final long[] POWERS_OF_TEN = powersOfTen(18);
+
+  private byte[] bytes;
+  private int length;
+
+  public AsciiBuffer() {
+    this(4096);
+  }
+
+  public AsciiBuffer(int initialCapacity) {
+    this.bytes = new byte[Math.max(16, initialCapacity)];
+  }
+
+  private static long[] powersOfTen(int count) {
+    long[] powers = new long[count];
+    powers[0] = 1L;
+    for (int i = 1; i < count; i++) {
+      powers[i] = powers[i - 1] * 10;
+    }
+    return powers;
+  }
+
+  public static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Returns the backing array; only the first {@link #length()} bytes are content, and the array
+   * is replaced when the buffer grows.
+   */
+  public byte[] array() {
+    return bytes;
+  }
+
+  public void reset() {
+    length = 0;
+  }
+
+  /**
+   * Drops everything after the first {@code newLength} bytes, for example a line that did not fit.
+   */
+  public void truncate(int newLength) {
+    if (newLength < 0 || newLength > length) {
+      throw new IndexOutOfBoundsException(newLength);
+    }
+    length = newLength;
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(bytes, 0, length);
+  }
+
+  /**
+   * Copies bytes {@code [from, to)} into {@code target}.
+   */
+  public void copyTo(int from, int to, ByteBuffer target) {
+    target.put(bytes, from, to - from);
+  }
+
+  private void ensure(int extra) {
+    if (length + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+  }
+
+  public AsciiBuffer append(byte value) {
+    ensure(1);
+    bytes[length++] = value;
+    return this;
+  }
+
+  public AsciiBuffer append(char value) {
+    return append((byte) value);
+  }
+
+  public AsciiBuffer append(byte[] value) {
+    return append(value, 0, value.length);
+  }
+
+  public AsciiBuffer append(byte[] value, int offset, int count) {
+    ensure(count);
+    System.arraycopy(value, offset, bytes, length, count);
+    length += count;
+    return this;
+  }
+
+  /**
+   * Appends {@code value}, which must be ASCII; other characters are replaced with {@code ?}.
+   */
+  public AsciiBuffer appendAscii(CharSequence value) {
+    int count = value.length();
+    ensure(count);
+    for (int i = 0; i < count; i++) {
+      char c = value.charAt(i);
+      bytes[length++] = c < 0x80 ? (byte) c : (byte) '?';
+    }
+    return this;
+  }
+
+  public AsciiBuffer append(long value) {
+    if (value == Long.MIN_VALUE) {
+      return append(LONG_MIN_VALUE);
+    }
+    if (value < 0) {
+      append((byte) '-');
+      value = -value;
+    }
+    int digits = digits(value);
+    ensure(digits);
+    int end = length + digits;
+    for (int i = end - 1; i >= length; i--) {
+      bytes[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    length = end;
+    return this;
+  }
+
+  private static int digits(long value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+
+  /**
+   * Appends {@code value} in the shortest form that parses back to the same double: an integer,
+   * fixed point for magnitudes in [1e-3, 1e12), or {@link Double#toString} notation otherwise. NaN
+   * and infinities are written as {@code NaN}, {@code +Inf} and {@code -Inf}.
+   */
+  public AsciiBuffer append(double value) {
+    if (Double.isNaN(value)) {
+      return append(NAN);
+    }
+    if (Double.isInfinite(value)) {
+      return append(value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+    }
+    double magnitude = Math.abs(value);
+    if (magnitude < INTEGER_LIMIT && value == Math.rint(value)) {
+      return append((long) value);
+    }
+    if (magnitude < FIXED_POINT_MAX && magnitude >= FIXED_POINT_MIN) {
+      // The fewest decimals d such that scaled / 10^d rounds back to the value. Both operands are
+      // exact, so the division rounds the same way as parsing the decimal text does.
+      for (int decimals = 1; decimals < POWERS_OF_TEN.length; decimals++) {
+        double scale = POWERS_OF_TEN[decimals];
+        double scaled = Math.rint(magnitude * scale);
+        if (scaled >= INTEGER_LIMIT) {
+          break;
+        }
+        if (scaled / scale == magnitude) {
+          return appendFixedPoint(value < 0, (long) scaled, decimals);
+        }
+      }
+    }
+    // Rare enough that the allocation does not matter, and exact.
+    return appendAscii(Double.toString(value));
+  }
+
+  private AsciiBuffer appendFixedPoint(boolean negative, long scaled, int decimals) {
+    if (negative) {
+      append((byte) '-');
+    }
+    long scale = POWERS_OF_TEN[decimals];
+    append(scaled / scale);
+    long fraction = scaled % scale;
+    ensure(1 + decimals);
+    bytes[length++] = '.';
+    int end = length + decimals;
+    for (int i = end - 1; i >= length; i--) {
+      bytes[i] = (byte) ('0' + fraction % 10);
+      fraction /= 10;
+    }
+    length = end;
+    return this;
+  }
+}
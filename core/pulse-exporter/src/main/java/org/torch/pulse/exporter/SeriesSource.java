@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter;
+
+import java.util.List;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Anything that can be visited as named series values, so exporters can take a
+ * {@link SystemMetrics}, a {@code ProbeSnapshot} or a {@code SharedMetricsReader} alike, e.g.
+ * {@code snapshot::forEach}.
+ */
+@FunctionalInterface
+public interface SeriesSource {
+
+  void forEach(SystemMetricsSeries.Visitor visitor);
+
+  /**
+   * Returns a source of the non-stale series of {@code metrics}.
+   */
+  static SeriesSource of(SystemMetrics metrics) {
+    return visitor -> SystemMetricsSeries.forEach(metrics, visitor);
+  }
+
+  /**
+   * Returns a source of the total, used and used-percent series of each disk, named as in
+   * {@link SystemMetricsSeries}.
+   */
+  static SeriesSource of(List<DiskMetrics> disks) {
+    return visitor -> {
+      for (int i = 0, n = disks.size(); i < n; i++) {
+        DiskMetrics disk = disks.get(i);
+        String mountPoint = disk.getMountPoint();
+        long total = disk.getTotalSpace();
+        long used = disk.getUsedSpace();
+        visitor.accept(SystemMetricsSeries.diskTotal(mountPoint), total);
+        visitor.accept(SystemMetricsSeries.diskUsed(mountPoint), used);
+        visitor.accept(SystemMetricsSeries.diskUsedPercent(mountPoint),
+            total > 0 ? used * 100.0 / total : 0d);
+      }
+    };
+  }
+
+  /**
+   * Returns the name of the dimension carried after the colon of a series name, given the part
+   * before it: {@code device} for disk I/O, {@code mountpoint} for disk usage, {@code interface}
+   * for network series and {@code name} otherwise.
+   */
+  static String dimensionName(String base) {
+    if (base.startsWith("disk.io.")) {
+      return "device";
+    }
+    if (base.startsWith("disk.")) {
+      return "mountpoint";
+    }
+    if (base.startsWith("net.")) {
+      return "interface";
+    }
+    return "name";
+  }
+}
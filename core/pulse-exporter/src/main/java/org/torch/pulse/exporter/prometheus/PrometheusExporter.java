@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.prometheus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.torch.pulse.exporter.AsciiBuffer;
+import org.torch.pulse.exporter.SeriesSource;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+
+/**
+ * Serves metrics in the Prometheus text format from the JDK's built-in HTTP server, handling each
+ * exchange on a virtual thread.
+ *
+ * <p>
+ * The payload is rendered once per {@link #update(SeriesSource) update} into a reused buffer and
+ * published as one immutable byte array; every scrape until the next update writes that array
+ * as-is, without rendering or copying. Before the first update, scrapes get an empty body.
+ */
+public final class PrometheusExporter implements AutoCloseable {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("PrometheusExporterLogger");
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  public static final String DEFAULT_PATH = "/metrics";
+  public static final String DEFAULT_NAMESPACE = "pulse";
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final PrometheusRenderer renderer;
+  // Guarded by this.
+  private final AsciiBuffer buffer = new AsciiBuffer();
+  private volatile byte[] payload = new byte[0];
+  private ScheduledExecutorService ticker;
+
+  /**
+   * Starts serving {@value #DEFAULT_PATH} with the {@value #DEFAULT_NAMESPACE} namespace.
+   *
+   * @param address where to listen; port 0 picks a free port
+   */
+  public PrometheusExporter(InetSocketAddress address) throws IOException {
+    this(address, DEFAULT_PATH, DEFAULT_NAMESPACE);
+  }
+
+  /**
+   * @param address where to listen; port 0 picks a free port
+   * @param path the path to serve, e.g. {@code /metrics}
+   * @param namespace prefix of every metric name
+   */
+  public PrometheusExporter(InetSocketAddress address, String path, String namespace)
+      throws IOException {
+    this.renderer = new PrometheusRenderer(namespace);
+    this.server = HttpServer.create(address, 0);
+    server.setExecutor(executor);
+    server.createContext(path, this::handle);
+    server.start();
+    logger.info("Prometheus exporter listening on {}{}", server.getAddress(), path);
+  }
+
+  /**
+   * Returns the address the server is bound to.
+   */
+  public InetSocketAddress address() {
+    return server.getAddress();
+  }
+
+  /**
+   * Renders {@code source} and serves it to every scrape until the next update.
+   */
+  public synchronized void update(SeriesSource source) {
+    buffer.reset();
+    renderer.render(source, buffer);
+    payload = buffer.toByteArray();
+  }
+
+  /**
+   * Renders the non-stale series of {@code metrics}.
+   */
+  public void update(SystemMetrics metrics) {
+    update(SeriesSource.of(metrics));
+  }
+
+  /**
+   * Collects a snapshot from {@code provider} and renders it at a fixed interval on a background
+   * thread, starting at once. Calling it more than once has no effect.
+   *
+   * @param provider not closed by the exporter
+   */
+  public synchronized void start(SystemMetricsProvider provider, Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Update interval must be positive");
+    }
+    if (ticker != null) {
+      return;
+    }
+    ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pulse-prometheus-exporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ticker.scheduleAtFixedRate(() -> {
+      try {
+        update(provider.snapshot());
+      } catch (RuntimeException e) {
+        // An escaping exception would silently cancel the schedule; keep serving the last payload.
+        logger.error("Prometheus exporter update failed", e);
+      }
+    }, 0L, interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String method = exchange.getRequestMethod();
+      boolean head = "HEAD".equals(method);
+      if (!head && !"GET".equals(method)) {
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      byte[] body = payload;
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      if (head || body.length == 0) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (ticker != null) {
+      ticker.shutdownNow();
+      ticker = null;
+    }
+    server.stop(0);
+    executor.shutdownNow();
+    logger.info("Prometheus exporter stopped.");
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.prometheus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.torch.pulse.exporter.AsciiBuffer;
+import org.torch.pulse.exporter.SeriesSource;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Renders series values in the Prometheus text exposition format.
+ *
+ * <p>
+ * A series name becomes a metric family under the namespace, with dots turned into underscores,
+ * and the part after a colon becomes a label: {@code disk.used:/data} is rendered as
+ * {@code pulse_disk_used{mountpoint="/data"}}, disk I/O series get a {@code device} label and
+ * network series an {@code interface} label. All families are gauges. Lines are grouped by family,
+ * as the format requires.
+ *
+ * <p>
+ * The encoded name and labels of each series are cached, and series are grouped with a counting
+ * sort over reused arrays, so rendering a stable set of series allocates nothing. Not thread-safe.
+ */
+public final class PrometheusRenderer implements SystemMetricsSeries.Visitor {
+
+  private static final byte[] TYPE = AsciiBuffer.ascii("# TYPE ");
+  private static final byte[] GAUGE = AsciiBuffer.ascii(" gauge\n");
+  // Guards against unbounded growth when series come and go, e.g. per-container names.
+  private static final int MAX_CACHED_SERIES = 16_384;
+
+  private final String namespace;
+  private final Map<String, Series> seriesByName = new HashMap<>();
+  private final Map<String, Integer> familyIds = new HashMap<>();
+  private final List<byte[]> familyNames = new ArrayList<>();
+
+  // Per render.
+  private Series[] pending = new Series[64];
+  private double[] pendingValues = new double[64];
+  private int pendingCount;
+  private int[] familyStarts = new int[16];
+  private int[] sorted = new int[64];
+
+  private record Series(int family, byte[] prefix) {
+  }
+
+  /**
+   * @param namespace prefix of every metric name, e.g. {@code pulse}
+   */
+  public PrometheusRenderer(String namespace) {
+    this.namespace = namespace;
+  }
+
+  /**
+   * Renders every value of {@code source} into {@code out}, after its current content.
+   */
+  public void render(SeriesSource source, AsciiBuffer out) {
+    if (seriesByName.size() > MAX_CACHED_SERIES) {
+      seriesByName.clear();
+      familyIds.clear();
+      familyNames.clear();
+    }
+    pendingCount = 0;
+    source.forEach(this);
+    write(out);
+  }
+
+  /**
+   * Collects one value; use {@link #render(SeriesSource, AsciiBuffer)} instead of calling this
+   * directly.
+   */
+  @Override
+  public void accept(String series, double value) {
+    Series cached = seriesByName.get(series);
+    if (cached == null) {
+      cached = describe(series);
+      seriesByName.put(series, cached);
+    }
+    if (pendingCount == pending.length) {
+      pending = Arrays.copyOf(pending, pendingCount * 2);
+      pendingValues = Arrays.copyOf(pendingValues, pendingCount * 2);
+    }
+    pending[pendingCount] = cached;
+    pendingValues[pendingCount] = value;
+    pendingCount++;
+  }
+
+  private void write(AsciiBuffer out) {
+    int families = familyNames.size();
+    if (familyStarts.length < families + 1) {
+      familyStarts = new int[Math.max(familyStarts.length * 2, families + 1)];
+    }
+    if (sorted.length < pendingCount) {
+      sorted = new int[Math.max(sorted.length * 2, pendingCount)];
+    }
+    Arrays.fill(familyStarts, 0, families + 1, 0);
+    for (int i = 0; i < pendingCount; i++) {
+      familyStarts[pending[i].family() + 1]++;
+    }
+    for (int family = 0; family < families; family++) {
+      familyStarts[family + 1] += familyStarts[family];
+    }
+    // familyStarts[f] now is where family f begins; advance it while placing.
+    for (int i = 0; i < pendingCount; i++) {
+      sorted[familyStarts[pending[i].family()]++] = i;
+    }
+    // After placing, familyStarts[f] is where family f ends, i.e. family f + 1 begins.
+    int start = 0;
+    for (int family = 0; family < families; family++) {
+      int end = familyStarts[family];
+      if (end > start) {
+        out.append(TYPE).append(familyNames.get(family)).append(GAUGE);
+        for (int i = start; i < end; i++) {
+          int index = sorted[i];
+          out.append(pending[index].prefix()).append(pendingValues[index]).append((byte) '\n');
+        }
+      }
+      start = end;
+    }
+  }
+
+  private Series describe(String series) {
+    int colon = series.indexOf(':');
+    String base = colon < 0 ? series : series.substring(0, colon);
+    String family = familyName(base);
+    Integer id = familyIds.get(family);
+    if (id == null) {
+      id = familyNames.size();
+      familyIds.put(family, id);
+      familyNames.add(family.getBytes(StandardCharsets.US_ASCII));
+    }
+    StringBuilder prefix = new StringBuilder(family);
+    if (colon >= 0) {
+      prefix.append('{').append(SeriesSource.dimensionName(base)).append("=\"");
+      escapeLabelValue(series.substring(colon + 1), prefix);
+      prefix.append("\"}");
+    }
+    prefix.append(' ');
+    return new Series(id, prefix.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String familyName(String base) {
+    StringBuilder name = new StringBuilder(namespace.length() + 1 + base.length());
+    name.append(namespace).append('_');
+    for (int i = 0; i < base.length(); i++) {
+      char c = base.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '_';
+      name.append(valid ? c : '_');
+    }
+    return name.toString();
+  }
+
+  private static void escapeLabelValue(String value, StringBuilder out) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> out.append("\\\\");
+        case '"' -> out.append("\\\"");
+        case '\n' -> out.append("\\n");
+        default -> out.append(c);
+      }
+    }
+  }
+}
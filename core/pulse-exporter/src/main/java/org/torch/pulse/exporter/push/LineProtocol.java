@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.push;
+
+import java.nio.charset.StandardCharsets;
+import org.torch.pulse.exporter.AsciiBuffer;
+import org.torch.pulse.exporter.SeriesSource;
+
+/**
+ * Text line formats a {@link UdpPushExporter} can send. Every value is sent as a gauge.
+ */
+public enum LineProtocol {
+
+  /**
+   * StatsD gauges, such as {@code pulse.disk.used./data:42|g}. The part of a series name after
+   * the colon becomes the last segment of the metric name, with the characters StatsD reserves
+   * ({@code : | @ #}, commas and whitespace) replaced by underscores.
+   */
+  STATSD {
+    @Override
+    byte[] prefix(String namespace, String series) {
+      StringBuilder prefix = new StringBuilder(namespace.length() + series.length() + 2);
+      prefix.append(namespace).append('.');
+      int colon = series.indexOf(':');
+      if (colon < 0) {
+        appendStatsdName(series, prefix);
+      } else {
+        appendStatsdName(series.substring(0, colon), prefix);
+        prefix.append('.');
+        appendStatsdName(series.substring(colon + 1), prefix);
+      }
+      prefix.append(':');
+      return prefix.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void appendLine(byte[] prefix, double value, long timestampMillis, AsciiBuffer out) {
+      out.append(prefix).append(value).append(GAUGE_TYPE);
+    }
+  },
+
+  /**
+   * InfluxDB line protocol with nanosecond timestamps, such as
+   * {@code pulse_disk_used,mountpoint=/data value=42 1700000000000000000}. The part of a series
+   * name after the colon becomes a tag named as in {@link SeriesSource#dimensionName(String)}.
+   */
+  INFLUX {
+    @Override
+    byte[] prefix(String namespace, String series) {
+      StringBuilder prefix = new StringBuilder(namespace.length() + series.length() + 24);
+      int colon = series.indexOf(':');
+      String base = colon < 0 ? series : series.substring(0, colon);
+      appendInfluxKey(namespace + '_' + base.replace('.', '_'), prefix);
+      if (colon >= 0 && colon + 1 < series.length()) {
+        prefix.append(',').append(SeriesSource.dimensionName(base)).append('=');
+        appendInfluxKey(series.substring(colon + 1), prefix);
+      }
+      prefix.append(" value=");
+      return prefix.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void appendLine(byte[] prefix, double value, long timestampMillis, AsciiBuffer out) {
+      out.append(prefix).append(value).append((byte) ' ').append(timestampMillis * 1_000_000L);
+    }
+  };
+
+  private static final byte[] GAUGE_TYPE = AsciiBuffer.ascii("|g");
+
+  /**
+   * Encodes everything of a line that depends only on the series name, so it can be cached.
+   */
+  abstract byte[] prefix(String namespace, String series);
+
+  /**
+   * Appends one line, without the trailing newline.
+   */
+  abstract void appendLine(byte[] prefix, double value, long timestampMillis, AsciiBuffer out);
+
+  private static void appendStatsdName(String name, StringBuilder out) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean reserved = c == ':' || c == '|' || c == '@' || c == '#' || c == ','
+          || Character.isWhitespace(c);
+      out.append(reserved ? '_' : c);
+    }
+  }
+
+  /**
+   * Escapes a measurement name, tag key or tag value. Newlines cannot be escaped at all.
+   */
+  private static void appendInfluxKey(String key, StringBuilder out) {
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      switch (c) {
+        case ',', '=', ' ', '\\' -> out.append('\\').append(c);
+        case '\n', '\r' -> out.append('_');
+        default -> out.append(c);
+      }
+    }
+  }
+}
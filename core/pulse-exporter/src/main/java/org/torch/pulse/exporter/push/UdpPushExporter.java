@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.push;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.torch.pulse.exporter.AsciiBuffer;
+import org.torch.pulse.exporter.SeriesSource;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Pushes metrics over UDP as StatsD or InfluxDB lines, for hosts that cannot be scraped.
+ *
+ * <p>
+ * Lines are packed, newline-separated, into datagrams of at most {@code maxDatagramBytes}, so a
+ * push of a few hundred series takes a handful of packets that are never IP-fragmented. Each line
+ * is encoded into a reused buffer from a cached per-series prefix and copied straight into a
+ * direct buffer that the channel sends without an intermediate heap copy. Values that are not
+ * finite are skipped, as neither protocol can carry them, and so is a line that does not fit in a
+ * datagram on its own.
+ *
+ * <p>
+ * UDP gives no delivery guarantee; datagrams are sent without connecting the channel, so a
+ * collector that is down costs nothing but lost lines. Thread-safe.
+ */
+public final class UdpPushExporter implements AutoCloseable {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("UdpPushExporterLogger");
+
+  /**
+   * Fits an Ethernet MTU of 1500 bytes with room for IPv6, UDP and tunnel headers; the size
+   * StatsD clients commonly use.
+   */
+  public static final int DEFAULT_DATAGRAM_BYTES = 1432;
+  public static final String DEFAULT_NAMESPACE = "pulse";
+  // The largest UDP payload over IPv4.
+  private static final int MAX_DATAGRAM_BYTES = 65_507;
+  private static final int MIN_DATAGRAM_BYTES = 64;
+  // Guards against unbounded growth when series come and go, e.g. per-container names.
+  private static final int MAX_CACHED_SERIES = 16_384;
+
+  private final DatagramChannel channel;
+  private final InetSocketAddress target;
+  private final LineProtocol protocol;
+  private final String namespace;
+  private final ByteBuffer datagram;
+  private final AsciiBuffer line = new AsciiBuffer(256);
+  private final Map<String, byte[]> prefixes = new HashMap<>();
+  private final SystemMetricsSeries.Visitor encoder = this::encode;
+  private ScheduledExecutorService ticker;
+
+  // Per push.
+  private long timestampMillis;
+  private int sent;
+  private IOException failure;
+
+  /**
+   * Sends {@value #DEFAULT_DATAGRAM_BYTES}-byte datagrams under the {@value #DEFAULT_NAMESPACE}
+   * namespace.
+   */
+  public UdpPushExporter(InetSocketAddress target, LineProtocol protocol) throws IOException {
+    this(target, protocol, DEFAULT_NAMESPACE, DEFAULT_DATAGRAM_BYTES);
+  }
+
+  /**
+   * @param target the StatsD or InfluxDB UDP listener
+   * @param namespace prefix of every metric name
+   * @param maxDatagramBytes upper bound of a datagram's payload
+   */
+  public UdpPushExporter(InetSocketAddress target, LineProtocol protocol, String namespace,
+      int maxDatagramBytes) throws IOException {
+    if (maxDatagramBytes < MIN_DATAGRAM_BYTES || maxDatagramBytes > MAX_DATAGRAM_BYTES) {
+      throw new IllegalArgumentException("Datagram size must be between " + MIN_DATAGRAM_BYTES
+          + " and " + MAX_DATAGRAM_BYTES + " bytes: " + maxDatagramBytes);
+    }
+    if (target.isUnresolved()) {
+      throw new IllegalArgumentException("Unresolved push target: " + target);
+    }
+    this.target = target;
+    this.protocol = protocol;
+    this.namespace = namespace;
+    this.datagram = ByteBuffer.allocateDirect(maxDatagramBytes);
+    this.channel = DatagramChannel.open();
+  }
+
+  /**
+   * Sends every value of {@code source}, stamped with {@code timestampMillis} where the protocol
+   * carries a timestamp.
+   *
+   * @return the number of datagrams sent
+   * @throws IOException if a datagram could not be sent; the rest of the push is abandoned
+   */
+  public synchronized int push(SeriesSource source, long timestampMillis) throws IOException {
+    if (prefixes.size() > MAX_CACHED_SERIES) {
+      prefixes.clear();
+    }
+    this.timestampMillis = timestampMillis;
+    sent = 0;
+    failure = null;
+    datagram.clear();
+    source.forEach(encoder);
+    flush();
+    if (failure != null) {
+      throw failure;
+    }
+    return sent;
+  }
+
+  /**
+   * Sends the non-stale series of {@code metrics}, stamped with its collection time.
+   */
+  public int push(SystemMetrics metrics) throws IOException {
+    return push(SeriesSource.of(metrics), metrics.getTimestamp());
+  }
+
+  /**
+   * Collects a snapshot from {@code provider} and pushes it at a fixed interval on a background
+   * thread, starting at once. Calling it more than once has no effect.
+   *
+   * @param provider not closed by the exporter
+   */
+  public synchronized void start(SystemMetricsProvider provider, Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Push interval must be positive");
+    }
+    if (ticker != null) {
+      return;
+    }
+    ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pulse-udp-push-exporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ticker.scheduleAtFixedRate(() -> {
+      try {
+        push(provider.snapshot());
+      } catch (IOException e) {
+        logger.warn("UDP push to {} failed: {}", target, e.getMessage());
+      } catch (RuntimeException e) {
+        // An escaping exception would silently cancel the schedule; try again next tick.
+        logger.error("UDP push failed", e);
+      }
+    }, 0L, interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void encode(String series, double value) {
+    if (failure != null || !Double.isFinite(value)) {
+      return;
+    }
+    byte[] prefix = prefixes.get(series);
+    if (prefix == null) {
+      prefix = protocol.prefix(namespace, series);
+      prefixes.put(series, prefix);
+    }
+    line.reset();
+    protocol.appendLine(prefix, value, timestampMillis, line);
+    int length = line.length();
+    // Every line but the first of a datagram is preceded by a newline.
+    int needed = datagram.position() == 0 ? length : length + 1;
+    if (needed > datagram.remaining()) {
+      flush();
+      if (failure != null) {
+        return;
+      }
+      if (length > datagram.remaining()) {
+        logger.debug("Dropping {}: its line does not fit in a datagram", series);
+        return;
+      }
+    }
+    if (datagram.position() > 0) {
+      datagram.put((byte) '\n');
+    }
+    line.copyTo(0, length, datagram);
+  }
+
+  private void flush() {
+    if (datagram.position() == 0 || failure != null) {
+      return;
+    }
+    datagram.flip();
+    try {
+      channel.send(datagram, target);
+      sent++;
+    } catch (IOException e) {
+      failure = e;
+    }
+    datagram.clear();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (ticker != null) {
+      ticker.shutdownNow();
+      ticker = null;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close the UDP push channel: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for AsciiBuffer using JUnit 5.
+ */
+public class AsciiBufferTest {
+
+  private static String text(AsciiBuffer buffer) {
+    return new String(buffer.array(), 0, buffer.length(), StandardCharsets.US_ASCII);
+  }
+
+  @ParameterizedTest(name = "{0} -> {1}")
+  @CsvSource({"0, 0", "7, 7", "-42, -42", "9223372036854775807, 9223372036854775807",
+      "-9223372036854775808, -9223372036854775808"})
+  @DisplayName("Encodes longs")
+  void testLong(long value, String expected) {
+    assertEquals(expected, text(new AsciiBuffer().append(value)));
+  }
+
+  @ParameterizedTest(name = "{0} -> {1}")
+  @CsvSource({"0.0, 0", "-0.0, 0", "42.0, 42", "12.5, 12.5", "-3.25, -3.25", "0.001, 0.001",
+      "1.0000004, 1.0000004", "99.9999996, 99.9999996", "123456.789012, 123456.789012",
+      "0.0012345678, 0.0012345678", "-0.1, -0.1", "0.30000000000000004, 0.30000000000000004",
+      "1234.567890123, 1234.567890123", "1.0E-4, 1.0E-4",
+      "1.5E13, 15000000000000", "1.23456789E12, 1234567890000", "1.5E20, 1.5E20",
+      "NaN, NaN", "Infinity, +Inf", "-Infinity, -Inf"})
+  @DisplayName("Encodes doubles without String.format")
+  void testDouble(double value, String expected) {
+    assertEquals(expected, text(new AsciiBuffer().append(value)));
+  }
+
+  @Test
+  @DisplayName("Writes doubles that parse back to the same value")
+  void testDoubleRoundTrip() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      double value = Math.scalb(random.nextDouble(), random.nextInt(60) - 20);
+      String text = text(new AsciiBuffer().append(value));
+      assertEquals(value, Double.parseDouble(text), text);
+      assertTrue(text.length() <= Double.toString(value).length(), text);
+    }
+  }
+
+  @Test
+  @DisplayName("Grows past its initial capacity and truncates")
+  void testGrowAndTruncate() {
+    AsciiBuffer buffer = new AsciiBuffer(16);
+    for (int i = 0; i < 100; i++) {
+      buffer.appendAscii("abc");
+    }
+    assertEquals(300, buffer.length());
+
+    buffer.truncate(3);
+
+    assertEquals("abc", text(buffer));
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.truncate(4));
+  }
+}
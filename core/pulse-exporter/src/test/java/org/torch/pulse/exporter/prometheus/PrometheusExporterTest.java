@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.prometheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Unit tests for PrometheusExporter against a local HTTP server.
+ */
+public class PrometheusExporterTest {
+
+  private PrometheusExporter exporter;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    exporter = new PrometheusExporter(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+  }
+
+  @AfterEach
+  void tearDown() {
+    exporter.close();
+  }
+
+  private HttpURLConnection connect(String method) throws IOException {
+    InetSocketAddress address = exporter.address();
+    HttpURLConnection connection = (HttpURLConnection) URI
+        .create("http://" + address.getHostString() + ":" + address.getPort() + "/metrics")
+        .toURL().openConnection();
+    connection.setRequestMethod(method);
+    return connection;
+  }
+
+  private String scrape() throws IOException {
+    HttpURLConnection connection = connect("GET");
+    assertEquals(200, connection.getResponseCode());
+    assertEquals(PrometheusExporter.CONTENT_TYPE, connection.getContentType());
+    try (InputStream in = connection.getInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  @DisplayName("Serves the last rendered payload to every scrape")
+  void testScrape() throws IOException {
+    // Arrange
+    assertEquals("", scrape());
+    exporter.update(new SystemMetrics(1_000L, 12.5, 1_000L, 400L, 40.0, List.of(), Set.of()));
+
+    // Act
+    String first = scrape();
+    String second = scrape();
+
+    // Assert
+    assertTrue(first.contains("pulse_cpu_usage 12.5\n"), first);
+    assertEquals(first, second);
+  }
+
+  @Test
+  @DisplayName("Rejects methods other than GET and HEAD")
+  void testMethodNotAllowed() throws IOException {
+    assertEquals(405, connect("POST").getResponseCode());
+    assertEquals(200, connect("HEAD").getResponseCode());
+  }
+}
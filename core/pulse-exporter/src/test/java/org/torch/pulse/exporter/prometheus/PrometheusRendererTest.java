@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.prometheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.exporter.AsciiBuffer;
+import org.torch.pulse.exporter.SeriesSource;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Unit tests for PrometheusRenderer using JUnit 5.
+ */
+public class PrometheusRendererTest {
+
+  private final PrometheusRenderer renderer = new PrometheusRenderer("pulse");
+
+  private String render(SeriesSource source) {
+    AsciiBuffer buffer = new AsciiBuffer();
+    renderer.render(source, buffer);
+    return new String(buffer.array(), 0, buffer.length(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Groups series by family and turns the suffix into a label")
+  void testSystemMetrics() {
+    SystemMetrics metrics = new SystemMetrics(1_000L, 12.5, 1_000L, 400L, 40.0,
+        List.of(new DiskMetrics("/", 100L, 50L), new DiskMetrics("/data", 200L, 20L)), Set.of());
+
+    String text = render(SeriesSource.of(metrics));
+
+    assertEquals("""
+        # TYPE pulse_cpu_usage gauge
+        pulse_cpu_usage 12.5
+        # TYPE pulse_memory_total gauge
+        pulse_memory_total 1000
+        # TYPE pulse_memory_available gauge
+        pulse_memory_available 400
+        # TYPE pulse_cpu_temperature gauge
+        pulse_cpu_temperature 40
+        # TYPE pulse_disk_total gauge
+        pulse_disk_total{mountpoint="/"} 100
+        pulse_disk_total{mountpoint="/data"} 200
+        # TYPE pulse_disk_used gauge
+        pulse_disk_used{mountpoint="/"} 50
+        pulse_disk_used{mountpoint="/data"} 20
+        # TYPE pulse_disk_used_percent gauge
+        pulse_disk_used_percent{mountpoint="/"} 50
+        pulse_disk_used_percent{mountpoint="/data"} 10
+        """, text);
+  }
+
+  @Test
+  @DisplayName("Escapes label values and sanitizes names")
+  void testEscaping() {
+    String text = render(visitor -> {
+      visitor.accept("net.bytes_received:we\"ird\\nic", 1.0);
+      visitor.accept("custom-probe.value", 2.0);
+    });
+
+    assertEquals("""
+        # TYPE pulse_net_bytes_received gauge
+        pulse_net_bytes_received{interface="we\\"ird\\\\nic"} 1
+        # TYPE pulse_custom_probe_value gauge
+        pulse_custom_probe_value 2
+        """, text);
+  }
+
+  @Test
+  @DisplayName("Drops series that are no longer emitted")
+  void testChangingSeries() {
+    render(visitor -> {
+      visitor.accept("a", 1.0);
+      visitor.accept("b", 2.0);
+    });
+
+    String text = render(visitor -> visitor.accept("b", 3.0));
+
+    assertEquals("# TYPE pulse_b gauge\npulse_b 3\n", text);
+  }
+}
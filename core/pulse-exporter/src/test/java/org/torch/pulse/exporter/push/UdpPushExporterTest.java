@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.exporter.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.exporter.SeriesSource;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Unit tests for UdpPushExporter against a local UDP listener.
+ */
+public class UdpPushExporterTest {
+
+  private DatagramChannel listener;
+  private InetSocketAddress address;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    listener = DatagramChannel.open();
+    listener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    address = (InetSocketAddress) listener.getLocalAddress();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    listener.close();
+  }
+
+  private List<String> receive(int datagrams) throws IOException {
+    List<String> payloads = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(65_536);
+    for (int i = 0; i < datagrams; i++) {
+      buffer.clear();
+      listener.receive(buffer);
+      buffer.flip();
+      payloads.add(StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+    return payloads;
+  }
+
+  @Test
+  @DisplayName("Sends StatsD gauges with the dimension as a name segment")
+  void testStatsd() throws IOException {
+    // Arrange
+    SystemMetrics metrics = new SystemMetrics(1_000L, 12.5, 1_000L, 400L, Double.NaN,
+        List.of(new DiskMetrics("/data", 200L, 20L)), Set.of());
+
+    try (UdpPushExporter exporter = new UdpPushExporter(address, LineProtocol.STATSD)) {
+      // Act
+      int sent = exporter.push(metrics);
+
+      // Assert
+      assertEquals(1, sent);
+      assertEquals(List.of("""
+          pulse.cpu.usage:12.5|g
+          pulse.memory.total:1000|g
+          pulse.memory.available:400|g
+          pulse.disk.total./data:200|g
+          pulse.disk.used./data:20|g
+          pulse.disk.used_percent./data:10|g"""), receive(1));
+    }
+  }
+
+  @Test
+  @DisplayName("Sends InfluxDB lines with escaped tags and nanosecond timestamps")
+  void testInflux() throws IOException {
+    SeriesSource source = visitor -> {
+      visitor.accept("net.bytes_received:eth 0", 1.5);
+      visitor.accept("jvm.threads", 12.0);
+    };
+
+    try (UdpPushExporter exporter = new UdpPushExporter(address, LineProtocol.INFLUX)) {
+      exporter.push(source, 1_700_000_000_000L);
+
+      assertEquals(List.of("""
+          pulse_net_bytes_received,interface=eth\\ 0 value=1.5 1700000000000000000
+          pulse_jvm_threads value=12 1700000000000000000"""), receive(1));
+    }
+  }
+
+  @Test
+  @DisplayName("Packs lines into datagrams no larger than the limit")
+  void testPacking() throws IOException {
+    // Arrange: 50 lines of 20 to 21 bytes each.
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      expected.add("pulse.disk.used./" + i + ":" + i + "|g");
+    }
+    SeriesSource source = visitor -> {
+      for (int i = 0; i < 50; i++) {
+        visitor.accept("disk.used:/" + i, i);
+      }
+    };
+
+    try (UdpPushExporter exporter =
+        new UdpPushExporter(address, LineProtocol.STATSD, "pulse", 100)) {
+      // Act
+      int sent = exporter.push(SeriesSource.of(List.of()), 0L);
+      int packed = exporter.push(source, 0L);
+
+      // Assert
+      assertEquals(0, sent);
+      List<String> lines = new ArrayList<>();
+      for (String payload : receive(packed)) {
+        assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= 100, payload);
+        lines.addAll(Arrays.asList(payload.split("\n")));
+      }
+      assertEquals(expected, lines);
+      assertTrue(packed <= 13, "Sent " + packed + " datagrams");
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects datagram sizes outside what UDP can carry")
+  void testDatagramSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new UdpPushExporter(address, LineProtocol.STATSD, "pulse", 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> new UdpPushExporter(address, LineProtocol.STATSD, "pulse", 70_000));
+  }
+}
@@ -4,7 +4,27 @@
  */
 module org.torch.pulse.oshi {
   exports org.torch.pulse.oshi;
+  exports org.torch.pulse.oshi.alert;
+  exports org.torch.pulse.oshi.anomaly;
+  exports org.torch.pulse.oshi.history;
+  exports org.torch.pulse.oshi.probe;
+  exports org.torch.pulse.oshi.wire;
 
   requires org.torch.pulse.logger;
   requires com.github.oshi;
+  requires java.management;
+  requires jdk.management;
+  requires jdk.jfr;
+
+  uses org.torch.pulse.oshi.probe.MetricProbe;
+
+  provides org.torch.pulse.oshi.probe.MetricProbe with
+      org.torch.pulse.oshi.probe.BuiltInProbes.Cpu,
+      org.torch.pulse.oshi.probe.BuiltInProbes.Memory,
+      org.torch.pulse.oshi.probe.BuiltInProbes.Pressure,
+      org.torch.pulse.oshi.probe.BuiltInProbes.Jvm,
+      org.torch.pulse.oshi.probe.BuiltInProbes.Network,
+      org.torch.pulse.oshi.probe.BuiltInProbes.DiskIo,
+      org.torch.pulse.oshi.probe.BuiltInProbes.DiskUsage,
+      org.torch.pulse.oshi.probe.BuiltInProbes.Temperature;
 }
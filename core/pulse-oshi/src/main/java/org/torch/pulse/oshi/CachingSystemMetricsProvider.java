@@ -0,0 +1,444 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * {@link SystemMetricsProvider} decorator that caches each metric of a delegate for its own TTL.
+ *
+ * <p>
+ * A read within the TTL returns the cached value without allocating. A read after the TTL but
+ * within the stale-while-revalidate window also returns the cached value and starts a single
+ * background refresh on a virtual thread. Reads beyond that window, and the first read, load from
+ * the delegate in the calling thread, one at a time per metric. Metrics without a TTL and per-core
+ * CPU usage are passed straight through, so concurrent reads of them do not wait for each other.
+ */
+public final class CachingSystemMetricsProvider implements SystemMetricsProvider {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("CachingSystemMetricsProviderLogger");
+
+  /**
+   * Read counters of one cached metric.
+   *
+   * @param hits reads served from a fresh value
+   * @param staleHits reads served from an expired value while a refresh ran in the background
+   * @param misses reads that had to load from the delegate
+   */
+  public record CacheStats(long hits, long staleHits, long misses) {
+  }
+
+  private final SystemMetricsProvider delegate;
+  private final LongSupplier nanoClock;
+  private final long staleWhileRevalidateNanos;
+  private final ExecutorService refresher =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pulse-cache-", 0).factory());
+  private final SnapshotCollector snapshotCollector = new SnapshotCollector(this);
+
+  private final DoubleEntry cpuUsage;
+  private final LongEntry totalMemory;
+  private final LongEntry availableMemory;
+  private final DoubleEntry cpuTemperature;
+  private final ListEntry<DiskMetrics> diskUsage;
+  private final ListEntry<DiskIoMetrics> diskIo;
+  private final ListEntry<NetworkInterfaceMetrics> networkInterfaces;
+  private final ValueEntry<JvmMetrics> jvm;
+  private final ValueEntry<PressureMetrics> pressure;
+  private final Entry[] entries;
+
+  /**
+   * @param delegate the provider to load from; closed together with this one
+   * @param ttls how long each metric stays fresh; metrics without an entry are loaded on every
+   *        read
+   * @param staleWhileRevalidate how long past its TTL an expired value may still be served while it
+   *        is refreshed in the background
+   */
+  public CachingSystemMetricsProvider(SystemMetricsProvider delegate, Map<Metric, Duration> ttls,
+      Duration staleWhileRevalidate) {
+    this(delegate, ttls, staleWhileRevalidate, System::nanoTime);
+  }
+
+  /**
+   * Package-private constructor for testing with a controllable clock.
+   */
+  CachingSystemMetricsProvider(SystemMetricsProvider delegate, Map<Metric, Duration> ttls,
+      Duration staleWhileRevalidate, LongSupplier nanoClock) {
+    if (staleWhileRevalidate.isNegative()) {
+      throw new IllegalArgumentException("Stale-while-revalidate window must not be negative");
+    }
+    this.delegate = delegate;
+    this.nanoClock = nanoClock;
+    this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+    this.cpuUsage = new DoubleEntry(Metric.CPU_USAGE, ttls) {
+      @Override
+      double loadValue() {
+        return delegate.getCpuUsage();
+      }
+    };
+    this.totalMemory = new LongEntry(Metric.TOTAL_MEMORY, ttls) {
+      @Override
+      long loadValue() {
+        return delegate.getTotalMemory();
+      }
+    };
+    this.availableMemory = new LongEntry(Metric.AVAILABLE_MEMORY, ttls) {
+      @Override
+      long loadValue() {
+        return delegate.getAvailableMemory();
+      }
+    };
+    this.cpuTemperature = new DoubleEntry(Metric.CPU_TEMPERATURE, ttls) {
+      @Override
+      double loadValue() {
+        return delegate.getCpuTemperature();
+      }
+    };
+    this.diskUsage = new ListEntry<>(Metric.DISK_USAGE, ttls, delegate::getDiskUsage);
+    this.diskIo = new ListEntry<>(Metric.DISK_IO, ttls, delegate::getDiskIo);
+    this.networkInterfaces =
+        new ListEntry<>(Metric.NETWORK, ttls, delegate::getNetworkInterfaces);
+    this.jvm = new ValueEntry<>(Metric.JVM, ttls, delegate::getJvmMetrics);
+    this.pressure = new ValueEntry<>(Metric.PRESSURE, ttls, delegate::getPressure);
+    this.entries = new Entry[] {cpuUsage, totalMemory, availableMemory, cpuTemperature, diskUsage,
+        diskIo, networkInterfaces, jvm, pressure};
+    logger.info("CachingSystemMetricsProvider initialized with TTLs {}", ttls);
+  }
+
+  @Override
+  public double getCpuUsage() {
+    if (cpuUsage.uncached()) {
+      return delegate.getCpuUsage();
+    }
+    boolean revalidate = cpuUsage.read();
+    double value = cpuUsage.value;
+    if (revalidate) {
+      cpuUsage.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public int getProcessorCpuUsage(double[] usage) {
+    return delegate.getProcessorCpuUsage(usage);
+  }
+
+  @Override
+  public long getTotalMemory() {
+    if (totalMemory.uncached()) {
+      return delegate.getTotalMemory();
+    }
+    boolean revalidate = totalMemory.read();
+    long value = totalMemory.value;
+    if (revalidate) {
+      totalMemory.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public long getAvailableMemory() {
+    if (availableMemory.uncached()) {
+      return delegate.getAvailableMemory();
+    }
+    boolean revalidate = availableMemory.read();
+    long value = availableMemory.value;
+    if (revalidate) {
+      availableMemory.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public List<DiskMetrics> getDiskUsage() {
+    if (diskUsage.uncached()) {
+      return delegate.getDiskUsage();
+    }
+    boolean revalidate = diskUsage.read();
+    List<DiskMetrics> value = diskUsage.value;
+    if (revalidate) {
+      diskUsage.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public void readDiskUsage(DiskMetricsTable table) {
+    if (diskUsage.uncached()) {
+      delegate.readDiskUsage(table);
+      return;
+    }
+    boolean revalidate = diskUsage.read();
+    table.copyFrom(diskUsage.value);
+    if (revalidate) {
+      diskUsage.refreshInBackground();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A cached value covers the interval before its load, so with a TTL the rates are averaged over
+   * roughly the TTL.
+   */
+  @Override
+  public List<DiskIoMetrics> getDiskIo() {
+    if (diskIo.uncached()) {
+      return delegate.getDiskIo();
+    }
+    boolean revalidate = diskIo.read();
+    List<DiskIoMetrics> value = diskIo.value;
+    if (revalidate) {
+      diskIo.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public double getCpuTemperature() {
+    if (cpuTemperature.uncached()) {
+      return delegate.getCpuTemperature();
+    }
+    boolean revalidate = cpuTemperature.read();
+    double value = cpuTemperature.value;
+    if (revalidate) {
+      cpuTemperature.refreshInBackground();
+    }
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * As with {@link #getDiskIo()}, cached rates cover roughly the TTL.
+   */
+  @Override
+  public List<NetworkInterfaceMetrics> getNetworkInterfaces() {
+    if (networkInterfaces.uncached()) {
+      return delegate.getNetworkInterfaces();
+    }
+    boolean revalidate = networkInterfaces.read();
+    List<NetworkInterfaceMetrics> value = networkInterfaces.value;
+    if (revalidate) {
+      networkInterfaces.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public JvmMetrics getJvmMetrics() {
+    if (jvm.uncached()) {
+      return delegate.getJvmMetrics();
+    }
+    boolean revalidate = jvm.read();
+    JvmMetrics value = jvm.value;
+    if (revalidate) {
+      jvm.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public PressureMetrics getPressure() {
+    if (pressure.uncached()) {
+      return delegate.getPressure();
+    }
+    boolean revalidate = pressure.read();
+    PressureMetrics value = pressure.value;
+    if (revalidate) {
+      pressure.refreshInBackground();
+    }
+    return value;
+  }
+
+  @Override
+  public SystemMetrics snapshot() {
+    return snapshotCollector.collect();
+  }
+
+  public CacheStats getCacheStats(Metric metric) {
+    Entry entry = entries[metric.ordinal()];
+    return new CacheStats(entry.hits.sum(), entry.staleHits.sum(), entry.misses.sum());
+  }
+
+  @Override
+  public void close() {
+    snapshotCollector.close();
+    refresher.shutdownNow();
+    delegate.close();
+  }
+
+  /**
+   * Freshness bookkeeping shared by all cached metrics. Subclasses hold the value in a volatile
+   * field of its own type so reads never box.
+   */
+  private abstract class Entry {
+    private final Metric metric;
+    private final long ttlNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile boolean loaded;
+    private volatile long loadedAt;
+    final LongAdder hits = new LongAdder();
+    final LongAdder staleHits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+
+    Entry(Metric metric, Map<Metric, Duration> ttls) {
+      this.metric = metric;
+      this.ttlNanos = ttls.getOrDefault(metric, Duration.ZERO).toNanos();
+    }
+
+    abstract void load();
+
+    /**
+     * Returns true, counting a miss, if the metric has no TTL and the caller should read the
+     * delegate directly. Loading through the shared value would make concurrent readers wait for
+     * each other's loads.
+     */
+    final boolean uncached() {
+      if (ttlNanos > 0) {
+        return false;
+      }
+      misses.increment();
+      return true;
+    }
+
+    /**
+     * Makes sure the value field holds something servable for the current read.
+     *
+     * @return true if the value is stale and the caller should start a background refresh once it
+     *         has read it
+     */
+    final boolean read() {
+      if (loaded && ttlNanos > 0) {
+        long age = nanoClock.getAsLong() - loadedAt;
+        if (age < ttlNanos) {
+          hits.increment();
+          return false;
+        }
+        if (age < ttlNanos + staleWhileRevalidateNanos) {
+          staleHits.increment();
+          return true;
+        }
+      }
+      misses.increment();
+      synchronized (this) {
+        if (!loaded || nanoClock.getAsLong() - loadedAt >= ttlNanos) {
+          refresh();
+        }
+      }
+      return false;
+    }
+
+    private void refresh() {
+      load();
+      loadedAt = nanoClock.getAsLong();
+      loaded = true;
+    }
+
+    final void refreshInBackground() {
+      if (!refreshing.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        refresher.execute(() -> {
+          try {
+            synchronized (this) {
+              refresh();
+            }
+          } catch (RuntimeException e) {
+            logger.error("Background refresh of " + metric + " failed", e);
+          } finally {
+            refreshing.set(false);
+          }
+        });
+      } catch (RuntimeException e) {
+        // Rejected after close(); keep serving the cached value.
+        refreshing.set(false);
+      }
+    }
+  }
+
+  private abstract class DoubleEntry extends Entry {
+    volatile double value;
+
+    DoubleEntry(Metric metric, Map<Metric, Duration> ttls) {
+      super(metric, ttls);
+    }
+
+    abstract double loadValue();
+
+    @Override
+    final void load() {
+      value = loadValue();
+    }
+  }
+
+  private abstract class LongEntry extends Entry {
+    volatile long value;
+
+    LongEntry(Metric metric, Map<Metric, Duration> ttls) {
+      super(metric, ttls);
+    }
+
+    abstract long loadValue();
+
+    @Override
+    final void load() {
+      value = loadValue();
+    }
+  }
+
+  private final class ValueEntry<T> extends Entry {
+    private final Supplier<T> loader;
+    volatile T value;
+
+    ValueEntry(Metric metric, Map<Metric, Duration> ttls, Supplier<T> loader) {
+      super(metric, ttls);
+      this.loader = loader;
+    }
+
+    @Override
+    void load() {
+      value = loader.get();
+    }
+  }
+
+  private final class ListEntry<T> extends Entry {
+    private final Supplier<List<T>> loader;
+    volatile List<T> value = List.of();
+
+    ListEntry(Metric metric, Map<Metric, Duration> ttls, Supplier<List<T>> loader) {
+      super(metric, ttls);
+      this.loader = loader;
+    }
+
+    @Override
+    void load() {
+      // Callers share the cached list, so it must not be modifiable.
+      value = List.copyOf(loader.get());
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+/**
+ * Resource usage of one cgroup v2 measured against its limits.
+ *
+ * <p>
+ * Rates and percentages cover the interval since the previous reading; throttling and memory
+ * figures are as read. Limits are -1 when the cgroup has none.
+ */
+public class CgroupMetrics {
+
+  private final String path;
+  private final double cpuLimitCores;
+  private final double cpuUsageCores;
+  private final double cpuUsagePercent;
+  private final double throttledPeriodsPercent;
+  private final long throttledMillis;
+  private final long memoryCurrent;
+  private final long memoryMax;
+  private final long memoryWorkingSet;
+  private final double memoryUsagePercent;
+
+  /**
+   * @param path the cgroup's path below the hierarchy root, e.g. {@code /kubepods/pod1234}
+   * @param cpuLimitCores {@code cpu.max} quota over period, or -1 when unlimited
+   * @param cpuUsageCores CPU time consumed per wall-clock second
+   * @param cpuUsagePercent usage relative to the limit, or to all available processors when
+   *        unlimited
+   * @param throttledPeriodsPercent share of enforcement periods in which the cgroup was throttled
+   * @param throttledMillis total time throttled, from {@code cpu.stat}
+   * @param memoryCurrent {@code memory.current}
+   * @param memoryMax {@code memory.max}, or -1 when unlimited
+   * @param memoryWorkingSet {@code memory.current} minus inactive file cache, the figure the OOM
+   *        killer and Kubernetes evictions act on
+   * @param memoryUsagePercent working set relative to {@code memory.max}, or -1 when unlimited
+   */
+  public CgroupMetrics(String path, double cpuLimitCores, double cpuUsageCores,
+      double cpuUsagePercent, double throttledPeriodsPercent, long throttledMillis,
+      long memoryCurrent, long memoryMax, long memoryWorkingSet, double memoryUsagePercent) {
+    this.path = path;
+    this.cpuLimitCores = cpuLimitCores;
+    this.cpuUsageCores = cpuUsageCores;
+    this.cpuUsagePercent = cpuUsagePercent;
+    this.throttledPeriodsPercent = throttledPeriodsPercent;
+    this.throttledMillis = throttledMillis;
+    this.memoryCurrent = memoryCurrent;
+    this.memoryMax = memoryMax;
+    this.memoryWorkingSet = memoryWorkingSet;
+    this.memoryUsagePercent = memoryUsagePercent;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public double getCpuLimitCores() {
+    return cpuLimitCores;
+  }
+
+  public double getCpuUsageCores() {
+    return cpuUsageCores;
+  }
+
+  public double getCpuUsagePercent() {
+    return cpuUsagePercent;
+  }
+
+  public double getThrottledPeriodsPercent() {
+    return throttledPeriodsPercent;
+  }
+
+  public long getThrottledMillis() {
+    return throttledMillis;
+  }
+
+  public long getMemoryCurrent() {
+    return memoryCurrent;
+  }
+
+  public long getMemoryMax() {
+    return memoryMax;
+  }
+
+  public long getMemoryWorkingSet() {
+    return memoryWorkingSet;
+  }
+
+  public double getMemoryUsagePercent() {
+    return memoryUsagePercent;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("cgroup %s: CPU %.2f/%.2f cores, memory %d/%d", path, cpuUsageCores,
+        cpuLimitCores, memoryWorkingSet, memoryMax);
+  }
+}
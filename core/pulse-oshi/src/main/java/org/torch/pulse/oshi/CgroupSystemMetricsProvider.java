@@ -0,0 +1,347 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * {@link SystemMetricsProvider} decorator that reports CPU and memory of the process's own cgroup
+ * v2 against the cgroup's limits, and everything host-wide from the delegate.
+ *
+ * <p>
+ * {@link #getCpuUsage()} is the CPU time the cgroup consumed since the previous call as a
+ * percentage of its {@code cpu.max} quota, or of all available processors when there is none.
+ * {@link #getTotalMemory()} is {@code memory.max} and {@link #getAvailableMemory()} what is left
+ * of it after the working set; both fall back to the delegate when the cgroup has no memory limit.
+ * {@link #getCgroupMetrics()} adds throttling and the raw figures.
+ *
+ * <p>
+ * The cgroup files are held open and re-read into reused buffers. The cgroup is resolved once,
+ * from {@code proc/self/cgroup}, and all paths are relative to a configurable root so the provider
+ * can run against a fake hierarchy.
+ */
+public final class CgroupSystemMetricsProvider implements SystemMetricsProvider {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("CgroupSystemMetricsProviderLogger");
+
+  private static final byte[] MAX = ascii("max");
+  private static final byte[] USAGE_USEC = ascii("usage_usec ");
+  private static final byte[] NR_PERIODS = ascii("nr_periods ");
+  private static final byte[] NR_THROTTLED = ascii("nr_throttled ");
+  private static final byte[] THROTTLED_USEC = ascii("throttled_usec ");
+  private static final byte[] INACTIVE_FILE = ascii("inactive_file ");
+
+  private final SystemMetricsProvider delegate;
+  private final LongSupplier nanoClock;
+  private final String path;
+  private final ProcFile cpuMax;
+  private final ProcFile cpuStat;
+  private final ProcFile memoryCurrent;
+  private final ProcFile memoryMax;
+  private final ProcFile memoryStat;
+  private final PressureReader pressure;
+  private final SnapshotCollector snapshotCollector = new SnapshotCollector(this);
+
+  // Guarded by cpuStat.
+  private long previousUsageMicros;
+  private long previousPeriods;
+  private long previousThrottled;
+  private long previousNanos;
+  private double cpuUsageCores;
+  private double throttledPeriodsPercent;
+
+  /**
+   * Creates a provider for the process's cgroup in the live hierarchy.
+   *
+   * @param delegate the provider for host-wide metrics; closed together with this one
+   * @throws IllegalStateException if the process is not in a cgroup v2 hierarchy
+   */
+  public CgroupSystemMetricsProvider(SystemMetricsProvider delegate) {
+    this(delegate, Path.of("/"));
+  }
+
+  /**
+   * Creates a provider that reads {@code proc/self/cgroup} and {@code sys/fs/cgroup} under
+   * {@code root}.
+   *
+   * @throws IllegalStateException if no cgroup v2 entry is found
+   */
+  public CgroupSystemMetricsProvider(SystemMetricsProvider delegate, Path root) {
+    this(delegate, root, System::nanoTime);
+  }
+
+  /**
+   * Package-private constructor for testing with a controllable clock.
+   */
+  CgroupSystemMetricsProvider(SystemMetricsProvider delegate, Path root, LongSupplier nanoClock) {
+    this.delegate = delegate;
+    this.nanoClock = nanoClock;
+    this.path = currentCgroup(root.resolve("proc/self/cgroup"));
+    Path directory = root.resolve("sys/fs/cgroup").resolve(path.substring(1));
+    this.cpuMax = new ProcFile(directory.resolve("cpu.max"));
+    this.cpuStat = new ProcFile(directory.resolve("cpu.stat"));
+    this.memoryCurrent = new ProcFile(directory.resolve("memory.current"));
+    this.memoryMax = new ProcFile(directory.resolve("memory.max"));
+    this.memoryStat = new ProcFile(directory.resolve("memory.stat"));
+    this.pressure = PressureReader.cgroup(directory);
+    synchronized (cpuStat) {
+      sampleCpu();
+    }
+    logger.info("CgroupSystemMetricsProvider initialized for cgroup {}.", path);
+  }
+
+  /**
+   * Returns the cgroup v2 path ({@code 0::/...} entry) of the process.
+   */
+  private static String currentCgroup(Path procSelfCgroup) {
+    try {
+      for (String line : Files.readAllLines(procSelfCgroup)) {
+        if (line.startsWith("0::")) {
+          String cgroup = line.substring(3).trim();
+          return cgroup.startsWith("/") ? cgroup : "/" + cgroup;
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read " + procSelfCgroup, e);
+    }
+    throw new IllegalStateException("No cgroup v2 entry in " + procSelfCgroup);
+  }
+
+  /**
+   * Returns the cgroup's path below the hierarchy root.
+   */
+  public String getCgroupPath() {
+    return path;
+  }
+
+  /**
+   * Reads cpu.stat and recomputes the usage and throttling since the previous sample. Keeps the
+   * previous figures if cpu.stat cannot be read or no time passed.
+   */
+  private void sampleCpu() {
+    long now = nanoClock.getAsLong();
+    if (!cpuStat.read() || !cpuStat.findLine(USAGE_USEC)) {
+      return;
+    }
+    long usageMicros = cpuStat.nextLong(0);
+    long periods = cpuStat.findLine(NR_PERIODS) ? cpuStat.nextLong(0) : 0L;
+    long throttled = cpuStat.findLine(NR_THROTTLED) ? cpuStat.nextLong(0) : 0L;
+    if (previousNanos != 0 && now > previousNanos) {
+      cpuUsageCores = Math.max(0L, usageMicros - previousUsageMicros) * 1000.0
+          / (now - previousNanos);
+      long elapsedPeriods = periods - previousPeriods;
+      throttledPeriodsPercent = elapsedPeriods > 0
+          ? Math.max(0L, throttled - previousThrottled) * 100.0 / elapsedPeriods
+          : 0d;
+    }
+    previousUsageMicros = usageMicros;
+    previousPeriods = periods;
+    previousThrottled = throttled;
+    previousNanos = now;
+  }
+
+  /**
+   * Returns the quota in cores from cpu.max, or -1 if there is none.
+   */
+  private double cpuLimitCores() {
+    synchronized (cpuMax) {
+      if (!cpuMax.read() || cpuMax.startsWith(MAX)) {
+        return -1.0;
+      }
+      long quota = cpuMax.nextLong(-1);
+      long period = cpuMax.nextLong(-1);
+      return quota > 0 && period > 0 ? (double) quota / period : -1.0;
+    }
+  }
+
+  private double cpuUsagePercent(double usageCores, double limitCores) {
+    double capacity = limitCores > 0 ? limitCores : Runtime.getRuntime().availableProcessors();
+    return usageCores * 100 / capacity;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Shares its interval with {@link #getCgroupMetrics()}: each call measures since the previous
+   * call of either.
+   */
+  @Override
+  public double getCpuUsage() {
+    double usageCores;
+    synchronized (cpuStat) {
+      sampleCpu();
+      usageCores = cpuUsageCores;
+    }
+    return cpuUsagePercent(usageCores, cpuLimitCores());
+  }
+
+  /**
+   * Returns the per-core load of the host, from the delegate.
+   */
+  @Override
+  public int getProcessorCpuUsage(double[] usage) {
+    return delegate.getProcessorCpuUsage(usage);
+  }
+
+  /**
+   * Returns {@code memory.max}, or the host's total memory when the cgroup has no limit.
+   */
+  @Override
+  public long getTotalMemory() {
+    long limit = memoryMax();
+    return limit >= 0 ? limit : delegate.getTotalMemory();
+  }
+
+  /**
+   * Returns {@code memory.max} minus the working set, or the host's available memory when the
+   * cgroup has no limit.
+   */
+  @Override
+  public long getAvailableMemory() {
+    long limit = memoryMax();
+    if (limit < 0) {
+      return delegate.getAvailableMemory();
+    }
+    long workingSet = memoryWorkingSet(memoryCurrent());
+    return workingSet < 0 ? -1L : Math.max(0L, limit - workingSet);
+  }
+
+  private long memoryMax() {
+    synchronized (memoryMax) {
+      if (!memoryMax.read() || memoryMax.startsWith(MAX)) {
+        return -1L;
+      }
+      return memoryMax.nextLong(-1);
+    }
+  }
+
+  private long memoryCurrent() {
+    synchronized (memoryCurrent) {
+      return memoryCurrent.read() ? memoryCurrent.nextLong(-1) : -1L;
+    }
+  }
+
+  private long memoryWorkingSet(long current) {
+    if (current < 0) {
+      return -1L;
+    }
+    synchronized (memoryStat) {
+      long inactiveFile = memoryStat.read() && memoryStat.findLine(INACTIVE_FILE)
+          ? memoryStat.nextLong(0)
+          : 0L;
+      return Math.max(0L, current - inactiveFile);
+    }
+  }
+
+  /**
+   * Reads all figures of the cgroup at once.
+   *
+   * @see #getCpuUsage()
+   */
+  public CgroupMetrics getCgroupMetrics() {
+    double usageCores;
+    double throttledPercent;
+    long throttledMicros;
+    synchronized (cpuStat) {
+      sampleCpu();
+      usageCores = cpuUsageCores;
+      throttledPercent = throttledPeriodsPercent;
+      throttledMicros = cpuStat.findLine(THROTTLED_USEC) ? cpuStat.nextLong(0) : 0L;
+    }
+    double limitCores = cpuLimitCores();
+    long current = memoryCurrent();
+    long limit = memoryMax();
+    long workingSet = memoryWorkingSet(current);
+    return new CgroupMetrics(path, limitCores, usageCores,
+        cpuUsagePercent(usageCores, limitCores), throttledPercent, throttledMicros / 1000,
+        current, limit, workingSet,
+        limit > 0 && workingSet >= 0 ? workingSet * 100.0 / limit : -1.0);
+  }
+
+  @Override
+  public List<DiskMetrics> getDiskUsage() {
+    return delegate.getDiskUsage();
+  }
+
+  @Override
+  public void readDiskUsage(DiskMetricsTable table) {
+    delegate.readDiskUsage(table);
+  }
+
+  @Override
+  public List<DiskIoMetrics> getDiskIo() {
+    return delegate.getDiskIo();
+  }
+
+  @Override
+  public List<NetworkInterfaceMetrics> getNetworkInterfaces() {
+    return delegate.getNetworkInterfaces();
+  }
+
+  @Override
+  public double getCpuTemperature() {
+    return delegate.getCpuTemperature();
+  }
+
+  @Override
+  public JvmMetrics getJvmMetrics() {
+    return delegate.getJvmMetrics();
+  }
+
+  /**
+   * Returns the pressure stall information of the cgroup, or of the host from the delegate when
+   * the cgroup has no pressure files.
+   */
+  @Override
+  public PressureMetrics getPressure() {
+    synchronized (pressure) {
+      if (pressure.sample()) {
+        return pressure.toMetrics();
+      }
+    }
+    return delegate.getPressure();
+  }
+
+  @Override
+  public SystemMetrics snapshot() {
+    return snapshotCollector.collect();
+  }
+
+  @Override
+  public void close() {
+    snapshotCollector.close();
+    for (ProcFile file : new ProcFile[] {cpuMax, cpuStat, memoryCurrent, memoryMax, memoryStat}) {
+      synchronized (file) {
+        file.close();
+      }
+    }
+    synchronized (pressure) {
+      pressure.close();
+    }
+    delegate.close();
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
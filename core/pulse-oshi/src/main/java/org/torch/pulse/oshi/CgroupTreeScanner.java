@@ -0,0 +1,430 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Samples CPU, memory and I/O of every cgroup in a cgroup v2 hierarchy, such as all containers on
+ * a host.
+ *
+ * <p>
+ * Each cgroup gets a slot that keeps its index for as long as the cgroup exists, and all per-cgroup
+ * state lives in primitive arrays indexed by slot. The tree is walked only every rescan interval;
+ * a walk diffs the directories against the known slots and only touches cgroups that were added or
+ * removed. A cgroup that disappears between walks is dropped as soon as its {@code cpu.stat} can no
+ * longer be read.
+ *
+ * <p>
+ * By default the {@code cpu.stat}, {@code memory.current} and {@code io.stat} files of each cgroup
+ * are kept open, three descriptors per cgroup, and all of them are parsed through one shared
+ * buffer, so a steady-state {@link #sample()} allocates nothing. Where descriptors are scarce the
+ * files can instead be opened for each read.
+ *
+ * <p>
+ * Not thread-safe: sample and read from the same thread, or synchronize externally.
+ */
+public final class CgroupTreeScanner implements AutoCloseable {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("CgroupTreeScannerLogger");
+
+  private static final byte[] USAGE_USEC = ascii("usage_usec ");
+  private static final byte[] RBYTES = ascii("rbytes");
+  private static final byte[] WBYTES = ascii("wbytes");
+  private static final int CPU_STAT = 0;
+  private static final int MEMORY_CURRENT = 1;
+  private static final int IO_STAT = 2;
+  private static final String[] FILE_NAMES = {"cpu.stat", "memory.current", "io.stat"};
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Path hierarchy;
+  private final long rescanIntervalNanos;
+  private final boolean keepFilesOpen;
+  private final LongSupplier nanoClock;
+  private final ProcFile parser = new ProcFile();
+  private final Map<String, Integer> slotsByPath = new HashMap<>();
+
+  private int capacity;
+  private int size;
+  private int[] freeSlots = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private long lastRescanNanos;
+  private boolean rescanned;
+  private int generation;
+
+  private String[] paths = new String[INITIAL_CAPACITY];
+  private Path[] directories = new Path[INITIAL_CAPACITY];
+  private FileChannel[] channels = new FileChannel[INITIAL_CAPACITY * FILE_NAMES.length];
+  // Bit per file that was not found; retried on the next rescan.
+  private byte[] missingFiles = new byte[INITIAL_CAPACITY];
+  private int[] seenInGeneration = new int[INITIAL_CAPACITY];
+  private long[] sampledNanos = new long[INITIAL_CAPACITY];
+  private long[] usageMicros = new long[INITIAL_CAPACITY];
+  private long[] readBytes = new long[INITIAL_CAPACITY];
+  private long[] writeBytes = new long[INITIAL_CAPACITY];
+  private long[] memoryBytes = new long[INITIAL_CAPACITY];
+  private double[] cpuCores = new double[INITIAL_CAPACITY];
+  private double[] readRate = new double[INITIAL_CAPACITY];
+  private double[] writeRate = new double[INITIAL_CAPACITY];
+
+  /**
+   * Creates a scanner for the live hierarchy at {@code /sys/fs/cgroup} that re-walks it every 10
+   * seconds and keeps the cgroup files open.
+   */
+  public CgroupTreeScanner() {
+    this(Path.of("/"), Duration.ofSeconds(10), true);
+  }
+
+  /**
+   * @param root the directory that contains {@code sys/fs/cgroup}
+   * @param rescanInterval how often the tree is walked for added and removed cgroups
+   * @param keepFilesOpen whether to hold three descriptors per cgroup open between samples rather
+   *        than opening the files for each read
+   */
+  public CgroupTreeScanner(Path root, Duration rescanInterval, boolean keepFilesOpen) {
+    this(root, rescanInterval, keepFilesOpen, System::nanoTime);
+  }
+
+  /**
+   * Package-private constructor for testing with a controllable clock.
+   */
+  CgroupTreeScanner(Path root, Duration rescanInterval, boolean keepFilesOpen,
+      LongSupplier nanoClock) {
+    if (rescanInterval.isNegative()) {
+      throw new IllegalArgumentException("Rescan interval must not be negative");
+    }
+    this.hierarchy = root.resolve("sys/fs/cgroup");
+    this.rescanIntervalNanos = rescanInterval.toNanos();
+    this.keepFilesOpen = keepFilesOpen;
+    this.nanoClock = nanoClock;
+    logger.info("CgroupTreeScanner initialized for {}", hierarchy);
+  }
+
+  /**
+   * Walks the tree if the rescan interval has passed, then reads every tracked cgroup and
+   * recomputes its rates since its previous sample.
+   */
+  public void sample() {
+    long now = nanoClock.getAsLong();
+    if (!rescanned || now - lastRescanNanos >= rescanIntervalNanos) {
+      rescan();
+      lastRescanNanos = now;
+      rescanned = true;
+    }
+    for (int slot = 0; slot < capacity; slot++) {
+      if (paths[slot] != null) {
+        sample(slot, now);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tracked cgroups.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns one past the highest slot in use; iterate up to it and skip slots for which
+   * {@link #isLive(int)} is false.
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  public boolean isLive(int slot) {
+    return slot >= 0 && slot < capacity && paths[slot] != null;
+  }
+
+  /**
+   * Returns the slot of a cgroup, or -1 if it is not tracked.
+   *
+   * @param path the cgroup path below the hierarchy root, such as {@code /system.slice}; the root
+   *        cgroup is {@code /}
+   */
+  public int slotOf(String path) {
+    Integer slot = slotsByPath.get(path);
+    return slot != null ? slot : -1;
+  }
+
+  /**
+   * Returns the cgroup path of a slot, or null if the slot is free.
+   */
+  public String path(int slot) {
+    return paths[slot];
+  }
+
+  /**
+   * Returns the CPU time used since the previous sample in cores (1.0 is one fully busy CPU), or -1
+   * before the cgroup's second sample.
+   */
+  public double cpuUsageCores(int slot) {
+    return cpuCores[slot];
+  }
+
+  /**
+   * Returns the cumulative CPU time in microseconds, from {@code cpu.stat}, or -1 if unknown.
+   */
+  public long cpuUsageMicros(int slot) {
+    return usageMicros[slot];
+  }
+
+  /**
+   * Returns {@code memory.current} in bytes, or -1 if the memory controller is not enabled.
+   */
+  public long memoryBytes(int slot) {
+    return memoryBytes[slot];
+  }
+
+  /**
+   * Returns the bytes read per second over all devices since the previous sample, or -1 before the
+   * cgroup's second sample or if the io controller is not enabled.
+   */
+  public double readBytesPerSecond(int slot) {
+    return readRate[slot];
+  }
+
+  /**
+   * Returns the bytes written per second over all devices since the previous sample, or -1 as for
+   * {@link #readBytesPerSecond(int)}.
+   */
+  public double writeBytesPerSecond(int slot) {
+    return writeRate[slot];
+  }
+
+  private void sample(int slot, long now) {
+    if (!read(slot, CPU_STAT)) {
+      // cpu.stat exists in every cgroup, so the cgroup is gone.
+      remove(slot);
+      return;
+    }
+    long usage = parser.findLine(USAGE_USEC) ? parser.nextLong(-1) : -1L;
+    long memory = read(slot, MEMORY_CURRENT) ? parser.nextLong(-1) : -1L;
+    long read = -1L;
+    long written = -1L;
+    if (read(slot, IO_STAT)) {
+      read = 0L;
+      written = 0L;
+      // One line per device: "8:0 rbytes=1 wbytes=2 rios=3 ..."
+      do {
+        if (!parser.nextToken()) {
+          continue;
+        }
+        while (parser.nextTokenUntil((byte) '=')) {
+          if (parser.tokenEquals(RBYTES)) {
+            read += parser.nextLong(0);
+          } else if (parser.tokenEquals(WBYTES)) {
+            written += parser.nextLong(0);
+          } else {
+            parser.nextLong(0);
+          }
+        }
+      } while (parser.nextLine());
+    }
+    long previousNanos = sampledNanos[slot];
+    double elapsedSeconds = (now - previousNanos) / 1e9;
+    boolean hasPrevious = previousNanos != 0 && elapsedSeconds > 0;
+    cpuCores[slot] = hasPrevious ? rate(usageMicros[slot], usage, elapsedSeconds) / 1e6 : -1.0;
+    readRate[slot] = hasPrevious ? rate(readBytes[slot], read, elapsedSeconds) : -1.0;
+    writeRate[slot] = hasPrevious ? rate(writeBytes[slot], written, elapsedSeconds) : -1.0;
+    usageMicros[slot] = usage;
+    readBytes[slot] = read;
+    writeBytes[slot] = written;
+    memoryBytes[slot] = memory;
+    sampledNanos[slot] = now;
+  }
+
+  /**
+   * Returns the per-second rate of a counter, -1 if either value is unknown, or 0 if the counter
+   * went backwards.
+   */
+  private static double rate(long previous, long current, double elapsedSeconds) {
+    if (previous < 0 || current < 0) {
+      return -1.0;
+    }
+    return Math.max(0L, current - previous) / elapsedSeconds;
+  }
+
+  /**
+   * Reads one file of a cgroup into the shared parser.
+   *
+   * @return false if the file does not exist or could not be read
+   */
+  private boolean read(int slot, int file) {
+    if ((missingFiles[slot] & (1 << file)) != 0) {
+      return false;
+    }
+    int index = slot * FILE_NAMES.length + file;
+    FileChannel channel = channels[index];
+    try {
+      if (channel == null) {
+        channel = FileChannel.open(directories[slot].resolve(FILE_NAMES[file]),
+            StandardOpenOption.READ);
+        if (keepFilesOpen) {
+          channels[index] = channel;
+        }
+      }
+    } catch (IOException e) {
+      missingFiles[slot] |= (byte) (1 << file);
+      return false;
+    }
+    boolean read = parser.read(channel);
+    if (!read || !keepFilesOpen) {
+      closeQuietly(channel);
+      channels[index] = null;
+    }
+    return read;
+  }
+
+  /**
+   * Walks the hierarchy, adds slots for new cgroups and frees those of vanished ones. Files that
+   * were missing are tried again.
+   */
+  private void rescan() {
+    int currentGeneration = ++generation;
+    try {
+      Files.walkFileTree(hierarchy, new SimpleFileVisitor<>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+          String path = "/" + hierarchy.relativize(directory).toString();
+          Integer slot = slotsByPath.get(path);
+          int index = slot != null ? slot : add(path, directory);
+          seenInGeneration[index] = currentGeneration;
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+          // Removed while walking.
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      logger.warn("Could not walk the cgroup hierarchy at {}: {}", hierarchy, e.getMessage());
+      return;
+    }
+    int removed = 0;
+    for (int slot = 0; slot < capacity; slot++) {
+      if (paths[slot] != null && seenInGeneration[slot] != currentGeneration) {
+        remove(slot);
+        removed++;
+      }
+      missingFiles[slot] = 0;
+    }
+    logger.debug("Rescanned {}: {} cgroups, {} removed", hierarchy, size, removed);
+  }
+
+  private int add(String path, Path directory) {
+    int slot;
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      if (capacity == paths.length) {
+        grow();
+      }
+      slot = capacity++;
+    }
+    paths[slot] = path;
+    directories[slot] = directory;
+    missingFiles[slot] = 0;
+    sampledNanos[slot] = 0L;
+    usageMicros[slot] = -1L;
+    readBytes[slot] = -1L;
+    writeBytes[slot] = -1L;
+    memoryBytes[slot] = -1L;
+    cpuCores[slot] = -1.0;
+    readRate[slot] = -1.0;
+    writeRate[slot] = -1.0;
+    slotsByPath.put(path, slot);
+    size++;
+    return slot;
+  }
+
+  private void remove(int slot) {
+    for (int file = 0; file < FILE_NAMES.length; file++) {
+      int index = slot * FILE_NAMES.length + file;
+      closeQuietly(channels[index]);
+      channels[index] = null;
+    }
+    slotsByPath.remove(paths[slot]);
+    paths[slot] = null;
+    directories[slot] = null;
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+    }
+    freeSlots[freeCount++] = slot;
+    size--;
+  }
+
+  private void grow() {
+    int length = paths.length * 2;
+    paths = Arrays.copyOf(paths, length);
+    directories = Arrays.copyOf(directories, length);
+    channels = Arrays.copyOf(channels, length * FILE_NAMES.length);
+    missingFiles = Arrays.copyOf(missingFiles, length);
+    seenInGeneration = Arrays.copyOf(seenInGeneration, length);
+    sampledNanos = Arrays.copyOf(sampledNanos, length);
+    usageMicros = Arrays.copyOf(usageMicros, length);
+    readBytes = Arrays.copyOf(readBytes, length);
+    writeBytes = Arrays.copyOf(writeBytes, length);
+    memoryBytes = Arrays.copyOf(memoryBytes, length);
+    cpuCores = Arrays.copyOf(cpuCores, length);
+    readRate = Arrays.copyOf(readRate, length);
+    writeRate = Arrays.copyOf(writeRate, length);
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Nothing useful to do.
+    }
+  }
+
+  /**
+   * Closes all held files and forgets every cgroup.
+   */
+  @Override
+  public void close() {
+    for (int slot = 0; slot < capacity; slot++) {
+      if (paths[slot] != null) {
+        remove(slot);
+      }
+    }
+    logger.info("CgroupTreeScanner closed.");
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
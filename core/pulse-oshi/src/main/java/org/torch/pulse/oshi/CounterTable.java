@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Monotonic counters of a set of named devices, kept in flat primitive arrays so that computing
+ * rates for many devices allocates nothing once every device has been seen.
+ *
+ * <p>
+ * A sample starts with {@link #beginSample(long)}, looks each device up with {@link #row}, stores
+ * its counters with {@link #set} and ends with {@link #endSample()}, which drops devices that were
+ * not seen (hot-unplugged). Looking up a device rolls its current counters over to the previous
+ * ones, so {@link #delta} and {@link #rate} always cover the row's last two samples. Row indexes
+ * are only stable within a sample.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+final class CounterTable {
+
+  private static final long MAX_UINT32 = 0xFFFF_FFFFL;
+
+  private final int columns;
+  private final boolean wraps32;
+  private String[] names = new String[8];
+  private byte[][] nameBytes = new byte[8][];
+  private int[] hashes = new int[8];
+  private long[] previous;
+  private long[] current;
+  private long[] previousNanos = new long[8];
+  private long[] currentNanos = new long[8];
+  private long[] seenInSample = new long[8];
+  private boolean[] hasPrevious = new boolean[8];
+  // Open-addressed index of row + 1 by name hash; 0 marks a free slot.
+  private int[] slots = new int[16];
+  private int size;
+  private long sample;
+  private long sampleNanos;
+
+  /**
+   * @param wraps32 whether the source exposes 32-bit counters, so that a counter going backwards
+   *        may have wrapped; otherwise it is always taken as a reset
+   */
+  CounterTable(int columns, boolean wraps32) {
+    this.columns = columns;
+    this.wraps32 = wraps32;
+    this.previous = new long[8 * columns];
+    this.current = new long[8 * columns];
+  }
+
+  void beginSample(long nanoTime) {
+    sample++;
+    sampleNanos = nanoTime;
+  }
+
+  /**
+   * Finds or adds the row for the current token of {@code file}. Adding allocates the name.
+   */
+  int row(ProcFile file) {
+    int hash = file.tokenHash();
+    int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      int row = slots[slot] - 1;
+      if (row < 0) {
+        byte[] name = new byte[file.tokenLength()];
+        file.copyToken(name, 0);
+        return touch(add(file.tokenString(), name, hash));
+      }
+      if (hashes[row] == hash && file.tokenEquals(nameBytes[row], 0, nameBytes[row].length)) {
+        return touch(row);
+      }
+    }
+  }
+
+  /**
+   * Finds or adds the row for {@code name}.
+   */
+  int row(String name) {
+    // Matches ProcFile.hash for ASCII names.
+    int hash = name.hashCode();
+    int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      int row = slots[slot] - 1;
+      if (row < 0) {
+        return touch(add(name, name.getBytes(StandardCharsets.UTF_8), hash));
+      }
+      if (hashes[row] == hash && names[row].equals(name)) {
+        return touch(row);
+      }
+    }
+  }
+
+  private int touch(int row) {
+    if (seenInSample[row] != sample) {
+      if (seenInSample[row] != 0) {
+        System.arraycopy(current, row * columns, previous, row * columns, columns);
+        previousNanos[row] = currentNanos[row];
+        hasPrevious[row] = true;
+      }
+      seenInSample[row] = sample;
+      currentNanos[row] = sampleNanos;
+    }
+    return row;
+  }
+
+  private int add(String name, byte[] bytes, int hash) {
+    if (size == names.length) {
+      grow();
+    }
+    int row = size++;
+    names[row] = name;
+    nameBytes[row] = bytes;
+    hashes[row] = hash;
+    hasPrevious[row] = false;
+    seenInSample[row] = 0;
+    Arrays.fill(current, row * columns, (row + 1) * columns, 0L);
+    if (size * 2 > slots.length) {
+      slots = new int[slots.length * 2];
+      reindex();
+    } else {
+      insertSlot(row);
+    }
+    return row;
+  }
+
+  private void grow() {
+    int capacity = names.length * 2;
+    names = Arrays.copyOf(names, capacity);
+    nameBytes = Arrays.copyOf(nameBytes, capacity);
+    hashes = Arrays.copyOf(hashes, capacity);
+    previous = Arrays.copyOf(previous, capacity * columns);
+    current = Arrays.copyOf(current, capacity * columns);
+    previousNanos = Arrays.copyOf(previousNanos, capacity);
+    currentNanos = Arrays.copyOf(currentNanos, capacity);
+    seenInSample = Arrays.copyOf(seenInSample, capacity);
+    hasPrevious = Arrays.copyOf(hasPrevious, capacity);
+  }
+
+  private void insertSlot(int row) {
+    int mask = slots.length - 1;
+    int slot = hashes[row] & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = row + 1;
+  }
+
+  private void reindex() {
+    Arrays.fill(slots, 0);
+    for (int row = 0; row < size; row++) {
+      insertSlot(row);
+    }
+  }
+
+  void set(int row, int column, long value) {
+    current[row * columns + column] = value;
+  }
+
+  /**
+   * Drops rows that were not looked up in this sample.
+   *
+   * @return the number of rows dropped
+   */
+  int endSample() {
+    int kept = 0;
+    for (int row = 0; row < size; row++) {
+      if (seenInSample[row] != sample) {
+        continue;
+      }
+      if (kept != row) {
+        moveRow(row, kept);
+      }
+      kept++;
+    }
+    int dropped = size - kept;
+    if (dropped > 0) {
+      Arrays.fill(names, kept, size, null);
+      Arrays.fill(nameBytes, kept, size, null);
+      size = kept;
+      reindex();
+    }
+    return dropped;
+  }
+
+  private void moveRow(int from, int to) {
+    names[to] = names[from];
+    nameBytes[to] = nameBytes[from];
+    hashes[to] = hashes[from];
+    System.arraycopy(previous, from * columns, previous, to * columns, columns);
+    System.arraycopy(current, from * columns, current, to * columns, columns);
+    previousNanos[to] = previousNanos[from];
+    currentNanos[to] = currentNanos[from];
+    seenInSample[to] = seenInSample[from];
+    hasPrevious[to] = hasPrevious[from];
+  }
+
+  int size() {
+    return size;
+  }
+
+  String name(int row) {
+    return names[row];
+  }
+
+  /**
+   * Returns true if the row has two samples to compare.
+   */
+  boolean hasPrevious(int row) {
+    return hasPrevious[row];
+  }
+
+  long current(int row, int column) {
+    return current[row * columns + column];
+  }
+
+  /**
+   * Returns how much a counter grew between the row's last two samples.
+   *
+   * <p>
+   * A counter that went backwards was reset, for example because the device was re-registered,
+   * and contributes what it counted since: its new value. For a table of 32-bit counters it may
+   * instead have wrapped; that is assumed when both samples fit in 32 bits and the wrapped distance
+   * is under half the 32-bit range. The wrap rule is never applied to 64-bit counters, where it
+   * would turn a reset into gigabytes of phantom traffic.
+   */
+  long delta(int row, int column) {
+    if (!hasPrevious[row]) {
+      return 0L;
+    }
+    long before = previous[row * columns + column];
+    long after = current[row * columns + column];
+    long delta = after - before;
+    if (delta >= 0) {
+      return delta;
+    }
+    if (wraps32 && before <= MAX_UINT32 && after >= 0) {
+      long wrapped = delta + (1L << 32);
+      if (wrapped < 1L << 31) {
+        return wrapped;
+      }
+    }
+    return Math.max(0L, after);
+  }
+
+  /**
+   * Returns the seconds between the row's last two samples, or 0 with only one sample.
+   */
+  double elapsedSeconds(int row) {
+    return hasPrevious[row] ? (currentNanos[row] - previousNanos[row]) / 1e9 : 0d;
+  }
+
+  /**
+   * Returns {@link #delta} per second, or 0 when no time elapsed.
+   */
+  double rate(int row, int column) {
+    double seconds = elapsedSeconds(row);
+    return seconds > 0 ? delta(row, column) / seconds : 0d;
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import oshi.hardware.CentralProcessor;
+
+/**
+ * Takes CPU tick snapshots on a background thread at a fixed interval and keeps the load over a
+ * sliding window of the most recent snapshots, so readers never block.
+ *
+ * <p>
+ * Per-core loads are kept in a single array that is rewritten in place on every sample and read
+ * under a sequence lock, so neither side allocates.
+ */
+final class CpuLoadSampler implements AutoCloseable {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("CpuLoadSamplerLogger");
+
+  private final CentralProcessor processor;
+  private final long intervalNanos;
+  // Ring of past snapshots; only touched by the sampling thread.
+  private final long[][] snapshots;
+  private final long[][][] processorSnapshots;
+  private int next;
+  private int filled;
+  private volatile double cpuLoad = -1.0;
+  // Sequence lock guarding processorLoads: odd while the sampling thread is writing.
+  private volatile long processorLoadsVersion;
+  private final double[] processorLoads;
+  private ScheduledExecutorService scheduler;
+
+  CpuLoadSampler(CentralProcessor processor, Duration interval, Duration window) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Sample interval must be positive");
+    }
+    if (window.compareTo(interval) < 0) {
+      throw new IllegalArgumentException("Sample window must not be shorter than the interval");
+    }
+    this.processor = processor;
+    this.intervalNanos = interval.toNanos();
+    int slots = (int) Math.min(Integer.MAX_VALUE,
+        (window.toNanos() + intervalNanos - 1) / intervalNanos);
+    this.snapshots = new long[slots][];
+    this.processorSnapshots = new long[slots][][];
+    this.processorLoads = new double[processor.getLogicalProcessorCount()];
+    record(processor.getSystemCpuLoadTicks(), processor.getProcessorCpuLoadTicks());
+  }
+
+  /**
+   * Starts the background sampling thread. Calling it more than once has no effect.
+   */
+  synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pulse-cpu-sampler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::sample, intervalNanos, intervalNanos,
+        TimeUnit.NANOSECONDS);
+    logger.info("CPU sampler started with {} snapshot window", snapshots.length);
+  }
+
+  /**
+   * Returns the CPU load in percent over the configured window, or -1.0 before the first sample.
+   */
+  double getCpuLoad() {
+    return cpuLoad;
+  }
+
+  /**
+   * Copies the per-core loads in percent over the configured window into {@code usage}.
+   *
+   * @return the number of logical processors, which may exceed the number of values copied
+   */
+  int getProcessorCpuLoad(double[] usage) {
+    int count = Math.min(usage.length, processorLoads.length);
+    long version;
+    do {
+      version = processorLoadsVersion;
+      System.arraycopy(processorLoads, 0, usage, 0, count);
+      VarHandle.loadLoadFence();
+    } while ((version & 1) != 0 || version != processorLoadsVersion);
+    return processorLoads.length;
+  }
+
+  /**
+   * Takes one tick snapshot and recomputes the windowed load. Package-private for testing.
+   */
+  void sample() {
+    try {
+      long[] ticks = processor.getSystemCpuLoadTicks();
+      long[][] processorTicks = processor.getProcessorCpuLoadTicks();
+      int oldestIndex = filled < snapshots.length ? 0 : next;
+      cpuLoad = CpuTicks.loadBetween(snapshots[oldestIndex], ticks) * 100;
+      updateProcessorLoads(processorSnapshots[oldestIndex], processorTicks);
+      record(ticks, processorTicks);
+    } catch (RuntimeException e) {
+      // An escaping exception would silently cancel the schedule.
+      logger.error("CPU sample failed", e);
+    }
+  }
+
+  private void updateProcessorLoads(long[][] oldest, long[][] current) {
+    long version = processorLoadsVersion;
+    processorLoadsVersion = version + 1;
+    VarHandle.storeStoreFence();
+    for (int i = 0; i < processorLoads.length; i++) {
+      processorLoads[i] = oldest != null && current != null && i < oldest.length
+          && i < current.length ? CpuTicks.loadBetween(oldest[i], current[i]) * 100 : 0d;
+    }
+    processorLoadsVersion = version + 2;
+  }
+
+  private void record(long[] ticks, long[][] processorTicks) {
+    processorSnapshots[next] = processorTicks;
+    snapshots[next] = ticks;
+    next = (next + 1) % snapshots.length;
+    if (filled < snapshots.length) {
+      filled++;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+      logger.info("CPU sampler stopped.");
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * Load arithmetic over two CPU tick snapshots, matching
+ * {@code CentralProcessor.getSystemCpuLoadBetweenTicks} without forcing a fresh tick read.
+ */
+final class CpuTicks {
+
+  private static final int IDLE = TickType.IDLE.getIndex();
+  private static final int IOWAIT = TickType.IOWAIT.getIndex();
+
+  private CpuTicks() {}
+
+  /**
+   * Returns the busy fraction (0..1) between two snapshots, or 0 if no ticks elapsed.
+   */
+  static double loadBetween(long[] previous, long[] current) {
+    int length = Math.min(previous.length, current.length);
+    if (length <= Math.max(IDLE, IOWAIT)) {
+      return 0d;
+    }
+    long total = 0;
+    for (int i = 0; i < length; i++) {
+      total += current[i] - previous[i];
+    }
+    long idle = current[IDLE] + current[IOWAIT] - previous[IDLE] - previous[IOWAIT];
+    return total > 0 ? (double) (total - idle) / total : 0d;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-device disk I/O counters and the rates derived from them, shared by the providers. The
+ * counters live in a {@link CounterTable}.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+final class DiskIoCounters {
+
+  static final int READS = 0;
+  static final int READ_BYTES = 1;
+  static final int WRITES = 2;
+  static final int WRITE_BYTES = 3;
+  static final int BUSY_MILLIS = 4;
+  // A gauge rather than a counter; only its current value is used.
+  static final int QUEUE_LENGTH = 5;
+
+  // Both providers report 64-bit counts (bytes are scaled from sectors), so a drop is a reset.
+  private final CounterTable table = new CounterTable(6, false);
+
+  CounterTable table() {
+    return table;
+  }
+
+  /**
+   * Builds the metrics of every device in the last sample. Devices seen for the first time report
+   * zero rates.
+   */
+  List<DiskIoMetrics> toMetrics() {
+    List<DiskIoMetrics> metrics = new ArrayList<>(table.size());
+    for (int row = 0; row < table.size(); row++) {
+      long operations = table.delta(row, READS) + table.delta(row, WRITES);
+      long busyMillis = table.delta(row, BUSY_MILLIS);
+      double elapsedMillis = table.elapsedSeconds(row) * 1000;
+      metrics.add(new DiskIoMetrics(table.name(row), table.rate(row, READ_BYTES),
+          table.rate(row, WRITE_BYTES), table.rate(row, READS), table.rate(row, WRITES),
+          table.current(row, QUEUE_LENGTH),
+          operations > 0 ? (double) busyMillis / operations : 0d,
+          elapsedMillis > 0 ? Math.min(100d, busyMillis * 100 / elapsedMillis) : 0d));
+    }
+    return metrics;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+/**
+ * I/O activity of one block device over the interval between two samples.
+ */
+public class DiskIoMetrics {
+
+  private final String device;
+  private final double readBytesPerSecond;
+  private final double writeBytesPerSecond;
+  private final double readsPerSecond;
+  private final double writesPerSecond;
+  private final long queueLength;
+  private final double averageServiceTimeMillis;
+  private final double utilization;
+
+  /**
+   * @param queueLength I/O requests in flight when the sample was taken
+   * @param averageServiceTimeMillis time the device was busy per completed request
+   * @param utilization percentage of the interval the device was busy
+   */
+  public DiskIoMetrics(String device, double readBytesPerSecond, double writeBytesPerSecond,
+      double readsPerSecond, double writesPerSecond, long queueLength,
+      double averageServiceTimeMillis, double utilization) {
+    this.device = device;
+    this.readBytesPerSecond = readBytesPerSecond;
+    this.writeBytesPerSecond = writeBytesPerSecond;
+    this.readsPerSecond = readsPerSecond;
+    this.writesPerSecond = writesPerSecond;
+    this.queueLength = queueLength;
+    this.averageServiceTimeMillis = averageServiceTimeMillis;
+    this.utilization = utilization;
+  }
+
+  public String getDevice() {
+    return device;
+  }
+
+  public double getReadBytesPerSecond() {
+    return readBytesPerSecond;
+  }
+
+  public double getWriteBytesPerSecond() {
+    return writeBytesPerSecond;
+  }
+
+  public double getReadsPerSecond() {
+    return readsPerSecond;
+  }
+
+  public double getWritesPerSecond() {
+    return writesPerSecond;
+  }
+
+  public double getIops() {
+    return readsPerSecond + writesPerSecond;
+  }
+
+  public long getQueueLength() {
+    return queueLength;
+  }
+
+  public double getAverageServiceTimeMillis() {
+    return averageServiceTimeMillis;
+  }
+
+  public double getUtilization() {
+    return utilization;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Disk I/O %s: %.0f B/s read, %.0f B/s write, %.1f IOPS, queue %d, %.2f ms",
+        device, readBytesPerSecond, writeBytesPerSecond, getIops(), queueLength,
+        averageServiceTimeMillis);
+  }
+}
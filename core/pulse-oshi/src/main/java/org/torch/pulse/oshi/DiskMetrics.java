@@ -13,20 +13,13 @@
  */
 package org.torch.pulse.oshi;
 
-import org.torch.pulse.logger.core.PulseLogger;
-import org.torch.pulse.logger.core.PulseLoggerFactory;
-
 public class DiskMetrics {
 
-  private static final PulseLogger logger = PulseLoggerFactory.getLogger("DiskMetricsLogger");
-
   private final String mountPoint;
   private final long totalSpace;
   private final long usedSpace;
 
   public DiskMetrics(String mountPoint, long totalSpace, long usedSpace) {
-    logger.debug("Creating DiskMetrics for mountPoint={}, totalSpace={}, usedSpace={}", mountPoint,
-        totalSpace, usedSpace);
     this.mountPoint = mountPoint;
     this.totalSpace = totalSpace;
     this.usedSpace = usedSpace;
@@ -46,7 +39,6 @@ public class DiskMetrics {
 
   @Override
   public String toString() {
-    logger.debug("toString called for mountPoint={}", mountPoint);
     return String.format("Disk %s: %d/%d used", mountPoint, usedSpace, totalSpace);
   }
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Disk space of a set of mount points, kept as parallel primitive columns so it can be refreshed
+ * in place by {@link SystemMetricsProvider#readDiskUsage(DiskMetricsTable)} without producing
+ * garbage.
+ *
+ * <p>
+ * Keep one table per poller and pass it on every refresh; the columns only grow when more mount
+ * points appear than ever before. Read it by index or with a {@link Cursor}, or through
+ * {@link #toList()} or {@link #asList()} where a {@code List<DiskMetrics>} is expected.
+ *
+ * <p>
+ * Not thread-safe: do not read a table while it is being refreshed.
+ */
+public final class DiskMetricsTable {
+
+  private String[] mountPoints;
+  private long[] totalSpace;
+  private long[] usedSpace;
+  private int size;
+
+  public DiskMetricsTable() {
+    this(16);
+  }
+
+  public DiskMetricsTable(int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.mountPoints = new String[capacity];
+    this.totalSpace = new long[capacity];
+    this.usedSpace = new long[capacity];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public String mountPoint(int index) {
+    checkIndex(index);
+    return mountPoints[index];
+  }
+
+  public long totalSpace(int index) {
+    checkIndex(index);
+    return totalSpace[index];
+  }
+
+  public long usedSpace(int index) {
+    checkIndex(index);
+    return usedSpace[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+
+  /**
+   * Empties the table for a refresh, keeping its capacity.
+   */
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Appends a row. The mount point string is stored by reference, so providers should pass their
+   * cached instances.
+   */
+  void add(String mountPoint, long total, long used) {
+    if (size == mountPoints.length) {
+      int capacity = size * 2;
+      mountPoints = Arrays.copyOf(mountPoints, capacity);
+      totalSpace = Arrays.copyOf(totalSpace, capacity);
+      usedSpace = Arrays.copyOf(usedSpace, capacity);
+    }
+    mountPoints[size] = mountPoint;
+    totalSpace[size] = total;
+    usedSpace[size] = used;
+    size++;
+  }
+
+  /**
+   * Replaces the content with {@code disks}.
+   */
+  void copyFrom(List<DiskMetrics> disks) {
+    clear();
+    for (int i = 0, n = disks.size(); i < n; i++) {
+      DiskMetrics disk = disks.get(i);
+      add(disk.getMountPoint(), disk.getTotalSpace(), disk.getUsedSpace());
+    }
+  }
+
+  /**
+   * Returns a cursor positioned before the first row.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Returns an immutable copy of the current rows, creating each {@link DiskMetrics} once.
+   */
+  public List<DiskMetrics> toList() {
+    DiskMetrics[] rows = new DiskMetrics[size];
+    for (int i = 0; i < size; i++) {
+      rows[i] = new DiskMetrics(mountPoints[i], totalSpace[i], usedSpace[i]);
+    }
+    return List.of(rows);
+  }
+
+  /**
+   * Returns a read-only live view of the table. Each {@code get} creates a {@link DiskMetrics}, so
+   * prefer the index accessors or a cursor on hot paths.
+   */
+  public List<DiskMetrics> asList() {
+    return new ListView();
+  }
+
+  /**
+   * Iterates the rows of the table. A cursor can be rewound with {@link #reset()} and reused across
+   * refreshes.
+   */
+  public final class Cursor {
+    private int index = -1;
+
+    private Cursor() {}
+
+    public boolean next() {
+      if (index + 1 >= size) {
+        index = size;
+        return false;
+      }
+      index++;
+      return true;
+    }
+
+    public void reset() {
+      index = -1;
+    }
+
+    public String mountPoint() {
+      return DiskMetricsTable.this.mountPoint(index);
+    }
+
+    public long totalSpace() {
+      return DiskMetricsTable.this.totalSpace(index);
+    }
+
+    public long usedSpace() {
+      return DiskMetricsTable.this.usedSpace(index);
+    }
+  }
+
+  private final class ListView extends AbstractList<DiskMetrics> implements RandomAccess {
+    @Override
+    public DiskMetrics get(int index) {
+      return new DiskMetrics(mountPoint(index), totalSpace(index), usedSpace(index));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.nio.file.FileSystems;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides which mounted file systems are reported by {@link SystemMetricsProvider#getDiskUsage()}.
+ *
+ * <p>
+ * A file system is accepted when its type is not excluded, its type is included (or no types are
+ * included), its mount point matches no exclude glob, and it matches an include glob (or no globs
+ * are included). Globs use {@link PathMatcher} syntax, e.g. {@code /var/lib/docker/**}.
+ */
+public final class FileStoreFilter {
+
+  /**
+   * Kernel and virtual file systems that carry no disk space.
+   */
+  public static final Set<String> PSEUDO_FILE_SYSTEM_TYPES = Set.of("proc", "sysfs", "devtmpfs",
+      "devpts", "cgroup", "cgroup2", "pstore", "securityfs", "debugfs", "tracefs", "configfs",
+      "fusectl", "mqueue", "hugetlbfs", "bpf", "binfmt_misc", "autofs", "nsfs", "efivarfs",
+      "selinuxfs", "rpc_pipefs", "rootfs", "ramfs");
+
+  /**
+   * Excludes {@link #PSEUDO_FILE_SYSTEM_TYPES} and nothing else.
+   */
+  public static final FileStoreFilter DEFAULT =
+      new FileStoreFilter(Set.of(), PSEUDO_FILE_SYSTEM_TYPES, List.of(), List.of());
+
+  private final Set<String> includeTypes;
+  private final Set<String> excludeTypes;
+  private final List<PathMatcher> includeMounts;
+  private final List<PathMatcher> excludeMounts;
+
+  /**
+   * @param includeTypes file system types to report; empty for all
+   * @param excludeTypes file system types to skip
+   * @param includeMountGlobs mount point globs to report; empty for all
+   * @param excludeMountGlobs mount point globs to skip
+   */
+  public FileStoreFilter(Collection<String> includeTypes, Collection<String> excludeTypes,
+      Collection<String> includeMountGlobs, Collection<String> excludeMountGlobs) {
+    this.includeTypes = Set.copyOf(includeTypes);
+    this.excludeTypes = Set.copyOf(excludeTypes);
+    this.includeMounts = matchers(includeMountGlobs);
+    this.excludeMounts = matchers(excludeMountGlobs);
+  }
+
+  private static List<PathMatcher> matchers(Collection<String> globs) {
+    return globs.stream().map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+        .toList();
+  }
+
+  /**
+   * @param type the file system type, or null if unknown; an unknown type is only rejected by a
+   *        non-empty include list
+   */
+  public boolean accepts(String type, String mountPoint) {
+    if (type != null && excludeTypes.contains(type)) {
+      return false;
+    }
+    if (!includeTypes.isEmpty() && (type == null || !includeTypes.contains(type))) {
+      return false;
+    }
+    if (excludeMounts.isEmpty() && includeMounts.isEmpty()) {
+      return true;
+    }
+    Path mount;
+    try {
+      mount = Path.of(mountPoint);
+    } catch (InvalidPathException e) {
+      return includeMounts.isEmpty();
+    }
+    for (PathMatcher matcher : excludeMounts) {
+      if (matcher.matches(mount)) {
+        return false;
+      }
+    }
+    if (includeMounts.isEmpty()) {
+      return true;
+    }
+    for (PathMatcher matcher : includeMounts) {
+      if (matcher.matches(mount)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+/**
+ * Heap, GC, allocation, thread and class loading figures of the running JVM at one point in time.
+ *
+ * <p>
+ * Memory pools are exposed by index, in the order the JVM reports them. GC pauses, class counts
+ * and safepoint time are cumulative since the provider started; the allocation rate and the
+ * longest pause cover the interval since the previous sample.
+ */
+public class JvmMetrics {
+
+  private final long heapUsed;
+  private final long heapCommitted;
+  private final long heapMax;
+  private final long nonHeapUsed;
+  private final long nonHeapCommitted;
+  private final String[] poolNames;
+  private final long[] poolUsed;
+  private final long[] poolCommitted;
+  private final long[] poolMax;
+  private final long gcPauseCount;
+  private final double gcPauseMillis;
+  private final double gcMaxPauseMillis;
+  private final double allocationBytesPerSecond;
+  private final int threadCount;
+  private final int daemonThreadCount;
+  private final int peakThreadCount;
+  private final int loadedClassCount;
+  private final long unloadedClassCount;
+  private final double safepointMillis;
+
+  /**
+   * @param heapMax the most the heap may grow to, as reported by {@link Runtime#maxMemory()}
+   * @param poolNames shared by reference; must not be modified afterwards
+   * @param allocationBytesPerSecond -1 if the JVM does not track allocated bytes
+   * @param safepointMillis -1 if safepoint tracking is disabled
+   */
+  public JvmMetrics(long heapUsed, long heapCommitted, long heapMax, long nonHeapUsed,
+      long nonHeapCommitted, String[] poolNames, long[] poolUsed, long[] poolCommitted,
+      long[] poolMax, long gcPauseCount, double gcPauseMillis, double gcMaxPauseMillis,
+      double allocationBytesPerSecond, int threadCount, int daemonThreadCount,
+      int peakThreadCount, int loadedClassCount, long unloadedClassCount,
+      double safepointMillis) {
+    this.heapUsed = heapUsed;
+    this.heapCommitted = heapCommitted;
+    this.heapMax = heapMax;
+    this.nonHeapUsed = nonHeapUsed;
+    this.nonHeapCommitted = nonHeapCommitted;
+    this.poolNames = poolNames;
+    this.poolUsed = poolUsed;
+    this.poolCommitted = poolCommitted;
+    this.poolMax = poolMax;
+    this.gcPauseCount = gcPauseCount;
+    this.gcPauseMillis = gcPauseMillis;
+    this.gcMaxPauseMillis = gcMaxPauseMillis;
+    this.allocationBytesPerSecond = allocationBytesPerSecond;
+    this.threadCount = threadCount;
+    this.daemonThreadCount = daemonThreadCount;
+    this.peakThreadCount = peakThreadCount;
+    this.loadedClassCount = loadedClassCount;
+    this.unloadedClassCount = unloadedClassCount;
+    this.safepointMillis = safepointMillis;
+  }
+
+  public long getHeapUsed() {
+    return heapUsed;
+  }
+
+  public long getHeapCommitted() {
+    return heapCommitted;
+  }
+
+  public long getHeapMax() {
+    return heapMax;
+  }
+
+  public long getNonHeapUsed() {
+    return nonHeapUsed;
+  }
+
+  public long getNonHeapCommitted() {
+    return nonHeapCommitted;
+  }
+
+  public int getPoolCount() {
+    return poolNames.length;
+  }
+
+  public String getPoolName(int index) {
+    return poolNames[index];
+  }
+
+  public long getPoolUsed(int index) {
+    return poolUsed[index];
+  }
+
+  public long getPoolCommitted(int index) {
+    return poolCommitted[index];
+  }
+
+  /**
+   * Returns the pool's maximum size, or -1 if it is undefined.
+   */
+  public long getPoolMax(int index) {
+    return poolMax[index];
+  }
+
+  public long getGcPauseCount() {
+    return gcPauseCount;
+  }
+
+  public double getGcPauseMillis() {
+    return gcPauseMillis;
+  }
+
+  public double getGcMaxPauseMillis() {
+    return gcMaxPauseMillis;
+  }
+
+  public double getAllocationBytesPerSecond() {
+    return allocationBytesPerSecond;
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  public int getDaemonThreadCount() {
+    return daemonThreadCount;
+  }
+
+  public int getPeakThreadCount() {
+    return peakThreadCount;
+  }
+
+  public int getLoadedClassCount() {
+    return loadedClassCount;
+  }
+
+  public long getUnloadedClassCount() {
+    return unloadedClassCount;
+  }
+
+  public double getSafepointMillis() {
+    return safepointMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("JVM heap %d/%d, %d GC pauses (%.1f ms), %d threads, %d classes",
+        heapUsed, heapCommitted, gcPauseCount, gcPauseMillis, threadCount, loadedClassCount);
+  }
+}
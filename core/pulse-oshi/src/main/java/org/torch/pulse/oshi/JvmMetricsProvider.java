@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import jdk.jfr.consumer.RecordingStream;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Reads {@link JvmMetrics} of the running JVM.
+ *
+ * <p>
+ * The MXBeans are looked up once. GC pauses are counted from the collectors' notifications as they
+ * happen, so a read only sums counters; collectors that report concurrent cycles next to their
+ * pauses (ZGC and Shenandoah "Cycles") are left out. The allocation rate comes from
+ * {@code com.sun.management.ThreadMXBean#getTotalThreadAllocatedBytes()}. Safepoint time, when
+ * enabled, is the time to reach each safepoint plus the VM operation run in it, taken from a JFR
+ * event stream; the stream delivers events about once a second, so the figure lags by that much.
+ *
+ * <p>
+ * A read allocates only the {@link MemoryUsage} the JVM returns per pool and the result with its
+ * pool columns.
+ */
+public final class JvmMetricsProvider implements AutoCloseable {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("JvmMetricsProviderLogger");
+
+  private final List<MemoryPoolMXBean> pools;
+  private final String[] poolNames;
+  private final boolean[] heapPools;
+  private final ThreadMXBean threads;
+  private final com.sun.management.ThreadMXBean allocationThreads;
+  private final ClassLoadingMXBean classLoading;
+  private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+  private final NotificationListener gcListener = this::onGcNotification;
+  private final LongAdder gcPauseCount = new LongAdder();
+  private final LongAdder gcPauseMillis = new LongAdder();
+  private final AtomicLong gcMaxPauseMillis = new AtomicLong();
+  private final boolean trackSafepoints;
+  // Guarded by this; started in the background because JFR takes a while to come up.
+  private RecordingStream safepointStream;
+  private boolean closed;
+  private final LongAdder safepointNanos = new LongAdder();
+
+  // Guarded by this.
+  private long previousAllocatedBytes;
+  private long previousReadNanos;
+
+  /**
+   * Creates a provider without safepoint tracking.
+   */
+  public JvmMetricsProvider() {
+    this(false);
+  }
+
+  /**
+   * @param trackSafepoints whether to start a JFR stream for safepoint time; otherwise it is
+   *        reported as -1. The stream starts in the background and safepoints are counted from
+   *        then on.
+   */
+  public JvmMetricsProvider(boolean trackSafepoints) {
+    this.pools = List.copyOf(ManagementFactory.getMemoryPoolMXBeans());
+    this.poolNames = new String[pools.size()];
+    this.heapPools = new boolean[pools.size()];
+    for (int i = 0; i < poolNames.length; i++) {
+      poolNames[i] = pools.get(i).getName();
+      heapPools[i] = pools.get(i).getType() == MemoryType.HEAP;
+    }
+    this.threads = ManagementFactory.getThreadMXBean();
+    this.allocationThreads = threads instanceof com.sun.management.ThreadMXBean sunThreads
+        && sunThreads.isThreadAllocatedMemorySupported() ? sunThreads : null;
+    this.classLoading = ManagementFactory.getClassLoadingMXBean();
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter emitter
+          && !collector.getName().endsWith(" Cycles")) {
+        emitter.addNotificationListener(gcListener, null, null);
+        gcEmitters.add(emitter);
+      }
+    }
+    this.trackSafepoints = trackSafepoints;
+    if (trackSafepoints) {
+      Thread.ofVirtual().name("pulse-jfr-safepoints").start(this::startSafepointStream);
+    }
+    this.previousAllocatedBytes = allocatedBytes();
+    this.previousReadNanos = System.nanoTime();
+    logger.info("JvmMetricsProvider initialized ({} memory pools, {} collectors).",
+        poolNames.length, gcEmitters.size());
+  }
+
+  private void startSafepointStream() {
+    RecordingStream stream;
+    try {
+      stream = new RecordingStream();
+    } catch (RuntimeException e) {
+      logger.error("Cannot start the JFR stream for safepoint tracking", e);
+      return;
+    }
+    stream.enable("jdk.SafepointBegin").withThreshold(Duration.ZERO);
+    stream.enable("jdk.ExecuteVMOperation").withThreshold(Duration.ZERO);
+    stream.onEvent("jdk.SafepointBegin",
+        event -> safepointNanos.add(event.getDuration().toNanos()));
+    stream.onEvent("jdk.ExecuteVMOperation", event -> {
+      if (event.getBoolean("safepoint")) {
+        safepointNanos.add(event.getDuration().toNanos());
+      }
+    });
+    synchronized (this) {
+      if (closed) {
+        stream.close();
+        return;
+      }
+      stream.startAsync();
+      safepointStream = stream;
+    }
+  }
+
+  private void onGcNotification(Notification notification, Object handback) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+        .equals(notification.getType())) {
+      return;
+    }
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    recordGcPause(info.getGcInfo().getDuration());
+  }
+
+  /**
+   * Accounts one GC pause. Package-private for testing.
+   */
+  void recordGcPause(long durationMillis) {
+    gcPauseCount.increment();
+    gcPauseMillis.add(durationMillis);
+    gcMaxPauseMillis.accumulateAndGet(durationMillis, Math::max);
+  }
+
+  private long allocatedBytes() {
+    return allocationThreads != null ? allocationThreads.getTotalThreadAllocatedBytes() : -1L;
+  }
+
+  /**
+   * Reads the current figures. The allocation rate and the longest GC pause cover the time since
+   * the previous read (or construction).
+   */
+  public synchronized JvmMetrics read() {
+    long heapUsed = 0;
+    long heapCommitted = 0;
+    long nonHeapUsed = 0;
+    long nonHeapCommitted = 0;
+    long[] poolUsed = new long[poolNames.length];
+    long[] poolCommitted = new long[poolNames.length];
+    long[] poolMax = new long[poolNames.length];
+    for (int i = 0; i < poolNames.length; i++) {
+      MemoryUsage usage = pools.get(i).getUsage();
+      if (usage == null) {
+        // The pool is no longer valid.
+        poolMax[i] = -1L;
+        continue;
+      }
+      poolUsed[i] = usage.getUsed();
+      poolCommitted[i] = usage.getCommitted();
+      poolMax[i] = usage.getMax();
+      if (heapPools[i]) {
+        heapUsed += poolUsed[i];
+        heapCommitted += poolCommitted[i];
+      } else {
+        nonHeapUsed += poolUsed[i];
+        nonHeapCommitted += poolCommitted[i];
+      }
+    }
+
+    long now = System.nanoTime();
+    long allocated = allocatedBytes();
+    double allocationRate = -1.0;
+    if (allocated >= 0 && previousAllocatedBytes >= 0 && now > previousReadNanos) {
+      allocationRate = Math.max(0L, allocated - previousAllocatedBytes) * 1e9
+          / (now - previousReadNanos);
+    }
+    previousAllocatedBytes = allocated;
+    previousReadNanos = now;
+
+    return new JvmMetrics(heapUsed, heapCommitted, Runtime.getRuntime().maxMemory(), nonHeapUsed,
+        nonHeapCommitted, poolNames, poolUsed, poolCommitted, poolMax, gcPauseCount.sum(),
+        gcPauseMillis.sum(), gcMaxPauseMillis.getAndSet(0L), allocationRate,
+        threads.getThreadCount(), threads.getDaemonThreadCount(), threads.getPeakThreadCount(),
+        classLoading.getLoadedClassCount(), classLoading.getUnloadedClassCount(),
+        trackSafepoints ? safepointNanos.sum() / 1e6 : -1.0);
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    for (NotificationEmitter emitter : gcEmitters) {
+      try {
+        emitter.removeNotificationListener(gcListener);
+      } catch (ListenerNotFoundException e) {
+        // Already removed.
+      }
+    }
+    gcEmitters.clear();
+    if (safepointStream != null) {
+      safepointStream.close();
+      safepointStream = null;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-interface network counters and the rates derived from them, shared by the providers. The
+ * counters live in a {@link CounterTable}, which also handles resets, wraparound and hotplug.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+final class NetworkCounters {
+
+  static final int BYTES_RECEIVED = 0;
+  static final int PACKETS_RECEIVED = 1;
+  static final int RECEIVE_ERRORS = 2;
+  static final int RECEIVE_DROPS = 3;
+  static final int BYTES_SENT = 4;
+  static final int PACKETS_SENT = 5;
+  static final int SEND_ERRORS = 6;
+  static final int SEND_DROPS = 7;
+
+  // 32-bit kernels and OSHI's fallbacks on 32-bit systems expose 32-bit interface counters;
+  // elsewhere they are 64-bit.
+  private static final boolean COUNTERS_32_BIT =
+      "32".equals(System.getProperty("sun.arch.data.model"));
+
+  private final CounterTable table = new CounterTable(8, COUNTERS_32_BIT);
+
+  CounterTable table() {
+    return table;
+  }
+
+  /**
+   * Builds the metrics of every interface in the last sample. Interfaces seen for the first time
+   * report zero rates.
+   */
+  List<NetworkInterfaceMetrics> toMetrics() {
+    List<NetworkInterfaceMetrics> metrics = new ArrayList<>(table.size());
+    for (int row = 0; row < table.size(); row++) {
+      metrics.add(new NetworkInterfaceMetrics(table.name(row), table.rate(row, BYTES_RECEIVED),
+          table.rate(row, BYTES_SENT), table.rate(row, PACKETS_RECEIVED),
+          table.rate(row, PACKETS_SENT), table.rate(row, RECEIVE_ERRORS),
+          table.rate(row, SEND_ERRORS), table.rate(row, RECEIVE_DROPS),
+          table.rate(row, SEND_DROPS)));
+    }
+    return metrics;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+/**
+ * Traffic of one network interface over the interval between two samples, in units per second.
+ */
+public class NetworkInterfaceMetrics {
+
+  private final String name;
+  private final double bytesReceivedPerSecond;
+  private final double bytesSentPerSecond;
+  private final double packetsReceivedPerSecond;
+  private final double packetsSentPerSecond;
+  private final double receiveErrorsPerSecond;
+  private final double sendErrorsPerSecond;
+  private final double receiveDropsPerSecond;
+  private final double sendDropsPerSecond;
+
+  public NetworkInterfaceMetrics(String name, double bytesReceivedPerSecond,
+      double bytesSentPerSecond, double packetsReceivedPerSecond, double packetsSentPerSecond,
+      double receiveErrorsPerSecond, double sendErrorsPerSecond, double receiveDropsPerSecond,
+      double sendDropsPerSecond) {
+    this.name = name;
+    this.bytesReceivedPerSecond = bytesReceivedPerSecond;
+    this.bytesSentPerSecond = bytesSentPerSecond;
+    this.packetsReceivedPerSecond = packetsReceivedPerSecond;
+    this.packetsSentPerSecond = packetsSentPerSecond;
+    this.receiveErrorsPerSecond = receiveErrorsPerSecond;
+    this.sendErrorsPerSecond = sendErrorsPerSecond;
+    this.receiveDropsPerSecond = receiveDropsPerSecond;
+    this.sendDropsPerSecond = sendDropsPerSecond;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public double getBytesReceivedPerSecond() {
+    return bytesReceivedPerSecond;
+  }
+
+  public double getBytesSentPerSecond() {
+    return bytesSentPerSecond;
+  }
+
+  public double getPacketsReceivedPerSecond() {
+    return packetsReceivedPerSecond;
+  }
+
+  public double getPacketsSentPerSecond() {
+    return packetsSentPerSecond;
+  }
+
+  public double getReceiveErrorsPerSecond() {
+    return receiveErrorsPerSecond;
+  }
+
+  public double getSendErrorsPerSecond() {
+    return sendErrorsPerSecond;
+  }
+
+  public double getReceiveDropsPerSecond() {
+    return receiveDropsPerSecond;
+  }
+
+  /**
+   * Returns the outbound drop rate; always 0 where the source does not count outbound drops.
+   */
+  public double getSendDropsPerSecond() {
+    return sendDropsPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Interface %s: %.0f B/s in, %.0f B/s out", name, bytesReceivedPerSecond,
+        bytesSentPerSecond);
+  }
+}
@@ -13,79 +13,294 @@
  */
 package org.torch.pulse.oshi;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.torch.pulse.logger.core.PulseLogger;
 import org.torch.pulse.logger.core.PulseLoggerFactory;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
 import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
 import oshi.hardware.Sensors;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OperatingSystem;
 
 /**
- * 
+ * {@link SystemMetricsProvider} backed by OSHI.
+ *
+ * <p>
+ * CPU usage is measured in one of two modes. The default blocking mode sleeps 500 ms in the calling
+ * thread and diffs the ticks around it. The sampling mode, selected with
+ * {@link #OshiSystemMetricsProvider(Duration, Duration)}, takes tick snapshots on a background
+ * thread and {@link #getCpuUsage()} returns the latest windowed load without blocking.
+ *
+ * <p>
+ * In blocking mode concurrent callers share a single in-flight measurement: the first caller sleeps
+ * and reads the ticks, and everyone who arrived meanwhile receives the same result.
  */
 public final class OshiSystemMetricsProvider implements SystemMetricsProvider {
 
   private static final PulseLogger logger =
       PulseLoggerFactory.getLogger("OshiSystemMetricsProviderLogger");
 
+  private static final long NETWORK_INTERFACE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final Path MOUNTINFO = Path.of("/proc/self/mountinfo");
+
   private final HardwareAbstractionLayer hardware;
   private final OperatingSystem os;
   private final CentralProcessor processor;
   private final GlobalMemory memory;
   private final Sensors sensors;
-  private long[] previousTicks;
+  private final CpuLoadSampler cpuSampler;
+  private final SnapshotCollector snapshotCollector = new SnapshotCollector(this);
+  private final AtomicReference<long[]> previousTicks;
+  private final AtomicReference<long[][]> previousProcessorTicks;
+  private final AtomicReference<CompletableFuture<Double>> inFlightCpuMeasurement =
+      new AtomicReference<>();
+  private final DiskIoCounters diskIo = new DiskIoCounters();
+  private final NetworkCounters network = new NetworkCounters();
+  // Guarded by network.
+  private List<NetworkIF> networkInterfaces;
+  private long networkInterfacesEnumeratedAt;
+  private final FileStoreFilter fileStoreFilter;
+  // OSHI has no PSI support; read the kernel directly where it exists.
+  private final PressureReader pressure = PressureReader.system(Path.of("/"));
+  // Created on first use; tracks safepoints through JFR only when asked to.
+  private volatile JvmMetricsProvider jvmMetrics;
+  private volatile boolean trackSafepoints;
+  private final ProcFile mountinfo;
+  private final ProcFile mountinfoSeen;
+  // Guarded by mountinfo.
+  private List<OSFileStore> fileStores;
+  private String[] fileStoreMounts;
+  private File[] fileStoreFiles;
 
+  /**
+   * Creates a provider that measures CPU usage in blocking mode.
+   */
   public OshiSystemMetricsProvider() {
+    this(FileStoreFilter.DEFAULT);
+  }
+
+  /**
+   * Creates a provider that measures CPU usage in blocking mode and reports the file systems
+   * accepted by {@code fileStoreFilter}.
+   */
+  public OshiSystemMetricsProvider(FileStoreFilter fileStoreFilter) {
     logger.debug("Initializing OshiSystemMetricsProvider...");
     SystemInfo systemInfo = new SystemInfo();
     this.hardware = systemInfo.getHardware();
     this.os = systemInfo.getOperatingSystem();
     this.processor = hardware.getProcessor();
-    this.previousTicks = processor.getSystemCpuLoadTicks(); // Capture initial tick snapshot
+    // Capture initial tick snapshot
+    this.previousTicks = new AtomicReference<>(processor.getSystemCpuLoadTicks());
+    this.previousProcessorTicks = new AtomicReference<>(processor.getProcessorCpuLoadTicks());
     this.memory = hardware.getMemory();
     this.sensors = hardware.getSensors();
+    this.cpuSampler = null;
+    this.fileStoreFilter = fileStoreFilter;
+    this.mountinfo = new ProcFile(MOUNTINFO);
+    this.mountinfoSeen = new ProcFile(MOUNTINFO);
     logger.info("OshiSystemMetricsProvider initialized successfully.");
   }
 
+  /**
+   * Creates a provider that measures CPU usage in sampling mode.
+   *
+   * @param sampleInterval how often the background thread takes a tick snapshot
+   * @param sampleWindow the span the reported load is averaged over; rounded up to a whole number
+   *        of intervals
+   */
+  public OshiSystemMetricsProvider(Duration sampleInterval, Duration sampleWindow) {
+    this(sampleInterval, sampleWindow, FileStoreFilter.DEFAULT);
+  }
+
+  /**
+   * Creates a provider that measures CPU usage in sampling mode and reports the file systems
+   * accepted by {@code fileStoreFilter}.
+   *
+   * @see #OshiSystemMetricsProvider(Duration, Duration)
+   */
+  public OshiSystemMetricsProvider(Duration sampleInterval, Duration sampleWindow,
+      FileStoreFilter fileStoreFilter) {
+    logger.debug("Initializing OshiSystemMetricsProvider in sampling mode...");
+    SystemInfo systemInfo = new SystemInfo();
+    this.hardware = systemInfo.getHardware();
+    this.os = systemInfo.getOperatingSystem();
+    this.processor = hardware.getProcessor();
+    this.previousTicks = new AtomicReference<>();
+    this.previousProcessorTicks = new AtomicReference<>();
+    this.memory = hardware.getMemory();
+    this.sensors = hardware.getSensors();
+    this.cpuSampler = new CpuLoadSampler(processor, sampleInterval, sampleWindow);
+    this.cpuSampler.start();
+    this.fileStoreFilter = fileStoreFilter;
+    this.mountinfo = new ProcFile(MOUNTINFO);
+    this.mountinfoSeen = new ProcFile(MOUNTINFO);
+    logger.info("OshiSystemMetricsProvider initialized successfully (interval={}, window={}).",
+        sampleInterval, sampleWindow);
+  }
+
   /**
    * Package-private constructor for testing.
    */
   OshiSystemMetricsProvider(HardwareAbstractionLayer hardware, OperatingSystem os,
       CentralProcessor processor, GlobalMemory memory, Sensors sensors, long[] initialTicks) {
+    this(hardware, os, processor, memory, sensors, initialTicks, MOUNTINFO,
+        FileStoreFilter.DEFAULT);
+  }
+
+  /**
+   * Package-private constructor for testing the mount table cache.
+   */
+  OshiSystemMetricsProvider(HardwareAbstractionLayer hardware, OperatingSystem os,
+      CentralProcessor processor, GlobalMemory memory, Sensors sensors, long[] initialTicks,
+      Path mountinfo, FileStoreFilter fileStoreFilter) {
     logger.debug("Initializing OshiSystemMetricsProvider (test mode)...");
     this.hardware = hardware;
     this.os = os;
     this.processor = processor;
     this.memory = memory;
     this.sensors = sensors;
-    this.previousTicks = initialTicks;
+    this.previousTicks = new AtomicReference<>(initialTicks);
+    this.previousProcessorTicks = new AtomicReference<>();
+    this.cpuSampler = null;
+    this.fileStoreFilter = fileStoreFilter;
+    this.mountinfo = new ProcFile(mountinfo);
+    this.mountinfoSeen = new ProcFile(mountinfo);
     logger.info("OshiSystemMetricsProvider initialized (test mode).");
   }
 
+  /**
+   * Package-private constructor for testing sampling mode. The sampler is not started.
+   */
+  OshiSystemMetricsProvider(HardwareAbstractionLayer hardware, OperatingSystem os,
+      CentralProcessor processor, GlobalMemory memory, Sensors sensors,
+      CpuLoadSampler cpuSampler) {
+    logger.debug("Initializing OshiSystemMetricsProvider (test mode, sampling)...");
+    this.hardware = hardware;
+    this.os = os;
+    this.processor = processor;
+    this.memory = memory;
+    this.sensors = sensors;
+    this.previousTicks = new AtomicReference<>();
+    this.previousProcessorTicks = new AtomicReference<>();
+    this.cpuSampler = cpuSampler;
+    this.fileStoreFilter = FileStoreFilter.DEFAULT;
+    this.mountinfo = new ProcFile(MOUNTINFO);
+    this.mountinfoSeen = new ProcFile(MOUNTINFO);
+    logger.info("OshiSystemMetricsProvider initialized (test mode, sampling).");
+  }
+
   @Override
   public double getCpuUsage() {
-    logger.debug("Attempting to measure CPU usage...");
+    if (cpuSampler != null) {
+      return cpuSampler.getCpuLoad();
+    }
+    while (true) {
+      CompletableFuture<Double> measurement = new CompletableFuture<>();
+      CompletableFuture<Double> inFlight =
+          inFlightCpuMeasurement.compareAndExchange(null, measurement);
+      if (inFlight == null) {
+        return leadCpuMeasurement(measurement);
+      }
+      logger.debug("Joining in-flight CPU measurement...");
+      Double cpuLoad = awaitCpuMeasurement(inFlight);
+      if (cpuLoad != null) {
+        return cpuLoad;
+      }
+      // The leader was interrupted and gave up; race the other waiters to lead a new measurement.
+    }
+  }
+
+  /**
+   * Performs the measurement for every caller joined on {@code measurement}. The slot is cleared
+   * before completing so that a waiter woken by an abandoned measurement can claim it.
+   */
+  private double leadCpuMeasurement(CompletableFuture<Double> measurement) {
     try {
-      TimeUnit.MILLISECONDS.sleep(500); // Short delay for accurate measurement
+      double cpuLoad = measureCpuUsage();
+      inFlightCpuMeasurement.set(null);
+      measurement.complete(cpuLoad);
+      return cpuLoad;
     } catch (InterruptedException e) {
+      // The interrupt was aimed at this caller only. Hand leadership to a waiter instead of
+      // failing everyone who joined.
       Thread.currentThread().interrupt();
+      inFlightCpuMeasurement.set(null);
+      measurement.complete(null);
       return -1.0; // Return -1 on error
+    } catch (RuntimeException e) {
+      inFlightCpuMeasurement.set(null);
+      measurement.completeExceptionally(e);
+      throw e;
     }
+  }
 
-    // Capture new tick snapshot and calculate CPU load
-    double cpuLoad = processor.getSystemCpuLoadBetweenTicks(previousTicks) * 100;
-    previousTicks = processor.getSystemCpuLoadTicks(); // Update tick snapshot
+  private double measureCpuUsage() throws InterruptedException {
+    logger.debug("Attempting to measure CPU usage...");
+    TimeUnit.MILLISECONDS.sleep(500); // Short delay for accurate measurement
+
+    // Capture new tick snapshot and calculate CPU load. Only the single in-flight measurement
+    // touches the tick state, so a plain get/set pair is race-free.
+    double cpuLoad = processor.getSystemCpuLoadBetweenTicks(previousTicks.get()) * 100;
+    previousTicks.set(processor.getSystemCpuLoadTicks()); // Update tick snapshot
     logger.info("Current CPU usage is {}%", String.format("%.2f", cpuLoad));
 
     return cpuLoad;
   }
 
+  /**
+   * Waits for a measurement led by another caller. Returns {@code null} if the leader abandoned
+   * it, in which case the caller should retry.
+   */
+  private static Double awaitCpuMeasurement(CompletableFuture<Double> measurement) {
+    try {
+      return measurement.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1.0; // Return -1 on error
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("CPU measurement failed", e.getCause());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * In sampling mode the loads cover the sampler's window. In blocking mode they cover the time
+   * since the previous call (or construction) and the call never sleeps, so poll it at the rate
+   * you want to graph.
+   */
+  @Override
+  public int getProcessorCpuUsage(double[] usage) {
+    if (cpuSampler != null) {
+      return cpuSampler.getProcessorCpuLoad(usage);
+    }
+    long[][] current = processor.getProcessorCpuLoadTicks();
+    long[][] previous = previousProcessorTicks.getAndSet(current);
+    int count = Math.min(usage.length, current.length);
+    for (int i = 0; i < count; i++) {
+      usage[i] = previous != null && i < previous.length
+          ? CpuTicks.loadBetween(previous[i], current[i]) * 100
+          : 0d;
+    }
+    return current.length;
+  }
+
   @Override
   public long getTotalMemory() {
     long totalMem = memory.getTotal();
@@ -109,18 +324,208 @@ public final class OshiSystemMetricsProvider implements SystemMetricsProvider {
 
   @Override
   public List<DiskMetrics> getDiskUsage() {
-    logger.debug("Retrieving disk usage information...");
-    List<DiskMetrics> diskMetrics = new ArrayList<>();
+    DiskMetricsTable table = new DiskMetricsTable();
+    readDiskUsage(table);
+    return table.toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The file stores are enumerated on the first call and again whenever
+   * {@code /proc/self/mountinfo} changes. In between, their space figures are read with
+   * {@code statvfs} through {@link File}, which is what OSHI itself does on Linux, rather than
+   * through {@link OSFileStore#updateAttributes()}, which re-enumerates every store. Where the
+   * mount table cannot be read (outside Linux) the stores are enumerated on every call.
+   */
+  @Override
+  public void readDiskUsage(DiskMetricsTable table) {
+    List<OSFileStore> stores;
+    String[] mounts;
+    File[] files;
+    boolean enumerated = false;
+    synchronized (mountinfo) {
+      boolean readable = mountinfo.read();
+      if (fileStores == null || !readable || !mountinfo.contentEquals(mountinfoSeen)) {
+        enumerateFileStores();
+        mountinfo.copyTo(mountinfoSeen);
+        enumerated = true;
+      }
+      stores = fileStores;
+      mounts = fileStoreMounts;
+      files = fileStoreFiles;
+    }
+    table.clear();
+    for (int i = 0; i < mounts.length; i++) {
+      long totalSpace;
+      long usableSpace;
+      if (enumerated) {
+        OSFileStore fs = stores.get(i);
+        totalSpace = fs.getTotalSpace();
+        usableSpace = fs.getUsableSpace();
+      } else {
+        totalSpace = files[i].getTotalSpace();
+        usableSpace = files[i].getUsableSpace();
+      }
+      table.add(mounts[i], totalSpace, totalSpace - usableSpace);
+    }
+  }
+
+  private void enumerateFileStores() {
+    List<OSFileStore> accepted = new ArrayList<>();
+    List<String> mounts = new ArrayList<>();
     for (OSFileStore fs : os.getFileSystem().getFileStores()) {
-      long totalSpace = fs.getTotalSpace();
-      long usableSpace = fs.getUsableSpace();
-      long usedSpace = totalSpace - usableSpace;
       String mount = fs.getMount();
-      diskMetrics.add(new DiskMetrics(mount, totalSpace, usedSpace));
-      logger.debug("Disk: {} | Total: {} | Used: {} | Usable: {}", mount, totalSpace, usedSpace,
-          usableSpace);
+      if (fileStoreFilter.accepts(fs.getType(), mount)) {
+        accepted.add(fs);
+        mounts.add(mount);
+      }
+    }
+    fileStores = accepted;
+    fileStoreMounts = mounts.toArray(new String[0]);
+    fileStoreFiles = new File[fileStoreMounts.length];
+    for (int i = 0; i < fileStoreMounts.length; i++) {
+      fileStoreFiles[i] = new File(fileStoreMounts[i]);
+    }
+    logger.info("Enumerated {} file stores.", accepted.size());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The disk stores are enumerated once per call, which reads every device's counters in a single
+   * pass and picks up hot-plugged devices. Refreshing a cached list store by store instead would
+   * repeat the whole enumeration for each store on Linux.
+   */
+  @Override
+  public List<DiskIoMetrics> getDiskIo() {
+    synchronized (diskIo) {
+      long now = System.nanoTime();
+      List<HWDiskStore> diskStores = hardware.getDiskStores();
+      CounterTable table = diskIo.table();
+      table.beginSample(now);
+      for (HWDiskStore store : diskStores) {
+        int row = table.row(store.getName());
+        table.set(row, DiskIoCounters.READS, store.getReads());
+        table.set(row, DiskIoCounters.READ_BYTES, store.getReadBytes());
+        table.set(row, DiskIoCounters.WRITES, store.getWrites());
+        table.set(row, DiskIoCounters.WRITE_BYTES, store.getWriteBytes());
+        table.set(row, DiskIoCounters.BUSY_MILLIS, store.getTransferTime());
+        table.set(row, DiskIoCounters.QUEUE_LENGTH, store.getCurrentQueueLength());
+      }
+      table.endSample();
+      return diskIo.toMetrics();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The interfaces are enumerated on the first call and then refreshed in place; they are
+   * enumerated again every ten seconds, or as soon as one disappears, to pick up hot-plugged
+   * interfaces. OSHI does not count outbound drops, so they are reported as 0.
+   */
+  @Override
+  public List<NetworkInterfaceMetrics> getNetworkInterfaces() {
+    synchronized (network) {
+      long now = System.nanoTime();
+      boolean enumerate = networkInterfaces == null
+          || now - networkInterfacesEnumeratedAt > NETWORK_INTERFACE_REFRESH_NANOS;
+      if (!enumerate) {
+        for (NetworkIF networkInterface : networkInterfaces) {
+          if (!networkInterface.updateAttributes()) {
+            enumerate = true;
+            break;
+          }
+        }
+      }
+      if (enumerate) {
+        networkInterfaces = hardware.getNetworkIFs();
+        networkInterfacesEnumeratedAt = now;
+      }
+      CounterTable table = network.table();
+      table.beginSample(now);
+      for (NetworkIF networkInterface : networkInterfaces) {
+        int row = table.row(networkInterface.getName());
+        table.set(row, NetworkCounters.BYTES_RECEIVED, networkInterface.getBytesRecv());
+        table.set(row, NetworkCounters.PACKETS_RECEIVED, networkInterface.getPacketsRecv());
+        table.set(row, NetworkCounters.RECEIVE_ERRORS, networkInterface.getInErrors());
+        table.set(row, NetworkCounters.RECEIVE_DROPS, networkInterface.getInDrops());
+        table.set(row, NetworkCounters.BYTES_SENT, networkInterface.getBytesSent());
+        table.set(row, NetworkCounters.PACKETS_SENT, networkInterface.getPacketsSent());
+        table.set(row, NetworkCounters.SEND_ERRORS, networkInterface.getOutErrors());
+      }
+      table.endSample();
+      return network.toMetrics();
+    }
+  }
+
+  /**
+   * Reports JVM safepoint time in {@link #getJvmMetrics()}. Off by default because it starts a
+   * JFR recording stream in this process; otherwise safepoint time is reported as -1.
+   *
+   * @return this provider
+   * @throws IllegalStateException if JVM metrics have already been read
+   */
+  public synchronized OshiSystemMetricsProvider trackSafepoints() {
+    if (jvmMetrics != null) {
+      throw new IllegalStateException("Enable safepoint tracking before reading JVM metrics");
+    }
+    trackSafepoints = true;
+    return this;
+  }
+
+  @Override
+  public JvmMetrics getJvmMetrics() {
+    JvmMetricsProvider jvm = jvmMetrics;
+    if (jvm == null) {
+      synchronized (this) {
+        jvm = jvmMetrics;
+        if (jvm == null) {
+          jvmMetrics = jvm = new JvmMetricsProvider(trackSafepoints);
+        }
+      }
+    }
+    return jvm.read();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Read from {@code /proc/pressure}, so only available on Linux 4.20 and later.
+   */
+  @Override
+  public PressureMetrics getPressure() {
+    synchronized (pressure) {
+      pressure.sample();
+      return pressure.toMetrics();
+    }
+  }
+
+  @Override
+  public SystemMetrics snapshot() {
+    return snapshotCollector.collect();
+  }
+
+  @Override
+  public void close() {
+    snapshotCollector.close();
+    synchronized (mountinfo) {
+      mountinfo.close();
+    }
+    synchronized (pressure) {
+      pressure.close();
+    }
+    JvmMetricsProvider jvm = jvmMetrics;
+    if (jvm != null) {
+      jvm.close();
+    }
+    if (cpuSampler != null) {
+      cpuSampler.close();
     }
-    logger.info("Disk usage information retrieved for {} file stores.", diskMetrics.size());
-    return diskMetrics;
   }
 }
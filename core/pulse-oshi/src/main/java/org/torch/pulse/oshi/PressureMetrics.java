@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Pressure stall information (PSI) of the CPU, memory and I/O at one point in time.
+ *
+ * <p>
+ * For each resource, "some" is the share of time in which at least one task stalled on it and
+ * "full" the share in which all non-idle tasks stalled at once. The averages are percentages over
+ * the last 10, 60 and 300 seconds; the totals are cumulative stall time in microseconds. Values the
+ * kernel does not report, such as CPU "full" before Linux 5.13, are -1.
+ */
+public class PressureMetrics {
+
+  /**
+   * A resource tasks can stall on.
+   */
+  public enum Resource {
+    CPU,
+    MEMORY,
+    IO
+  }
+
+  // Per resource and stall kind (some, full): avg10, avg60, avg300.
+  static final int WINDOWS = 3;
+  static final int AVERAGES = Resource.values().length * 2 * WINDOWS;
+  // Per resource and stall kind.
+  static final int TOTALS = Resource.values().length * 2;
+
+  private final double[] averages;
+  private final long[] totals;
+
+  /**
+   * @param averages the averages, by resource, then some/full, then window; copied
+   * @param totals the totals, by resource, then some/full; copied
+   */
+  PressureMetrics(double[] averages, long[] totals) {
+    this.averages = averages.clone();
+    this.totals = totals.clone();
+  }
+
+  /**
+   * Returns a builder in which every value starts unreported (-1).
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  static int averageIndex(Resource resource, boolean full, int window) {
+    return (resource.ordinal() * 2 + (full ? 1 : 0)) * WINDOWS + window;
+  }
+
+  static int totalIndex(Resource resource, boolean full) {
+    return resource.ordinal() * 2 + (full ? 1 : 0);
+  }
+
+  /**
+   * Returns true if the kernel reported "some" pressure for {@code resource}.
+   */
+  public boolean isAvailable(Resource resource) {
+    return totals[totalIndex(resource, false)] >= 0;
+  }
+
+  public double getSomeAvg10(Resource resource) {
+    return averages[averageIndex(resource, false, 0)];
+  }
+
+  public double getSomeAvg60(Resource resource) {
+    return averages[averageIndex(resource, false, 1)];
+  }
+
+  public double getSomeAvg300(Resource resource) {
+    return averages[averageIndex(resource, false, 2)];
+  }
+
+  public long getSomeTotalMicros(Resource resource) {
+    return totals[totalIndex(resource, false)];
+  }
+
+  public double getFullAvg10(Resource resource) {
+    return averages[averageIndex(resource, true, 0)];
+  }
+
+  public double getFullAvg60(Resource resource) {
+    return averages[averageIndex(resource, true, 1)];
+  }
+
+  public double getFullAvg300(Resource resource) {
+    return averages[averageIndex(resource, true, 2)];
+  }
+
+  public long getFullTotalMicros(Resource resource) {
+    return totals[totalIndex(resource, true)];
+  }
+
+  /**
+   * Builds {@link PressureMetrics} without exposing their internal layout, e.g. for decoders
+   * outside this package.
+   */
+  public static final class Builder {
+
+    private final double[] averages = new double[AVERAGES];
+    private final long[] totals = new long[TOTALS];
+
+    private Builder() {
+      Arrays.fill(averages, -1);
+      Arrays.fill(totals, -1);
+    }
+
+    public Builder some(Resource resource, double avg10, double avg60, double avg300,
+        long totalMicros) {
+      return set(resource, false, avg10, avg60, avg300, totalMicros);
+    }
+
+    public Builder full(Resource resource, double avg10, double avg60, double avg300,
+        long totalMicros) {
+      return set(resource, true, avg10, avg60, avg300, totalMicros);
+    }
+
+    private Builder set(Resource resource, boolean full, double avg10, double avg60,
+        double avg300, long totalMicros) {
+      averages[averageIndex(resource, full, 0)] = avg10;
+      averages[averageIndex(resource, full, 1)] = avg60;
+      averages[averageIndex(resource, full, 2)] = avg300;
+      totals[totalIndex(resource, full)] = totalMicros;
+      return this;
+    }
+
+    public PressureMetrics build() {
+      return new PressureMetrics(averages, totals);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("Pressure[");
+    for (Resource resource : Resource.values()) {
+      if (resource.ordinal() > 0) {
+        builder.append(", ");
+      }
+      builder.append(resource.name().toLowerCase(Locale.ROOT)).append(" some=")
+          .append(getSomeAvg10(resource)).append(" full=").append(getFullAvg10(resource));
+    }
+    return builder.append(']').toString();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.torch.pulse.oshi.PressureMetrics.Resource;
+
+/**
+ * Reads pressure stall information from the kernel, either system-wide from
+ * {@code /proc/pressure/{cpu,memory,io}} or for one cgroup from its
+ * {@code {cpu,memory,io}.pressure} files.
+ *
+ * <p>
+ * The files are held open and parsed in place, and the figures land in primitive arrays, so
+ * {@link #sample()} and the avg10 and total getters allocate nothing and can run at a high rate as
+ * an early-warning signal. {@link #toMetrics()} copies a sample into an immutable value.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public final class PressureReader implements AutoCloseable {
+
+  private static final byte[] SOME = ascii("some");
+  private static final byte[] FULL = ascii("full");
+  private static final byte[] AVG10 = ascii("avg10");
+  private static final byte[] AVG60 = ascii("avg60");
+  private static final byte[] AVG300 = ascii("avg300");
+  private static final byte[] TOTAL = ascii("total");
+  private static final Resource[] RESOURCES = Resource.values();
+
+  private final ProcFile[] files = new ProcFile[RESOURCES.length];
+  private final double[] averages = new double[PressureMetrics.AVERAGES];
+  private final long[] totals = new long[PressureMetrics.TOTALS];
+  private boolean available;
+
+  private PressureReader(Path cpu, Path memory, Path io) {
+    files[Resource.CPU.ordinal()] = new ProcFile(cpu);
+    files[Resource.MEMORY.ordinal()] = new ProcFile(memory);
+    files[Resource.IO.ordinal()] = new ProcFile(io);
+    Arrays.fill(averages, -1.0);
+    Arrays.fill(totals, -1L);
+  }
+
+  /**
+   * Creates a reader for the system-wide figures in {@code proc/pressure} under {@code root}.
+   */
+  public static PressureReader system(Path root) {
+    Path directory = root.resolve("proc/pressure");
+    return new PressureReader(directory.resolve("cpu"), directory.resolve("memory"),
+        directory.resolve("io"));
+  }
+
+  /**
+   * Creates a reader for the cgroup v2 directory {@code directory}.
+   */
+  public static PressureReader cgroup(Path directory) {
+    return new PressureReader(directory.resolve("cpu.pressure"),
+        directory.resolve("memory.pressure"), directory.resolve("io.pressure"));
+  }
+
+  /**
+   * Re-reads all three files. Figures of a file that cannot be read become -1.
+   *
+   * @return true if at least one resource was read
+   */
+  public boolean sample() {
+    available = false;
+    for (Resource resource : RESOURCES) {
+      available |= parse(files[resource.ordinal()], resource);
+    }
+    return available;
+  }
+
+  private boolean parse(ProcFile file, Resource resource) {
+    int averagesFrom = PressureMetrics.averageIndex(resource, false, 0);
+    Arrays.fill(averages, averagesFrom, averagesFrom + 2 * PressureMetrics.WINDOWS, -1.0);
+    totals[PressureMetrics.totalIndex(resource, false)] = -1L;
+    totals[PressureMetrics.totalIndex(resource, true)] = -1L;
+    if (!file.read()) {
+      return false;
+    }
+    // "some avg10=0.12 avg60=0.05 avg300=0.01 total=123456", then the same for "full".
+    do {
+      if (!file.nextToken()) {
+        continue;
+      }
+      boolean full;
+      if (file.tokenEquals(SOME)) {
+        full = false;
+      } else if (file.tokenEquals(FULL)) {
+        full = true;
+      } else {
+        continue;
+      }
+      while (file.nextTokenUntil((byte) '=')) {
+        if (file.tokenEquals(AVG10)) {
+          averages[PressureMetrics.averageIndex(resource, full, 0)] = file.nextDecimal(-1.0);
+        } else if (file.tokenEquals(AVG60)) {
+          averages[PressureMetrics.averageIndex(resource, full, 1)] = file.nextDecimal(-1.0);
+        } else if (file.tokenEquals(AVG300)) {
+          averages[PressureMetrics.averageIndex(resource, full, 2)] = file.nextDecimal(-1.0);
+        } else if (file.tokenEquals(TOTAL)) {
+          totals[PressureMetrics.totalIndex(resource, full)] = file.nextLong(-1L);
+        } else {
+          file.nextToken();
+        }
+      }
+    } while (file.nextLine());
+    return totals[PressureMetrics.totalIndex(resource, false)] >= 0;
+  }
+
+  /**
+   * Returns true if the last {@link #sample()} read at least one resource.
+   */
+  public boolean isAvailable() {
+    return available;
+  }
+
+  public double someAvg10(Resource resource) {
+    return averages[PressureMetrics.averageIndex(resource, false, 0)];
+  }
+
+  public double fullAvg10(Resource resource) {
+    return averages[PressureMetrics.averageIndex(resource, true, 0)];
+  }
+
+  public long someTotalMicros(Resource resource) {
+    return totals[PressureMetrics.totalIndex(resource, false)];
+  }
+
+  public long fullTotalMicros(Resource resource) {
+    return totals[PressureMetrics.totalIndex(resource, true)];
+  }
+
+  /**
+   * Returns the last sample as an immutable value, or null if nothing was read.
+   */
+  public PressureMetrics toMetrics() {
+    return available ? new PressureMetrics(averages, totals) : null;
+  }
+
+  @Override
+  public void close() {
+    for (ProcFile file : files) {
+      file.close();
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A procfs/sysfs/cgroupfs file that is re-read in place, plus a byte-level cursor for parsing it.
+ *
+ * <p>
+ * The file is kept open and re-read with a positional read from offset 0, which makes the kernel
+ * regenerate its content, into a buffer that is reused and only grows. The cursor methods parse
+ * numbers and tokens straight from the bytes, so a steady-state read allocates nothing. One buffer
+ * can also parse many files whose channels are held elsewhere.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+final class ProcFile implements AutoCloseable {
+
+  private final Path path;
+  private FileChannel channel;
+  private byte[] bytes = new byte[4096];
+  private ByteBuffer buffer = ByteBuffer.wrap(bytes);
+  private int length;
+  private int position;
+  private int tokenStart;
+  private int tokenEnd;
+
+  ProcFile(Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Creates a parse buffer without a file of its own, filled only through
+   * {@link #read(FileChannel)}.
+   */
+  ProcFile() {
+    this(null);
+  }
+
+  Path path() {
+    return path;
+  }
+
+  /**
+   * Reads the whole file and rewinds the cursor.
+   *
+   * @return false if the file could not be read, in which case the content is empty
+   */
+  boolean read() {
+    try {
+      if (channel == null) {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+      }
+      fill(channel);
+      return true;
+    } catch (IOException e) {
+      length = 0;
+      position = 0;
+      close();
+      return false;
+    }
+  }
+
+  /**
+   * Reads the whole of another open file into this buffer and rewinds the cursor, so one buffer
+   * can serve many files. The channel is neither kept nor closed.
+   *
+   * @return false if the file could not be read, in which case the content is empty
+   */
+  boolean read(FileChannel other) {
+    try {
+      fill(other);
+      return true;
+    } catch (IOException e) {
+      length = 0;
+      position = 0;
+      return false;
+    }
+  }
+
+  private void fill(FileChannel source) throws IOException {
+    length = 0;
+    position = 0;
+    buffer.clear();
+    while (true) {
+      int read = source.read(buffer, buffer.position());
+      if (read <= 0) {
+        break;
+      }
+      if (!buffer.hasRemaining()) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        int filled = buffer.position();
+        buffer = ByteBuffer.wrap(bytes);
+        buffer.position(filled);
+      }
+    }
+    length = buffer.position();
+  }
+
+  int length() {
+    return length;
+  }
+
+  /**
+   * Returns true if the content equals {@code other}'s, byte for byte.
+   */
+  boolean contentEquals(ProcFile other) {
+    return Arrays.equals(bytes, 0, length, other.bytes, 0, other.length);
+  }
+
+  /**
+   * Copies the content into {@code other}, reusing its buffer.
+   */
+  void copyTo(ProcFile other) {
+    if (other.bytes.length < length) {
+      other.bytes = Arrays.copyOf(bytes, bytes.length);
+      other.buffer = ByteBuffer.wrap(other.bytes);
+    } else {
+      System.arraycopy(bytes, 0, other.bytes, 0, length);
+    }
+    other.length = length;
+    other.position = 0;
+  }
+
+  // -------------------------------------------------------------------------------------------
+  // Cursor
+  // -------------------------------------------------------------------------------------------
+
+  void rewind() {
+    position = 0;
+  }
+
+  boolean atEnd() {
+    return position >= length;
+  }
+
+  /**
+   * Returns true if the cursor is at the end of a line (or of the content).
+   */
+  boolean atEndOfLine() {
+    skipBlanks();
+    return position >= length || bytes[position] == '\n';
+  }
+
+  /**
+   * Moves the cursor to the start of the next line.
+   *
+   * @return false if there is no next line
+   */
+  boolean nextLine() {
+    while (position < length && bytes[position] != '\n') {
+      position++;
+    }
+    if (position >= length) {
+      return false;
+    }
+    position++;
+    return position < length;
+  }
+
+  /**
+   * Moves the cursor just past {@code prefix} on the first line, from the start, that begins with
+   * it.
+   *
+   * @return false if no line matches
+   */
+  boolean findLine(byte[] prefix) {
+    position = 0;
+    do {
+      if (startsWith(prefix)) {
+        position += prefix.length;
+        return true;
+      }
+    } while (nextLine());
+    return false;
+  }
+
+  /**
+   * Returns true if the bytes at the cursor are {@code prefix}. Does not move the cursor.
+   */
+  boolean startsWith(byte[] prefix) {
+    if (position + prefix.length > length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[position + i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if the byte at the cursor is a decimal digit. Does not skip blanks.
+   */
+  boolean atDigit() {
+    return position < length && bytes[position] >= '0' && bytes[position] <= '9';
+  }
+
+  /**
+   * Advances the cursor by {@code count} bytes.
+   */
+  void skip(int count) {
+    position = Math.min(length, position + count);
+  }
+
+  /**
+   * Parses the next (optionally negative) decimal integer on the current line, skipping blanks.
+   *
+   * @return the value, or {@code fallback} if the next token is not a number
+   */
+  long nextLong(long fallback) {
+    skipBlanks();
+    boolean negative = position < length && bytes[position] == '-';
+    int start = negative ? position + 1 : position;
+    int i = start;
+    long value = 0;
+    while (i < length && bytes[i] >= '0' && bytes[i] <= '9') {
+      value = value * 10 + (bytes[i] - '0');
+      i++;
+    }
+    if (i == start) {
+      return fallback;
+    }
+    position = i;
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses the next decimal number with an optional fraction, such as {@code 12.34}.
+   *
+   * @return the value, or {@code fallback} if the next token is not a number
+   */
+  double nextDecimal(double fallback) {
+    skipBlanks();
+    int start = position;
+    long whole = nextLong(Long.MIN_VALUE);
+    if (whole == Long.MIN_VALUE) {
+      position = start;
+      return fallback;
+    }
+    boolean negative = bytes[start] == '-';
+    if (position >= length || bytes[position] != '.') {
+      return whole;
+    }
+    position++;
+    long fraction = 0;
+    long scale = 1;
+    while (position < length && bytes[position] >= '0' && bytes[position] <= '9'
+        && scale < 1_000_000_000_000_000L) {
+      fraction = fraction * 10 + (bytes[position] - '0');
+      scale *= 10;
+      position++;
+    }
+    while (position < length && bytes[position] >= '0' && bytes[position] <= '9') {
+      position++;
+    }
+    double magnitude = Math.abs((double) whole) + (double) fraction / scale;
+    return negative ? -magnitude : magnitude;
+  }
+
+  /**
+   * Marks the next whitespace-delimited token on the current line, readable through
+   * {@link #tokenEquals(byte[])} and {@link #tokenString()}, and moves past it.
+   *
+   * @return false if the line has no more tokens
+   */
+  boolean nextToken() {
+    skipBlanks();
+    tokenStart = position;
+    while (position < length && (bytes[position] & 0xFF) > ' ') {
+      position++;
+    }
+    tokenEnd = position;
+    return tokenEnd > tokenStart;
+  }
+
+  /**
+   * Marks the bytes up to (excluding) {@code delimiter} on the current line as the token, and moves
+   * past the delimiter.
+   */
+  boolean nextTokenUntil(byte delimiter) {
+    skipBlanks();
+    tokenStart = position;
+    while (position < length && bytes[position] != delimiter && bytes[position] != '\n') {
+      position++;
+    }
+    tokenEnd = position;
+    if (position < length && bytes[position] == delimiter) {
+      position++;
+    }
+    return tokenEnd > tokenStart;
+  }
+
+  boolean tokenEquals(byte[] expected) {
+    return Arrays.equals(bytes, tokenStart, tokenEnd, expected, 0, expected.length);
+  }
+
+  boolean tokenStartsWith(byte[] prefix) {
+    return tokenEnd - tokenStart >= prefix.length
+        && Arrays.equals(bytes, tokenStart, tokenStart + prefix.length, prefix, 0, prefix.length);
+  }
+
+  /**
+   * Hash of the current token, consistent with {@link #hash(byte[], int, int)}.
+   */
+  int tokenHash() {
+    return hash(bytes, tokenStart, tokenEnd);
+  }
+
+  int tokenLength() {
+    return tokenEnd - tokenStart;
+  }
+
+  /**
+   * Copies the current token into {@code target} at {@code offset}.
+   */
+  void copyToken(byte[] target, int offset) {
+    System.arraycopy(bytes, tokenStart, target, offset, tokenEnd - tokenStart);
+  }
+
+  /**
+   * Returns true if the current token equals {@code length} bytes of {@code other} at
+   * {@code offset}.
+   */
+  boolean tokenEquals(byte[] other, int offset, int length) {
+    return Arrays.equals(bytes, tokenStart, tokenEnd, other, offset, offset + length);
+  }
+
+  /**
+   * Decodes the current token as a string. Allocates; meant for new names, not steady state.
+   */
+  String tokenString() {
+    return new String(bytes, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decodes the current token as a path from a mount table, expanding the octal escapes
+   * ({@code \040} for a space and so on) the kernel uses there. The unescaped bytes are decoded as
+   * UTF-8, like {@link #tokenString()}.
+   */
+  String tokenMountPath() {
+    byte[] path = new byte[tokenEnd - tokenStart];
+    int size = 0;
+    for (int i = tokenStart; i < tokenEnd; i++) {
+      if (bytes[i] == '\\' && i + 3 < tokenEnd && isOctal(bytes[i + 1])
+          && isOctal(bytes[i + 2]) && isOctal(bytes[i + 3])) {
+        path[size++] = (byte) ((bytes[i + 1] - '0') * 64 + (bytes[i + 2] - '0') * 8
+            + (bytes[i + 3] - '0'));
+        i += 3;
+      } else {
+        path[size++] = bytes[i];
+      }
+    }
+    return new String(path, 0, size, StandardCharsets.UTF_8);
+  }
+
+  private static boolean isOctal(byte b) {
+    return b >= '0' && b <= '7';
+  }
+
+  /**
+   * Same arithmetic as {@link String#hashCode()}, so an ASCII token hashes like its string.
+   */
+  static int hash(byte[] source, int from, int to) {
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      hash = 31 * hash + source[i];
+    }
+    return hash;
+  }
+
+  private void skipBlanks() {
+    while (position < length && (bytes[position] == ' ' || bytes[position] == '\t')) {
+      position++;
+    }
+  }
+
+  @Override
+  public void close() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Nothing useful to do; the next read reopens.
+      }
+      channel = null;
+    }
+  }
+}
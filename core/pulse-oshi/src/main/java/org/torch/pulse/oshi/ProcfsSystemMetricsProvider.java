@@ -0,0 +1,516 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Linux {@link SystemMetricsProvider} that reads procfs and sysfs directly instead of going through
+ * OSHI and JNA.
+ *
+ * <p>
+ * Every source file is held open and re-read into a reused buffer, and numbers are parsed straight
+ * from the bytes, so a steady-state sample of CPU, memory and temperature allocates nothing. Disk
+ * space comes from {@code statvfs} (through {@link File#getTotalSpace()}) for each mount in
+ * {@code /proc/self/mounts}; the mount table is only re-parsed when its content changes. Disk I/O
+ * rates come from {@code /proc/diskstats} and network rates from {@code /proc/net/dev}, which
+ * covers the network namespace of the process.
+ *
+ * <p>
+ * CPU usage, total and per core, covers the time since the previous call (or construction) and
+ * never sleeps, so poll it at the rate you want to graph. If no ticks elapsed in between, the
+ * previous value is returned.
+ *
+ * <p>
+ * All paths are resolved against a configurable root, so the provider can run against a copy of
+ * a proc tree.
+ */
+public final class ProcfsSystemMetricsProvider implements SystemMetricsProvider {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("ProcfsSystemMetricsProviderLogger");
+
+  // /proc/stat columns: user nice system idle iowait irq softirq steal. Same order as OSHI ticks.
+  private static final int TICK_COLUMNS = 8;
+  private static final byte[] CPU = ascii("cpu");
+  private static final byte[] CPU_TOTAL = ascii("cpu ");
+  // /proc/diskstats counts 512-byte sectors regardless of the device's sector size.
+  private static final long SECTOR_BYTES = 512;
+  private static final byte[] MEM_TOTAL = ascii("MemTotal:");
+  private static final byte[] MEM_AVAILABLE = ascii("MemAvailable:");
+  private static final String[] PREFERRED_THERMAL_TYPES =
+      {"x86_pkg_temp", "cpu", "coretemp", "k10temp", "soc", "acpitz"};
+  private final Path root;
+  private final FileStoreFilter fileStoreFilter;
+  private final ProcFile stat;
+  private final ProcFile meminfo;
+  private final ProcFile mounts;
+  private final ProcFile mountsSeen;
+  private final ProcFile thermalZone;
+  private final ProcFile diskstats;
+  private final DiskIoCounters diskIo = new DiskIoCounters();
+  private final ProcFile netDev;
+  private final NetworkCounters network = new NetworkCounters();
+  private final PressureReader pressure;
+  // Created on first use; tracks safepoints through JFR only when asked to.
+  private volatile JvmMetricsProvider jvmMetrics;
+  private volatile boolean trackSafepoints;
+  private final SnapshotCollector snapshotCollector = new SnapshotCollector(this);
+
+  // Guarded by stat.
+  private long[] previousTicks = new long[TICK_COLUMNS];
+  private long[] currentTicks = new long[TICK_COLUMNS];
+  private double lastCpuUsage;
+  private long[][] previousProcessorTicks = new long[0][];
+  private long[][] currentProcessorTicks = new long[0][];
+  private double[] lastProcessorUsage = new double[0];
+
+  // Guarded by mounts.
+  private String[] mountPoints = new String[0];
+  private File[] mountFiles = new File[0];
+
+  /**
+   * Creates a provider reading the live {@code /proc} and {@code /sys}.
+   */
+  public ProcfsSystemMetricsProvider() {
+    this(Path.of("/"));
+  }
+
+  /**
+   * Creates a provider reading {@code proc/} and {@code sys/} under {@code root}.
+   */
+  public ProcfsSystemMetricsProvider(Path root) {
+    this(root, FileStoreFilter.DEFAULT);
+  }
+
+  /**
+   * Creates a provider reading {@code proc/} and {@code sys/} under {@code root} and reporting the
+   * file systems accepted by {@code fileStoreFilter}.
+   */
+  public ProcfsSystemMetricsProvider(Path root, FileStoreFilter fileStoreFilter) {
+    logger.debug("Initializing ProcfsSystemMetricsProvider at {}...", root);
+    this.root = root;
+    this.fileStoreFilter = fileStoreFilter;
+    this.stat = new ProcFile(root.resolve("proc/stat"));
+    this.meminfo = new ProcFile(root.resolve("proc/meminfo"));
+    this.mounts = new ProcFile(root.resolve("proc/self/mounts"));
+    this.mountsSeen = new ProcFile(mounts.path());
+    this.diskstats = new ProcFile(root.resolve("proc/diskstats"));
+    this.netDev = new ProcFile(root.resolve("proc/net/dev"));
+    this.pressure = PressureReader.system(root);
+    Path zone = findThermalZone(root.resolve("sys/class/thermal"));
+    this.thermalZone = zone == null ? null : new ProcFile(zone.resolve("temp"));
+    synchronized (stat) {
+      if (stat.read()) {
+        readSystemTicks(previousTicks);
+        previousProcessorTicks = readProcessorTicks(previousProcessorTicks);
+      } else {
+        logger.warn("Cannot read {}; CPU usage will be unavailable", stat.path());
+      }
+    }
+    synchronized (diskstats) {
+      readDiskstats();
+    }
+    synchronized (netDev) {
+      readNetDev();
+    }
+    logger.info("ProcfsSystemMetricsProvider initialized (thermal zone: {}).", zone);
+  }
+
+  private static Path findThermalZone(Path thermal) {
+    List<Path> zones = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(thermal, "thermal_zone*")) {
+      stream.forEach(zones::add);
+    } catch (IOException e) {
+      return null;
+    }
+    zones.sort(null);
+    for (String preferred : PREFERRED_THERMAL_TYPES) {
+      for (Path zone : zones) {
+        try {
+          String type = Files.readString(zone.resolve("type")).trim().toLowerCase(Locale.ROOT);
+          if (type.contains(preferred)) {
+            return zone;
+          }
+        } catch (IOException e) {
+          // Zone without a readable type; skip it.
+        }
+      }
+    }
+    return zones.isEmpty() ? null : zones.get(0);
+  }
+
+  @Override
+  public double getCpuUsage() {
+    synchronized (stat) {
+      if (!stat.read() || !readSystemTicks(currentTicks)) {
+        return -1.0;
+      }
+      if (ticksElapsed(previousTicks, currentTicks)) {
+        lastCpuUsage = CpuTicks.loadBetween(previousTicks, currentTicks) * 100;
+        long[] swap = previousTicks;
+        previousTicks = currentTicks;
+        currentTicks = swap;
+      }
+      return lastCpuUsage;
+    }
+  }
+
+  @Override
+  public int getProcessorCpuUsage(double[] usage) {
+    synchronized (stat) {
+      if (!stat.read()) {
+        return 0;
+      }
+      currentProcessorTicks = readProcessorTicks(currentProcessorTicks);
+      int processors = currentProcessorTicks.length;
+      if (lastProcessorUsage.length != processors) {
+        lastProcessorUsage = new double[processors];
+      }
+      for (int i = 0; i < processors; i++) {
+        long[] previous = i < previousProcessorTicks.length ? previousProcessorTicks[i] : null;
+        if (previous != null && ticksElapsed(previous, currentProcessorTicks[i])) {
+          lastProcessorUsage[i] = CpuTicks.loadBetween(previous, currentProcessorTicks[i]) * 100;
+        }
+      }
+      System.arraycopy(lastProcessorUsage, 0, usage, 0, Math.min(usage.length, processors));
+      long[][] swap = previousProcessorTicks;
+      previousProcessorTicks = currentProcessorTicks;
+      currentProcessorTicks = swap;
+      return processors;
+    }
+  }
+
+  private boolean readSystemTicks(long[] ticks) {
+    return stat.findLine(CPU_TOTAL) && readTickColumns(ticks);
+  }
+
+  private boolean readTickColumns(long[] ticks) {
+    for (int i = 0; i < TICK_COLUMNS; i++) {
+      // Older kernels have fewer columns; the missing ones count as zero.
+      ticks[i] = Math.max(0, stat.nextLong(0));
+    }
+    return true;
+  }
+
+  /**
+   * Reads the "cpuN" lines into {@code ticks}, reallocating only when the processor count changes.
+   */
+  private long[][] readProcessorTicks(long[][] ticks) {
+    int processors = 0;
+    stat.rewind();
+    do {
+      if (stat.startsWith(CPU)) {
+        stat.skip(CPU.length);
+        if (stat.atDigit()) {
+          processors++;
+        }
+      }
+    } while (stat.nextLine());
+    if (ticks.length != processors) {
+      ticks = new long[processors][TICK_COLUMNS];
+    }
+    int index = 0;
+    stat.rewind();
+    do {
+      if (stat.startsWith(CPU)) {
+        stat.skip(CPU.length);
+        if (stat.atDigit() && index < processors) {
+          stat.nextLong(0);
+          readTickColumns(ticks[index++]);
+        }
+      }
+    } while (stat.nextLine());
+    return ticks;
+  }
+
+  private static boolean ticksElapsed(long[] previous, long[] current) {
+    for (int i = 0; i < current.length; i++) {
+      if (current[i] != previous[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public long getTotalMemory() {
+    return readMeminfo(MEM_TOTAL);
+  }
+
+  @Override
+  public long getAvailableMemory() {
+    return readMeminfo(MEM_AVAILABLE);
+  }
+
+  private long readMeminfo(byte[] key) {
+    synchronized (meminfo) {
+      if (!meminfo.read() || !meminfo.findLine(key)) {
+        return -1L;
+      }
+      long kibibytes = meminfo.nextLong(-1);
+      return kibibytes < 0 ? -1L : kibibytes * 1024;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Returns 0.0 when the machine exposes no thermal zone, as OSHI does.
+   */
+  @Override
+  public double getCpuTemperature() {
+    if (thermalZone == null) {
+      return 0.0;
+    }
+    synchronized (thermalZone) {
+      if (!thermalZone.read()) {
+        return -1.0;
+      }
+      long milliCelsius = thermalZone.nextLong(Long.MIN_VALUE);
+      return milliCelsius == Long.MIN_VALUE ? -1.0 : milliCelsius / 1000.0;
+    }
+  }
+
+  @Override
+  public List<DiskMetrics> getDiskUsage() {
+    DiskMetricsTable table = new DiskMetricsTable();
+    readDiskUsage(table);
+    return table.toList();
+  }
+
+  @Override
+  public void readDiskUsage(DiskMetricsTable table) {
+    String[] points;
+    File[] files;
+    synchronized (mounts) {
+      table.clear();
+      if (!mounts.read()) {
+        return;
+      }
+      if (!mounts.contentEquals(mountsSeen)) {
+        parseMounts();
+        mounts.copyTo(mountsSeen);
+      }
+      points = mountPoints;
+      files = mountFiles;
+    }
+    for (int i = 0; i < points.length; i++) {
+      long totalSpace = files[i].getTotalSpace();
+      if (totalSpace > 0) {
+        table.add(points[i], totalSpace, totalSpace - files[i].getUsableSpace());
+      }
+    }
+  }
+
+  private void parseMounts() {
+    List<String> points = new ArrayList<>();
+    mounts.rewind();
+    do {
+      // device mountpoint fstype options dump pass
+      if (!mounts.nextToken() || !mounts.nextToken()) {
+        continue;
+      }
+      String point = mounts.tokenMountPath();
+      if (mounts.nextToken() && fileStoreFilter.accepts(mounts.tokenString(), point)
+          && !points.contains(point)) {
+        points.add(point);
+      }
+    } while (mounts.nextLine());
+    List<File> files = new ArrayList<>(points.size());
+    for (Iterator<String> it = points.iterator(); it.hasNext();) {
+      String point = it.next();
+      try {
+        files.add(root.resolve(point.replaceFirst("^/+", "")).toFile());
+      } catch (InvalidPathException e) {
+        // The name cannot be represented in the platform's file name encoding.
+        logger.debug("Skipping mount point {}: {}", point, e.getMessage());
+        it.remove();
+      }
+    }
+    mountPoints = points.toArray(new String[0]);
+    mountFiles = files.toArray(new File[0]);
+    logger.info("Mount table changed; tracking {} file systems.", mountPoints.length);
+  }
+
+  @Override
+  public List<DiskIoMetrics> getDiskIo() {
+    synchronized (diskstats) {
+      if (!readDiskstats()) {
+        return List.of();
+      }
+      return diskIo.toMetrics();
+    }
+  }
+
+  private boolean readDiskstats() {
+    if (!diskstats.read()) {
+      return false;
+    }
+    CounterTable table = diskIo.table();
+    table.beginSample(System.nanoTime());
+    do {
+      // major minor name reads merged sectors ms writes merged sectors ms in-flight io_ms ...
+      diskstats.nextLong(0);
+      diskstats.nextLong(0);
+      if (!diskstats.nextToken()) {
+        continue;
+      }
+      int row = table.row(diskstats);
+      table.set(row, DiskIoCounters.READS, diskstats.nextLong(0));
+      diskstats.nextLong(0);
+      table.set(row, DiskIoCounters.READ_BYTES, diskstats.nextLong(0) * SECTOR_BYTES);
+      diskstats.nextLong(0);
+      table.set(row, DiskIoCounters.WRITES, diskstats.nextLong(0));
+      diskstats.nextLong(0);
+      table.set(row, DiskIoCounters.WRITE_BYTES, diskstats.nextLong(0) * SECTOR_BYTES);
+      diskstats.nextLong(0);
+      table.set(row, DiskIoCounters.QUEUE_LENGTH, diskstats.nextLong(0));
+      table.set(row, DiskIoCounters.BUSY_MILLIS, diskstats.nextLong(0));
+    } while (diskstats.nextLine());
+    table.endSample();
+    return true;
+  }
+
+  @Override
+  public List<NetworkInterfaceMetrics> getNetworkInterfaces() {
+    synchronized (netDev) {
+      if (!readNetDev()) {
+        return List.of();
+      }
+      return network.toMetrics();
+    }
+  }
+
+  private boolean readNetDev() {
+    if (!netDev.read()) {
+      return false;
+    }
+    CounterTable table = network.table();
+    table.beginSample(System.nanoTime());
+    // Two header lines, then "name: rx bytes packets errs drop fifo frame compressed multicast
+    // tx bytes packets errs drop fifo colls carrier compressed".
+    netDev.nextLine();
+    while (netDev.nextLine()) {
+      if (!netDev.nextTokenUntil((byte) ':')) {
+        continue;
+      }
+      int row = table.row(netDev);
+      table.set(row, NetworkCounters.BYTES_RECEIVED, netDev.nextLong(0));
+      table.set(row, NetworkCounters.PACKETS_RECEIVED, netDev.nextLong(0));
+      table.set(row, NetworkCounters.RECEIVE_ERRORS, netDev.nextLong(0));
+      table.set(row, NetworkCounters.RECEIVE_DROPS, netDev.nextLong(0));
+      for (int skipped = 0; skipped < 4; skipped++) {
+        netDev.nextLong(0);
+      }
+      table.set(row, NetworkCounters.BYTES_SENT, netDev.nextLong(0));
+      table.set(row, NetworkCounters.PACKETS_SENT, netDev.nextLong(0));
+      table.set(row, NetworkCounters.SEND_ERRORS, netDev.nextLong(0));
+      table.set(row, NetworkCounters.SEND_DROPS, netDev.nextLong(0));
+    }
+    table.endSample();
+    return true;
+  }
+
+  /**
+   * Reports JVM safepoint time in {@link #getJvmMetrics()}. Off by default because it starts a
+   * JFR recording stream in this process; otherwise safepoint time is reported as -1.
+   *
+   * @return this provider
+   * @throws IllegalStateException if JVM metrics have already been read
+   */
+  public synchronized ProcfsSystemMetricsProvider trackSafepoints() {
+    if (jvmMetrics != null) {
+      throw new IllegalStateException("Enable safepoint tracking before reading JVM metrics");
+    }
+    trackSafepoints = true;
+    return this;
+  }
+
+  @Override
+  public JvmMetrics getJvmMetrics() {
+    JvmMetricsProvider jvm = jvmMetrics;
+    if (jvm == null) {
+      synchronized (this) {
+        jvm = jvmMetrics;
+        if (jvm == null) {
+          jvmMetrics = jvm = new JvmMetricsProvider(trackSafepoints);
+        }
+      }
+    }
+    return jvm.read();
+  }
+
+  @Override
+  public PressureMetrics getPressure() {
+    synchronized (pressure) {
+      pressure.sample();
+      return pressure.toMetrics();
+    }
+  }
+
+  @Override
+  public SystemMetrics snapshot() {
+    return snapshotCollector.collect();
+  }
+
+  @Override
+  public void close() {
+    snapshotCollector.close();
+    synchronized (stat) {
+      stat.close();
+    }
+    synchronized (meminfo) {
+      meminfo.close();
+    }
+    synchronized (mounts) {
+      mounts.close();
+    }
+    synchronized (diskstats) {
+      diskstats.close();
+    }
+    synchronized (netDev) {
+      netDev.close();
+    }
+    synchronized (pressure) {
+      pressure.close();
+    }
+    JvmMetricsProvider jvm = jvmMetrics;
+    if (jvm != null) {
+      jvm.close();
+    }
+    if (thermalZone != null) {
+      synchronized (thermalZone) {
+        thermalZone.close();
+      }
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the memory-mapped file shared by {@link SharedMetricsPublisher} and
+ * {@link SharedMetricsReader}. All fields are in native byte order, since both sides run on the
+ * same host.
+ *
+ * <pre>
+ *  0  int   magic
+ *  4  int   version
+ *  8  long  sequence     seqlock: odd while the publisher writes
+ * 16  long  timestamp    epoch milliseconds of the published snapshot
+ * 24  long  generation   changes whenever the series names change
+ * 32  int   count        number of series
+ * 36  int   namesBytes   size of the names block
+ * 40  int   fileBytes    size of the file
+ * 48  double[count]      values
+ *     names block        per series: unsigned short UTF-8 length, then the bytes
+ * </pre>
+ */
+final class SharedMetricsLayout {
+
+  static final int MAGIC = 0x504C5348;
+  static final int VERSION = 1;
+  static final int MAGIC_OFFSET = 0;
+  static final int VERSION_OFFSET = 4;
+  static final int SEQUENCE_OFFSET = 8;
+  static final int TIMESTAMP_OFFSET = 16;
+  static final int GENERATION_OFFSET = 24;
+  static final int COUNT_OFFSET = 32;
+  static final int NAMES_BYTES_OFFSET = 36;
+  static final int FILE_BYTES_OFFSET = 40;
+  static final int HEADER_BYTES = 48;
+
+  /**
+   * Ordered access to the sequence word; plain buffer accessors give no ordering guarantees.
+   */
+  static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private SharedMetricsLayout() {}
+
+  static int valuesOffset() {
+    return HEADER_BYTES;
+  }
+
+  static int namesOffset(int count) {
+    return HEADER_BYTES + count * Double.BYTES;
+  }
+}
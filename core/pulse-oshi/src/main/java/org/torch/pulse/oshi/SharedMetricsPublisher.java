@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Publishes the latest {@link SystemMetrics} into a memory-mapped file, so one collector can serve
+ * every process on the host through {@link SharedMetricsReader}.
+ *
+ * <p>
+ * A snapshot is flattened into {@link SystemMetricsSeries} values and written under a sequence
+ * lock: the sequence word is odd while a write is in progress, and readers retry if it was odd or
+ * changed while they copied. The series names are only rewritten when they change, for example
+ * when a disk is mounted. Readers need no system calls after mapping the file.
+ *
+ * <p>
+ * The file is created if needed and never shrunk, because shrinking a file that readers have
+ * mapped would crash them. A restarted publisher continues the existing sequence. Only one
+ * publisher may write a file at a time; {@link #publish(SystemMetrics)} is not thread-safe.
+ */
+public final class SharedMetricsPublisher implements AutoCloseable {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("SharedMetricsPublisherLogger");
+
+  public static final int DEFAULT_FILE_BYTES = 64 << 10;
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final int fileBytes;
+  private long sequence;
+  private long generation;
+  private boolean overflowLogged;
+
+  // Reused while flattening a snapshot.
+  private final List<String> pendingNames = new ArrayList<>();
+  private double[] pendingValues = new double[64];
+  private final SystemMetricsSeries.Visitor collector = this::collect;
+  private String[] publishedNames = new String[0];
+
+  /**
+   * Creates a publisher with a {@value #DEFAULT_FILE_BYTES}-byte file.
+   */
+  public SharedMetricsPublisher(Path path) throws IOException {
+    this(path, DEFAULT_FILE_BYTES);
+  }
+
+  /**
+   * @param fileBytes minimum size of the file; series that do not fit are dropped
+   */
+  public SharedMetricsPublisher(Path path, int fileBytes) throws IOException {
+    if (fileBytes < SharedMetricsLayout.HEADER_BYTES) {
+      throw new IllegalArgumentException(
+          "File must hold at least " + SharedMetricsLayout.HEADER_BYTES + " bytes");
+    }
+    this.path = path;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long size = Math.max(channel.size(), fileBytes);
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("File too large: " + size);
+      }
+      this.fileBytes = (int) size;
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+    buffer.order(ByteOrder.nativeOrder());
+    if (buffer.getInt(SharedMetricsLayout.MAGIC_OFFSET) == SharedMetricsLayout.MAGIC
+        && buffer.getInt(SharedMetricsLayout.VERSION_OFFSET) == SharedMetricsLayout.VERSION) {
+      // Continue the sequence so readers of the old file see the change; a publisher that died
+      // mid-write left it odd.
+      long previous = (long) SharedMetricsLayout.LONGS.getVolatile(buffer,
+          SharedMetricsLayout.SEQUENCE_OFFSET);
+      sequence = (previous + 1) & ~1L;
+      generation = buffer.getLong(SharedMetricsLayout.GENERATION_OFFSET) + 1;
+    }
+    SharedMetricsLayout.LONGS.setVolatile(buffer, SharedMetricsLayout.SEQUENCE_OFFSET, sequence);
+    buffer.putInt(SharedMetricsLayout.VERSION_OFFSET, SharedMetricsLayout.VERSION);
+    buffer.putInt(SharedMetricsLayout.FILE_BYTES_OFFSET, this.fileBytes);
+    buffer.putInt(SharedMetricsLayout.MAGIC_OFFSET, SharedMetricsLayout.MAGIC);
+    logger.info("Publishing metrics to {} ({} bytes)", path, this.fileBytes);
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  /**
+   * Publishes the non-stale series of {@code metrics}. Once the set of series is stable, this
+   * allocates nothing.
+   */
+  public void publish(SystemMetrics metrics) {
+    pendingNames.clear();
+    SystemMetricsSeries.forEach(metrics, collector);
+    int count = fit(pendingNames.size());
+    boolean namesChanged = !sameNames(count);
+    byte[] names = namesChanged ? encodeNames(count) : null;
+    if (names != null && SharedMetricsLayout.namesOffset(count) + names.length > fileBytes) {
+      // Names cannot be trimmed cheaply after encoding; drop series until they fit.
+      while (count > 0 && SharedMetricsLayout.namesOffset(count) + names.length > fileBytes) {
+        count--;
+        names = encodeNames(count);
+      }
+      logOverflow();
+    }
+
+    long odd = sequence + 1;
+    SharedMetricsLayout.LONGS.setOpaque(buffer, SharedMetricsLayout.SEQUENCE_OFFSET, odd);
+    VarHandle.storeStoreFence();
+    buffer.putLong(SharedMetricsLayout.TIMESTAMP_OFFSET, metrics.getTimestamp());
+    buffer.putInt(SharedMetricsLayout.COUNT_OFFSET, count);
+    int valuesOffset = SharedMetricsLayout.valuesOffset();
+    for (int i = 0; i < count; i++) {
+      buffer.putDouble(valuesOffset + i * Double.BYTES, pendingValues[i]);
+    }
+    if (names != null) {
+      buffer.putLong(SharedMetricsLayout.GENERATION_OFFSET, ++generation);
+      buffer.putInt(SharedMetricsLayout.NAMES_BYTES_OFFSET, names.length);
+      buffer.put(SharedMetricsLayout.namesOffset(count), names);
+      publishedNames = pendingNames.subList(0, count).toArray(new String[0]);
+    }
+    sequence = odd + 1;
+    SharedMetricsLayout.LONGS.setRelease(buffer, SharedMetricsLayout.SEQUENCE_OFFSET, sequence);
+  }
+
+  private void collect(String series, double value) {
+    int index = pendingNames.size();
+    if (index == pendingValues.length) {
+      pendingValues = Arrays.copyOf(pendingValues, index * 2);
+    }
+    pendingNames.add(series);
+    pendingValues[index] = value;
+  }
+
+  /**
+   * Returns how many of the first {@code count} values fit, leaving room for at least their names'
+   * length prefixes.
+   */
+  private int fit(int count) {
+    int room = (fileBytes - SharedMetricsLayout.HEADER_BYTES) / (Double.BYTES + Short.BYTES);
+    if (count > room) {
+      logOverflow();
+      return room;
+    }
+    return count;
+  }
+
+  private void logOverflow() {
+    if (!overflowLogged) {
+      overflowLogged = true;
+      logger.warn("{} is too small for all series; publishing only the first ones", path);
+    }
+  }
+
+  private boolean sameNames(int count) {
+    if (count != publishedNames.length) {
+      return false;
+    }
+    for (int i = 0; i < count; i++) {
+      if (!publishedNames[i].equals(pendingNames.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte[] encodeNames(int count) {
+    int length = 0;
+    byte[][] encoded = new byte[count][];
+    for (int i = 0; i < count; i++) {
+      byte[] bytes = pendingNames.get(i).getBytes(StandardCharsets.UTF_8);
+      encoded[i] = bytes.length > 0xFFFF ? Arrays.copyOf(bytes, 0xFFFF) : bytes;
+      length += Short.BYTES + encoded[i].length;
+    }
+    byte[] names = new byte[length];
+    int offset = 0;
+    for (byte[] bytes : encoded) {
+      names[offset] = (byte) (bytes.length >>> 8);
+      names[offset + 1] = (byte) bytes.length;
+      System.arraycopy(bytes, 0, names, offset + Short.BYTES, bytes.length);
+      offset += Short.BYTES + bytes.length;
+    }
+    return names;
+  }
+
+  /**
+   * Flushes the mapping. The file stays in place so readers keep their last values.
+   */
+  @Override
+  public void close() {
+    buffer.force();
+    logger.info("Stopped publishing metrics to {}", path);
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the metrics a {@link SharedMetricsPublisher}, possibly in another process, publishes to a
+ * memory-mapped file.
+ *
+ * <p>
+ * {@link #read()} copies a consistent snapshot out of the mapping into arrays owned by the reader,
+ * retrying while the publisher is mid-write. Apart from re-mapping a file that a restarted
+ * publisher grew, no system call is made, and nothing is allocated unless the series names
+ * changed.
+ *
+ * <p>
+ * Not thread-safe; give each reading thread its own reader.
+ */
+public final class SharedMetricsReader implements AutoCloseable {
+
+  private static final int MAX_ATTEMPTS = 1_000;
+
+  private final Path path;
+  private MappedByteBuffer buffer;
+  private long sequence;
+  private long timestamp = -1L;
+  private long generation = -1L;
+  private int count;
+  private double[] values = new double[0];
+  // Receives each copy attempt; swapped with values once the copy proved consistent, so a torn
+  // read never overwrites the last good snapshot.
+  private double[] scratch = new double[0];
+  private String[] names = new String[0];
+  private Map<String, Integer> indexByName = Map.of();
+
+  /**
+   * @throws IOException if the file cannot be mapped
+   * @throws IllegalArgumentException if the file was not written by a compatible publisher
+   */
+  public SharedMetricsReader(Path path) throws IOException {
+    this.path = path;
+    map();
+    if (buffer.capacity() < SharedMetricsLayout.HEADER_BYTES
+        || buffer.getInt(SharedMetricsLayout.MAGIC_OFFSET) != SharedMetricsLayout.MAGIC) {
+      throw new IllegalArgumentException(path + " is not a shared metrics file");
+    }
+    if (buffer.getInt(SharedMetricsLayout.VERSION_OFFSET) != SharedMetricsLayout.VERSION) {
+      throw new IllegalArgumentException("Unsupported shared metrics version in " + path);
+    }
+  }
+
+  private void map() throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Copies the latest published snapshot.
+   *
+   * @return false if nothing has been published yet or no consistent copy could be taken, in which
+   *         case the previous values are kept
+   * @throws IOException if the file grew and could not be mapped again
+   */
+  public boolean read() throws IOException {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      long before =
+          (long) SharedMetricsLayout.LONGS.getAcquire(buffer, SharedMetricsLayout.SEQUENCE_OFFSET);
+      if (before == 0) {
+        return false;
+      }
+      if ((before & 1) != 0) {
+        Thread.onSpinWait();
+        continue;
+      }
+      if (buffer.getInt(SharedMetricsLayout.FILE_BYTES_OFFSET) > buffer.capacity()) {
+        map();
+        continue;
+      }
+      if (copy(before)) {
+        return true;
+      }
+      Thread.onSpinWait();
+    }
+    return false;
+  }
+
+  /**
+   * Copies the snapshot published at {@code before}, and checks afterwards that no write
+   * interleaved.
+   */
+  private boolean copy(long before) {
+    long publishedAt = buffer.getLong(SharedMetricsLayout.TIMESTAMP_OFFSET);
+    long publishedGeneration = buffer.getLong(SharedMetricsLayout.GENERATION_OFFSET);
+    int publishedCount = buffer.getInt(SharedMetricsLayout.COUNT_OFFSET);
+    int namesBytes = buffer.getInt(SharedMetricsLayout.NAMES_BYTES_OFFSET);
+    if (publishedCount < 0 || namesBytes < 0 || (long) SharedMetricsLayout.namesOffset(
+        publishedCount) + namesBytes > buffer.capacity()) {
+      // Torn header.
+      return false;
+    }
+    if (scratch.length < publishedCount) {
+      scratch = new double[publishedCount];
+    }
+    double[] target = scratch;
+    int valuesOffset = SharedMetricsLayout.valuesOffset();
+    for (int i = 0; i < publishedCount; i++) {
+      target[i] = buffer.getDouble(valuesOffset + i * Double.BYTES);
+    }
+    String[] decoded = publishedGeneration != generation
+        ? decodeNames(SharedMetricsLayout.namesOffset(publishedCount), namesBytes, publishedCount)
+        : null;
+    if (!consistent(before) || (publishedGeneration != generation && decoded == null)) {
+      return false;
+    }
+    if (decoded != null) {
+      names = decoded;
+      Map<String, Integer> index = new HashMap<>();
+      for (int i = 0; i < decoded.length; i++) {
+        index.put(decoded[i], i);
+      }
+      indexByName = index;
+      generation = publishedGeneration;
+    }
+    scratch = values;
+    values = target;
+    count = publishedCount;
+    timestamp = publishedAt;
+    sequence = before;
+    return true;
+  }
+
+  private boolean consistent(long before) {
+    VarHandle.loadLoadFence();
+    return (long) SharedMetricsLayout.LONGS.getVolatile(buffer,
+        SharedMetricsLayout.SEQUENCE_OFFSET) == before;
+  }
+
+  /**
+   * Decodes the names block, or returns null if it is malformed, which means it was torn.
+   */
+  private String[] decodeNames(int offset, int length, int expectedCount) {
+    String[] decoded = new String[expectedCount];
+    int position = offset;
+    int end = offset + length;
+    byte[] scratch = new byte[256];
+    for (int i = 0; i < expectedCount; i++) {
+      if (position + Short.BYTES > end) {
+        return null;
+      }
+      int size = ((buffer.get(position) & 0xFF) << 8) | (buffer.get(position + 1) & 0xFF);
+      position += Short.BYTES;
+      if (position + size > end) {
+        return null;
+      }
+      if (scratch.length < size) {
+        scratch = new byte[size];
+      }
+      buffer.get(position, scratch, 0, size);
+      decoded[i] = new String(scratch, 0, size, StandardCharsets.UTF_8);
+      position += size;
+    }
+    return decoded;
+  }
+
+  /**
+   * Returns the sequence number of the last copied snapshot; it grows with every publication.
+   */
+  public long sequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns the epoch milliseconds of the last copied snapshot, or -1 before the first.
+   */
+  public long timestamp() {
+    return timestamp;
+  }
+
+  public int size() {
+    return count;
+  }
+
+  public String name(int index) {
+    return names[index];
+  }
+
+  public double value(int index) {
+    return values[index];
+  }
+
+  /**
+   * Returns the value of {@code series} in the last copied snapshot, or NaN if it has none.
+   */
+  public double get(String series) {
+    Integer index = indexByName.get(series);
+    return index != null && index < count ? values[index] : Double.NaN;
+  }
+
+  public void forEach(SystemMetricsSeries.Visitor visitor) {
+    for (int i = 0; i < count; i++) {
+      visitor.accept(names[i], values[i]);
+    }
+  }
+
+  /**
+   * Drops the reference to the mapping; it is unmapped once garbage-collected.
+   */
+  @Override
+  public void close() {
+    buffer = null;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Builds a {@link SystemMetrics} in one pass by running every probe of a
+ * {@link SystemMetricsProvider} concurrently on virtual threads.
+ *
+ * <p>
+ * Each probe has its own deadline measured from the start of the snapshot. A probe that misses it,
+ * or fails, contributes its last successful value (or -1 / an empty list / null if it never
+ * succeeded) and is reported through {@link SystemMetrics#getStaleMetrics()}. A probe that is still
+ * running from an earlier snapshot is awaited again rather than started a second time, so a hung
+ * mount cannot pile up threads.
+ */
+public final class SnapshotCollector implements AutoCloseable {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("SnapshotCollectorLogger");
+
+  private static final Map<Metric, Duration> DEFAULT_TIMEOUTS = defaultTimeouts();
+
+  private final SystemMetricsProvider provider;
+  private final long[] timeoutNanos = new long[Metric.values().length];
+  private final AtomicReferenceArray<Future<?>> running =
+      new AtomicReferenceArray<>(Metric.values().length);
+  private final AtomicReferenceArray<Object> lastGood =
+      new AtomicReferenceArray<>(Metric.values().length);
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pulse-probe-", 0).factory());
+
+  /**
+   * Creates a collector with the default deadlines: 1 s for CPU usage and the disk probes, 500 ms
+   * for the temperature sensors and the network, and 250 ms for memory, the JVM and pressure stall
+   * information.
+   */
+  public SnapshotCollector(SystemMetricsProvider provider) {
+    this(provider, DEFAULT_TIMEOUTS);
+  }
+
+  /**
+   * @param timeouts per-metric deadlines; metrics without an entry keep their default
+   */
+  public SnapshotCollector(SystemMetricsProvider provider, Map<Metric, Duration> timeouts) {
+    this.provider = provider;
+    for (Metric metric : Metric.values()) {
+      Duration timeout = timeouts.getOrDefault(metric, DEFAULT_TIMEOUTS.get(metric));
+      if (timeout.isNegative()) {
+        throw new IllegalArgumentException("Timeout for " + metric + " must not be negative");
+      }
+      timeoutNanos[metric.ordinal()] = timeout.toNanos();
+    }
+  }
+
+  private static Map<Metric, Duration> defaultTimeouts() {
+    Map<Metric, Duration> timeouts = new EnumMap<>(Metric.class);
+    timeouts.put(Metric.CPU_USAGE, Duration.ofSeconds(1));
+    timeouts.put(Metric.TOTAL_MEMORY, Duration.ofMillis(250));
+    timeouts.put(Metric.AVAILABLE_MEMORY, Duration.ofMillis(250));
+    timeouts.put(Metric.CPU_TEMPERATURE, Duration.ofMillis(500));
+    timeouts.put(Metric.DISK_USAGE, Duration.ofSeconds(1));
+    timeouts.put(Metric.DISK_IO, Duration.ofSeconds(1));
+    timeouts.put(Metric.NETWORK, Duration.ofMillis(500));
+    timeouts.put(Metric.JVM, Duration.ofMillis(250));
+    timeouts.put(Metric.PRESSURE, Duration.ofMillis(250));
+    return Collections.unmodifiableMap(timeouts);
+  }
+
+  /**
+   * Runs all probes concurrently and waits at most the longest deadline.
+   */
+  public SystemMetrics collect() {
+    long start = System.nanoTime();
+    long timestamp = System.currentTimeMillis();
+    Future<Double> cpu = start(Metric.CPU_USAGE, provider::getCpuUsage);
+    Future<Long> total = start(Metric.TOTAL_MEMORY, provider::getTotalMemory);
+    Future<Long> available = start(Metric.AVAILABLE_MEMORY, provider::getAvailableMemory);
+    Future<Double> temperature = start(Metric.CPU_TEMPERATURE, provider::getCpuTemperature);
+    Future<List<DiskMetrics>> disks = start(Metric.DISK_USAGE, provider::getDiskUsage);
+    Future<List<DiskIoMetrics>> io = start(Metric.DISK_IO, provider::getDiskIo);
+    Future<List<NetworkInterfaceMetrics>> network =
+        start(Metric.NETWORK, provider::getNetworkInterfaces);
+    Future<JvmMetrics> jvmMetrics = start(Metric.JVM, provider::getJvmMetrics);
+    Future<PressureMetrics> pressureMetrics = start(Metric.PRESSURE, provider::getPressure);
+
+    Set<Metric> stale = EnumSet.noneOf(Metric.class);
+    double cpuUsage = await(Metric.CPU_USAGE, cpu, start, -1.0, stale);
+    long totalMemory = await(Metric.TOTAL_MEMORY, total, start, -1L, stale);
+    long availableMemory = await(Metric.AVAILABLE_MEMORY, available, start, -1L, stale);
+    double cpuTemperature = await(Metric.CPU_TEMPERATURE, temperature, start, -1.0, stale);
+    List<DiskMetrics> diskUsage = await(Metric.DISK_USAGE, disks, start, List.of(), stale);
+    List<DiskIoMetrics> diskIo = await(Metric.DISK_IO, io, start, List.of(), stale);
+    List<NetworkInterfaceMetrics> networkInterfaces =
+        await(Metric.NETWORK, network, start, List.of(), stale);
+    JvmMetrics jvm = await(Metric.JVM, jvmMetrics, start, null, stale);
+    PressureMetrics pressure = await(Metric.PRESSURE, pressureMetrics, start, null, stale);
+    if (!stale.isEmpty()) {
+      logger.warn("Snapshot completed with stale metrics: {}", stale);
+    }
+    return new SystemMetrics(timestamp, cpuUsage, totalMemory, availableMemory, cpuTemperature,
+        diskUsage, diskIo, networkInterfaces, jvm, pressure, stale);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Future<T> start(Metric metric, Callable<T> probe) {
+    int index = metric.ordinal();
+    while (true) {
+      Future<?> previous = running.get(index);
+      if (previous != null && !previous.isDone()) {
+        return (Future<T>) previous;
+      }
+      // Publish before submitting so that two concurrent snapshots cannot both start the probe.
+      FutureTask<T> task = new FutureTask<>(probe);
+      if (running.compareAndSet(index, previous, task)) {
+        try {
+          executor.execute(task);
+        } catch (RejectedExecutionException e) {
+          running.compareAndSet(index, task, previous);
+          throw e;
+        }
+        return task;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T await(Metric metric, Future<T> future, long start, T placeholder,
+      Set<Metric> stale) {
+    int index = metric.ordinal();
+    long remaining = timeoutNanos[index] - (System.nanoTime() - start);
+    try {
+      T value = future.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS);
+      lastGood.set(index, value);
+      return value;
+    } catch (TimeoutException e) {
+      logger.warn("Probe {} missed its deadline", metric);
+    } catch (ExecutionException e) {
+      logger.error("Probe " + metric + " failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    stale.add(metric);
+    Object previous = lastGood.get(index);
+    return previous != null ? (T) previous : placeholder;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
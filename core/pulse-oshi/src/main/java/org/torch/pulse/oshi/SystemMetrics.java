@@ -13,30 +13,69 @@
  */
 package org.torch.pulse.oshi;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import org.torch.pulse.logger.core.PulseLogger;
-import org.torch.pulse.logger.core.PulseLoggerFactory;
+import java.util.Set;
 
 public class SystemMetrics {
 
-  private static final PulseLogger logger = PulseLoggerFactory.getLogger("SystemMetricsLogger");
-
+  private final long timestamp;
   private final double cpuUsage;
   private final long totalMemory;
   private final long availableMemory;
   private final double cpuTemperature;
   private final List<DiskMetrics> diskUsage;
+  private final List<DiskIoMetrics> diskIo;
+  private final List<NetworkInterfaceMetrics> networkInterfaces;
+  private final JvmMetrics jvm;
+  private final PressureMetrics pressure;
+  private final Set<Metric> staleMetrics;
 
   public SystemMetrics(double cpuUsage, long totalMemory, long availableMemory,
       double cpuTemperature, List<DiskMetrics> diskUsage) {
-    logger.debug(
-        "Creating SystemMetrics for cpuUsage={}, totalMemory={}, availableMemory={}, cpuTemperature={}, diskUsage={}",
-        cpuUsage, totalMemory, availableMemory, cpuTemperature, diskUsage.toString());
+    this(System.currentTimeMillis(), cpuUsage, totalMemory, availableMemory, cpuTemperature,
+        diskUsage, Collections.emptySet());
+  }
+
+  /**
+   * @param timestamp epoch milliseconds at which the metrics were collected
+   * @param staleMetrics metrics whose values were not refreshed for this snapshot
+   */
+  public SystemMetrics(long timestamp, double cpuUsage, long totalMemory, long availableMemory,
+      double cpuTemperature, List<DiskMetrics> diskUsage, Set<Metric> staleMetrics) {
+    this(timestamp, cpuUsage, totalMemory, availableMemory, cpuTemperature, diskUsage, List.of(),
+        List.of(), null, null, staleMetrics);
+  }
+
+  /**
+   * @param timestamp epoch milliseconds at which the metrics were collected
+   * @param diskIo per-device I/O rates
+   * @param networkInterfaces per-interface traffic rates
+   * @param jvm metrics of the JVM, or null if not collected
+   * @param pressure pressure stall information, or null if not available
+   * @param staleMetrics metrics whose values were not refreshed for this snapshot
+   */
+  public SystemMetrics(long timestamp, double cpuUsage, long totalMemory, long availableMemory,
+      double cpuTemperature, List<DiskMetrics> diskUsage, List<DiskIoMetrics> diskIo,
+      List<NetworkInterfaceMetrics> networkInterfaces, JvmMetrics jvm, PressureMetrics pressure,
+      Set<Metric> staleMetrics) {
+    this.timestamp = timestamp;
     this.cpuUsage = cpuUsage;
     this.totalMemory = totalMemory;
     this.availableMemory = availableMemory;
     this.cpuTemperature = cpuTemperature;
     this.diskUsage = diskUsage;
+    this.diskIo = diskIo;
+    this.networkInterfaces = networkInterfaces;
+    this.jvm = jvm;
+    this.pressure = pressure;
+    this.staleMetrics = staleMetrics.isEmpty() ? Collections.emptySet()
+        : Collections.unmodifiableSet(EnumSet.copyOf(staleMetrics));
+  }
+
+  public long getTimestamp() {
+    return timestamp;
   }
 
   public double getCpuUsage() {
@@ -59,6 +98,40 @@ public class SystemMetrics {
     return diskUsage;
   }
 
+  public List<DiskIoMetrics> getDiskIo() {
+    return diskIo;
+  }
+
+  public List<NetworkInterfaceMetrics> getNetworkInterfaces() {
+    return networkInterfaces;
+  }
+
+  /**
+   * Returns the JVM metrics, or null if they were not collected.
+   */
+  public JvmMetrics getJvm() {
+    return jvm;
+  }
+
+  /**
+   * Returns the pressure stall information, or null if it was not available.
+   */
+  public PressureMetrics getPressure() {
+    return pressure;
+  }
+
+  /**
+   * Returns the metrics that carry a previous (or placeholder) value because their probe timed out
+   * or failed.
+   */
+  public Set<Metric> getStaleMetrics() {
+    return staleMetrics;
+  }
+
+  public boolean isStale(Metric metric) {
+    return staleMetrics.contains(metric);
+  }
+
   @Override
   public String toString() {
     return String.format("CPU Usage: %.2f%%, Memory: %d/%d, Temp: %.1f°C, Disks: %s", cpuUsage,
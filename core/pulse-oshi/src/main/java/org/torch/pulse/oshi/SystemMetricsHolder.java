@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * Holds the latest {@link SystemMetrics} for in-process readers.
+ *
+ * <p>
+ * A writer, typically the refresher started by {@link #start(Duration)}, replaces the snapshot as
+ * a whole and readers take it with a single volatile read. A {@link SystemMetrics} never changes
+ * after it is built, so every reader sees CPU, memory and disks from the same collection, without
+ * locks, contention or a collection of its own. This makes {@link #get()} cheap enough to call on
+ * every request, for example from health checks or load shedding.
+ */
+public final class SystemMetricsHolder implements AutoCloseable {
+
+  private static final PulseLogger logger =
+      PulseLoggerFactory.getLogger("SystemMetricsHolderLogger");
+
+  private final SystemMetricsProvider provider;
+  private volatile SystemMetrics current;
+  private ScheduledExecutorService refresher;
+
+  /**
+   * @param provider collects the snapshots for {@link #refresh()}; not closed by the holder
+   */
+  public SystemMetricsHolder(SystemMetricsProvider provider) {
+    this.provider = provider;
+  }
+
+  /**
+   * Returns the latest snapshot, or null before the first one. Wait-free.
+   */
+  public SystemMetrics get() {
+    return current;
+  }
+
+  /**
+   * Replaces the snapshot. Meant for a single writer; concurrent writers are safe, but the last
+   * one wins.
+   */
+  public void update(SystemMetrics metrics) {
+    current = metrics;
+  }
+
+  /**
+   * Collects a snapshot from the provider, in the calling thread, and publishes it.
+   */
+  public SystemMetrics refresh() {
+    SystemMetrics metrics = provider.snapshot();
+    current = metrics;
+    return metrics;
+  }
+
+  /**
+   * Refreshes the snapshot at a fixed interval on a background thread, starting at once. Calling
+   * it more than once has no effect.
+   */
+  public synchronized void start(Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Refresh interval must be positive");
+    }
+    if (refresher != null) {
+      return;
+    }
+    refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pulse-metrics-holder");
+      thread.setDaemon(true);
+      return thread;
+    });
+    refresher.scheduleAtFixedRate(this::refreshQuietly, 0L, interval.toNanos(),
+        TimeUnit.NANOSECONDS);
+    logger.info("Metrics holder refreshing every {}", interval);
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // An escaping exception would silently cancel the schedule; keep the previous snapshot.
+      logger.error("Metrics refresh failed", e);
+    }
+  }
+
+  /**
+   * Stops the refresher. The last snapshot stays readable.
+   */
+  @Override
+  public synchronized void close() {
+    if (refresher != null) {
+      refresher.shutdownNow();
+      refresher = null;
+      logger.info("Metrics holder stopped.");
+    }
+  }
+}
@@ -2,16 +2,76 @@ package org.torch.pulse.oshi;
 
 import java.util.List;
 
-public sealed interface SystemMetricsProvider permits OshiSystemMetricsProvider {
+public sealed interface SystemMetricsProvider extends AutoCloseable
+    permits OshiSystemMetricsProvider, ProcfsSystemMetricsProvider,
+    CachingSystemMetricsProvider, CgroupSystemMetricsProvider {
 
   double getCpuUsage();
 
+  /**
+   * Writes the load of each logical processor, in percent, into {@code usage} without allocating.
+   * Callers should keep one array and pass it on every sample.
+   *
+   * @param usage destination array; extra slots are left untouched and missing ones are skipped
+   * @return the number of logical processors
+   */
+  int getProcessorCpuUsage(double[] usage);
+
   long getTotalMemory();
 
   long getAvailableMemory();
 
   List<DiskMetrics> getDiskUsage();
 
+  /**
+   * Refreshes {@code table} in place with the current disk usage. Callers should keep one table
+   * and pass it on every poll; once its columns have grown to fit, the call produces no garbage in
+   * the providers that read the kernel directly.
+   */
+  void readDiskUsage(DiskMetricsTable table);
+
+  /**
+   * Returns the I/O rates of each block device over the interval since the previous call.
+   * Devices seen for the first time report zero rates.
+   */
+  List<DiskIoMetrics> getDiskIo();
+
+  /**
+   * Returns the traffic rates of each network interface over the interval since the previous
+   * call. Interfaces seen for the first time report zero rates; interfaces that disappeared are
+   * dropped.
+   */
+  List<NetworkInterfaceMetrics> getNetworkInterfaces();
+
   double getCpuTemperature();
 
+  /**
+   * Returns the metrics of the JVM running this provider.
+   *
+   * @see JvmMetricsProvider
+   */
+  JvmMetrics getJvmMetrics();
+
+  /**
+   * Returns the pressure stall information of the CPU, memory and I/O, or null where the kernel
+   * does not expose it.
+   *
+   * @see PressureReader
+   */
+  PressureMetrics getPressure();
+
+  /**
+   * Collects all metrics in one pass, running the probes concurrently with per-probe deadlines.
+   * Probes that miss their deadline are reported through {@link SystemMetrics#getStaleMetrics()}.
+   *
+   * @see SnapshotCollector
+   */
+  SystemMetrics snapshot();
+
+  /**
+   * Releases background resources held by the provider. The default does nothing.
+   */
+  @Override
+  default void close() {}
+
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Flattens a {@link SystemMetrics} into named numeric series, for consumers that store or evaluate
+ * metrics one value at a time. Disk series are suffixed with the mount point, e.g.
+ * {@code disk.used:/data}, disk I/O series with the device, e.g. {@code disk.io.iops:sda}, and
+ * network series with the interface, e.g. {@code net.bytes_received:eth0}. Pressure series are
+ * named {@code pressure.<resource>.<some|full>.<avg10|avg60|avg300|total_us>}, e.g.
+ * {@code pressure.memory.full.avg10}; values the kernel does not report are skipped.
+ */
+public final class SystemMetricsSeries {
+
+  public static final String CPU_USAGE = "cpu.usage";
+  public static final String MEMORY_TOTAL = "memory.total";
+  public static final String MEMORY_AVAILABLE = "memory.available";
+  public static final String CPU_TEMPERATURE = "cpu.temperature";
+  public static final String JVM_HEAP_USED = "jvm.heap.used";
+  public static final String JVM_HEAP_COMMITTED = "jvm.heap.committed";
+  public static final String JVM_NON_HEAP_USED = "jvm.non_heap.used";
+  public static final String JVM_GC_PAUSE_COUNT = "jvm.gc.pause_count";
+  public static final String JVM_GC_PAUSE_MS = "jvm.gc.pause_ms";
+  public static final String JVM_GC_MAX_PAUSE_MS = "jvm.gc.max_pause_ms";
+  public static final String JVM_ALLOCATION_RATE = "jvm.allocation_bytes_per_second";
+  public static final String JVM_THREADS = "jvm.threads";
+  public static final String JVM_CLASSES_LOADED = "jvm.classes.loaded";
+  public static final String JVM_SAFEPOINT_MS = "jvm.safepoint_ms";
+  public static final String PRESSURE_PREFIX = "pressure.";
+  public static final String NETWORK_BYTES_RECEIVED_PREFIX = "net.bytes_received:";
+  public static final String NETWORK_BYTES_SENT_PREFIX = "net.bytes_sent:";
+  public static final String NETWORK_PACKETS_RECEIVED_PREFIX = "net.packets_received:";
+  public static final String NETWORK_PACKETS_SENT_PREFIX = "net.packets_sent:";
+  public static final String NETWORK_ERRORS_PREFIX = "net.errors:";
+  public static final String NETWORK_DROPS_PREFIX = "net.drops:";
+  public static final String DISK_TOTAL_PREFIX = "disk.total:";
+  public static final String DISK_USED_PREFIX = "disk.used:";
+  public static final String DISK_USED_PERCENT_PREFIX = "disk.used_percent:";
+  public static final String DISK_READ_BYTES_PREFIX = "disk.io.read_bytes:";
+  public static final String DISK_WRITE_BYTES_PREFIX = "disk.io.write_bytes:";
+  public static final String DISK_IOPS_PREFIX = "disk.io.iops:";
+  public static final String DISK_QUEUE_LENGTH_PREFIX = "disk.io.queue_length:";
+  public static final String DISK_SERVICE_TIME_PREFIX = "disk.io.service_time_ms:";
+
+  /**
+   * Receives one series value. Primitive so visiting a snapshot does not box.
+   */
+  @FunctionalInterface
+  public interface Visitor {
+    void accept(String series, double value);
+  }
+
+  private record DiskSeriesNames(String total, String used, String usedPercent) {
+  }
+
+  private record NetworkSeriesNames(String bytesReceived, String bytesSent,
+      String packetsReceived, String packetsSent, String errors, String drops) {
+  }
+
+  private record DiskIoSeriesNames(String readBytes, String writeBytes, String iops,
+      String queueLength, String serviceTime) {
+  }
+
+  // Mount points and devices are few and long-lived; caching their names keeps visits from
+  // concatenating. Containers and hot-plugged devices can churn through names though, so each
+  // cache is dropped wholesale once it outgrows any realistic host.
+  private static final int MAX_CACHED_NAMES = 1_024;
+
+  private static final ConcurrentHashMap<String, DiskSeriesNames> diskNames =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, DiskIoSeriesNames> diskIoNames =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, NetworkSeriesNames> networkNames =
+      new ConcurrentHashMap<>();
+
+  // Per resource: some avg10, avg60, avg300, total_us, then the same for full.
+  private static final String[][] pressureNames = pressureNames();
+
+  private SystemMetricsSeries() {}
+
+  /**
+   * Returns the name of a pressure series, e.g. {@code pressure(Resource.MEMORY, true, "avg10")}.
+   */
+  public static String pressure(PressureMetrics.Resource resource, boolean full, String field) {
+    return PRESSURE_PREFIX + resource.name().toLowerCase(Locale.ROOT)
+        + (full ? ".full." : ".some.") + field;
+  }
+
+  private static String[][] pressureNames() {
+    String[] fields = {"avg10", "avg60", "avg300", "total_us"};
+    PressureMetrics.Resource[] resources = PressureMetrics.Resource.values();
+    String[][] names = new String[resources.length][2 * fields.length];
+    for (PressureMetrics.Resource resource : resources) {
+      for (int i = 0; i < fields.length; i++) {
+        names[resource.ordinal()][i] = pressure(resource, false, fields[i]);
+        names[resource.ordinal()][fields.length + i] = pressure(resource, true, fields[i]);
+      }
+    }
+    return names;
+  }
+
+  public static String diskTotal(String mountPoint) {
+    return diskNames(mountPoint).total();
+  }
+
+  public static String diskUsed(String mountPoint) {
+    return diskNames(mountPoint).used();
+  }
+
+  public static String diskUsedPercent(String mountPoint) {
+    return diskNames(mountPoint).usedPercent();
+  }
+
+  /**
+   * Visits every series value of {@code metrics}, skipping metrics that are marked stale.
+   */
+  public static void forEach(SystemMetrics metrics, Visitor visitor) {
+    visit(metrics, visitor, null);
+  }
+
+  /**
+   * Visits every series value of {@code metrics}, reporting the series of stale metrics as NaN
+   * instead of skipping them. For consumers with a fixed column layout, where a series that comes
+   * and goes would otherwise look like a new column each time it comes back.
+   */
+  public static void forEachWithStale(SystemMetrics metrics, Visitor visitor) {
+    visit(metrics, visitor, (series, value) -> visitor.accept(series, Double.NaN));
+  }
+
+  private static Visitor visitorFor(SystemMetrics metrics, Metric metric, Visitor visitor,
+      Visitor staleVisitor) {
+    return metrics.isStale(metric) ? staleVisitor : visitor;
+  }
+
+  private static void visit(SystemMetrics metrics, Visitor fresh, Visitor staleVisitor) {
+    Visitor visitor = visitorFor(metrics, Metric.CPU_USAGE, fresh, staleVisitor);
+    if (visitor != null) {
+      visitor.accept(CPU_USAGE, metrics.getCpuUsage());
+    }
+    visitor = visitorFor(metrics, Metric.TOTAL_MEMORY, fresh, staleVisitor);
+    if (visitor != null) {
+      visitor.accept(MEMORY_TOTAL, metrics.getTotalMemory());
+    }
+    visitor = visitorFor(metrics, Metric.AVAILABLE_MEMORY, fresh, staleVisitor);
+    if (visitor != null) {
+      visitor.accept(MEMORY_AVAILABLE, metrics.getAvailableMemory());
+    }
+    visitor = visitorFor(metrics, Metric.CPU_TEMPERATURE, fresh, staleVisitor);
+    if (visitor != null) {
+      visitor.accept(CPU_TEMPERATURE, metrics.getCpuTemperature());
+    }
+    JvmMetrics jvm = metrics.getJvm();
+    visitor = visitorFor(metrics, Metric.JVM, fresh, staleVisitor);
+    if (jvm != null && visitor != null) {
+      visitor.accept(JVM_HEAP_USED, jvm.getHeapUsed());
+      visitor.accept(JVM_HEAP_COMMITTED, jvm.getHeapCommitted());
+      visitor.accept(JVM_NON_HEAP_USED, jvm.getNonHeapUsed());
+      visitor.accept(JVM_GC_PAUSE_COUNT, jvm.getGcPauseCount());
+      visitor.accept(JVM_GC_PAUSE_MS, jvm.getGcPauseMillis());
+      visitor.accept(JVM_GC_MAX_PAUSE_MS, jvm.getGcMaxPauseMillis());
+      if (jvm.getAllocationBytesPerSecond() >= 0) {
+        visitor.accept(JVM_ALLOCATION_RATE, jvm.getAllocationBytesPerSecond());
+      }
+      visitor.accept(JVM_THREADS, jvm.getThreadCount());
+      visitor.accept(JVM_CLASSES_LOADED, jvm.getLoadedClassCount());
+      if (jvm.getSafepointMillis() >= 0) {
+        visitor.accept(JVM_SAFEPOINT_MS, jvm.getSafepointMillis());
+      }
+    }
+    PressureMetrics pressure = metrics.getPressure();
+    visitor = visitorFor(metrics, Metric.PRESSURE, fresh, staleVisitor);
+    if (pressure != null && visitor != null) {
+      for (PressureMetrics.Resource resource : PressureMetrics.Resource.values()) {
+        String[] names = pressureNames[resource.ordinal()];
+        acceptIfKnown(visitor, names[0], pressure.getSomeAvg10(resource));
+        acceptIfKnown(visitor, names[1], pressure.getSomeAvg60(resource));
+        acceptIfKnown(visitor, names[2], pressure.getSomeAvg300(resource));
+        acceptIfKnown(visitor, names[3], pressure.getSomeTotalMicros(resource));
+        acceptIfKnown(visitor, names[4], pressure.getFullAvg10(resource));
+        acceptIfKnown(visitor, names[5], pressure.getFullAvg60(resource));
+        acceptIfKnown(visitor, names[6], pressure.getFullAvg300(resource));
+        acceptIfKnown(visitor, names[7], pressure.getFullTotalMicros(resource));
+      }
+    }
+    visitor = visitorFor(metrics, Metric.DISK_USAGE, fresh, staleVisitor);
+    if (visitor != null) {
+      List<DiskMetrics> disks = metrics.getDiskUsage();
+      for (int i = 0, n = disks.size(); i < n; i++) {
+        DiskMetrics disk = disks.get(i);
+        DiskSeriesNames names = diskNames(disk.getMountPoint());
+        long total = disk.getTotalSpace();
+        long used = disk.getUsedSpace();
+        visitor.accept(names.total(), total);
+        visitor.accept(names.used(), used);
+        visitor.accept(names.usedPercent(), total > 0 ? used * 100.0 / total : 0d);
+      }
+    }
+    visitor = visitorFor(metrics, Metric.DISK_IO, fresh, staleVisitor);
+    if (visitor != null) {
+      List<DiskIoMetrics> devices = metrics.getDiskIo();
+      for (int i = 0, n = devices.size(); i < n; i++) {
+        DiskIoMetrics device = devices.get(i);
+        DiskIoSeriesNames names = diskIoNames(device.getDevice());
+        visitor.accept(names.readBytes(), device.getReadBytesPerSecond());
+        visitor.accept(names.writeBytes(), device.getWriteBytesPerSecond());
+        visitor.accept(names.iops(), device.getIops());
+        visitor.accept(names.queueLength(), device.getQueueLength());
+        visitor.accept(names.serviceTime(), device.getAverageServiceTimeMillis());
+      }
+    }
+    visitor = visitorFor(metrics, Metric.NETWORK, fresh, staleVisitor);
+    if (visitor != null) {
+      List<NetworkInterfaceMetrics> interfaces = metrics.getNetworkInterfaces();
+      for (int i = 0, n = interfaces.size(); i < n; i++) {
+        NetworkInterfaceMetrics networkInterface = interfaces.get(i);
+        NetworkSeriesNames names = networkNames(networkInterface.getName());
+        visitor.accept(names.bytesReceived(), networkInterface.getBytesReceivedPerSecond());
+        visitor.accept(names.bytesSent(), networkInterface.getBytesSentPerSecond());
+        visitor.accept(names.packetsReceived(), networkInterface.getPacketsReceivedPerSecond());
+        visitor.accept(names.packetsSent(), networkInterface.getPacketsSentPerSecond());
+        visitor.accept(names.errors(), networkInterface.getReceiveErrorsPerSecond()
+            + networkInterface.getSendErrorsPerSecond());
+        visitor.accept(names.drops(), networkInterface.getReceiveDropsPerSecond()
+            + networkInterface.getSendDropsPerSecond());
+      }
+    }
+  }
+
+  private static void acceptIfKnown(Visitor visitor, String series, double value) {
+    if (value >= 0) {
+      visitor.accept(series, value);
+    }
+  }
+
+  private static NetworkSeriesNames networkNames(String name) {
+    return cached(networkNames, name,
+        key -> new NetworkSeriesNames(NETWORK_BYTES_RECEIVED_PREFIX + key,
+            NETWORK_BYTES_SENT_PREFIX + key, NETWORK_PACKETS_RECEIVED_PREFIX + key,
+            NETWORK_PACKETS_SENT_PREFIX + key, NETWORK_ERRORS_PREFIX + key,
+            NETWORK_DROPS_PREFIX + key));
+  }
+
+  private static DiskIoSeriesNames diskIoNames(String device) {
+    return cached(diskIoNames, device,
+        name -> new DiskIoSeriesNames(DISK_READ_BYTES_PREFIX + name,
+            DISK_WRITE_BYTES_PREFIX + name, DISK_IOPS_PREFIX + name,
+            DISK_QUEUE_LENGTH_PREFIX + name, DISK_SERVICE_TIME_PREFIX + name));
+  }
+
+  private static DiskSeriesNames diskNames(String mountPoint) {
+    return cached(diskNames, mountPoint,
+        mount -> new DiskSeriesNames(DISK_TOTAL_PREFIX + mount, DISK_USED_PREFIX + mount,
+            DISK_USED_PERCENT_PREFIX + mount));
+  }
+
+  private static <T> T cached(ConcurrentHashMap<String, T> cache, String key,
+      Function<String, T> names) {
+    T value = cache.get(key);
+    if (value == null) {
+      if (cache.size() >= MAX_CACHED_NAMES) {
+        cache.clear();
+      }
+      value = cache.computeIfAbsent(key, names);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Evaluates {@link AlertRule}s against a stream of samples and reports when they fire and
+ * resolve.
+ *
+ * <p>
+ * Rules are compiled into evaluators grouped by series, so a sample costs one hash lookup plus
+ * O(1) work per rule on its series; nothing is re-scanned and nothing is allocated except for
+ * events. Trend rules on the same series and window share one {@code TrendWindow}. Time is taken
+ * from the samples, so rules behave the same when replaying recorded metrics. Samples older than
+ * the last one of their series are ignored, and so are NaN samples, which mean a probe had no
+ * value.
+ *
+ * <p>
+ * A series that has not reported for {@link #DEFAULT_STALE_AFTER}, or the duration set with
+ * {@link #staleAfter(Duration)}, expires: its pending rules go back to inactive and its firing
+ * rules resolve with a NaN value. Expiry is checked on every {@link #evaluate(SystemMetrics)} and
+ * on {@link #expire(long)}.
+ *
+ * <p>
+ * Not thread-safe: evaluate, add and remove from one thread, or synchronize externally.
+ */
+public final class AlertEngine {
+
+  /** Longer than the slowest default probe interval, so a live series never expires. */
+  public static final Duration DEFAULT_STALE_AFTER = Duration.ofMinutes(5);
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("AlertEngineLogger");
+
+  private final AlertListener listener;
+  private final Map<String, RuleEvaluator> evaluatorsByName = new LinkedHashMap<>();
+  private final Map<String, SeriesRules> rulesBySeries = new HashMap<>();
+  private final SystemMetricsSeries.Visitor visitor = this::accept;
+  private long visitTimestamp;
+  private long staleAfterMillis = DEFAULT_STALE_AFTER.toMillis();
+
+  private static final class SeriesRules {
+    RuleEvaluator[] evaluators = new RuleEvaluator[0];
+    TrendWindow[] trends = new TrendWindow[0];
+    long lastTimestamp = Long.MIN_VALUE;
+  }
+
+  public AlertEngine(AlertListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Sets how long a series may go without samples before its rules expire.
+   *
+   * @throws IllegalArgumentException if {@code staleAfter} is not positive
+   */
+  public AlertEngine staleAfter(Duration staleAfter) {
+    if (staleAfter.isNegative() || staleAfter.isZero()) {
+      throw new IllegalArgumentException("Stale-after duration must be positive: " + staleAfter);
+    }
+    this.staleAfterMillis = staleAfter.toMillis();
+    return this;
+  }
+
+  /**
+   * Adds a rule, which starts out inactive.
+   *
+   * @throws IllegalArgumentException if a rule with the same name exists
+   */
+  public AlertEngine add(AlertRule rule) {
+    if (evaluatorsByName.containsKey(rule.name())) {
+      throw new IllegalArgumentException("Duplicate alert rule: " + rule.name());
+    }
+    SeriesRules rules = rulesBySeries.computeIfAbsent(rule.series(), series -> new SeriesRules());
+    TrendWindow trend = null;
+    if (rule.hasTrend()) {
+      long windowMillis = rule.trendWindow().toMillis();
+      for (TrendWindow candidate : rules.trends) {
+        if (candidate.windowMillis() == windowMillis) {
+          trend = candidate;
+        }
+      }
+      if (trend == null) {
+        trend = new TrendWindow(windowMillis);
+        rules.trends = Arrays.copyOf(rules.trends, rules.trends.length + 1);
+        rules.trends[rules.trends.length - 1] = trend;
+      }
+    }
+    RuleEvaluator evaluator = new RuleEvaluator(rule, trend);
+    rules.evaluators = Arrays.copyOf(rules.evaluators, rules.evaluators.length + 1);
+    rules.evaluators[rules.evaluators.length - 1] = evaluator;
+    evaluatorsByName.put(rule.name(), evaluator);
+    return this;
+  }
+
+  /**
+   * Parses and adds a rule; see {@link AlertRule#parse(String)}.
+   */
+  public AlertEngine add(String expression) {
+    return add(AlertRule.parse(expression));
+  }
+
+  /**
+   * Removes a rule without reporting it as resolved.
+   *
+   * @return false if there is no rule of that name
+   */
+  public boolean remove(String name) {
+    RuleEvaluator evaluator = evaluatorsByName.remove(name);
+    if (evaluator == null) {
+      return false;
+    }
+    AlertRule rule = evaluator.rule();
+    SeriesRules rules = rulesBySeries.get(rule.series());
+    List<RuleEvaluator> kept = new ArrayList<>(Arrays.asList(rules.evaluators));
+    kept.remove(evaluator);
+    if (kept.isEmpty()) {
+      rulesBySeries.remove(rule.series());
+      return true;
+    }
+    rules.evaluators = kept.toArray(new RuleEvaluator[0]);
+    if (rule.hasTrend()) {
+      long windowMillis = rule.trendWindow().toMillis();
+      boolean shared = kept.stream().anyMatch(other -> other.rule().hasTrend()
+          && other.rule().trendWindow().toMillis() == windowMillis);
+      if (!shared) {
+        rules.trends = Arrays.stream(rules.trends)
+            .filter(trend -> trend.windowMillis() != windowMillis).toArray(TrendWindow[]::new);
+      }
+    }
+    return true;
+  }
+
+  public int size() {
+    return evaluatorsByName.size();
+  }
+
+  /**
+   * Returns true if the named rule is firing.
+   */
+  public boolean isFiring(String name) {
+    RuleEvaluator evaluator = evaluatorsByName.get(name);
+    return evaluator != null && evaluator.state() == RuleEvaluator.State.FIRING;
+  }
+
+  /**
+   * Returns the rules that are firing, in the order they were added.
+   */
+  public List<AlertRule> firing() {
+    List<AlertRule> firing = new ArrayList<>();
+    for (RuleEvaluator evaluator : evaluatorsByName.values()) {
+      if (evaluator.state() == RuleEvaluator.State.FIRING) {
+        firing.add(evaluator.rule());
+      }
+    }
+    return firing;
+  }
+
+  /**
+   * Evaluates every non-stale series of {@code metrics} at its collection time, then expires the
+   * series that have stopped reporting.
+   */
+  public void evaluate(SystemMetrics metrics) {
+    visitTimestamp = metrics.getTimestamp();
+    SystemMetricsSeries.forEach(metrics, visitor);
+    expire(visitTimestamp);
+  }
+
+  /**
+   * Evaluates one sample of {@code series}, e.g. a custom probe value.
+   *
+   * @param timestamp epoch milliseconds of the sample
+   */
+  public void evaluate(String series, double value, long timestamp) {
+    SeriesRules rules = rulesBySeries.get(series);
+    if (rules == null || timestamp < rules.lastTimestamp || Double.isNaN(value)) {
+      return;
+    }
+    rules.lastTimestamp = timestamp;
+    for (TrendWindow trend : rules.trends) {
+      trend.add(timestamp, value);
+    }
+    for (RuleEvaluator evaluator : rules.evaluators) {
+      AlertEvent event = evaluator.evaluate(timestamp, value);
+      if (event != null) {
+        publish(event);
+      }
+    }
+  }
+
+  /**
+   * Expires the rules of every series whose last sample is older than the stale-after duration at
+   * {@code timestamp}. Callers that only feed custom series should call this periodically.
+   *
+   * @param timestamp epoch milliseconds of now
+   */
+  public void expire(long timestamp) {
+    for (SeriesRules rules : rulesBySeries.values()) {
+      if (rules.lastTimestamp == Long.MIN_VALUE
+          || timestamp - rules.lastTimestamp < staleAfterMillis) {
+        continue;
+      }
+      for (RuleEvaluator evaluator : rules.evaluators) {
+        AlertEvent event = evaluator.expire(timestamp);
+        if (event != null) {
+          publish(event);
+        }
+      }
+    }
+  }
+
+  private void accept(String series, double value) {
+    evaluate(series, value, visitTimestamp);
+  }
+
+  private void publish(AlertEvent event) {
+    try {
+      listener.onEvent(event);
+    } catch (RuntimeException e) {
+      // A failing listener must not stop the remaining rules from being evaluated.
+      logger.error("Alert listener failed on " + event.rule().name(), e);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+/**
+ * A rule starting or stopping to fire.
+ *
+ * @param value the sample that caused the transition, or NaN if the series went stale
+ * @param timestamp epoch milliseconds of that sample, or of the expiry
+ */
+public record AlertEvent(AlertRule rule, Kind kind, double value, long timestamp) {
+
+  public enum Kind {
+    FIRED,
+    RESOLVED
+  }
+}
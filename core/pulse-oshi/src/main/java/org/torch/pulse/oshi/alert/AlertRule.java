@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * A threshold rule on one series, as named by {@code SystemMetricsSeries}.
+ *
+ * <p>
+ * A rule becomes pending when a sample crosses {@link #threshold()} (and, for a trend rule, the
+ * series has been growing over {@link #trendWindow()}), and fires once that has held for
+ * {@link #duration()}. A firing rule resolves when a sample no longer compares true against
+ * {@link #clearThreshold()}, which lies on the safe side of the threshold so that a value
+ * hovering around it does not flap. The trend only gates firing, not resolving.
+ *
+ * <p>
+ * Rules are usually written in a small expression language, see {@link #parse(String)}.
+ *
+ * @param name identifies the rule in events
+ * @param trendWindow window of the growth check, or null for a plain threshold rule
+ */
+public record AlertRule(String name, String series, Comparison comparison, double threshold,
+    double clearThreshold, Duration duration, Duration trendWindow) {
+
+  /** Trend window of a {@code growing} clause without {@code over}, if the rule has no duration. */
+  public static final Duration DEFAULT_TREND_WINDOW = Duration.ofMinutes(5);
+
+  /**
+   * How a sample is compared against a threshold.
+   */
+  public enum Comparison {
+    ABOVE(">"),
+    AT_LEAST(">="),
+    BELOW("<"),
+    AT_MOST("<=");
+
+    private final String symbol;
+
+    Comparison(String symbol) {
+      this.symbol = symbol;
+    }
+
+    public String symbol() {
+      return symbol;
+    }
+
+    /**
+     * Returns true if {@code value} compares true against {@code threshold}; false for NaN.
+     */
+    public boolean test(double value, double threshold) {
+      return switch (this) {
+        case ABOVE -> value > threshold;
+        case AT_LEAST -> value >= threshold;
+        case BELOW -> value < threshold;
+        case AT_MOST -> value <= threshold;
+      };
+    }
+
+    boolean isUpper() {
+      return this == ABOVE || this == AT_LEAST;
+    }
+
+    static Comparison of(String symbol) {
+      for (Comparison comparison : values()) {
+        if (comparison.symbol.equals(symbol)) {
+          return comparison;
+        }
+      }
+      return null;
+    }
+  }
+
+  public AlertRule {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Rule name must not be blank");
+    }
+    if (series == null || series.isBlank()) {
+      throw new IllegalArgumentException("Rule series must not be blank");
+    }
+    if (Double.isNaN(threshold) || Double.isNaN(clearThreshold)) {
+      throw new IllegalArgumentException("Thresholds must be numbers");
+    }
+    if (comparison.isUpper() ? clearThreshold > threshold : clearThreshold < threshold) {
+      throw new IllegalArgumentException("Clear threshold " + clearThreshold
+          + " must not be on the alerting side of " + comparison.symbol() + " " + threshold);
+    }
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("Duration must not be negative");
+    }
+    if (trendWindow != null && trendWindow.toMillis() <= 0) {
+      throw new IllegalArgumentException("Trend window must be at least one millisecond");
+    }
+  }
+
+  /**
+   * Parses a rule, named by its own text. The grammar is
+   *
+   * <pre>
+   * series op value [for duration] [clear value] [and growing [over duration]]
+   * </pre>
+   *
+   * where {@code op} is one of {@code > >= < <=}, a value is a number with an optional
+   * {@code %} or byte-size suffix ({@code KB MB GB TB} for powers of 1000, {@code KiB MiB GiB TiB}
+   * for powers of 1024) and a duration is a whole number with one of {@code ms s m h}. The
+   * clauses may come in any order. For example:
+   *
+   * <pre>
+   * cpu.usage &gt; 90 for 30s clear 80
+   * disk.used_percent:/data &gt; 85% and growing over 10m
+   * memory.available &lt; 1GiB
+   * </pre>
+   *
+   * A {@code growing} clause without {@code over} uses the rule's duration as its window, or
+   * {@link #DEFAULT_TREND_WINDOW} if the rule has none. A rule without {@code clear} resolves as
+   * soon as the threshold no longer holds.
+   *
+   * @throws IllegalArgumentException if the expression is malformed
+   */
+  public static AlertRule parse(String expression) {
+    return parse(expression.strip(), expression);
+  }
+
+  /**
+   * Parses a rule like {@link #parse(String)}, under the given name.
+   */
+  public static AlertRule parse(String name, String expression) {
+    String[] tokens = expression.strip().split("\\s+");
+    if (tokens.length < 3) {
+      throw malformed(expression, "expected 'series op value'");
+    }
+    String series = tokens[0];
+    Comparison comparison = Comparison.of(tokens[1]);
+    if (comparison == null) {
+      throw malformed(expression, "unknown operator '" + tokens[1] + "'");
+    }
+    double threshold = parseValue(expression, tokens[2]);
+    double clearThreshold = threshold;
+    Duration duration = Duration.ZERO;
+    Duration trendWindow = null;
+    boolean trendWindowGiven = false;
+    int i = 3;
+    while (i < tokens.length) {
+      String keyword = tokens[i].toLowerCase(Locale.ROOT);
+      switch (keyword) {
+        case "for" -> {
+          duration = parseDuration(expression, token(expression, tokens, i + 1));
+          i += 2;
+        }
+        case "clear" -> {
+          clearThreshold = parseValue(expression, token(expression, tokens, i + 1));
+          i += 2;
+        }
+        case "and" -> {
+          if (!"growing".equalsIgnoreCase(token(expression, tokens, i + 1))) {
+            throw malformed(expression, "expected 'growing' after 'and'");
+          }
+          i += 2;
+          trendWindow = DEFAULT_TREND_WINDOW;
+          if (i < tokens.length && "over".equalsIgnoreCase(tokens[i])) {
+            trendWindow = parseDuration(expression, token(expression, tokens, i + 1));
+            trendWindowGiven = true;
+            i += 2;
+          }
+        }
+        default -> throw malformed(expression, "unexpected '" + tokens[i] + "'");
+      }
+    }
+    if (trendWindow != null && !trendWindowGiven && !duration.isZero()) {
+      trendWindow = duration;
+    }
+    return new AlertRule(name, series, comparison, threshold, clearThreshold, duration,
+        trendWindow);
+  }
+
+  private static String token(String expression, String[] tokens, int index) {
+    if (index >= tokens.length) {
+      throw malformed(expression, "unexpected end after '" + tokens[index - 1] + "'");
+    }
+    return tokens[index];
+  }
+
+  private static double parseValue(String expression, String token) {
+    String lower = token.toLowerCase(Locale.ROOT);
+    int end = lower.length();
+    while (end > 0 && (Character.isLetter(lower.charAt(end - 1)) || lower.charAt(end - 1) == '%')) {
+      end--;
+    }
+    double scale = switch (lower.substring(end)) {
+      case "", "%", "b" -> 1d;
+      case "kb" -> 1e3;
+      case "mb" -> 1e6;
+      case "gb" -> 1e9;
+      case "tb" -> 1e12;
+      case "kib" -> 0x1p10;
+      case "mib" -> 0x1p20;
+      case "gib" -> 0x1p30;
+      case "tib" -> 0x1p40;
+      default -> throw malformed(expression, "unknown unit in '" + token + "'");
+    };
+    try {
+      return Double.parseDouble(lower.substring(0, end)) * scale;
+    } catch (NumberFormatException e) {
+      throw malformed(expression, "not a number: '" + token + "'");
+    }
+  }
+
+  private static Duration parseDuration(String expression, String token) {
+    String lower = token.toLowerCase(Locale.ROOT);
+    int end = 0;
+    while (end < lower.length() && lower.charAt(end) >= '0' && lower.charAt(end) <= '9') {
+      end++;
+    }
+    if (end == 0 || end > 12) {
+      throw malformed(expression, "not a duration: '" + token + "'");
+    }
+    long amount = Long.parseLong(lower.substring(0, end));
+    return switch (lower.substring(end)) {
+      case "ms" -> Duration.ofMillis(amount);
+      case "s" -> Duration.ofSeconds(amount);
+      case "m" -> Duration.ofMinutes(amount);
+      case "h" -> Duration.ofHours(amount);
+      default -> throw malformed(expression, "unknown unit in duration '" + token + "'");
+    };
+  }
+
+  private static IllegalArgumentException malformed(String expression, String reason) {
+    return new IllegalArgumentException("Malformed alert rule '" + expression + "': " + reason);
+  }
+
+  /**
+   * Returns true if the rule also requires the series to be growing.
+   */
+  public boolean hasTrend() {
+    return trendWindow != null;
+  }
+}
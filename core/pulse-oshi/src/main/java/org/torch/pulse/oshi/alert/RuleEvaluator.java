@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+/**
+ * The compiled, incremental state of one rule: O(1) work and no allocation per sample, except for
+ * the event of a transition.
+ */
+final class RuleEvaluator {
+
+  enum State {
+    INACTIVE,
+    PENDING,
+    FIRING
+  }
+
+  private final AlertRule rule;
+  private final AlertRule.Comparison comparison;
+  private final double threshold;
+  private final double clearThreshold;
+  private final long durationMillis;
+  // Shared with the other rules on the same series and window; null without a trend clause.
+  private final TrendWindow trend;
+  private State state = State.INACTIVE;
+  private long pendingSince;
+
+  RuleEvaluator(AlertRule rule, TrendWindow trend) {
+    this.rule = rule;
+    this.comparison = rule.comparison();
+    this.threshold = rule.threshold();
+    this.clearThreshold = rule.clearThreshold();
+    this.durationMillis = rule.duration().toMillis();
+    this.trend = trend;
+  }
+
+  AlertRule rule() {
+    return rule;
+  }
+
+  State state() {
+    return state;
+  }
+
+  /**
+   * Applies one sample, after the shared trend window has taken it.
+   *
+   * @return the resulting event, or null if the rule did not change between firing and not
+   */
+  AlertEvent evaluate(long timestamp, double value) {
+    if (state == State.FIRING) {
+      if (comparison.test(value, clearThreshold)) {
+        return null;
+      }
+      state = State.INACTIVE;
+      return new AlertEvent(rule, AlertEvent.Kind.RESOLVED, value, timestamp);
+    }
+    boolean triggered = comparison.test(value, threshold) && (trend == null || trend.slope() > 0d);
+    if (!triggered) {
+      state = State.INACTIVE;
+      return null;
+    }
+    if (state == State.INACTIVE) {
+      state = State.PENDING;
+      pendingSince = timestamp;
+    }
+    if (timestamp - pendingSince < durationMillis) {
+      return null;
+    }
+    state = State.FIRING;
+    return new AlertEvent(rule, AlertEvent.Kind.FIRED, value, timestamp);
+  }
+
+  /**
+   * Resets the rule because its series stopped reporting.
+   *
+   * @return a resolved event with a NaN value if the rule was firing, otherwise null
+   */
+  AlertEvent expire(long timestamp) {
+    State previous = state;
+    state = State.INACTIVE;
+    return previous == State.FIRING
+        ? new AlertEvent(rule, AlertEvent.Kind.RESOLVED, Double.NaN, timestamp)
+        : null;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+/**
+ * Least-squares slope of one series over a sliding time window.
+ *
+ * <p>
+ * Samples are kept in a ring buffer alongside running sums of x, y, xy and x², so adding a sample
+ * and evicting the ones that left the window cost O(1) each, and the slope is read in O(1) without
+ * touching the buffer. x is seconds since an origin that is moved to the oldest sample, with the
+ * sums recomputed, once per {@link #CAPACITY} samples; that bounds both the rounding drift of
+ * adding and subtracting and the magnitude of x². Once the buffer is full the oldest sample is
+ * dropped early, so sampling faster than {@link #CAPACITY} samples per window shortens the window.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+final class TrendWindow {
+
+  static final int CAPACITY = 512;
+
+  private final long windowMillis;
+  private final long[] times = new long[CAPACITY];
+  private final double[] values = new double[CAPACITY];
+  private int head;
+  private int size;
+  private int sinceRebuild;
+  private long origin;
+  private double sumX;
+  private double sumY;
+  private double sumXy;
+  private double sumXx;
+
+  TrendWindow(long windowMillis) {
+    this.windowMillis = windowMillis;
+  }
+
+  long windowMillis() {
+    return windowMillis;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void add(long timestamp, double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    while (size > 0 && (times[head] <= timestamp - windowMillis || size == CAPACITY)) {
+      evictOldest();
+    }
+    if (size == 0) {
+      origin = timestamp;
+      sumX = sumY = sumXy = sumXx = 0d;
+    }
+    int tail = (head + size) % CAPACITY;
+    times[tail] = timestamp;
+    values[tail] = value;
+    size++;
+    accumulate(timestamp, value, 1d);
+    if (++sinceRebuild >= CAPACITY) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Returns the slope in units per second, or NaN with fewer than two distinct sample times.
+   */
+  double slope() {
+    double denominator = size * sumXx - sumX * sumX;
+    if (size < 2 || denominator <= 0d) {
+      return Double.NaN;
+    }
+    return (size * sumXy - sumX * sumY) / denominator;
+  }
+
+  private void evictOldest() {
+    accumulate(times[head], values[head], -1d);
+    head = (head + 1) % CAPACITY;
+    size--;
+  }
+
+  private void accumulate(long timestamp, double value, double sign) {
+    double x = (timestamp - origin) / 1000d;
+    sumX += sign * x;
+    sumY += sign * value;
+    sumXy += sign * x * value;
+    sumXx += sign * x * x;
+  }
+
+  private void rebuild() {
+    sinceRebuild = 0;
+    origin = times[head];
+    sumX = sumY = sumXy = sumXx = 0d;
+    for (int i = 0; i < size; i++) {
+      int index = (head + i) % CAPACITY;
+      accumulate(times[index], values[index], 1d);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+/**
+ * A sample that scored past its series' threshold.
+ *
+ * @param expected what the detector's baseline expected
+ * @param score signed distance from the expected value in standard deviations
+ * @param timestamp epoch milliseconds of the sample
+ */
+public record Anomaly(String series, double value, double expected, double score,
+    long timestamp) {
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+/**
+ * Learns the normal behavior of one series from its samples and scores how far a new sample is
+ * from it, in standard deviations. Implementations hold constant state and do O(1) work per
+ * sample.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public interface AnomalyDetector {
+
+  /**
+   * Scores {@code value} against the baseline learned so far, without learning from it.
+   *
+   * @return the signed distance from the expected value in standard deviations, or NaN while the
+   *         detector has not seen enough samples
+   */
+  double score(long timestamp, double value);
+
+  /**
+   * Returns the value the baseline expects at {@code timestamp}, or NaN while it has none.
+   */
+  double expected(long timestamp);
+
+  /**
+   * Learns from a sample. NaN values are ignored.
+   */
+  void update(long timestamp, double value);
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Runs an {@link AnomalyDetector} per watched series over a stream of samples and reports the
+ * samples that score past a threshold.
+ *
+ * <p>
+ * A series is watched by its exact {@code SystemMetricsSeries} name, or by a prefix such as
+ * {@code disk.used_percent:}, which gives every matching series its own detector the first time
+ * it is seen. Each sample is scored against the baseline before it, then learned from, anomalous
+ * or not, so a lasting change of level stops being reported once the baseline has absorbed it.
+ * A sample costs one hash lookup plus the detector's O(1) update; only anomalies allocate.
+ *
+ * <p>
+ * Not thread-safe: evaluate and watch from one thread, or synchronize externally.
+ */
+public final class AnomalyMonitor {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("AnomalyMonitorLogger");
+
+  // Guards against unbounded growth when series come and go, e.g. per-container names.
+  private static final int MAX_SERIES = 16_384;
+  // Marks a series that matched no watch, so it is not matched again.
+  private static final Watched UNWATCHED = new Watched(null, 0d, 0d);
+
+  private final AnomalyListener listener;
+  private final Map<String, Watched> seriesByName = new HashMap<>();
+  private final List<Watch> prefixWatches = new ArrayList<>();
+  private final SystemMetricsSeries.Visitor visitor = this::accept;
+  private long visitTimestamp;
+  private boolean overflowLogged;
+
+  private record Watch(String prefix, Supplier<? extends AnomalyDetector> detectors,
+      double threshold, double minDeviation) {
+  }
+
+  private record Watched(AnomalyDetector detector, double threshold, double minDeviation) {
+  }
+
+  public AnomalyMonitor(AnomalyListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Watches one series, reporting samples at least {@code threshold} standard deviations away.
+   */
+  public AnomalyMonitor watch(String series, AnomalyDetector detector, double threshold) {
+    return watch(series, detector, threshold, 0d);
+  }
+
+  /**
+   * Watches one series.
+   *
+   * @param threshold standard deviations a sample must be away to be reported
+   * @param minDeviation absolute distance from the expected value a sample must also have, so
+   *        that a tiny change of a nearly flat series is not reported
+   * @throws IllegalArgumentException if the series is already watched
+   */
+  public AnomalyMonitor watch(String series, AnomalyDetector detector, double threshold,
+      double minDeviation) {
+    checkThresholds(threshold, minDeviation);
+    Watched existing = seriesByName.get(series);
+    if (existing != null && existing != UNWATCHED) {
+      throw new IllegalArgumentException("Series already watched: " + series);
+    }
+    seriesByName.put(series, new Watched(detector, threshold, minDeviation));
+    return this;
+  }
+
+  /**
+   * Watches every series whose name starts with {@code prefix} and is not watched otherwise, each
+   * with a detector of its own from {@code detectors}. Earlier prefixes take precedence.
+   */
+  public AnomalyMonitor watchPrefix(String prefix, Supplier<? extends AnomalyDetector> detectors,
+      double threshold, double minDeviation) {
+    checkThresholds(threshold, minDeviation);
+    prefixWatches.add(new Watch(prefix, detectors, threshold, minDeviation));
+    // Series already ruled out may match now.
+    seriesByName.values().removeIf(watched -> watched == UNWATCHED);
+    return this;
+  }
+
+  private static void checkThresholds(double threshold, double minDeviation) {
+    if (!(threshold > 0d)) {
+      throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+    }
+    if (!(minDeviation >= 0d)) {
+      throw new IllegalArgumentException("Minimum deviation must not be negative");
+    }
+  }
+
+  /**
+   * Returns the detector of {@code series}, or null if it is not watched or not seen yet.
+   */
+  public AnomalyDetector detector(String series) {
+    Watched watched = seriesByName.get(series);
+    return watched == null ? null : watched.detector();
+  }
+
+  /**
+   * Evaluates every non-stale series of {@code metrics} at its collection time.
+   */
+  public void evaluate(SystemMetrics metrics) {
+    visitTimestamp = metrics.getTimestamp();
+    SystemMetricsSeries.forEach(metrics, visitor);
+  }
+
+  /**
+   * Evaluates one sample of {@code series}, e.g. a custom probe value.
+   *
+   * @param timestamp epoch milliseconds of the sample
+   */
+  public void evaluate(String series, double value, long timestamp) {
+    Watched watched = seriesByName.get(series);
+    if (watched == null) {
+      watched = match(series);
+    }
+    if (watched == UNWATCHED || Double.isNaN(value)) {
+      return;
+    }
+    AnomalyDetector detector = watched.detector();
+    double score = detector.score(timestamp, value);
+    if (Math.abs(score) >= watched.threshold()) {
+      double expected = detector.expected(timestamp);
+      if (!(Math.abs(value - expected) < watched.minDeviation())) {
+        publish(new Anomaly(series, value, expected, score, timestamp));
+      }
+    }
+    detector.update(timestamp, value);
+  }
+
+  private Watched match(String series) {
+    if (seriesByName.size() >= MAX_SERIES) {
+      if (!overflowLogged) {
+        overflowLogged = true;
+        logger.warn("Anomaly monitor is tracking {} series; ignoring new ones such as {}",
+            MAX_SERIES, series);
+      }
+      return UNWATCHED;
+    }
+    Watched watched = UNWATCHED;
+    for (Watch watch : prefixWatches) {
+      if (series.startsWith(watch.prefix())) {
+        watched = new Watched(watch.detectors().get(), watch.threshold(), watch.minDeviation());
+        break;
+      }
+    }
+    seriesByName.put(series, watched);
+    return watched;
+  }
+
+  private void accept(String series, double value) {
+    evaluate(series, value, visitTimestamp);
+  }
+
+  private void publish(Anomaly anomaly) {
+    try {
+      listener.onAnomaly(anomaly);
+    } catch (RuntimeException e) {
+      // A failing listener must not stop the remaining series from being evaluated.
+      logger.error("Anomaly listener failed on " + anomaly.series(), e);
+    }
+  }
+}
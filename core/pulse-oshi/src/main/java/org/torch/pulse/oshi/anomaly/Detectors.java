@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+final class Detectors {
+
+  private Detectors() {
+  }
+
+  // Floor of the standard deviation, so that a change of a perfectly flat series scores large but
+  // finite, and rounding noise of a few ulps does not score at all.
+  static final double MIN_DEVIATION = 1e-6;
+
+  /**
+   * Divides the deviation of {@code value} from {@code expected} by the standard deviation, floored
+   * at {@link #MIN_DEVIATION}; no deviation at all scores 0.
+   */
+  static double score(double value, double expected, double variance) {
+    double difference = value - expected;
+    if (difference == 0d) {
+      return 0d;
+    }
+    return difference / Math.max(Math.sqrt(Math.max(variance, 0d)), MIN_DEVIATION);
+  }
+}
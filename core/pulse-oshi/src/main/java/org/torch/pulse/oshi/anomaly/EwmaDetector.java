@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+/**
+ * Exponentially weighted moving mean and variance, which follow a drifting baseline and forget old
+ * behavior at a rate set by {@code alpha}.
+ *
+ * <p>
+ * The variance uses the incremental form of Finch, "Incremental calculation of weighted mean and
+ * variance" (2009), so one sample costs a handful of multiplications.
+ */
+public final class EwmaDetector implements AnomalyDetector {
+
+  private final double alpha;
+  private final int warmupSamples;
+  private double mean;
+  private double variance;
+  private long count;
+
+  /**
+   * @param alpha weight of the newest sample, in (0, 1]; about 2 / (N + 1) to remember N samples
+   * @param warmupSamples samples to learn from before scoring
+   */
+  public EwmaDetector(double alpha, int warmupSamples) {
+    if (!(alpha > 0d && alpha <= 1d)) {
+      throw new IllegalArgumentException("Alpha must be in (0, 1]: " + alpha);
+    }
+    if (warmupSamples < 2) {
+      throw new IllegalArgumentException("Warm-up must be at least two samples");
+    }
+    this.alpha = alpha;
+    this.warmupSamples = warmupSamples;
+  }
+
+  @Override
+  public double score(long timestamp, double value) {
+    if (count < warmupSamples) {
+      return Double.NaN;
+    }
+    return Detectors.score(value, mean, variance);
+  }
+
+  @Override
+  public double expected(long timestamp) {
+    return count > 0 ? mean : Double.NaN;
+  }
+
+  @Override
+  public void update(long timestamp, double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    if (count++ == 0) {
+      mean = value;
+      return;
+    }
+    double difference = value - mean;
+    double increment = alpha * difference;
+    mean += increment;
+    variance = (1d - alpha) * (variance + difference * increment);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+import java.time.ZoneOffset;
+
+/**
+ * A baseline per hour of the week, for series with a weekly rhythm such as nightly batch jobs: a
+ * spike at 02:00 on Sunday is compared with previous Sundays at 02:00, not with the quiet hours
+ * before it.
+ *
+ * <p>
+ * Samples of the current hour are summarized with Welford's algorithm. When the hour ends, its
+ * mean and variance are blended into the bucket of that hour of the week with weight
+ * {@code alpha}, as a two-component mixture, so the bucket tracks both the spread within the hour
+ * and how the hour differs from week to week. The state is 168 buckets regardless of the sample
+ * rate, and a sample costs O(1). Hours are counted at a fixed UTC offset, so a daylight saving
+ * shift moves the rhythm by an hour until the buckets relearn it.
+ */
+public final class SeasonalDetector implements AnomalyDetector {
+
+  public static final int HOURS_PER_WEEK = 168;
+  private static final long HOUR_MILLIS = 3_600_000L;
+  // The epoch began on a Thursday; buckets start on Monday 00:00.
+  private static final long EPOCH_HOUR_OF_WEEK = 72L;
+
+  private final double alpha;
+  private final int warmupWeeks;
+  private final long offsetMillis;
+  private final double[] means = new double[HOURS_PER_WEEK];
+  private final double[] variances = new double[HOURS_PER_WEEK];
+  private final int[] weeks = new int[HOURS_PER_WEEK];
+  private long currentHour = Long.MIN_VALUE;
+  private long hourCount;
+  private double hourMean;
+  private double hourSumOfSquares;
+
+  /**
+   * @param alpha weight of the newest week in a bucket, in (0, 1]
+   * @param warmupWeeks observed hours a bucket needs before its hour is scored
+   * @param offset the offset from UTC at which hours of the week are counted
+   */
+  public SeasonalDetector(double alpha, int warmupWeeks, ZoneOffset offset) {
+    if (!(alpha > 0d && alpha <= 1d)) {
+      throw new IllegalArgumentException("Alpha must be in (0, 1]: " + alpha);
+    }
+    if (warmupWeeks < 1) {
+      throw new IllegalArgumentException("Warm-up must be at least one week");
+    }
+    this.alpha = alpha;
+    this.warmupWeeks = warmupWeeks;
+    this.offsetMillis = offset.getTotalSeconds() * 1000L;
+  }
+
+  /**
+   * Returns the hour of the week of {@code timestamp}, from 0 for Monday 00:00 to 167.
+   */
+  public int hourOfWeek(long timestamp) {
+    return bucket(Math.floorDiv(timestamp + offsetMillis, HOUR_MILLIS));
+  }
+
+  private static int bucket(long epochHour) {
+    return (int) Math.floorMod(epochHour + EPOCH_HOUR_OF_WEEK, (long) HOURS_PER_WEEK);
+  }
+
+  @Override
+  public double score(long timestamp, double value) {
+    int bucket = hourOfWeek(timestamp);
+    if (weeks[bucket] < warmupWeeks) {
+      return Double.NaN;
+    }
+    return Detectors.score(value, means[bucket], variances[bucket]);
+  }
+
+  @Override
+  public double expected(long timestamp) {
+    int bucket = hourOfWeek(timestamp);
+    return weeks[bucket] > 0 ? means[bucket] : Double.NaN;
+  }
+
+  @Override
+  public void update(long timestamp, double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    long hour = Math.floorDiv(timestamp + offsetMillis, HOUR_MILLIS);
+    if (hour != currentHour) {
+      fold();
+      currentHour = hour;
+    }
+    hourCount++;
+    double difference = value - hourMean;
+    hourMean += difference / hourCount;
+    hourSumOfSquares += difference * (value - hourMean);
+  }
+
+  /**
+   * Blends the finished hour into its bucket.
+   */
+  private void fold() {
+    if (hourCount == 0) {
+      return;
+    }
+    int bucket = bucket(currentHour);
+    double hourVariance = hourSumOfSquares / hourCount;
+    if (weeks[bucket] == 0) {
+      means[bucket] = hourMean;
+      variances[bucket] = hourVariance;
+    } else {
+      double mean = means[bucket];
+      double blended = (1d - alpha) * mean + alpha * hourMean;
+      variances[bucket] = (1d - alpha) * (variances[bucket] + (mean - blended) * (mean - blended))
+          + alpha * (hourVariance + (hourMean - blended) * (hourMean - blended));
+      means[bucket] = blended;
+    }
+    if (weeks[bucket] < Integer.MAX_VALUE) {
+      weeks[bucket]++;
+    }
+    hourCount = 0;
+    hourMean = 0d;
+    hourSumOfSquares = 0d;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+/**
+ * Mean and variance over every sample seen, kept with Welford's online algorithm, which stays
+ * accurate however many samples are added. Suits series with a stable long-term level; see
+ * {@link EwmaDetector} for a drifting one.
+ */
+public final class ZScoreDetector implements AnomalyDetector {
+
+  private final int warmupSamples;
+  private long count;
+  private double mean;
+  private double sumOfSquares;
+
+  /**
+   * @param warmupSamples samples to learn from before scoring
+   */
+  public ZScoreDetector(int warmupSamples) {
+    if (warmupSamples < 2) {
+      throw new IllegalArgumentException("Warm-up must be at least two samples");
+    }
+    this.warmupSamples = warmupSamples;
+  }
+
+  @Override
+  public double score(long timestamp, double value) {
+    if (count < warmupSamples) {
+      return Double.NaN;
+    }
+    return Detectors.score(value, mean, sumOfSquares / (count - 1));
+  }
+
+  @Override
+  public double expected(long timestamp) {
+    return count > 0 ? mean : Double.NaN;
+  }
+
+  @Override
+  public void update(long timestamp, double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    count++;
+    double difference = value - mean;
+    mean += difference / count;
+    sumOfSquares += difference * (value - mean);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads big-endian bit fields written by {@link BitWriter} straight out of a {@link ByteBuffer},
+ * typically a read-only memory mapping, without copying.
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private final int base;
+  private long position;
+
+  BitReader(ByteBuffer buffer, int base) {
+    this.buffer = buffer;
+    this.base = base;
+  }
+
+  long position() {
+    return position;
+  }
+
+  boolean readBit() {
+    return readBits(1) != 0;
+  }
+
+  long readBits(int count) {
+    long value = 0;
+    int left = count;
+    while (left > 0) {
+      int index = base + (int) (position >>> 3);
+      int used = (int) (position & 7);
+      int take = Math.min(Byte.SIZE - used, left);
+      int chunk = ((buffer.get(index) & 0xFF) >>> (Byte.SIZE - used - take)) & ((1 << take) - 1);
+      value = (value << take) | chunk;
+      left -= take;
+      position += take;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes big-endian bit fields into a region of a {@link ByteBuffer} that is zero past the current
+ * position. Bits are OR-ed into place, so a partially filled last byte is simply extended.
+ */
+final class BitWriter {
+
+  private final ByteBuffer buffer;
+  private final int base;
+  private final long limitBits;
+  private long position;
+
+  BitWriter(ByteBuffer buffer, int base, int length, long position) {
+    this.buffer = buffer;
+    this.base = base;
+    this.limitBits = (long) length * Byte.SIZE;
+    this.position = position;
+  }
+
+  long position() {
+    return position;
+  }
+
+  long remaining() {
+    return limitBits - position;
+  }
+
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1L : 0L, 1);
+  }
+
+  /**
+   * Writes the low {@code count} bits of {@code value}, most significant first.
+   */
+  void writeBits(long value, int count) {
+    if (count > remaining()) {
+      throw new IllegalStateException("Bit region exhausted");
+    }
+    int left = count;
+    while (left > 0) {
+      int index = base + (int) (position >>> 3);
+      int used = (int) (position & 7);
+      int take = Math.min(Byte.SIZE - used, left);
+      int chunk = (int) ((value >>> (left - take)) & ((1 << take) - 1));
+      buffer.put(index, (byte) (buffer.get(index) | (chunk << (Byte.SIZE - used - take))));
+      left -= take;
+      position += take;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+/**
+ * Gorilla-style row compression: the shared row timestamp is stored as a delta-of-delta and each
+ * column value as the XOR against the previous value of the same column, using the bucket layout of
+ * Pelkonen et al., "Gorilla: A Fast, Scalable, In-Memory Time Series Database" (VLDB 2015).
+ *
+ * <p>
+ * One instance holds the running state of one row stream and is used either for encoding or for
+ * decoding, never both.
+ */
+final class GorillaCodec {
+
+  /** Worst-case size of an encoded timestamp, in bits. */
+  static final int MAX_TIMESTAMP_BITS = 4 + Long.SIZE;
+
+  /** Worst-case size of an encoded value, in bits. */
+  static final int MAX_VALUE_BITS = 2 + 5 + 6 + Long.SIZE;
+
+  private final long[] previousBits;
+  private final int[] previousLeading;
+  private final int[] previousTrailing;
+  private long previousTimestamp;
+  private long previousDelta;
+  private long rows;
+
+  GorillaCodec(int columns) {
+    this.previousBits = new long[columns];
+    this.previousLeading = new int[columns];
+    this.previousTrailing = new int[columns];
+  }
+
+  static long maxRowBits(int columns) {
+    return MAX_TIMESTAMP_BITS + (long) columns * MAX_VALUE_BITS;
+  }
+
+  long rows() {
+    return rows;
+  }
+
+  long lastTimestamp() {
+    return previousTimestamp;
+  }
+
+  void encode(BitWriter out, long timestamp, double[] values) {
+    if (rows == 0) {
+      out.writeBits(timestamp, Long.SIZE);
+      for (int i = 0; i < previousBits.length; i++) {
+        long bits = Double.doubleToRawLongBits(values[i]);
+        out.writeBits(bits, Long.SIZE);
+        previousBits[i] = bits;
+        previousLeading[i] = -1;
+      }
+    } else {
+      long delta = timestamp - previousTimestamp;
+      encodeDeltaOfDelta(out, delta - previousDelta);
+      previousDelta = delta;
+      for (int i = 0; i < previousBits.length; i++) {
+        encodeValue(out, i, Double.doubleToRawLongBits(values[i]));
+      }
+    }
+    previousTimestamp = timestamp;
+    rows++;
+  }
+
+  /**
+   * Decodes the next row into {@code values} and returns its timestamp.
+   */
+  long decode(BitReader in, double[] values) {
+    if (rows == 0) {
+      previousTimestamp = in.readBits(Long.SIZE);
+      for (int i = 0; i < previousBits.length; i++) {
+        previousBits[i] = in.readBits(Long.SIZE);
+        previousLeading[i] = -1;
+        values[i] = Double.longBitsToDouble(previousBits[i]);
+      }
+    } else {
+      previousDelta += decodeDeltaOfDelta(in);
+      previousTimestamp += previousDelta;
+      for (int i = 0; i < previousBits.length; i++) {
+        values[i] = Double.longBitsToDouble(decodeValue(in, i));
+      }
+    }
+    rows++;
+    return previousTimestamp;
+  }
+
+  private static void encodeDeltaOfDelta(BitWriter out, long dod) {
+    if (dod == 0) {
+      out.writeBits(0b0, 1);
+    } else if (dod >= -64 && dod <= 63) {
+      out.writeBits(0b10, 2);
+      out.writeBits(dod, 7);
+    } else if (dod >= -256 && dod <= 255) {
+      out.writeBits(0b110, 3);
+      out.writeBits(dod, 9);
+    } else if (dod >= -2048 && dod <= 2047) {
+      out.writeBits(0b1110, 4);
+      out.writeBits(dod, 12);
+    } else {
+      out.writeBits(0b1111, 4);
+      out.writeBits(dod, Long.SIZE);
+    }
+  }
+
+  private static long decodeDeltaOfDelta(BitReader in) {
+    if (!in.readBit()) {
+      return 0;
+    }
+    if (!in.readBit()) {
+      return signExtend(in.readBits(7), 7);
+    }
+    if (!in.readBit()) {
+      return signExtend(in.readBits(9), 9);
+    }
+    if (!in.readBit()) {
+      return signExtend(in.readBits(12), 12);
+    }
+    return in.readBits(Long.SIZE);
+  }
+
+  private static long signExtend(long value, int bits) {
+    int shift = Long.SIZE - bits;
+    return (value << shift) >> shift;
+  }
+
+  private void encodeValue(BitWriter out, int column, long bits) {
+    long xor = bits ^ previousBits[column];
+    previousBits[column] = bits;
+    if (xor == 0) {
+      out.writeBits(0b0, 1);
+      return;
+    }
+    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+    int trailing = Long.numberOfTrailingZeros(xor);
+    int previousLead = previousLeading[column];
+    if (previousLead >= 0 && leading >= previousLead
+        && trailing >= previousTrailing[column]) {
+      int significant = Long.SIZE - previousLead - previousTrailing[column];
+      out.writeBits(0b10, 2);
+      out.writeBits(xor >>> previousTrailing[column], significant);
+    } else {
+      int significant = Long.SIZE - leading - trailing;
+      out.writeBits(0b11, 2);
+      out.writeBits(leading, 5);
+      out.writeBits(significant - 1, 6);
+      out.writeBits(xor >>> trailing, significant);
+      previousLeading[column] = leading;
+      previousTrailing[column] = trailing;
+    }
+  }
+
+  private long decodeValue(BitReader in, int column) {
+    if (!in.readBit()) {
+      return previousBits[column];
+    }
+    if (in.readBit()) {
+      previousLeading[column] = (int) in.readBits(5);
+      previousTrailing[column] =
+          Long.SIZE - previousLeading[column] - ((int) in.readBits(6) + 1);
+    }
+    int significant = Long.SIZE - previousLeading[column] - previousTrailing[column];
+    long xor = in.readBits(significant) << previousTrailing[column];
+    previousBits[column] ^= xor;
+    return previousBits[column];
+  }
+}
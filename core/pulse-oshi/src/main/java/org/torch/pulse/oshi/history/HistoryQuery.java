@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.util.Arrays;
+
+/**
+ * Windowed aggregation over a {@link MetricHistory}.
+ *
+ * <p>
+ * Min/max/avg/sum/count are assembled like a segment tree walk: the coarsest rollup tier supplies
+ * every bucket that lies wholly inside the window, and only the partial buckets at either edge are
+ * resolved with the next finer tier, down to raw samples at the very edges. A one-day window
+ * therefore touches about 1,440 one-minute buckets plus a few hundred finer entries, regardless of
+ * the sample rate.
+ *
+ * <p>
+ * Percentiles need individual values. They are exact over the part of the window still held as raw
+ * samples; older parts are approximated by the average of each rollup bucket, weighted by its
+ * sample count, using the finest tier that still covers them.
+ *
+ * <p>
+ * Samples older than every tier's retention are simply absent from results. Instances are not
+ * thread-safe because they reuse scratch arrays; use one per querying thread.
+ */
+public final class HistoryQuery {
+
+  private final MetricHistory history;
+
+  // Accumulator for the current stats query.
+  private long count;
+  private double min;
+  private double max;
+  private double sum;
+
+  // Scratch for percentile queries, grown on demand and reused.
+  private double[] values = new double[0];
+  private long[] weights = new long[0];
+  private int size;
+
+  public HistoryQuery(MetricHistory history) {
+    this.history = history;
+  }
+
+  /**
+   * Returns one aggregate over the samples with timestamps in [from, to).
+   */
+  public double aggregate(String series, long from, long to, Aggregation aggregation) {
+    return stats(series, from, to).get(aggregation);
+  }
+
+  /**
+   * Returns min, max, sum and count over the samples with timestamps in [from, to).
+   */
+  public WindowStats stats(String series, long from, long to) {
+    SeriesHistory seriesHistory = history.getSeries(series);
+    if (seriesHistory == null || from >= to) {
+      return WindowStats.EMPTY;
+    }
+    count = 0;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    sum = 0d;
+    seriesHistory.read(view -> accumulate(view, from, to, view.rollupCount() - 1));
+    return count == 0 ? WindowStats.EMPTY : new WindowStats(count, min, max, sum);
+  }
+
+  private void accumulate(SeriesHistory view, long from, long to, int tier) {
+    if (from >= to) {
+      return;
+    }
+    if (tier < 0) {
+      TimeSeriesRing raw = view.raw();
+      for (int i = raw.indexAtOrAfter(from), n = raw.size(); i < n; i++) {
+        if (raw.timestamp(i) >= to) {
+          break;
+        }
+        add(raw.value(i));
+      }
+      return;
+    }
+    RollupRing rollup = view.rollup(tier);
+    long resolution = rollup.resolutionMillis();
+    long firstFull = Math.ceilDiv(from, resolution) * resolution;
+    long fullEnd = Math.floorDiv(to, resolution) * resolution;
+    if (firstFull >= fullEnd || rollup.size() == 0) {
+      accumulate(view, from, to, tier - 1);
+      return;
+    }
+    for (int i = rollup.indexAtOrAfter(firstFull), n = rollup.size(); i < n; i++) {
+      if (rollup.start(i) >= fullEnd) {
+        break;
+      }
+      count += rollup.count(i);
+      min = Math.min(min, rollup.min(i));
+      max = Math.max(max, rollup.max(i));
+      sum += rollup.sum(i);
+    }
+    accumulate(view, from, firstFull, tier - 1);
+    accumulate(view, fullEnd, to, tier - 1);
+  }
+
+  private void add(double value) {
+    count++;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    sum += value;
+  }
+
+  /**
+   * Returns the nearest-rank percentile ({@code 0 < percentile <= 100}) of the samples with
+   * timestamps in [from, to), or NaN if there are none.
+   */
+  public double percentile(String series, long from, long to, double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+    }
+    SeriesHistory seriesHistory = history.getSeries(series);
+    if (seriesHistory == null || from >= to) {
+      return Double.NaN;
+    }
+    size = 0;
+    seriesHistory.read(view -> collect(view, from, to));
+    if (size == 0) {
+      return Double.NaN;
+    }
+    sortByValue(0, size - 1);
+    long total = 0;
+    for (int i = 0; i < size; i++) {
+      total += weights[i];
+    }
+    long rank = (long) Math.ceil(percentile / 100 * total);
+    long seen = 0;
+    for (int i = 0; i < size; i++) {
+      seen += weights[i];
+      if (seen >= rank) {
+        return values[i];
+      }
+    }
+    return values[size - 1];
+  }
+
+  private void collect(SeriesHistory view, long from, long to) {
+    // Raw samples first; then each coarser tier fills in whole buckets older than what the finer
+    // sources already covered.
+    TimeSeriesRing raw = view.raw();
+    long coveredFrom = to;
+    if (raw.size() > 0) {
+      for (int i = raw.indexAtOrAfter(from), n = raw.size(); i < n; i++) {
+        if (raw.timestamp(i) >= to) {
+          break;
+        }
+        push(raw.value(i), 1);
+      }
+      coveredFrom = Math.max(from, raw.timestamp(0));
+    }
+    for (int tier = 0; tier < view.rollupCount() && coveredFrom > from; tier++) {
+      RollupRing rollup = view.rollup(tier);
+      if (rollup.size() == 0) {
+        continue;
+      }
+      long resolution = rollup.resolutionMillis();
+      long tierStart = rollup.start(0);
+      for (int i = rollup.indexAtOrAfter(from), n = rollup.size(); i < n; i++) {
+        long start = rollup.start(i);
+        if (start + resolution > coveredFrom) {
+          break;
+        }
+        push(rollup.avg(i), rollup.count(i));
+      }
+      coveredFrom = Math.min(coveredFrom, Math.max(from, tierStart));
+    }
+  }
+
+  private void push(double value, long weight) {
+    if (size == values.length) {
+      int capacity = Math.max(64, size * 2);
+      values = Arrays.copyOf(values, capacity);
+      weights = Arrays.copyOf(weights, capacity);
+    }
+    values[size] = value;
+    weights[size] = weight;
+    size++;
+  }
+
+  /**
+   * In-place quicksort of the parallel value/weight arrays by value.
+   */
+  private void sortByValue(int low, int high) {
+    while (low < high) {
+      double pivot = values[(low + high) >>> 1];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          double value = values[i];
+          values[i] = values[j];
+          values[j] = value;
+          long weight = weights[i];
+          weights[i] = weights[j];
+          weights[j] = weight;
+          i++;
+          j--;
+        }
+      }
+      // Recurse into the smaller half to bound stack depth.
+      if (j - low < high - i) {
+        sortByValue(low, j);
+        low = i;
+      } else {
+        sortByValue(i, high);
+        high = j;
+      }
+    }
+  }
+}
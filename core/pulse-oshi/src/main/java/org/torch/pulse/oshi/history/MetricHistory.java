@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * In-memory history of metric series. Each series keeps its recent raw samples and 1s/10s/1m
+ * min/max/avg/last rollups in primitive ring buffers, so appends take constant time and memory is
+ * fixed per series.
+ *
+ * <p>
+ * With the defaults a series holds an hour of raw 1 Hz samples and of 1s buckets, six hours of 10s
+ * buckets and a day of 1m buckets in roughly 400 KB.
+ */
+public final class MetricHistory {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("MetricHistoryLogger");
+
+  public static final int DEFAULT_RAW_CAPACITY = 3_600;
+
+  public static final List<RollupSpec> DEFAULT_ROLLUPS =
+      List.of(new RollupSpec(Duration.ofSeconds(1), 3_600),
+          new RollupSpec(Duration.ofSeconds(10), 2_160),
+          new RollupSpec(Duration.ofMinutes(1), 1_440));
+
+  private final int rawCapacity;
+  private final List<RollupSpec> rollupSpecs;
+  private final ConcurrentHashMap<String, SeriesHistory> series = new ConcurrentHashMap<>();
+
+  public MetricHistory() {
+    this(DEFAULT_RAW_CAPACITY, DEFAULT_ROLLUPS);
+  }
+
+  /**
+   * @param rawCapacity number of raw samples kept per series
+   * @param rollupSpecs rollup tiers; sorted from finest to coarsest resolution
+   */
+  public MetricHistory(int rawCapacity, List<RollupSpec> rollupSpecs) {
+    if (rawCapacity <= 0) {
+      throw new IllegalArgumentException("Raw capacity must be positive");
+    }
+    this.rawCapacity = rawCapacity;
+    this.rollupSpecs = rollupSpecs.stream()
+        .sorted(Comparator.comparing(RollupSpec::resolution))
+        .toList();
+    logger.info("MetricHistory initialized with raw capacity {} and rollups {}", rawCapacity,
+        this.rollupSpecs);
+  }
+
+  /**
+   * Appends every non-stale series of {@code metrics} at its collection timestamp.
+   */
+  public void record(SystemMetrics metrics) {
+    long timestamp = metrics.getTimestamp();
+    SystemMetricsSeries.forEach(metrics, (name, value) -> record(name, timestamp, value));
+  }
+
+  /**
+   * Appends one sample, creating the series on first use. Samples older than the newest sample of
+   * the series are dropped.
+   */
+  public void record(String name, long timestamp, double value) {
+    SeriesHistory history = series.get(name);
+    if (history == null) {
+      history = series.computeIfAbsent(name,
+          key -> new SeriesHistory(key, rawCapacity, rollupSpecs));
+    }
+    if (!history.append(timestamp, value)) {
+      logger.debug("Dropped out-of-order sample for {} at {}", name, timestamp);
+    }
+  }
+
+  /**
+   * Loads the rows of {@code store} with timestamps in [from, to), for example to warm the history
+   * after a restart. NaN cells (columns absent from a row) are skipped.
+   */
+  public void replay(SegmentStore store, long from, long to) {
+    store.scan(from, to, (timestamp, columns, values) -> {
+      for (int i = 0; i < values.length; i++) {
+        if (!Double.isNaN(values[i])) {
+          record(columns.get(i), timestamp, values[i]);
+        }
+      }
+    });
+  }
+
+  /**
+   * Returns the history of a series, or null if it has never been recorded.
+   */
+  public SeriesHistory getSeries(String name) {
+    return series.get(name);
+  }
+
+  public Collection<SeriesHistory> getAllSeries() {
+    return Collections.unmodifiableCollection(series.values());
+  }
+
+  public List<RollupSpec> getRollupSpecs() {
+    return rollupSpecs;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.time.Duration;
+
+/**
+ * Fixed-capacity ring of downsampled buckets at one resolution. Each bucket keeps min, max, sum,
+ * count and last value in primitive columns and is updated in place as samples arrive, so a rollup
+ * costs a handful of array writes per sample.
+ *
+ * <p>
+ * Buckets are aligned to multiples of the resolution since the epoch and only exist for periods
+ * that received samples. Not thread-safe; {@link SeriesHistory} guards access.
+ */
+public final class RollupRing {
+
+  private final long resolutionMillis;
+  private final long[] starts;
+  private final double[] mins;
+  private final double[] maxs;
+  private final double[] sums;
+  private final double[] lasts;
+  private final long[] counts;
+  private int head;
+  private int size;
+
+  public RollupRing(Duration resolution, int capacity) {
+    if (resolution.toMillis() <= 0) {
+      throw new IllegalArgumentException("Resolution must be at least one millisecond");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.resolutionMillis = resolution.toMillis();
+    this.starts = new long[capacity];
+    this.mins = new double[capacity];
+    this.maxs = new double[capacity];
+    this.sums = new double[capacity];
+    this.lasts = new double[capacity];
+    this.counts = new long[capacity];
+  }
+
+  /**
+   * Folds a sample into its bucket. Samples must arrive in non-decreasing timestamp order.
+   */
+  public void add(long timestamp, double value) {
+    long start = timestamp - Math.floorMod(timestamp, resolutionMillis);
+    if (size > 0) {
+      int newest = slot(size - 1);
+      if (starts[newest] == start) {
+        if (value < mins[newest]) {
+          mins[newest] = value;
+        }
+        if (value > maxs[newest]) {
+          maxs[newest] = value;
+        }
+        sums[newest] += value;
+        lasts[newest] = value;
+        counts[newest]++;
+        return;
+      }
+    }
+    int slot;
+    if (size < starts.length) {
+      slot = slot(size++);
+    } else {
+      slot = head;
+      head = head + 1 == starts.length ? 0 : head + 1;
+    }
+    starts[slot] = start;
+    mins[slot] = value;
+    maxs[slot] = value;
+    sums[slot] = value;
+    lasts[slot] = value;
+    counts[slot] = 1;
+  }
+
+  public long resolutionMillis() {
+    return resolutionMillis;
+  }
+
+  public int capacity() {
+    return starts.length;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long start(int index) {
+    return starts[checkedSlot(index)];
+  }
+
+  public double min(int index) {
+    return mins[checkedSlot(index)];
+  }
+
+  public double max(int index) {
+    return maxs[checkedSlot(index)];
+  }
+
+  public double sum(int index) {
+    return sums[checkedSlot(index)];
+  }
+
+  public double avg(int index) {
+    int slot = checkedSlot(index);
+    return sums[slot] / counts[slot];
+  }
+
+  public double last(int index) {
+    return lasts[checkedSlot(index)];
+  }
+
+  public long count(int index) {
+    return counts[checkedSlot(index)];
+  }
+
+  /**
+   * Returns the logical index of the first bucket starting at or after {@code timestamp}, or
+   * {@link #size()} if there is none.
+   */
+  public int indexAtOrAfter(long timestamp) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (starts[slot(mid)] < timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int checkedSlot(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return slot(index);
+  }
+
+  private int slot(int index) {
+    int slot = head + index;
+    return slot >= starts.length ? slot - starts.length : slot;
+  }
+}
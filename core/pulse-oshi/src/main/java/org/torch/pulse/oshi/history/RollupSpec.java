@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.time.Duration;
+
+/**
+ * Resolution and bucket count of one rollup tier.
+ */
+public record RollupSpec(Duration resolution, int capacity) {
+
+  public RollupSpec {
+    if (resolution.toMillis() <= 0) {
+      throw new IllegalArgumentException("Resolution must be at least one millisecond");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+  }
+
+  /**
+   * Time span the tier covers when full.
+   */
+  public Duration retention() {
+    return resolution.multipliedBy(capacity);
+  }
+}
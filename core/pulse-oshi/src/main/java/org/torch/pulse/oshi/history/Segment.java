@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One memory-mapped segment file of a {@link SegmentStore}.
+ *
+ * <p>
+ * Layout: a 64-byte header, the column names, then the Gorilla bit stream. The header's committed
+ * bit count is written last after every row, so a crash mid-row leaves the previous rows readable
+ * and the partial row is discarded on recovery. The last-timestamp hint is written before it and is
+ * therefore never older than the committed data.
+ *
+ * <pre>
+ *  0  int   magic "PLSG"
+ *  4  int   format version
+ *  8  long  first timestamp
+ * 16  long  last timestamp hint
+ * 24  long  committed bits
+ * 32  int   column count
+ * 36  int   data offset
+ * 64  column names: (short length, UTF-8 bytes)*
+ * </pre>
+ */
+final class Segment {
+
+  static final int MAGIC = 0x504C5347;
+  static final int VERSION = 1;
+
+  private static final int HEADER_BYTES = 64;
+  private static final int FIRST_TIMESTAMP = 8;
+  private static final int LAST_TIMESTAMP = 16;
+  private static final int COMMITTED_BITS = 24;
+  private static final int COLUMN_COUNT = 32;
+  private static final int DATA_OFFSET = 36;
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final List<String> columns;
+  private final int dataOffset;
+  private final GorillaCodec encoder;
+  private final BitWriter writer;
+
+  private Segment(Path path, MappedByteBuffer buffer, List<String> columns, int dataOffset,
+      GorillaCodec encoder, BitWriter writer) {
+    this.path = path;
+    this.buffer = buffer;
+    this.columns = columns;
+    this.dataOffset = dataOffset;
+    this.encoder = encoder;
+    this.writer = writer;
+  }
+
+  /**
+   * Creates a new, empty segment for appending.
+   */
+  static Segment create(Path path, int sizeBytes, List<String> columns, long firstTimestamp)
+      throws IOException {
+    List<String> schema = List.copyOf(columns);
+    int dataOffset = HEADER_BYTES;
+    for (String column : schema) {
+      dataOffset += Short.BYTES + column.getBytes(StandardCharsets.UTF_8).length;
+    }
+    dataOffset = (dataOffset + 7) & ~7;
+    if (dataOffset + GorillaCodec.maxRowBits(schema.size()) / Byte.SIZE + 1 > sizeBytes) {
+      throw new IllegalArgumentException("Segment size too small for " + schema.size()
+          + " columns");
+    }
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+    }
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putLong(FIRST_TIMESTAMP, firstTimestamp);
+    buffer.putLong(LAST_TIMESTAMP, firstTimestamp);
+    buffer.putInt(COLUMN_COUNT, schema.size());
+    buffer.putInt(DATA_OFFSET, dataOffset);
+    int position = HEADER_BYTES;
+    for (String column : schema) {
+      byte[] name = column.getBytes(StandardCharsets.UTF_8);
+      buffer.putShort(position, (short) name.length);
+      buffer.put(position + Short.BYTES, name);
+      position += Short.BYTES + name.length;
+    }
+    buffer.putLong(COMMITTED_BITS, 0L);
+    GorillaCodec encoder = new GorillaCodec(schema.size());
+    BitWriter writer = new BitWriter(buffer, dataOffset, sizeBytes - dataOffset, 0L);
+    return new Segment(path, buffer, schema, dataOffset, encoder, writer);
+  }
+
+  /**
+   * Maps an existing segment read-only.
+   */
+  static Segment openReadOnly(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    return new Segment(path, buffer, readColumns(path, buffer), buffer.getInt(DATA_OFFSET), null,
+        null);
+  }
+
+  /**
+   * Maps an existing segment for appending, replaying its committed rows to restore the encoder
+   * state and clearing whatever an interrupted write left behind the committed data.
+   */
+  static Segment recover(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+    List<String> columns = readColumns(path, buffer);
+    int dataOffset = buffer.getInt(DATA_OFFSET);
+    long committed = buffer.getLong(COMMITTED_BITS);
+    long capacityBits = (long) (buffer.capacity() - dataOffset) * Byte.SIZE;
+    if (committed < 0 || committed > capacityBits) {
+      throw new IOException("Corrupt committed length in segment " + path);
+    }
+    GorillaCodec encoder = new GorillaCodec(columns.size());
+    BitReader reader = new BitReader(buffer, dataOffset);
+    double[] row = new double[columns.size()];
+    while (reader.position() < committed) {
+      encoder.decode(reader, row);
+    }
+    // Decoding leaves the codec in exactly the state the encoder had after the last committed
+    // row. An interrupted append can only have dirtied the bits of one row past that point.
+    int partialByte = dataOffset + (int) (committed >>> 3);
+    int used = (int) (committed & 7);
+    if (used != 0) {
+      buffer.put(partialByte, (byte) (buffer.get(partialByte) & (0xFF << (Byte.SIZE - used))));
+      partialByte++;
+    }
+    long dirtyEnd = Math.min(buffer.capacity(),
+        partialByte + GorillaCodec.maxRowBits(columns.size()) / Byte.SIZE + 1);
+    for (int i = partialByte; i < dirtyEnd; i++) {
+      buffer.put(i, (byte) 0);
+    }
+    if (encoder.rows() > 0) {
+      buffer.putLong(LAST_TIMESTAMP, encoder.lastTimestamp());
+    }
+    BitWriter writer =
+        new BitWriter(buffer, dataOffset, buffer.capacity() - dataOffset, committed);
+    return new Segment(path, buffer, columns, dataOffset, encoder, writer);
+  }
+
+  private static List<String> readColumns(Path path, ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a segment file: " + path);
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported segment version " + buffer.getInt(4) + " in " + path);
+    }
+    int count = buffer.getInt(COLUMN_COUNT);
+    List<String> columns = new ArrayList<>(count);
+    int position = HEADER_BYTES;
+    for (int i = 0; i < count; i++) {
+      int length = buffer.getShort(position);
+      byte[] name = new byte[length];
+      buffer.get(position + Short.BYTES, name);
+      columns.add(new String(name, StandardCharsets.UTF_8));
+      position += Short.BYTES + length;
+    }
+    return Collections.unmodifiableList(columns);
+  }
+
+  Path path() {
+    return path;
+  }
+
+  List<String> columns() {
+    return columns;
+  }
+
+  long firstTimestamp() {
+    return buffer.getLong(FIRST_TIMESTAMP);
+  }
+
+  long lastTimestamp() {
+    return buffer.getLong(LAST_TIMESTAMP);
+  }
+
+  boolean isEmpty() {
+    return buffer.getLong(COMMITTED_BITS) == 0L;
+  }
+
+  /**
+   * Returns true if a row of this segment's width is guaranteed to fit.
+   */
+  boolean hasRoomForRow() {
+    return writer.remaining() >= GorillaCodec.maxRowBits(columns.size());
+  }
+
+  /**
+   * Encodes one row and commits it.
+   */
+  void append(long timestamp, double[] values) {
+    encoder.encode(writer, timestamp, values);
+    buffer.putLong(LAST_TIMESTAMP, timestamp);
+    buffer.putLong(COMMITTED_BITS, writer.position());
+  }
+
+  /**
+   * Decodes every committed row with a timestamp in [from, to) straight from the mapping.
+   */
+  void scan(long from, long to, SegmentStore.RowVisitor visitor) {
+    long committed = buffer.getLong(COMMITTED_BITS);
+    GorillaCodec decoder = new GorillaCodec(columns.size());
+    BitReader reader = new BitReader(buffer, dataOffset);
+    double[] row = new double[columns.size()];
+    while (reader.position() < committed) {
+      long timestamp = decoder.decode(reader, row);
+      if (timestamp >= to) {
+        return;
+      }
+      if (timestamp >= from) {
+        visitor.visit(timestamp, columns, row);
+      }
+    }
+  }
+
+  void force() {
+    buffer.force();
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Append-only on-disk metric history in memory-mapped segment files.
+ *
+ * <p>
+ * Each segment stores rows of a fixed set of columns with Gorilla compression: delta-of-delta
+ * timestamps and XOR-encoded values, which brings a steady 1 Hz series down to a few bits per
+ * value. A new segment is started when the current one is full or a row brings new columns (for
+ * example a new mount point); columns missing from a row are stored as NaN. Series of stale
+ * metrics are written as NaN in their columns rather than left out, so a probe that keeps timing
+ * out does not start a new segment each time it recovers. Segments whose newest row falls out of
+ * the retention period are deleted on open and on rollover, and skipped by scans in between.
+ *
+ * <p>
+ * On open, the newest segment is recovered: rows up to the last committed one are kept and a row
+ * that was being written when the process died is discarded. If even that segment has expired,
+ * for example after a long downtime, it is deleted and the next append starts a new one. Data
+ * reaches the page cache on every append and survives a process crash; call {@link #flush()} to
+ * also survive a host crash.
+ *
+ * <p>
+ * Scans decode straight from the mappings and reuse one row array, without copying segment data.
+ */
+public final class SegmentStore implements AutoCloseable {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("SegmentStoreLogger");
+
+  public static final int DEFAULT_SEGMENT_BYTES = 8 << 20;
+  public static final Duration DEFAULT_RETENTION = Duration.ofDays(7);
+
+  private static final String SUFFIX = ".seg";
+
+  /**
+   * Receives one stored row. {@code columns} and {@code values} are shared between calls and must
+   * not be retained or modified.
+   */
+  @FunctionalInterface
+  public interface RowVisitor {
+    void visit(long timestamp, List<String> columns, double[] values);
+  }
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final long retentionMillis;
+  private final LongSupplier clock;
+  private final List<Segment> sealed = new ArrayList<>();
+  private Segment active;
+  private Map<String, Integer> activeIndex = Map.of();
+  private long nextSequence;
+  private double[] row = new double[0];
+
+  // Reused while flattening a SystemMetrics.
+  private final List<String> pendingNames = new ArrayList<>();
+  private double[] pendingValues = new double[16];
+
+  public SegmentStore(Path directory) throws IOException {
+    this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_RETENTION);
+  }
+
+  /**
+   * Opens the store in {@code directory}, creating it if needed and recovering the newest segment.
+   */
+  public SegmentStore(Path directory, int segmentBytes, Duration retention) throws IOException {
+    this(directory, segmentBytes, retention, System::currentTimeMillis);
+  }
+
+  /**
+   * Package-private constructor for testing with a controllable clock of epoch milliseconds.
+   */
+  SegmentStore(Path directory, int segmentBytes, Duration retention, LongSupplier clock)
+      throws IOException {
+    if (retention.isNegative() || retention.isZero()) {
+      throw new IllegalArgumentException("Retention must be positive");
+    }
+    this.directory = Files.createDirectories(directory);
+    this.segmentBytes = segmentBytes;
+    this.retentionMillis = retention.toMillis();
+    this.clock = clock;
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      stream.forEach(files::add);
+    }
+    files.sort(null);
+    for (int i = 0; i < files.size(); i++) {
+      Path file = files.get(i);
+      nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+      try {
+        if (i == files.size() - 1) {
+          active = Segment.recover(file);
+          activeIndex = indexOf(active.columns());
+          row = new double[active.columns().size()];
+        } else {
+          sealed.add(Segment.openReadOnly(file));
+        }
+      } catch (IOException | RuntimeException e) {
+        Path quarantined = file.resolveSibling(file.getFileName() + ".corrupt");
+        logger.error("Quarantining unreadable segment " + file, e);
+        Files.move(file, quarantined, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    long now = clock.getAsLong();
+    if (active != null && active.lastTimestamp() < now - retentionMillis) {
+      // Hand it to the retention below; the next append starts a new segment.
+      sealed.add(active);
+      active = null;
+      activeIndex = Map.of();
+      row = new double[0];
+    }
+    enforceRetention(now);
+    logger.info("SegmentStore opened in {} with {} segments", directory,
+        sealed.size() + (active != null ? 1 : 0));
+  }
+
+  /**
+   * Appends the series of {@code metrics} as one row at its collection timestamp. Series of stale
+   * metrics are stored as NaN.
+   */
+  public synchronized void append(SystemMetrics metrics) throws IOException {
+    pendingNames.clear();
+    SystemMetricsSeries.forEachWithStale(metrics, (name, value) -> {
+      int index = pendingNames.size();
+      if (index == pendingValues.length) {
+        pendingValues = Arrays.copyOf(pendingValues, index * 2);
+      }
+      pendingNames.add(name);
+      pendingValues[index] = value;
+    });
+    append(metrics.getTimestamp(), pendingNames, pendingValues);
+  }
+
+  /**
+   * Appends one row. Rows older than the newest stored row are dropped.
+   *
+   * @param columns series names, parallel to {@code values}
+   */
+  public synchronized void append(long timestamp, List<String> columns, double[] values)
+      throws IOException {
+    if (active != null && !active.isEmpty() && timestamp < active.lastTimestamp()) {
+      logger.debug("Dropped out-of-order row at {}", timestamp);
+      return;
+    }
+    if (active == null || !activeIndex.keySet().containsAll(columns) || !active.hasRoomForRow()) {
+      rollover(timestamp, columns);
+    }
+    Arrays.fill(row, Double.NaN);
+    for (int i = 0, n = columns.size(); i < n; i++) {
+      row[activeIndex.get(columns.get(i))] = values[i];
+    }
+    active.append(timestamp, row);
+  }
+
+  /**
+   * Visits every stored row with a timestamp in [from, to), oldest first. Sealed segments that
+   * have fallen out of the retention period since the last rollover are skipped.
+   */
+  public synchronized void scan(long from, long to, RowVisitor visitor) {
+    long cutoff = clock.getAsLong() - retentionMillis;
+    for (Segment segment : sealed) {
+      if (segment.lastTimestamp() >= cutoff) {
+        scan(segment, from, to, visitor);
+      }
+    }
+    if (active != null) {
+      scan(active, from, to, visitor);
+    }
+  }
+
+  private static void scan(Segment segment, long from, long to, RowVisitor visitor) {
+    if (segment.firstTimestamp() < to && segment.lastTimestamp() >= from) {
+      segment.scan(from, to, visitor);
+    }
+  }
+
+  /**
+   * Forces the newest segment to the storage device.
+   */
+  public synchronized void flush() {
+    if (active != null) {
+      active.force();
+    }
+  }
+
+  public synchronized int getSegmentCount() {
+    return sealed.size() + (active != null ? 1 : 0);
+  }
+
+  private void rollover(long timestamp, List<String> columns) throws IOException {
+    if (active != null) {
+      if (active.isEmpty()) {
+        Files.deleteIfExists(active.path());
+      } else {
+        active.force();
+        sealed.add(active);
+      }
+    }
+    Path file = directory.resolve(String.format("%016d%s", nextSequence++, SUFFIX));
+    active = Segment.create(file, segmentBytes, columns, timestamp);
+    activeIndex = indexOf(active.columns());
+    row = new double[columns.size()];
+    logger.info("Started segment {} with {} columns", file.getFileName(), columns.size());
+    enforceRetention(timestamp);
+  }
+
+  private void enforceRetention(long now) throws IOException {
+    while (!sealed.isEmpty() && sealed.get(0).lastTimestamp() < now - retentionMillis) {
+      Segment expired = sealed.remove(0);
+      Files.deleteIfExists(expired.path());
+      logger.info("Deleted expired segment {}", expired.path().getFileName());
+    }
+  }
+
+  private static Map<String, Integer> indexOf(List<String> columns) {
+    Map<String, Integer> index = new HashMap<>();
+    for (int i = 0; i < columns.size(); i++) {
+      index.put(columns.get(i), i);
+    }
+    return index;
+  }
+
+  private static long sequenceOf(Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    flush();
+  }
+}
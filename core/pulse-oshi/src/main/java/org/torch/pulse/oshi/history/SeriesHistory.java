@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Raw samples and rollup tiers of one series. Appends update every tier incrementally.
+ *
+ * <p>
+ * All access goes through the series' monitor: appends are a few array writes, so the lock is
+ * uncontended in practice, and readers get a consistent view via {@link #read(Consumer)}.
+ */
+public final class SeriesHistory {
+
+  private final String name;
+  private final TimeSeriesRing raw;
+  private final RollupRing[] rollups;
+  private long lastTimestamp = Long.MIN_VALUE;
+
+  SeriesHistory(String name, int rawCapacity, List<RollupSpec> rollupSpecs) {
+    this.name = name;
+    this.raw = new TimeSeriesRing(rawCapacity);
+    this.rollups = new RollupRing[rollupSpecs.size()];
+    for (int i = 0; i < rollups.length; i++) {
+      RollupSpec spec = rollupSpecs.get(i);
+      rollups[i] = new RollupRing(spec.resolution(), spec.capacity());
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Appends a sample.
+   *
+   * @return false if the sample was older than the newest one and therefore dropped
+   */
+  public synchronized boolean append(long timestamp, double value) {
+    if (timestamp < lastTimestamp) {
+      return false;
+    }
+    lastTimestamp = timestamp;
+    raw.append(timestamp, value);
+    for (RollupRing rollup : rollups) {
+      rollup.add(timestamp, value);
+    }
+    return true;
+  }
+
+  /**
+   * Runs {@code reader} while holding the series lock, so it sees no concurrent appends. The view
+   * must not escape the callback.
+   */
+  public synchronized void read(Consumer<SeriesHistory> reader) {
+    reader.accept(this);
+  }
+
+  /**
+   * Raw samples; only valid inside {@link #read(Consumer)} when appends may run concurrently.
+   */
+  public TimeSeriesRing raw() {
+    return raw;
+  }
+
+  /**
+   * Rollup tiers from finest to coarsest; only valid inside {@link #read(Consumer)} when appends
+   * may run concurrently.
+   */
+  public int rollupCount() {
+    return rollups.length;
+  }
+
+  public RollupRing rollup(int tier) {
+    return rollups[tier];
+  }
+}
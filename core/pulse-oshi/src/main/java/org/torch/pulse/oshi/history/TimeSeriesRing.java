@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+/**
+ * Fixed-capacity ring of raw samples stored as two primitive columns. Appending overwrites the
+ * oldest sample once the ring is full. Samples are addressed by logical index, 0 being the oldest
+ * retained one.
+ *
+ * <p>
+ * Not thread-safe; {@link SeriesHistory} guards access.
+ */
+public final class TimeSeriesRing {
+
+  private final long[] timestamps;
+  private final double[] values;
+  private int head;
+  private int size;
+
+  public TimeSeriesRing(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.timestamps = new long[capacity];
+    this.values = new double[capacity];
+  }
+
+  public void append(long timestamp, double value) {
+    int slot = head + size;
+    if (slot >= timestamps.length) {
+      slot -= timestamps.length;
+    }
+    timestamps[slot] = timestamp;
+    values[slot] = value;
+    if (size < timestamps.length) {
+      size++;
+    } else {
+      head = head + 1 == timestamps.length ? 0 : head + 1;
+    }
+  }
+
+  public int capacity() {
+    return timestamps.length;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long timestamp(int index) {
+    return timestamps[slot(index)];
+  }
+
+  public double value(int index) {
+    return values[slot(index)];
+  }
+
+  /**
+   * Returns the logical index of the first sample at or after {@code timestamp}, or {@link #size()}
+   * if there is none.
+   */
+  public int indexAtOrAfter(long timestamp) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timestamps[slot(mid)] < timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int slot(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    int slot = head + index;
+    return slot >= timestamps.length ? slot - timestamps.length : slot;
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+/**
+ * Aggregate of the samples of one series inside a time window. Min, max and avg are NaN when the
+ * window holds no samples.
+ */
+public record WindowStats(long count, double min, double max, double sum) {
+
+  static final WindowStats EMPTY = new WindowStats(0, Double.NaN, Double.NaN, 0d);
+
+  public double avg() {
+    return count > 0 ? sum / count : Double.NaN;
+  }
+
+  public double get(Aggregation aggregation) {
+    return switch (aggregation) {
+      case MIN -> min;
+      case MAX -> max;
+      case AVG -> avg();
+      case SUM -> sum;
+      case COUNT -> count;
+    };
+  }
+}
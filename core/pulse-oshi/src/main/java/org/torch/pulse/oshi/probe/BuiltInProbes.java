@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.torch.pulse.oshi.DiskIoMetrics;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.JvmMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.NetworkInterfaceMetrics;
+import org.torch.pulse.oshi.PressureMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * The probes this module provides through {@link java.util.ServiceLoader}, one per
+ * {@link Metric}. Each reads one metric from the provider and emits it under the
+ * {@link SystemMetricsSeries} names, so a {@link ProbeSnapshot} carries the same series as a
+ * flattened {@link SystemMetrics}.
+ */
+public final class BuiltInProbes {
+
+  private BuiltInProbes() {}
+
+  /**
+   * Emits part of a {@link SystemMetrics} by marking every metric it does not collect as stale,
+   * which {@link SystemMetricsSeries#forEach} skips.
+   */
+  abstract static class ProviderProbe implements MetricProbe {
+    private final String name;
+    private final CostClass costClass;
+    private final Set<Metric> notCollected;
+
+    ProviderProbe(String name, CostClass costClass, Metric first, Metric... rest) {
+      this.name = name;
+      this.costClass = costClass;
+      this.notCollected = EnumSet.complementOf(EnumSet.of(first, rest));
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public CostClass costClass() {
+      return costClass;
+    }
+
+    @Override
+    public void sample(SystemMetricsProvider provider, SystemMetricsSeries.Visitor out) {
+      SystemMetricsSeries.forEach(collect(provider), out);
+    }
+
+    abstract SystemMetrics collect(SystemMetricsProvider provider);
+
+    final SystemMetrics metrics(double cpuUsage, long totalMemory, long availableMemory,
+        double cpuTemperature, List<DiskMetrics> diskUsage, List<DiskIoMetrics> diskIo,
+        List<NetworkInterfaceMetrics> networkInterfaces, JvmMetrics jvm,
+        PressureMetrics pressure) {
+      return new SystemMetrics(System.currentTimeMillis(), cpuUsage, totalMemory, availableMemory,
+          cpuTemperature, diskUsage, diskIo, networkInterfaces, jvm, pressure, notCollected);
+    }
+  }
+
+  public static final class Cpu extends ProviderProbe {
+    public Cpu() {
+      super("cpu", CostClass.CHEAP, Metric.CPU_USAGE);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(provider.getCpuUsage(), -1L, -1L, -1.0, List.of(), List.of(), List.of(), null,
+          null);
+    }
+  }
+
+  public static final class Memory extends ProviderProbe {
+    public Memory() {
+      super("memory", CostClass.CHEAP, Metric.TOTAL_MEMORY, Metric.AVAILABLE_MEMORY);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, provider.getTotalMemory(), provider.getAvailableMemory(), -1.0,
+          List.of(), List.of(), List.of(), null, null);
+    }
+  }
+
+  public static final class Pressure extends ProviderProbe {
+    public Pressure() {
+      super("pressure", CostClass.CHEAP, Metric.PRESSURE);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, -1.0, List.of(), List.of(), List.of(), null,
+          provider.getPressure());
+    }
+  }
+
+  public static final class Jvm extends ProviderProbe {
+    public Jvm() {
+      super("jvm", CostClass.MODERATE, Metric.JVM);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, -1.0, List.of(), List.of(), List.of(),
+          provider.getJvmMetrics(), null);
+    }
+  }
+
+  public static final class Network extends ProviderProbe {
+    public Network() {
+      super("network", CostClass.MODERATE, Metric.NETWORK);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, -1.0, List.of(), List.of(), provider.getNetworkInterfaces(),
+          null, null);
+    }
+  }
+
+  public static final class DiskIo extends ProviderProbe {
+    public DiskIo() {
+      super("disk.io", CostClass.MODERATE, Metric.DISK_IO);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, -1.0, List.of(), provider.getDiskIo(), List.of(), null, null);
+    }
+  }
+
+  public static final class DiskUsage extends ProviderProbe {
+    public DiskUsage() {
+      super("disk.usage", CostClass.EXPENSIVE, Metric.DISK_USAGE);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, -1.0, provider.getDiskUsage(), List.of(), List.of(), null,
+          null);
+    }
+  }
+
+  public static final class Temperature extends ProviderProbe {
+    public Temperature() {
+      super("temperature", CostClass.EXPENSIVE, Metric.CPU_TEMPERATURE);
+    }
+
+    @Override
+    SystemMetrics collect(SystemMetricsProvider provider) {
+      return metrics(-1.0, -1L, -1L, provider.getCpuTemperature(), List.of(), List.of(), List.of(),
+          null, null);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.time.Duration;
+
+/**
+ * How expensive a {@link MetricProbe} is to run, which sets its default interval and how the
+ * {@link ProbeScheduler} runs it.
+ */
+public enum CostClass {
+
+  /**
+   * Reads a few kernel counters, such as CPU ticks or meminfo. Runs every second by default.
+   */
+  CHEAP(Duration.ofSeconds(1)),
+
+  /**
+   * Walks a moderate list, such as network interfaces or block devices. Runs every 5 seconds by
+   * default.
+   */
+  MODERATE(Duration.ofSeconds(5)),
+
+  /**
+   * Enumerates file systems, sensors or other slow sources. Runs every minute by default, and never
+   * concurrently with another expensive probe.
+   */
+  EXPENSIVE(Duration.ofMinutes(1));
+
+  private final Duration defaultInterval;
+
+  CostClass(Duration defaultInterval) {
+    this.defaultInterval = defaultInterval;
+  }
+
+  public Duration defaultInterval() {
+    return defaultInterval;
+  }
+}
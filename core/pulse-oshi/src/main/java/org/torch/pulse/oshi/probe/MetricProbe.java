@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.time.Duration;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * A source of named metric values that a {@link ProbeScheduler} samples at its own interval.
+ *
+ * <p>
+ * Implementations are discovered through {@link java.util.ServiceLoader}: a module declares
+ * {@code provides org.torch.pulse.oshi.probe.MetricProbe with ...}, and the implementation needs a
+ * public no-argument constructor. Probes can also be registered directly with a
+ * {@link ProbeRegistry}.
+ *
+ * <p>
+ * A probe is never run concurrently with itself, but successive runs may happen on different
+ * threads.
+ */
+public interface MetricProbe {
+
+  /**
+   * Returns the unique name of the probe, such as {@code cpu}.
+   */
+  String name();
+
+  CostClass costClass();
+
+  /**
+   * Returns how often the probe should run. Defaults to the cost class's interval.
+   */
+  default Duration interval() {
+    return costClass().defaultInterval();
+  }
+
+  /**
+   * Emits the probe's current values. Series the probe stops emitting are removed from the
+   * snapshot; if the probe throws, its previous values are kept.
+   *
+   * @param provider the provider shared by all probes of a scheduler
+   * @param out receives each series value; series names should follow
+   *        {@link SystemMetricsSeries}
+   */
+  void sample(SystemMetricsProvider provider, SystemMetricsSeries.Visitor out) throws Exception;
+}
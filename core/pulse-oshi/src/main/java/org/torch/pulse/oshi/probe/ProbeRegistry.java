@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+
+/**
+ * The set of {@link MetricProbe}s a {@link ProbeScheduler} runs, keyed by probe name.
+ */
+public final class ProbeRegistry {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("ProbeRegistryLogger");
+
+  private final Map<String, MetricProbe> probes = new LinkedHashMap<>();
+
+  /**
+   * Creates an empty registry.
+   */
+  public ProbeRegistry() {}
+
+  /**
+   * Creates a registry with every probe found by {@link ServiceLoader}, including the built-in
+   * ones of this module.
+   *
+   * @throws IllegalArgumentException if two probes share a name
+   */
+  public static ProbeRegistry load() {
+    ProbeRegistry registry = new ProbeRegistry();
+    for (MetricProbe probe : ServiceLoader.load(MetricProbe.class)) {
+      registry.register(probe);
+    }
+    logger.info("Loaded probes {}", registry.probes.keySet());
+    return registry;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a probe with the same name is registered or the probe's
+   *         interval is not positive
+   */
+  public synchronized ProbeRegistry register(MetricProbe probe) {
+    if (probe.interval().isZero() || probe.interval().isNegative()) {
+      throw new IllegalArgumentException("Interval of probe " + probe.name() + " must be positive");
+    }
+    if (probes.putIfAbsent(probe.name(), probe) != null) {
+      throw new IllegalArgumentException("Duplicate probe " + probe.name());
+    }
+    return this;
+  }
+
+  /**
+   * @return false if no probe has that name
+   */
+  public synchronized boolean unregister(String name) {
+    return probes.remove(name) != null;
+  }
+
+  /**
+   * Returns the probe with the given name, or null.
+   */
+  public synchronized MetricProbe get(String name) {
+    return probes.get(name);
+  }
+
+  /**
+   * Returns the registered probes in registration order.
+   */
+  public synchronized List<MetricProbe> probes() {
+    return new ArrayList<>(probes.values());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.torch.pulse.logger.core.PulseLogger;
+import org.torch.pulse.logger.core.PulseLoggerFactory;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+
+/**
+ * Runs the probes of a {@link ProbeRegistry} at their own intervals and writes their values into a
+ * {@link ProbeSnapshot}.
+ *
+ * <p>
+ * One timer thread dispatches each probe to a virtual thread when it is due. A probe still running
+ * from its previous turn is skipped rather than started again, and {@link CostClass#EXPENSIVE}
+ * probes run one at a time so that, say, file-system enumeration and sensor reads do not pile up on
+ * a slow host. The registry is read once, at construction.
+ */
+public final class ProbeScheduler implements AutoCloseable {
+
+  private static final PulseLogger logger = PulseLoggerFactory.getLogger("ProbeSchedulerLogger");
+
+  private final SystemMetricsProvider provider;
+  private final ProbeSnapshot snapshot;
+  private final List<ScheduledProbe> probes = new ArrayList<>();
+  private final Semaphore expensivePermit = new Semaphore(1);
+  private final ExecutorService workers =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pulse-probe-run-", 0).factory());
+  private ScheduledExecutorService timer;
+
+  /**
+   * @param provider passed to every probe; not closed by the scheduler
+   */
+  public ProbeScheduler(ProbeRegistry registry, SystemMetricsProvider provider,
+      ProbeSnapshot snapshot) {
+    this.provider = provider;
+    this.snapshot = snapshot;
+    for (MetricProbe probe : registry.probes()) {
+      probes.add(new ScheduledProbe(probe, snapshot.writer(probe.name())));
+    }
+  }
+
+  public ProbeSnapshot snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Starts running the probes, each first at once and then at its interval. Calling it more than
+   * once has no effect.
+   */
+  public synchronized void start() {
+    if (timer != null) {
+      return;
+    }
+    timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "pulse-probe-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (ScheduledProbe probe : probes) {
+      long intervalNanos = probe.probe.interval().toNanos();
+      timer.scheduleAtFixedRate(probe::dispatch, 0L, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+    logger.info("Probe scheduler started with {} probes", probes.size());
+  }
+
+  /**
+   * Runs every probe once in the calling thread, regardless of its interval.
+   */
+  public void runAll() {
+    for (ScheduledProbe probe : probes) {
+      probe.run();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (timer != null) {
+      timer.shutdownNow();
+      timer = null;
+    }
+    workers.shutdownNow();
+    logger.info("Probe scheduler stopped.");
+  }
+
+  private final class ScheduledProbe {
+    private final MetricProbe probe;
+    private final ProbeSnapshot.Writer writer;
+    private final boolean expensive;
+    // Only touched by the timer thread.
+    private Future<?> running;
+
+    ScheduledProbe(MetricProbe probe, ProbeSnapshot.Writer writer) {
+      this.probe = probe;
+      this.writer = writer;
+      this.expensive = probe.costClass() == CostClass.EXPENSIVE;
+    }
+
+    void dispatch() {
+      if (running != null && !running.isDone()) {
+        logger.debug("Probe {} is still running; skipping this turn", probe.name());
+        return;
+      }
+      try {
+        running = workers.submit(this::run);
+      } catch (RuntimeException e) {
+        // Rejected after close().
+      }
+    }
+
+    void run() {
+      if (expensive) {
+        try {
+          expensivePermit.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+      try {
+        synchronized (this) {
+          writer.begin(System.currentTimeMillis());
+          probe.sample(provider, writer);
+          writer.end();
+        }
+      } catch (Exception e) {
+        // Keep the probe's previous values.
+        logger.error("Probe " + probe.name() + " failed", e);
+      } finally {
+        if (expensive) {
+          expensivePermit.release();
+        }
+      }
+    }
+  }
+}
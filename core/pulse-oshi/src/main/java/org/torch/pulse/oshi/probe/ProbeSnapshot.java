@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * The latest value of every series emitted by the probes of a {@link ProbeScheduler}.
+ *
+ * <p>
+ * Each series has one mutable slot that is created the first time it is emitted and overwritten in
+ * place afterwards, so steady-state updates and reads allocate nothing. Each value is read
+ * atomically, but values written by one probe run are not published together.
+ */
+public final class ProbeSnapshot {
+
+  private final ConcurrentHashMap<String, Reading> readings = new ConcurrentHashMap<>();
+
+  private static final class Reading {
+    private final String probe;
+    private volatile double value;
+    private volatile long timestamp;
+    // Run of the owning probe that last wrote the value; only touched by that probe's writer.
+    private long run;
+
+    Reading(String probe) {
+      this.probe = probe;
+    }
+  }
+
+  /**
+   * Creates an empty snapshot.
+   */
+  public ProbeSnapshot() {}
+
+  /**
+   * Returns the latest value of {@code series}, or NaN if no probe emits it.
+   */
+  public double get(String series) {
+    Reading reading = readings.get(series);
+    return reading != null ? reading.value : Double.NaN;
+  }
+
+  /**
+   * Returns the epoch milliseconds at which {@code series} was last written, or -1 if no probe
+   * emits it.
+   */
+  public long timestamp(String series) {
+    Reading reading = readings.get(series);
+    return reading != null ? reading.timestamp : -1L;
+  }
+
+  /**
+   * Returns the name of the probe that emits {@code series}, or null if none does.
+   */
+  public String probe(String series) {
+    Reading reading = readings.get(series);
+    return reading != null ? reading.probe : null;
+  }
+
+  public int size() {
+    return readings.size();
+  }
+
+  /**
+   * Visits the latest value of every series, in no particular order.
+   */
+  public void forEach(SystemMetricsSeries.Visitor visitor) {
+    readings.forEach((series, reading) -> visitor.accept(series, reading.value));
+  }
+
+  Writer writer(String probe) {
+    return new Writer(probe);
+  }
+
+  /**
+   * Writes the values of one probe. Remembers the slots it owns so that series the probe stopped
+   * emitting can be dropped without scanning the whole snapshot.
+   */
+  final class Writer implements SystemMetricsSeries.Visitor {
+    private final String probe;
+    private final List<Reading> owned = new ArrayList<>();
+    private final List<String> ownedSeries = new ArrayList<>();
+    private long run;
+    private long timestamp;
+
+    private Writer(String probe) {
+      this.probe = probe;
+    }
+
+    void begin(long timestampMillis) {
+      run++;
+      timestamp = timestampMillis;
+    }
+
+    @Override
+    public void accept(String series, double value) {
+      Reading reading = readings.get(series);
+      if (reading == null) {
+        Reading created = new Reading(probe);
+        reading = readings.putIfAbsent(series, created);
+        if (reading == null) {
+          reading = created;
+          owned.add(created);
+          ownedSeries.add(series);
+        }
+      }
+      if (!reading.probe.equals(probe)) {
+        throw new IllegalStateException(
+            "Series " + series + " is already emitted by probe " + reading.probe);
+      }
+      reading.value = value;
+      reading.timestamp = timestamp;
+      reading.run = run;
+    }
+
+    /**
+     * Drops the series that were not emitted since {@link #begin(long)}.
+     */
+    void end() {
+      for (int i = owned.size() - 1; i >= 0; i--) {
+        if (owned.get(i).run != run) {
+          readings.remove(ownedSeries.get(i), owned.get(i));
+          int last = owned.size() - 1;
+          owned.set(i, owned.get(last));
+          ownedSeries.set(i, ownedSeries.get(last));
+          owned.remove(last);
+          ownedSeries.remove(last);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.wire;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.torch.pulse.oshi.DiskIoMetrics;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.JvmMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.NetworkInterfaceMetrics;
+import org.torch.pulse.oshi.PressureMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Decodes frames written by a {@link SnapshotWriter}.
+ *
+ * <p>
+ * The reader is a flyweight over the last frame read: the accessors return its fields from state
+ * the reader reuses across frames, so reading a stream and inspecting the values allocates
+ * nothing beyond the first sighting of each name. {@link #toSystemMetrics()} materializes the
+ * whole snapshot when one is needed. Delta frames must be read in order after their keyframe,
+ * with the same reader; a reader that missed a frame rejects deltas until the next keyframe.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public final class SnapshotReader {
+
+  private static final Metric[] METRICS = Metric.values();
+
+  private final WireFormat.Table scalars = new WireFormat.Table(WireFormat.SCALARS);
+  private final WireFormat.Table disks = new WireFormat.Table(16);
+  private final WireFormat.Table diskIo = new WireFormat.Table(16);
+  private final WireFormat.Table network = new WireFormat.Table(16);
+  private final WireFormat.Table pools = new WireFormat.Table(16);
+  private final List<String> dictionary = new ArrayList<>();
+  private long framesSinceKeyframe = -1;
+
+  // The last frame.
+  private boolean keyframe;
+  private long staleMask;
+  private int presence;
+  private int[] diskIds = new int[8];
+  private int diskCount;
+  private int[] diskIoIds = new int[8];
+  private int diskIoCount;
+  private int[] networkIds = new int[8];
+  private int networkCount;
+  private int[] poolIds = new int[8];
+  private int poolCount;
+
+  /**
+   * Creates a reader that expects a keyframe first.
+   */
+  public SnapshotReader() {}
+
+  /**
+   * Decodes the frame at the position of {@code in} and advances past it, so frames stored back
+   * to back can be read in a loop.
+   *
+   * @throws IllegalArgumentException if the frame is malformed, truncated or of another version
+   * @throws IllegalStateException if it is a delta frame that does not follow the last frame read
+   */
+  public void read(ByteBuffer in) {
+    try {
+      if (in.get() != WireFormat.MAGIC_0 || in.get() != WireFormat.MAGIC_1) {
+        throw new IllegalArgumentException("Not a snapshot frame");
+      }
+      byte version = in.get();
+      if (version != WireFormat.VERSION) {
+        throw new IllegalArgumentException("Unsupported snapshot frame version " + version);
+      }
+      keyframe = (in.get() & WireFormat.FLAG_DELTA) == 0;
+      if (keyframe) {
+        scalars.clear();
+        disks.clear();
+        diskIo.clear();
+        network.clear();
+        pools.clear();
+        dictionary.clear();
+        framesSinceKeyframe = 0;
+      } else {
+        long frame = WireFormat.getVarLong(in);
+        if (framesSinceKeyframe < 0 || frame != framesSinceKeyframe + 1) {
+          framesSinceKeyframe = -1;
+          throw new IllegalStateException("Delta frame " + frame
+              + " does not follow the last frame read; waiting for a keyframe");
+        }
+        framesSinceKeyframe = frame;
+      }
+      decode(in);
+    } catch (BufferUnderflowException e) {
+      framesSinceKeyframe = -1;
+      throw new IllegalArgumentException("Truncated snapshot frame", e);
+    } catch (IllegalArgumentException e) {
+      framesSinceKeyframe = -1;
+      throw e;
+    }
+  }
+
+  private void decode(ByteBuffer in) {
+    getLong(in, scalars, WireFormat.TIMESTAMP);
+    staleMask = WireFormat.getVarLong(in);
+    presence = (int) WireFormat.getVarLong(in);
+    getDouble(in, scalars, WireFormat.CPU_USAGE);
+    getLong(in, scalars, WireFormat.TOTAL_MEMORY);
+    getLong(in, scalars, WireFormat.AVAILABLE_MEMORY);
+    getDouble(in, scalars, WireFormat.CPU_TEMPERATURE);
+
+    diskCount = count(in);
+    diskIds = ensure(diskIds, diskCount);
+    for (int i = 0; i < diskCount; i++) {
+      int id = getName(in);
+      diskIds[i] = id;
+      int base = id * WireFormat.DISK_FIELDS;
+      getLong(in, disks, base);
+      getLong(in, disks, base + 1);
+    }
+
+    diskIoCount = count(in);
+    diskIoIds = ensure(diskIoIds, diskIoCount);
+    for (int i = 0; i < diskIoCount; i++) {
+      int id = getName(in);
+      diskIoIds[i] = id;
+      int base = id * WireFormat.DISK_IO_FIELDS;
+      for (int field = 0; field < WireFormat.DISK_IO_FIELDS; field++) {
+        // The queue length is the only integer field.
+        if (field == 4) {
+          getLong(in, diskIo, base + field);
+        } else {
+          getDouble(in, diskIo, base + field);
+        }
+      }
+    }
+
+    networkCount = count(in);
+    networkIds = ensure(networkIds, networkCount);
+    for (int i = 0; i < networkCount; i++) {
+      int id = getName(in);
+      networkIds[i] = id;
+      int base = id * WireFormat.NETWORK_FIELDS;
+      for (int field = 0; field < WireFormat.NETWORK_FIELDS; field++) {
+        getDouble(in, network, base + field);
+      }
+    }
+
+    poolCount = 0;
+    if (hasJvm()) {
+      decodeJvm(in);
+    }
+    if (hasPressure()) {
+      int slot = WireFormat.PRESSURE;
+      for (int resource = 0; resource < PressureMetrics.Resource.values().length; resource++) {
+        for (int i = 0; i < 6; i++) {
+          getDouble(in, scalars, slot++);
+        }
+        getLong(in, scalars, slot++);
+        getLong(in, scalars, slot++);
+      }
+    }
+  }
+
+  private void decodeJvm(ByteBuffer in) {
+    int slot = WireFormat.JVM;
+    for (int i = 0; i < 6; i++) {
+      getLong(in, scalars, slot++);
+    }
+    for (int i = 0; i < 3; i++) {
+      getDouble(in, scalars, slot++);
+    }
+    for (int i = 0; i < 5; i++) {
+      getLong(in, scalars, slot++);
+    }
+    getDouble(in, scalars, slot);
+    poolCount = count(in);
+    poolIds = ensure(poolIds, poolCount);
+    for (int i = 0; i < poolCount; i++) {
+      int id = getName(in);
+      poolIds[i] = id;
+      int base = id * WireFormat.POOL_FIELDS;
+      getLong(in, pools, base);
+      getLong(in, pools, base + 1);
+      getLong(in, pools, base + 2);
+    }
+  }
+
+  private static int count(ByteBuffer in) {
+    long count = WireFormat.getVarLong(in);
+    // Every entry takes at least one byte per field, so a larger count cannot be genuine.
+    if (count < 0 || count > in.remaining()) {
+      throw new IllegalArgumentException("Malformed entry count: " + count);
+    }
+    return (int) count;
+  }
+
+  private static int[] ensure(int[] ids, int count) {
+    return ids.length >= count ? ids : Arrays.copyOf(ids, Math.max(ids.length * 2, count));
+  }
+
+  private int getName(ByteBuffer in) {
+    long id = WireFormat.getVarLong(in);
+    if (id >= 0 && id < dictionary.size()) {
+      return (int) id;
+    }
+    if (id != dictionary.size()) {
+      throw new IllegalArgumentException("Unknown dictionary entry: " + id);
+    }
+    int length = count(in);
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+    return (int) id;
+  }
+
+  private static void getLong(ByteBuffer in, WireFormat.Table table, int index) {
+    table.set(index, table.get(index) + WireFormat.getSignedVarLong(in));
+  }
+
+  private static void getDouble(ByteBuffer in, WireFormat.Table table, int index) {
+    table.set(index, table.get(index) ^ WireFormat.getXor(in));
+  }
+
+  private static double doubleAt(WireFormat.Table table, int index) {
+    return Double.longBitsToDouble(table.get(index));
+  }
+
+  /**
+   * Forgets the stream, so that only a keyframe can be read next.
+   */
+  public void reset() {
+    framesSinceKeyframe = -1;
+  }
+
+  /**
+   * Returns true if the last frame was a keyframe.
+   */
+  public boolean isKeyframe() {
+    return keyframe;
+  }
+
+  public long getTimestamp() {
+    return scalars.get(WireFormat.TIMESTAMP);
+  }
+
+  public boolean isStale(Metric metric) {
+    return (staleMask & (1L << WireFormat.staleBit(metric))) != 0;
+  }
+
+  public double getCpuUsage() {
+    return doubleAt(scalars, WireFormat.CPU_USAGE);
+  }
+
+  public long getTotalMemory() {
+    return scalars.get(WireFormat.TOTAL_MEMORY);
+  }
+
+  public long getAvailableMemory() {
+    return scalars.get(WireFormat.AVAILABLE_MEMORY);
+  }
+
+  public double getCpuTemperature() {
+    return doubleAt(scalars, WireFormat.CPU_TEMPERATURE);
+  }
+
+  public int getDiskCount() {
+    return diskCount;
+  }
+
+  public String getDiskMountPoint(int index) {
+    return dictionary.get(diskIds[checkIndex(index, diskCount)]);
+  }
+
+  public long getDiskTotalSpace(int index) {
+    return disks.get(diskIds[checkIndex(index, diskCount)] * WireFormat.DISK_FIELDS);
+  }
+
+  public long getDiskUsedSpace(int index) {
+    return disks.get(diskIds[checkIndex(index, diskCount)] * WireFormat.DISK_FIELDS + 1);
+  }
+
+  public int getDiskIoCount() {
+    return diskIoCount;
+  }
+
+  public String getDiskIoDevice(int index) {
+    return dictionary.get(diskIoIds[checkIndex(index, diskIoCount)]);
+  }
+
+  public double getDiskIoReadBytesPerSecond(int index) {
+    return doubleAt(diskIo, diskIoField(index, 0));
+  }
+
+  public double getDiskIoWriteBytesPerSecond(int index) {
+    return doubleAt(diskIo, diskIoField(index, 1));
+  }
+
+  public double getDiskIoReadsPerSecond(int index) {
+    return doubleAt(diskIo, diskIoField(index, 2));
+  }
+
+  public double getDiskIoWritesPerSecond(int index) {
+    return doubleAt(diskIo, diskIoField(index, 3));
+  }
+
+  public long getDiskIoQueueLength(int index) {
+    return diskIo.get(diskIoField(index, 4));
+  }
+
+  public double getDiskIoAverageServiceTimeMillis(int index) {
+    return doubleAt(diskIo, diskIoField(index, 5));
+  }
+
+  public double getDiskIoUtilization(int index) {
+    return doubleAt(diskIo, diskIoField(index, 6));
+  }
+
+  private int diskIoField(int index, int field) {
+    return diskIoIds[checkIndex(index, diskIoCount)] * WireFormat.DISK_IO_FIELDS + field;
+  }
+
+  public int getNetworkInterfaceCount() {
+    return networkCount;
+  }
+
+  public String getNetworkInterfaceName(int index) {
+    return dictionary.get(networkIds[checkIndex(index, networkCount)]);
+  }
+
+  public double getNetworkBytesReceivedPerSecond(int index) {
+    return doubleAt(network, networkField(index, 0));
+  }
+
+  public double getNetworkBytesSentPerSecond(int index) {
+    return doubleAt(network, networkField(index, 1));
+  }
+
+  public double getNetworkPacketsReceivedPerSecond(int index) {
+    return doubleAt(network, networkField(index, 2));
+  }
+
+  public double getNetworkPacketsSentPerSecond(int index) {
+    return doubleAt(network, networkField(index, 3));
+  }
+
+  public double getNetworkReceiveErrorsPerSecond(int index) {
+    return doubleAt(network, networkField(index, 4));
+  }
+
+  public double getNetworkSendErrorsPerSecond(int index) {
+    return doubleAt(network, networkField(index, 5));
+  }
+
+  public double getNetworkReceiveDropsPerSecond(int index) {
+    return doubleAt(network, networkField(index, 6));
+  }
+
+  public double getNetworkSendDropsPerSecond(int index) {
+    return doubleAt(network, networkField(index, 7));
+  }
+
+  private int networkField(int index, int field) {
+    return networkIds[checkIndex(index, networkCount)] * WireFormat.NETWORK_FIELDS + field;
+  }
+
+  public boolean hasJvm() {
+    return (presence & WireFormat.HAS_JVM) != 0;
+  }
+
+  // The JVM accessors throw IllegalStateException if the last frame has no JVM metrics.
+
+  public long getJvmHeapUsed() {
+    return scalars.get(jvmSlot(0));
+  }
+
+  public long getJvmHeapCommitted() {
+    return scalars.get(jvmSlot(1));
+  }
+
+  public long getJvmHeapMax() {
+    return scalars.get(jvmSlot(2));
+  }
+
+  public long getJvmNonHeapUsed() {
+    return scalars.get(jvmSlot(3));
+  }
+
+  public long getJvmNonHeapCommitted() {
+    return scalars.get(jvmSlot(4));
+  }
+
+  public long getJvmGcPauseCount() {
+    return scalars.get(jvmSlot(5));
+  }
+
+  public double getJvmGcPauseMillis() {
+    return doubleAt(scalars, jvmSlot(6));
+  }
+
+  public double getJvmGcMaxPauseMillis() {
+    return doubleAt(scalars, jvmSlot(7));
+  }
+
+  public double getJvmAllocationBytesPerSecond() {
+    return doubleAt(scalars, jvmSlot(8));
+  }
+
+  public int getJvmThreadCount() {
+    return (int) scalars.get(jvmSlot(9));
+  }
+
+  public int getJvmDaemonThreadCount() {
+    return (int) scalars.get(jvmSlot(10));
+  }
+
+  public int getJvmPeakThreadCount() {
+    return (int) scalars.get(jvmSlot(11));
+  }
+
+  public int getJvmLoadedClassCount() {
+    return (int) scalars.get(jvmSlot(12));
+  }
+
+  public long getJvmUnloadedClassCount() {
+    return scalars.get(jvmSlot(13));
+  }
+
+  public double getJvmSafepointMillis() {
+    return doubleAt(scalars, jvmSlot(14));
+  }
+
+  public int getJvmPoolCount() {
+    jvmSlot(0);
+    return poolCount;
+  }
+
+  public String getJvmPoolName(int index) {
+    return dictionary.get(poolIds[checkIndex(index, getJvmPoolCount())]);
+  }
+
+  public long getJvmPoolUsed(int index) {
+    return pools.get(poolField(index, 0));
+  }
+
+  public long getJvmPoolCommitted(int index) {
+    return pools.get(poolField(index, 1));
+  }
+
+  public long getJvmPoolMax(int index) {
+    return pools.get(poolField(index, 2));
+  }
+
+  private int jvmSlot(int field) {
+    if (!hasJvm()) {
+      throw new IllegalStateException("The last frame has no JVM metrics");
+    }
+    return WireFormat.JVM + field;
+  }
+
+  private int poolField(int index, int field) {
+    return poolIds[checkIndex(index, getJvmPoolCount())] * WireFormat.POOL_FIELDS + field;
+  }
+
+  public boolean hasPressure() {
+    return (presence & WireFormat.HAS_PRESSURE) != 0;
+  }
+
+  // The pressure accessors throw IllegalStateException if the last frame has no pressure metrics.
+
+  public double getPressureSomeAvg10(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 0));
+  }
+
+  public double getPressureSomeAvg60(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 1));
+  }
+
+  public double getPressureSomeAvg300(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 2));
+  }
+
+  public double getPressureFullAvg10(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 3));
+  }
+
+  public double getPressureFullAvg60(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 4));
+  }
+
+  public double getPressureFullAvg300(PressureMetrics.Resource resource) {
+    return doubleAt(scalars, pressureSlot(resource, 5));
+  }
+
+  public long getPressureSomeTotalMicros(PressureMetrics.Resource resource) {
+    return scalars.get(pressureSlot(resource, 6));
+  }
+
+  public long getPressureFullTotalMicros(PressureMetrics.Resource resource) {
+    return scalars.get(pressureSlot(resource, 7));
+  }
+
+  private int pressureSlot(PressureMetrics.Resource resource, int field) {
+    if (!hasPressure()) {
+      throw new IllegalStateException("The last frame has no pressure metrics");
+    }
+    return WireFormat.PRESSURE + resource.ordinal() * WireFormat.PRESSURE_FIELDS_PER_RESOURCE
+        + field;
+  }
+
+  private static int checkIndex(int index, int count) {
+    return Objects.checkIndex(index, count);
+  }
+
+  /**
+   * Materializes the last frame read.
+   */
+  public SystemMetrics toSystemMetrics() {
+    List<DiskMetrics> diskUsage = new ArrayList<>(diskCount);
+    for (int i = 0; i < diskCount; i++) {
+      diskUsage.add(new DiskMetrics(getDiskMountPoint(i), getDiskTotalSpace(i),
+          getDiskUsedSpace(i)));
+    }
+    List<DiskIoMetrics> devices = new ArrayList<>(diskIoCount);
+    for (int i = 0; i < diskIoCount; i++) {
+      devices.add(new DiskIoMetrics(getDiskIoDevice(i), getDiskIoReadBytesPerSecond(i),
+          getDiskIoWriteBytesPerSecond(i), getDiskIoReadsPerSecond(i),
+          getDiskIoWritesPerSecond(i), getDiskIoQueueLength(i),
+          getDiskIoAverageServiceTimeMillis(i), getDiskIoUtilization(i)));
+    }
+    List<NetworkInterfaceMetrics> interfaces = new ArrayList<>(networkCount);
+    for (int i = 0; i < networkCount; i++) {
+      interfaces.add(new NetworkInterfaceMetrics(getNetworkInterfaceName(i),
+          getNetworkBytesReceivedPerSecond(i), getNetworkBytesSentPerSecond(i),
+          getNetworkPacketsReceivedPerSecond(i), getNetworkPacketsSentPerSecond(i),
+          getNetworkReceiveErrorsPerSecond(i), getNetworkSendErrorsPerSecond(i),
+          getNetworkReceiveDropsPerSecond(i), getNetworkSendDropsPerSecond(i)));
+    }
+    Set<Metric> stale = EnumSet.noneOf(Metric.class);
+    for (Metric metric : METRICS) {
+      if (isStale(metric)) {
+        stale.add(metric);
+      }
+    }
+    return new SystemMetrics(getTimestamp(), getCpuUsage(), getTotalMemory(),
+        getAvailableMemory(), getCpuTemperature(), diskUsage, devices, interfaces,
+        hasJvm() ? toJvmMetrics() : null, hasPressure() ? toPressureMetrics() : null, stale);
+  }
+
+  private JvmMetrics toJvmMetrics() {
+    String[] poolNames = new String[poolCount];
+    long[] poolUsed = new long[poolCount];
+    long[] poolCommitted = new long[poolCount];
+    long[] poolMax = new long[poolCount];
+    for (int i = 0; i < poolCount; i++) {
+      poolNames[i] = getJvmPoolName(i);
+      poolUsed[i] = getJvmPoolUsed(i);
+      poolCommitted[i] = getJvmPoolCommitted(i);
+      poolMax[i] = getJvmPoolMax(i);
+    }
+    return new JvmMetrics(getJvmHeapUsed(), getJvmHeapCommitted(), getJvmHeapMax(),
+        getJvmNonHeapUsed(), getJvmNonHeapCommitted(), poolNames, poolUsed, poolCommitted,
+        poolMax, getJvmGcPauseCount(), getJvmGcPauseMillis(), getJvmGcMaxPauseMillis(),
+        getJvmAllocationBytesPerSecond(), getJvmThreadCount(), getJvmDaemonThreadCount(),
+        getJvmPeakThreadCount(), getJvmLoadedClassCount(), getJvmUnloadedClassCount(),
+        getJvmSafepointMillis());
+  }
+
+  private PressureMetrics toPressureMetrics() {
+    PressureMetrics.Builder builder = PressureMetrics.builder();
+    for (PressureMetrics.Resource resource : PressureMetrics.Resource.values()) {
+      builder.some(resource, getPressureSomeAvg10(resource), getPressureSomeAvg60(resource),
+          getPressureSomeAvg300(resource), getPressureSomeTotalMicros(resource));
+      builder.full(resource, getPressureFullAvg10(resource), getPressureFullAvg60(resource),
+          getPressureFullAvg300(resource), getPressureFullTotalMicros(resource));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.wire;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.torch.pulse.oshi.DiskIoMetrics;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.JvmMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.NetworkInterfaceMetrics;
+import org.torch.pulse.oshi.PressureMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Encodes {@link SystemMetrics} snapshots into a compact, versioned binary format, straight into a
+ * caller-supplied heap or direct {@link ByteBuffer}; {@link SnapshotReader} decodes it.
+ *
+ * <p>
+ * Integers are written as zigzag varints of their difference to the previous frame, doubles as
+ * the non-zero bytes of their XOR against the previous frame, and mount points, devices,
+ * interfaces and pool names through a dictionary that spells each name out once. Every
+ * {@code keyframeInterval}-th frame is a keyframe that is encoded against nothing and decodes on
+ * its own; the frames in between only decode in order, after their keyframe. A steady snapshot
+ * costs one or two bytes per field, and once every name has been seen nothing is allocated. A
+ * keyframe interval of 1 makes every frame self-contained, for storing snapshots that are read
+ * one by one.
+ *
+ * <p>
+ * Not thread-safe.
+ */
+public final class SnapshotWriter {
+
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 60;
+  // Bounds the dictionary when names keep changing, e.g. per-container mount points.
+  private static final int MAX_DICTIONARY_SIZE = 4_096;
+
+  private final int keyframeInterval;
+  private final WireFormat.Table scalars = new WireFormat.Table(WireFormat.SCALARS);
+  private final WireFormat.Table disks = new WireFormat.Table(16);
+  private final WireFormat.Table diskIo = new WireFormat.Table(16);
+  private final WireFormat.Table network = new WireFormat.Table(16);
+  private final WireFormat.Table pools = new WireFormat.Table(16);
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private long framesSinceKeyframe = -1;
+
+  public SnapshotWriter() {
+    this(DEFAULT_KEYFRAME_INTERVAL);
+  }
+
+  /**
+   * @param keyframeInterval frames from one keyframe to the next, 1 for keyframes only
+   */
+  public SnapshotWriter(int keyframeInterval) {
+    if (keyframeInterval <= 0) {
+      throw new IllegalArgumentException("Keyframe interval must be positive");
+    }
+    this.keyframeInterval = keyframeInterval;
+  }
+
+  /**
+   * Returns an upper bound of the encoded size of {@code metrics}, for sizing buffers.
+   */
+  public static int maxEncodedBytes(SystemMetrics metrics) {
+    int bytes = 4 + 5 * WireFormat.MAX_VALUE_BYTES;
+    bytes += 4 * WireFormat.MAX_VALUE_BYTES;
+    bytes += 3 * WireFormat.MAX_VALUE_BYTES;
+    for (DiskMetrics disk : metrics.getDiskUsage()) {
+      bytes += maxNameBytes(disk.getMountPoint()) + WireFormat.DISK_FIELDS
+          * WireFormat.MAX_VALUE_BYTES;
+    }
+    for (DiskIoMetrics device : metrics.getDiskIo()) {
+      bytes += maxNameBytes(device.getDevice()) + WireFormat.DISK_IO_FIELDS
+          * WireFormat.MAX_VALUE_BYTES;
+    }
+    for (NetworkInterfaceMetrics networkInterface : metrics.getNetworkInterfaces()) {
+      bytes += maxNameBytes(networkInterface.getName()) + WireFormat.NETWORK_FIELDS
+          * WireFormat.MAX_VALUE_BYTES;
+    }
+    JvmMetrics jvm = metrics.getJvm();
+    if (jvm != null) {
+      bytes += (WireFormat.JVM_FIELDS + 1) * WireFormat.MAX_VALUE_BYTES;
+      for (int i = 0; i < jvm.getPoolCount(); i++) {
+        bytes += maxNameBytes(jvm.getPoolName(i)) + WireFormat.POOL_FIELDS
+            * WireFormat.MAX_VALUE_BYTES;
+      }
+    }
+    if (metrics.getPressure() != null) {
+      bytes += WireFormat.PRESSURE_FIELDS * WireFormat.MAX_VALUE_BYTES;
+    }
+    return bytes;
+  }
+
+  private static int maxNameBytes(String name) {
+    return 2 * WireFormat.MAX_VALUE_BYTES + 3 * name.length();
+  }
+
+  /**
+   * Makes the next frame a keyframe, e.g. after the receiving end restarted.
+   */
+  public void reset() {
+    framesSinceKeyframe = -1;
+  }
+
+  /**
+   * Encodes {@code metrics} at the position of {@code out} and advances it past the frame.
+   *
+   * @return the size of the frame in bytes
+   * @throws BufferOverflowException if the frame does not fit; {@code out} is left unchanged and
+   *         the next frame will be a keyframe
+   */
+  public int write(SystemMetrics metrics, ByteBuffer out) {
+    boolean keyframe = framesSinceKeyframe < 0 || framesSinceKeyframe + 1 >= keyframeInterval
+        || dictionary.size() > MAX_DICTIONARY_SIZE;
+    if (keyframe) {
+      scalars.clear();
+      disks.clear();
+      diskIo.clear();
+      network.clear();
+      pools.clear();
+      dictionary.clear();
+      framesSinceKeyframe = 0;
+    } else {
+      framesSinceKeyframe++;
+    }
+    int start = out.position();
+    try {
+      out.put(WireFormat.MAGIC_0).put(WireFormat.MAGIC_1).put(WireFormat.VERSION)
+          .put((byte) (keyframe ? 0 : WireFormat.FLAG_DELTA));
+      if (!keyframe) {
+        WireFormat.putVarLong(out, framesSinceKeyframe);
+      }
+      encode(metrics, out);
+    } catch (BufferOverflowException e) {
+      out.position(start);
+      reset();
+      throw e;
+    }
+    return out.position() - start;
+  }
+
+  private void encode(SystemMetrics metrics, ByteBuffer out) {
+    putLong(out, scalars, WireFormat.TIMESTAMP, metrics.getTimestamp());
+    long staleMask = 0;
+    for (Metric metric : metrics.getStaleMetrics()) {
+      staleMask |= 1L << WireFormat.staleBit(metric);
+    }
+    WireFormat.putVarLong(out, staleMask);
+    JvmMetrics jvm = metrics.getJvm();
+    PressureMetrics pressure = metrics.getPressure();
+    WireFormat.putVarLong(out, (jvm != null ? WireFormat.HAS_JVM : 0)
+        | (pressure != null ? WireFormat.HAS_PRESSURE : 0));
+    putDouble(out, scalars, WireFormat.CPU_USAGE, metrics.getCpuUsage());
+    putLong(out, scalars, WireFormat.TOTAL_MEMORY, metrics.getTotalMemory());
+    putLong(out, scalars, WireFormat.AVAILABLE_MEMORY, metrics.getAvailableMemory());
+    putDouble(out, scalars, WireFormat.CPU_TEMPERATURE, metrics.getCpuTemperature());
+
+    List<DiskMetrics> diskUsage = metrics.getDiskUsage();
+    WireFormat.putVarLong(out, diskUsage.size());
+    for (int i = 0, n = diskUsage.size(); i < n; i++) {
+      DiskMetrics disk = diskUsage.get(i);
+      int base = putName(out, disk.getMountPoint()) * WireFormat.DISK_FIELDS;
+      putLong(out, disks, base, disk.getTotalSpace());
+      putLong(out, disks, base + 1, disk.getUsedSpace());
+    }
+
+    List<DiskIoMetrics> devices = metrics.getDiskIo();
+    WireFormat.putVarLong(out, devices.size());
+    for (int i = 0, n = devices.size(); i < n; i++) {
+      DiskIoMetrics device = devices.get(i);
+      int base = putName(out, device.getDevice()) * WireFormat.DISK_IO_FIELDS;
+      putDouble(out, diskIo, base, device.getReadBytesPerSecond());
+      putDouble(out, diskIo, base + 1, device.getWriteBytesPerSecond());
+      putDouble(out, diskIo, base + 2, device.getReadsPerSecond());
+      putDouble(out, diskIo, base + 3, device.getWritesPerSecond());
+      putLong(out, diskIo, base + 4, device.getQueueLength());
+      putDouble(out, diskIo, base + 5, device.getAverageServiceTimeMillis());
+      putDouble(out, diskIo, base + 6, device.getUtilization());
+    }
+
+    List<NetworkInterfaceMetrics> interfaces = metrics.getNetworkInterfaces();
+    WireFormat.putVarLong(out, interfaces.size());
+    for (int i = 0, n = interfaces.size(); i < n; i++) {
+      NetworkInterfaceMetrics networkInterface = interfaces.get(i);
+      int base = putName(out, networkInterface.getName()) * WireFormat.NETWORK_FIELDS;
+      putDouble(out, network, base, networkInterface.getBytesReceivedPerSecond());
+      putDouble(out, network, base + 1, networkInterface.getBytesSentPerSecond());
+      putDouble(out, network, base + 2, networkInterface.getPacketsReceivedPerSecond());
+      putDouble(out, network, base + 3, networkInterface.getPacketsSentPerSecond());
+      putDouble(out, network, base + 4, networkInterface.getReceiveErrorsPerSecond());
+      putDouble(out, network, base + 5, networkInterface.getSendErrorsPerSecond());
+      putDouble(out, network, base + 6, networkInterface.getReceiveDropsPerSecond());
+      putDouble(out, network, base + 7, networkInterface.getSendDropsPerSecond());
+    }
+
+    if (jvm != null) {
+      encodeJvm(jvm, out);
+    }
+    if (pressure != null) {
+      encodePressure(pressure, out);
+    }
+  }
+
+  private void encodeJvm(JvmMetrics jvm, ByteBuffer out) {
+    int slot = WireFormat.JVM;
+    putLong(out, scalars, slot++, jvm.getHeapUsed());
+    putLong(out, scalars, slot++, jvm.getHeapCommitted());
+    putLong(out, scalars, slot++, jvm.getHeapMax());
+    putLong(out, scalars, slot++, jvm.getNonHeapUsed());
+    putLong(out, scalars, slot++, jvm.getNonHeapCommitted());
+    putLong(out, scalars, slot++, jvm.getGcPauseCount());
+    putDouble(out, scalars, slot++, jvm.getGcPauseMillis());
+    putDouble(out, scalars, slot++, jvm.getGcMaxPauseMillis());
+    putDouble(out, scalars, slot++, jvm.getAllocationBytesPerSecond());
+    putLong(out, scalars, slot++, jvm.getThreadCount());
+    putLong(out, scalars, slot++, jvm.getDaemonThreadCount());
+    putLong(out, scalars, slot++, jvm.getPeakThreadCount());
+    putLong(out, scalars, slot++, jvm.getLoadedClassCount());
+    putLong(out, scalars, slot++, jvm.getUnloadedClassCount());
+    putDouble(out, scalars, slot, jvm.getSafepointMillis());
+    int poolCount = jvm.getPoolCount();
+    WireFormat.putVarLong(out, poolCount);
+    for (int i = 0; i < poolCount; i++) {
+      int base = putName(out, jvm.getPoolName(i)) * WireFormat.POOL_FIELDS;
+      putLong(out, pools, base, jvm.getPoolUsed(i));
+      putLong(out, pools, base + 1, jvm.getPoolCommitted(i));
+      putLong(out, pools, base + 2, jvm.getPoolMax(i));
+    }
+  }
+
+  private void encodePressure(PressureMetrics pressure, ByteBuffer out) {
+    int slot = WireFormat.PRESSURE;
+    for (PressureMetrics.Resource resource : PressureMetrics.Resource.values()) {
+      putDouble(out, scalars, slot++, pressure.getSomeAvg10(resource));
+      putDouble(out, scalars, slot++, pressure.getSomeAvg60(resource));
+      putDouble(out, scalars, slot++, pressure.getSomeAvg300(resource));
+      putDouble(out, scalars, slot++, pressure.getFullAvg10(resource));
+      putDouble(out, scalars, slot++, pressure.getFullAvg60(resource));
+      putDouble(out, scalars, slot++, pressure.getFullAvg300(resource));
+      putLong(out, scalars, slot++, pressure.getSomeTotalMicros(resource));
+      putLong(out, scalars, slot++, pressure.getFullTotalMicros(resource));
+    }
+  }
+
+  /**
+   * Writes the dictionary number of {@code name}, spelling the name out if it is new.
+   */
+  private int putName(ByteBuffer out, String name) {
+    Integer id = dictionary.get(name);
+    if (id != null) {
+      WireFormat.putVarLong(out, id);
+      return id;
+    }
+    int newId = dictionary.size();
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    WireFormat.putVarLong(out, newId);
+    WireFormat.putVarLong(out, bytes.length);
+    out.put(bytes);
+    dictionary.put(name, newId);
+    return newId;
+  }
+
+  private static void putLong(ByteBuffer out, WireFormat.Table table, int index, long value) {
+    WireFormat.putSignedVarLong(out, value - table.get(index));
+    table.set(index, value);
+  }
+
+  private static void putDouble(ByteBuffer out, WireFormat.Table table, int index, double value) {
+    long bits = Double.doubleToRawLongBits(value);
+    WireFormat.putXor(out, bits ^ table.get(index));
+    table.set(index, bits);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.wire;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.PressureMetrics;
+
+/**
+ * Layout and primitive codecs of the snapshot wire format, version {@value #VERSION}.
+ *
+ * <p>
+ * A frame starts with the bytes {@code 'P' 'W'}, the version and a flags byte, followed by the
+ * fields of one {@code SystemMetrics} in a fixed order. Integers are zigzag varints (LEB128) of
+ * the difference to the previous value of the same field, and doubles are the XOR against the
+ * previous bits of the same field, stored as a tag byte giving the number of leading and trailing
+ * zero bytes followed by the bytes in between, so an unchanged value takes one byte. Mount points,
+ * devices, interfaces and memory pools are numbered in a dictionary, and a name is spelled out
+ * only the first time it is used. Per-entry fields are keyed by dictionary number, so lists can
+ * reorder or change membership between frames.
+ *
+ * <p>
+ * A keyframe is encoded against an all-zero previous snapshot and an empty dictionary, and can be
+ * decoded on its own. A delta frame also carries its number since the keyframe, so a reader can
+ * tell when it missed one. Only single bytes are written, so the byte order of the buffer does
+ * not matter.
+ */
+final class WireFormat {
+
+  static final byte MAGIC_0 = 'P';
+  static final byte MAGIC_1 = 'W';
+  static final byte VERSION = 1;
+  static final int FLAG_DELTA = 1;
+  static final int HAS_JVM = 1;
+  static final int HAS_PRESSURE = 2;
+
+  // Scalar slots of the delta state.
+  static final int TIMESTAMP = 0;
+  static final int CPU_USAGE = 1;
+  static final int TOTAL_MEMORY = 2;
+  static final int AVAILABLE_MEMORY = 3;
+  static final int CPU_TEMPERATURE = 4;
+  static final int JVM = 5;
+  static final int JVM_FIELDS = 15;
+  static final int PRESSURE = JVM + JVM_FIELDS;
+  // Per resource: some avg10, avg60, avg300, full avg10, avg60, avg300, some and full totals.
+  static final int PRESSURE_FIELDS_PER_RESOURCE = 8;
+  static final int PRESSURE_FIELDS =
+      PressureMetrics.Resource.values().length * PRESSURE_FIELDS_PER_RESOURCE;
+  static final int SCALARS = PRESSURE + PRESSURE_FIELDS;
+
+  // Fields per dictionary entry in each table.
+  static final int DISK_FIELDS = 2;
+  static final int DISK_IO_FIELDS = 7;
+  static final int NETWORK_FIELDS = 8;
+  static final int POOL_FIELDS = 3;
+
+  /** Worst-case size of a varint or of an encoded double, in bytes. */
+  static final int MAX_VALUE_BYTES = 10;
+
+  private WireFormat() {
+  }
+
+  /**
+   * Returns the bit of {@code metric} in a frame's stale mask. The bits are pinned here rather than
+   * taken from the declaration order of {@link Metric}, which may change between releases.
+   */
+  static int staleBit(Metric metric) {
+    return switch (metric) {
+      case CPU_USAGE -> 0;
+      case TOTAL_MEMORY -> 1;
+      case AVAILABLE_MEMORY -> 2;
+      case CPU_TEMPERATURE -> 3;
+      case DISK_USAGE -> 4;
+      case DISK_IO -> 5;
+      case NETWORK -> 6;
+      case JVM -> 7;
+      case PRESSURE -> 8;
+    };
+  }
+
+  static void putVarLong(ByteBuffer out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.put((byte) value);
+  }
+
+  static long getVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  static void putSignedVarLong(ByteBuffer out, long value) {
+    putVarLong(out, (value << 1) ^ (value >> 63));
+  }
+
+  static long getSignedVarLong(ByteBuffer in) {
+    long zigzag = getVarLong(in);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  /**
+   * Writes the XOR of a double's bits against the previous bits of the same field.
+   */
+  static void putXor(ByteBuffer out, long xor) {
+    if (xor == 0) {
+      out.put((byte) 0);
+      return;
+    }
+    int leading = Long.numberOfLeadingZeros(xor) >>> 3;
+    int trailing = Long.numberOfTrailingZeros(xor) >>> 3;
+    out.put((byte) (0x80 | leading << 3 | trailing));
+    long significant = xor >>> (trailing << 3);
+    for (int i = Long.BYTES - leading - trailing - 1; i >= 0; i--) {
+      out.put((byte) (significant >>> (i << 3)));
+    }
+  }
+
+  static long getXor(ByteBuffer in) {
+    int tag = in.get() & 0xFF;
+    if (tag == 0) {
+      return 0L;
+    }
+    int leading = (tag >>> 3) & 7;
+    int trailing = tag & 7;
+    int count = Long.BYTES - leading - trailing;
+    if ((tag & 0xC0) != 0x80 || count <= 0) {
+      throw new IllegalArgumentException("Malformed double tag: " + tag);
+    }
+    long significant = 0;
+    for (int i = 0; i < count; i++) {
+      significant = significant << 8 | (in.get() & 0xFF);
+    }
+    return significant << (trailing << 3);
+  }
+
+  /**
+   * Previous values of one kind of field, as raw longs (the bits, for doubles), indexed by slot or
+   * by dictionary number times the fields per entry. Grows as needed and reads 0 past its end.
+   */
+  static final class Table {
+
+    private long[] values;
+
+    Table(int capacity) {
+      this.values = new long[capacity];
+    }
+
+    long get(int index) {
+      return index < values.length ? values[index] : 0L;
+    }
+
+    void set(int index, long value) {
+      if (index >= values.length) {
+        values = Arrays.copyOf(values, Math.max(values.length * 2, index + 1));
+      }
+      values[index] = value;
+    }
+
+    void clear() {
+      Arrays.fill(values, 0L);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.CachingSystemMetricsProvider.CacheStats;
+
+/**
+ * Unit tests for CachingSystemMetricsProvider using JUnit 5 and Mockito.
+ */
+public class CachingSystemMetricsProviderTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private OshiSystemMetricsProvider mockDelegate;
+  private AtomicLong clock;
+  private CachingSystemMetricsProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    mockDelegate = mock(OshiSystemMetricsProvider.class);
+    clock = new AtomicLong();
+    provider = new CachingSystemMetricsProvider(mockDelegate,
+        Map.of(Metric.CPU_TEMPERATURE, Duration.ofSeconds(10), Metric.DISK_USAGE,
+            Duration.ofSeconds(30)),
+        Duration.ofSeconds(5), clock::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  @Test
+  @DisplayName("Serves repeated reads within the TTL from the cache")
+  void testHitWithinTtl() {
+    when(mockDelegate.getCpuTemperature()).thenReturn(45.0, 60.0);
+
+    assertEquals(45.0, provider.getCpuTemperature(), 0.001);
+    clock.addAndGet(9 * SECOND);
+    assertEquals(45.0, provider.getCpuTemperature(), 0.001);
+
+    verify(mockDelegate, times(1)).getCpuTemperature();
+    assertEquals(new CacheStats(1, 0, 1), provider.getCacheStats(Metric.CPU_TEMPERATURE));
+  }
+
+  @Test
+  @DisplayName("Serves the stale value and refreshes in the background after the TTL")
+  void testStaleWhileRevalidate() {
+    when(mockDelegate.getCpuTemperature()).thenReturn(45.0, 60.0);
+
+    provider.getCpuTemperature();
+    clock.addAndGet(12 * SECOND);
+    assertEquals(45.0, provider.getCpuTemperature(), 0.001);
+
+    verify(mockDelegate, timeout(2_000).times(2)).getCpuTemperature();
+    assertEquals(new CacheStats(0, 1, 1), provider.getCacheStats(Metric.CPU_TEMPERATURE));
+  }
+
+  @Test
+  @DisplayName("Loads synchronously once the value is past the stale window")
+  void testMissPastStaleWindow() {
+    when(mockDelegate.getCpuTemperature()).thenReturn(45.0, 60.0);
+
+    provider.getCpuTemperature();
+    clock.addAndGet(20 * SECOND);
+
+    assertEquals(60.0, provider.getCpuTemperature(), 0.001);
+    assertEquals(new CacheStats(0, 0, 2), provider.getCacheStats(Metric.CPU_TEMPERATURE));
+  }
+
+  @Test
+  @DisplayName("Loads metrics without a TTL on every read")
+  void testUncachedMetric() {
+    when(mockDelegate.getAvailableMemory()).thenReturn(1_000L, 2_000L);
+
+    assertEquals(1_000L, provider.getAvailableMemory());
+    assertEquals(2_000L, provider.getAvailableMemory());
+    verify(mockDelegate, times(2)).getAvailableMemory();
+  }
+
+  @Test
+  @DisplayName("Lets concurrent reads of a metric without a TTL load in parallel")
+  void testUncachedMetricIsNotSerialized() throws Exception {
+    // Arrange: each load only succeeds once every reader is inside the delegate at the same time.
+    int readers = 4;
+    CountDownLatch inside = new CountDownLatch(readers);
+    when(mockDelegate.getCpuUsage()).thenAnswer(invocation -> {
+      inside.countDown();
+      return inside.await(5, TimeUnit.SECONDS) ? 50.0 : -1.0;
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(readers);
+    try {
+      // Act
+      List<Future<Double>> reads = new ArrayList<>();
+      for (int i = 0; i < readers; i++) {
+        reads.add(executor.submit(provider::getCpuUsage));
+      }
+
+      // Assert
+      for (Future<Double> read : reads) {
+        assertEquals(50.0, read.get(10, TimeUnit.SECONDS), 0.001);
+      }
+      assertEquals(new CacheStats(0, 0, readers), provider.getCacheStats(Metric.CPU_USAGE));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Returns an unmodifiable copy of the cached disk list")
+  void testDiskUsageIsShared() {
+    List<DiskMetrics> disks = new ArrayList<>(List.of(new DiskMetrics("/data", 100L, 10L)));
+    when(mockDelegate.getDiskUsage()).thenReturn(disks);
+
+    List<DiskMetrics> first = provider.getDiskUsage();
+    List<DiskMetrics> second = provider.getDiskUsage();
+
+    assertEquals(1, second.size());
+    assertEquals(first, second);
+    assertThrows(UnsupportedOperationException.class, () -> second.clear());
+    verify(mockDelegate, times(1)).getDiskUsage();
+  }
+
+  @Test
+  @DisplayName("Closes the delegate")
+  void testCloseDelegates() {
+    provider.close();
+
+    verify(mockDelegate).close();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for CgroupSystemMetricsProvider against a fake cgroup hierarchy.
+ */
+public class CgroupSystemMetricsProviderTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @TempDir
+  Path root;
+
+  private OshiSystemMetricsProvider mockDelegate;
+  private final AtomicLong clock = new AtomicLong(SECOND);
+  private CgroupSystemMetricsProvider provider;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockDelegate = mock(OshiSystemMetricsProvider.class);
+    when(mockDelegate.getTotalMemory()).thenReturn(64_000_000L);
+    when(mockDelegate.getAvailableMemory()).thenReturn(32_000_000L);
+    write("proc/self/cgroup", "0::/kubepods/pod1\n");
+    writeCgroup("cpu.max", "200000 100000\n");
+    writeCpuStat(0, 0, 0, 0);
+    writeCgroup("memory.current", "3000000\n");
+    writeCgroup("memory.max", "4000000\n");
+    writeCgroup("memory.stat", "anon 1500000\nfile 1200000\ninactive_file 1000000\n");
+    provider = new CgroupSystemMetricsProvider(mockDelegate, root, clock::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  private void write(String relative, String content) throws IOException {
+    Path file = root.resolve(relative);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private void writeCgroup(String name, String content) throws IOException {
+    write("sys/fs/cgroup/kubepods/pod1/" + name, content);
+  }
+
+  private void writeCpuStat(long usageMicros, long periods, long throttled, long throttledMicros)
+      throws IOException {
+    writeCgroup("cpu.stat", String.format("""
+        usage_usec %d
+        user_usec 0
+        system_usec 0
+        nr_periods %d
+        nr_throttled %d
+        throttled_usec %d
+        """, usageMicros, periods, throttled, throttledMicros));
+  }
+
+  @Nested
+  @DisplayName("CPU")
+  class CpuTests {
+
+    @Test
+    @DisplayName("Reports usage relative to the cpu.max quota")
+    void testCpuUsageAgainstQuota() throws IOException {
+      // Arrange: one core-second consumed in one wall-clock second, with a two-core quota.
+      writeCpuStat(1_000_000, 10, 0, 0);
+      clock.addAndGet(SECOND);
+
+      // Act
+      double usage = provider.getCpuUsage();
+
+      // Assert
+      assertEquals(50.0, usage, 0.001);
+    }
+
+    @Test
+    @DisplayName("Falls back to the available processors without a quota")
+    void testCpuUsageWithoutQuota() throws IOException {
+      writeCgroup("cpu.max", "max 100000\n");
+      writeCpuStat(1_000_000, 0, 0, 0);
+      clock.addAndGet(SECOND);
+
+      double usage = provider.getCpuUsage();
+
+      assertEquals(100.0 / Runtime.getRuntime().availableProcessors(), usage, 0.001);
+    }
+
+    @Test
+    @DisplayName("Reports throttled periods and time")
+    void testThrottling() throws IOException {
+      writeCpuStat(500_000, 10, 4, 250_000);
+      clock.addAndGet(SECOND);
+
+      CgroupMetrics metrics = provider.getCgroupMetrics();
+
+      assertEquals("/kubepods/pod1", metrics.getPath());
+      assertEquals(2.0, metrics.getCpuLimitCores(), 0.001);
+      assertEquals(0.5, metrics.getCpuUsageCores(), 0.001);
+      assertEquals(40.0, metrics.getThrottledPeriodsPercent(), 0.001);
+      assertEquals(250L, metrics.getThrottledMillis());
+    }
+  }
+
+  @Nested
+  @DisplayName("Memory")
+  class MemoryTests {
+
+    @Test
+    @DisplayName("Reports memory.max and what the working set leaves of it")
+    void testMemoryAgainstLimit() {
+      assertEquals(4_000_000L, provider.getTotalMemory());
+      // Working set: 3,000,000 current - 1,000,000 inactive file.
+      assertEquals(2_000_000L, provider.getAvailableMemory());
+      assertEquals(50.0, provider.getCgroupMetrics().getMemoryUsagePercent(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Falls back to the host without a memory limit")
+    void testMemoryWithoutLimit() throws IOException {
+      writeCgroup("memory.max", "max\n");
+
+      assertEquals(64_000_000L, provider.getTotalMemory());
+      assertEquals(32_000_000L, provider.getAvailableMemory());
+      assertEquals(-1L, provider.getCgroupMetrics().getMemoryMax());
+    }
+  }
+
+  @Nested
+  @DisplayName("Pressure")
+  class PressureTests {
+
+    @Test
+    @DisplayName("Reports the cgroup's pressure files")
+    void testCgroupPressure() throws IOException {
+      writeCgroup("memory.pressure", """
+          some avg10=4.00 avg60=2.00 avg300=1.00 total=500
+          full avg10=3.00 avg60=1.50 avg300=0.75 total=400
+          """);
+
+      PressureMetrics pressure = provider.getPressure();
+
+      assertEquals(4.0, pressure.getSomeAvg10(PressureMetrics.Resource.MEMORY), 0.001);
+      assertEquals(400L, pressure.getFullTotalMicros(PressureMetrics.Resource.MEMORY));
+      verify(mockDelegate, never()).getPressure();
+    }
+
+    @Test
+    @DisplayName("Falls back to the host without pressure files")
+    void testPressureFallback() {
+      PressureMetrics hostPressure = new PressureMetrics(new double[PressureMetrics.AVERAGES],
+          new long[PressureMetrics.TOTALS]);
+      when(mockDelegate.getPressure()).thenReturn(hostPressure);
+
+      assertSame(hostPressure, provider.getPressure());
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects a process without a cgroup v2 entry")
+  void testNoCgroupV2() throws IOException {
+    write("proc/self/cgroup", "12:memory:/docker/abc\n");
+
+    assertThrows(IllegalStateException.class,
+        () -> new CgroupSystemMetricsProvider(mockDelegate, root));
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for CgroupTreeScanner against a fake cgroup hierarchy.
+ */
+public class CgroupTreeScannerTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @TempDir
+  Path root;
+
+  private final AtomicLong clock = new AtomicLong(SECOND);
+
+  private CgroupTreeScanner scanner(boolean keepFilesOpen) {
+    return new CgroupTreeScanner(root, Duration.ofSeconds(10), keepFilesOpen, clock::get);
+  }
+
+  private void writeCgroup(String path, long usageMicros, long memory, long read, long written)
+      throws IOException {
+    Path directory = root.resolve("sys/fs/cgroup").resolve(path);
+    Files.createDirectories(directory);
+    Files.writeString(directory.resolve("cpu.stat"),
+        "usage_usec " + usageMicros + "\nuser_usec 0\nsystem_usec 0\n");
+    Files.writeString(directory.resolve("memory.current"), memory + "\n");
+    Files.writeString(directory.resolve("io.stat"), "8:0 rbytes=" + read / 2 + " wbytes="
+        + written + " rios=1 wios=1 dbytes=0 dios=0\n259:0 rbytes=" + read / 2
+        + " wbytes=0 rios=1 wios=0 dbytes=0 dios=0\n");
+  }
+
+  private void deleteCgroup(String path) throws IOException {
+    try (Stream<Path> files = Files.walk(root.resolve("sys/fs/cgroup").resolve(path))) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @ParameterizedTest(name = "keepFilesOpen={0}")
+  @ValueSource(booleans = {true, false})
+  @DisplayName("Computes per-cgroup CPU, memory and I/O rates between samples")
+  void testRates(boolean keepFilesOpen) throws IOException {
+    // Arrange
+    writeCgroup("", 0, 0, 0, 0);
+    writeCgroup("kubepods", 0, 0, 0, 0);
+    writeCgroup("kubepods/pod1", 1_000_000, 4096, 0, 0);
+    try (CgroupTreeScanner scanner = scanner(keepFilesOpen)) {
+      scanner.sample();
+      int slot = scanner.slotOf("/kubepods/pod1");
+      assertEquals(-1.0, scanner.cpuUsageCores(slot), 0.001);
+
+      // Act
+      writeCgroup("kubepods/pod1", 3_000_000, 8192, 4000, 1000);
+      clock.addAndGet(2 * SECOND);
+      scanner.sample();
+
+      // Assert
+      assertEquals(3, scanner.size());
+      assertEquals("/kubepods/pod1", scanner.path(slot));
+      assertEquals(1.0, scanner.cpuUsageCores(slot), 0.001);
+      assertEquals(3_000_000L, scanner.cpuUsageMicros(slot));
+      assertEquals(8192L, scanner.memoryBytes(slot));
+      assertEquals(2000.0, scanner.readBytesPerSecond(slot), 0.001);
+      assertEquals(500.0, scanner.writeBytesPerSecond(slot), 0.001);
+    }
+  }
+
+  @Test
+  @DisplayName("Reports -1 for files of controllers that are not enabled")
+  void testMissingController() throws IOException {
+    // Arrange
+    Path directory = root.resolve("sys/fs/cgroup");
+    Files.createDirectories(directory);
+    Files.writeString(directory.resolve("cpu.stat"), "usage_usec 10\n");
+
+    try (CgroupTreeScanner scanner = scanner(true)) {
+      // Act
+      scanner.sample();
+      clock.addAndGet(SECOND);
+      scanner.sample();
+
+      // Assert
+      int slot = scanner.slotOf("/");
+      assertEquals(0.0, scanner.cpuUsageCores(slot), 0.001);
+      assertEquals(-1L, scanner.memoryBytes(slot));
+      assertEquals(-1.0, scanner.readBytesPerSecond(slot), 0.001);
+    }
+  }
+
+  @Test
+  @DisplayName("Only picks up new cgroups once the rescan interval has passed")
+  void testRescanInterval() throws IOException {
+    // Arrange
+    writeCgroup("", 0, 0, 0, 0);
+    try (CgroupTreeScanner scanner = scanner(true)) {
+      scanner.sample();
+      writeCgroup("new", 0, 0, 0, 0);
+
+      // Act
+      clock.addAndGet(SECOND);
+      scanner.sample();
+      int beforeRescan = scanner.slotOf("/new");
+      clock.addAndGet(10 * SECOND);
+      scanner.sample();
+
+      // Assert
+      assertEquals(-1, beforeRescan);
+      assertTrue(scanner.isLive(scanner.slotOf("/new")));
+      assertEquals(2, scanner.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Frees the slots of removed cgroups, keeps the others and reuses freed slots")
+  void testRemovedCgroups() throws IOException {
+    // Arrange
+    writeCgroup("", 0, 0, 0, 0);
+    writeCgroup("a", 0, 0, 0, 0);
+    writeCgroup("b", 0, 0, 0, 0);
+    try (CgroupTreeScanner scanner = scanner(false)) {
+      scanner.sample();
+      int a = scanner.slotOf("/a");
+      int b = scanner.slotOf("/b");
+
+      // Act
+      deleteCgroup("a");
+      clock.addAndGet(SECOND);
+      scanner.sample();
+      boolean aLiveAfterRemoval = scanner.isLive(a);
+      writeCgroup("c", 0, 0, 0, 0);
+      clock.addAndGet(10 * SECOND);
+      scanner.sample();
+
+      // Assert
+      assertFalse(aLiveAfterRemoval);
+      assertEquals(b, scanner.slotOf("/b"));
+      assertEquals(a, scanner.slotOf("/c"));
+      assertEquals(-1, scanner.slotOf("/a"));
+      assertEquals(3, scanner.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Tracks more cgroups than the initial capacity")
+  void testGrowth() throws IOException {
+    // Arrange
+    writeCgroup("", 0, 0, 0, 0);
+    for (int i = 0; i < 200; i++) {
+      writeCgroup("pod" + i, i, i, 0, 0);
+    }
+
+    try (CgroupTreeScanner scanner = scanner(true)) {
+      // Act
+      scanner.sample();
+
+      // Assert
+      assertEquals(201, scanner.size());
+      assertEquals(150L, scanner.memoryBytes(scanner.slotOf("/pod150")));
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CounterTable using JUnit 5.
+ */
+public class CounterTableTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final CounterTable table = new CounterTable(1, false);
+
+  private void sample(long nanos, String name, long value) {
+    table.beginSample(nanos);
+    table.set(table.row(name), 0, value);
+    table.endSample();
+  }
+
+  @Test
+  @DisplayName("Computes the rate between a row's last two samples")
+  void testRate() {
+    sample(0, "sda", 1_000);
+    assertFalse(table.hasPrevious(0));
+
+    sample(2 * SECOND, "sda", 1_600);
+
+    assertTrue(table.hasPrevious(0));
+    assertEquals(600L, table.delta(0, 0));
+    assertEquals(300.0, table.rate(0, 0), 0.001);
+  }
+
+  @Test
+  @DisplayName("Treats a counter that went backwards as a reset and counts from zero")
+  void testReset() {
+    sample(0, "sda", 1_000);
+    sample(SECOND, "sda", 10);
+
+    assertEquals(10L, table.delta(0, 0));
+  }
+
+  @Test
+  @DisplayName("Does not mistake a reset of a 64-bit counter for a 32-bit wrap")
+  void testResetBelow32Bits() {
+    sample(0, "eth0", 3_000_000_000L);
+    sample(SECOND, "eth0", 100);
+
+    assertEquals(100L, table.delta(0, 0));
+  }
+
+  @Test
+  @DisplayName("Counts a 32-bit wraparound as growth in a table of 32-bit counters")
+  void testWraparound() {
+    CounterTable counters32 = new CounterTable(1, true);
+    counters32.beginSample(0);
+    counters32.set(counters32.row("eth0"), 0, 0xFFFF_FF00L);
+    counters32.endSample();
+    counters32.beginSample(SECOND);
+    counters32.set(counters32.row("eth0"), 0, 0x100L);
+    counters32.endSample();
+
+    assertEquals(0x200L, counters32.delta(0, 0));
+  }
+
+  @Test
+  @DisplayName("Drops rows that were not seen and keeps the others' history")
+  void testHotUnplug() {
+    table.beginSample(0);
+    table.set(table.row("sda"), 0, 10);
+    table.set(table.row("sdb"), 0, 20);
+    table.endSample();
+
+    sample(SECOND, "sdb", 50);
+
+    assertEquals(1, table.size());
+    assertEquals("sdb", table.name(0));
+    assertEquals(30L, table.delta(0, 0));
+  }
+
+  @Test
+  @DisplayName("Grows past its initial capacity")
+  void testGrowth() {
+    table.beginSample(0);
+    for (int i = 0; i < 100; i++) {
+      table.set(table.row("dev" + i), 0, i);
+    }
+    table.endSample();
+
+    table.beginSample(SECOND);
+    for (int i = 0; i < 100; i++) {
+      int row = table.row("dev" + i);
+      table.set(row, 0, 2L * i);
+    }
+    table.endSample();
+
+    assertEquals(100, table.size());
+    assertEquals(99L, table.delta(table.row("dev99"), 0));
+  }
+}
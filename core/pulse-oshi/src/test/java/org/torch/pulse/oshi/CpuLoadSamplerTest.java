@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import oshi.hardware.CentralProcessor;
+
+/**
+ * Unit tests for CpuLoadSampler using JUnit 5 and Mockito.
+ */
+public class CpuLoadSamplerTest {
+
+  @Mock
+  private CentralProcessor mockProcessor;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  /**
+   * Builds a tick array (USER, NICE, SYSTEM, IDLE, IOWAIT, IRQ, SOFTIRQ, STEAL) with the given busy
+   * and idle counts.
+   */
+  private static long[] ticks(long busy, long idle) {
+    return new long[] {busy, 0L, 0L, idle, 0L, 0L, 0L, 0L};
+  }
+
+  @Test
+  @DisplayName("Reports -1.0 before the first sample")
+  void testNoSampleYet() {
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0));
+
+    CpuLoadSampler sampler =
+        new CpuLoadSampler(mockProcessor, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+    assertEquals(-1.0, sampler.getCpuLoad(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Computes load between consecutive samples with a single-interval window")
+  void testSingleIntervalWindow() {
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0), ticks(25, 75),
+        ticks(125, 75));
+    CpuLoadSampler sampler =
+        new CpuLoadSampler(mockProcessor, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+    sampler.sample();
+    assertEquals(25.0, sampler.getCpuLoad(), 0.001);
+
+    sampler.sample();
+    assertEquals(100.0, sampler.getCpuLoad(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Averages load over the configured window")
+  void testSlidingWindow() {
+    // Window of two intervals: the third sample is compared against the first snapshot.
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0), ticks(100, 0),
+        ticks(100, 100), ticks(100, 200));
+    CpuLoadSampler sampler =
+        new CpuLoadSampler(mockProcessor, Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+    sampler.sample();
+    assertEquals(100.0, sampler.getCpuLoad(), 0.001);
+
+    sampler.sample();
+    assertEquals(50.0, sampler.getCpuLoad(), 0.001);
+
+    sampler.sample();
+    assertEquals(0.0, sampler.getCpuLoad(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Computes per-core load over the window into the caller's array")
+  void testProcessorLoads() {
+    when(mockProcessor.getLogicalProcessorCount()).thenReturn(2);
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0), ticks(50, 50));
+    when(mockProcessor.getProcessorCpuLoadTicks()).thenReturn(
+        new long[][] {ticks(0, 0), ticks(0, 0)}, new long[][] {ticks(10, 90), ticks(80, 20)});
+    CpuLoadSampler sampler =
+        new CpuLoadSampler(mockProcessor, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    double[] usage = new double[4];
+
+    sampler.sample();
+    int count = sampler.getProcessorCpuLoad(usage);
+
+    assertEquals(2, count);
+    assertEquals(10.0, usage[0], 0.001);
+    assertEquals(80.0, usage[1], 0.001);
+    assertEquals(0.0, usage[2], 0.001);
+  }
+
+  @Test
+  @DisplayName("Background thread publishes a load value once started")
+  void testBackgroundSampling() throws InterruptedException {
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0), ticks(10, 10));
+
+    try (CpuLoadSampler sampler =
+        new CpuLoadSampler(mockProcessor, Duration.ofMillis(5), Duration.ofMillis(5))) {
+      sampler.start();
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while (sampler.getCpuLoad() < 0 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      assertTrue(sampler.getCpuLoad() >= 0, "Expected a sampled value");
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects a window shorter than the interval")
+  void testInvalidWindow() {
+    when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(ticks(0, 0));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> new CpuLoadSampler(mockProcessor, Duration.ofSeconds(2), Duration.ofSeconds(1)));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for DiskMetricsTable using JUnit 5.
+ */
+public class DiskMetricsTableTest {
+
+  @Test
+  @DisplayName("Grows past its initial capacity and keeps rows in order")
+  void testGrowth() {
+    DiskMetricsTable table = new DiskMetricsTable(1);
+
+    table.add("/", 100L, 40L);
+    table.add("/data", 200L, 50L);
+    table.add("/home", 300L, 60L);
+
+    assertEquals(3, table.size());
+    assertEquals("/data", table.mountPoint(1));
+    assertEquals(300L, table.totalSpace(2));
+    assertEquals(60L, table.usedSpace(2));
+  }
+
+  @Test
+  @DisplayName("Cursor walks the rows and can be reset after a refresh")
+  void testCursor() {
+    DiskMetricsTable table = new DiskMetricsTable();
+    table.add("/", 100L, 40L);
+    DiskMetricsTable.Cursor cursor = table.cursor();
+
+    assertTrue(cursor.next());
+    assertEquals("/", cursor.mountPoint());
+    assertFalse(cursor.next());
+
+    table.clear();
+    table.add("/data", 200L, 50L);
+    cursor.reset();
+
+    assertTrue(cursor.next());
+    assertEquals(50L, cursor.usedSpace());
+  }
+
+  @Test
+  @DisplayName("List view reflects the table and rejects indexes past the size")
+  void testListView() {
+    DiskMetricsTable table = new DiskMetricsTable();
+    table.copyFrom(List.of(new DiskMetrics("/", 100L, 40L), new DiskMetrics("/data", 9L, 1L)));
+    List<DiskMetrics> view = table.asList();
+
+    assertEquals(2, view.size());
+    assertEquals("/data", view.get(1).getMountPoint());
+
+    table.clear();
+    assertEquals(0, view.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> table.totalSpace(0));
+  }
+
+  @Test
+  @DisplayName("Copies the rows into an immutable list that outlives a refresh")
+  void testToList() {
+    DiskMetricsTable table = new DiskMetricsTable();
+    table.copyFrom(List.of(new DiskMetrics("/", 100L, 40L), new DiskMetrics("/data", 9L, 1L)));
+    List<DiskMetrics> rows = table.toList();
+
+    table.clear();
+
+    assertEquals(2, rows.size());
+    assertSame(rows.get(1), rows.get(1));
+    assertEquals("/data", rows.get(1).getMountPoint());
+    assertThrows(UnsupportedOperationException.class, () -> rows.remove(0));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for FileStoreFilter using JUnit 5.
+ */
+public class FileStoreFilterTest {
+
+  @Test
+  @DisplayName("Default filter skips pseudo file systems only")
+  void testDefault() {
+    assertFalse(FileStoreFilter.DEFAULT.accepts("proc", "/proc"));
+    assertFalse(FileStoreFilter.DEFAULT.accepts("cgroup2", "/sys/fs/cgroup"));
+    assertTrue(FileStoreFilter.DEFAULT.accepts("ext4", "/"));
+    assertTrue(FileStoreFilter.DEFAULT.accepts(null, "/data"));
+  }
+
+  @Test
+  @DisplayName("Include lists restrict types and mount points")
+  void testIncludes() {
+    FileStoreFilter filter =
+        new FileStoreFilter(List.of("ext4", "xfs"), List.of(), List.of("/data/**", "/"), List.of());
+
+    assertTrue(filter.accepts("ext4", "/"));
+    assertTrue(filter.accepts("xfs", "/data/volume1"));
+    assertFalse(filter.accepts("xfs", "/home"));
+    assertFalse(filter.accepts("tmpfs", "/data/tmp"));
+    assertFalse(filter.accepts(null, "/"));
+  }
+
+  @Test
+  @DisplayName("Exclude globs win over include globs")
+  void testExcludeWins() {
+    FileStoreFilter filter = new FileStoreFilter(List.of(), List.of(), List.of("/var/**"),
+        List.of("/var/lib/docker/**"));
+
+    assertTrue(filter.accepts("ext4", "/var/log"));
+    assertFalse(filter.accepts("overlay", "/var/lib/docker/overlay2/abc/merged"));
+  }
+}
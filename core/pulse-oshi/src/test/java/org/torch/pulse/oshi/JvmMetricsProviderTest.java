@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for JvmMetricsProvider using JUnit 5.
+ */
+public class JvmMetricsProviderTest {
+
+  private JvmMetricsProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    provider = new JvmMetricsProvider();
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  @Test
+  @DisplayName("Reads heap pools, threads and class loading of the running JVM")
+  void testRead() {
+    // Act
+    JvmMetrics metrics = provider.read();
+
+    // Assert
+    assertTrue(metrics.getHeapUsed() > 0);
+    assertTrue(metrics.getHeapCommitted() >= metrics.getHeapUsed());
+    assertTrue(metrics.getNonHeapUsed() > 0);
+    assertTrue(metrics.getPoolCount() > 0);
+    assertTrue(metrics.getThreadCount() > 0);
+    assertTrue(metrics.getLoadedClassCount() > 0);
+    assertEquals(-1.0, metrics.getSafepointMillis(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Measures the allocation rate between reads")
+  void testAllocationRate() {
+    provider.read();
+    byte[][] garbage = new byte[64][];
+    for (int i = 0; i < garbage.length; i++) {
+      garbage[i] = new byte[64 * 1024];
+    }
+
+    JvmMetrics metrics = provider.read();
+
+    assertTrue(garbage[63].length > 0);
+    assertTrue(metrics.getAllocationBytesPerSecond() > 0);
+  }
+
+  @Test
+  @DisplayName("Accumulates GC pauses and resets the longest pause on every read")
+  void testGcPauses() {
+    long before = provider.read().getGcPauseCount();
+    provider.recordGcPause(12);
+    provider.recordGcPause(30);
+
+    JvmMetrics first = provider.read();
+    JvmMetrics second = provider.read();
+
+    assertTrue(first.getGcPauseCount() >= before + 2);
+    assertTrue(first.getGcPauseMillis() >= 42);
+    assertTrue(first.getGcMaxPauseMillis() >= 30);
+    assertEquals(first.getGcPauseCount(), second.getGcPauseCount());
+  }
+
+  @Test
+  @DisplayName("Counts pauses reported by the collectors' notifications")
+  void testGcNotification() throws InterruptedException {
+    long before = provider.read().getGcPauseCount();
+
+    System.gc();
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    long after = before;
+    while (after == before && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      after = provider.read().getGcPauseCount();
+    }
+
+    assertTrue(after > before, "Expected a GC notification");
+  }
+
+  @Test
+  @DisplayName("Tracks safepoint time through JFR when enabled")
+  void testSafepoints() throws InterruptedException {
+    try (JvmMetricsProvider tracking = new JvmMetricsProvider(true)) {
+      long deadline = System.nanoTime() + 20_000_000_000L;
+      double safepointMillis = 0;
+      while (safepointMillis <= 0 && System.nanoTime() < deadline) {
+        System.gc();
+        Thread.sleep(100);
+        safepointMillis = tracking.read().getSafepointMillis();
+      }
+
+      assertTrue(safepointMillis > 0, "Expected safepoint time");
+    }
+  }
+}
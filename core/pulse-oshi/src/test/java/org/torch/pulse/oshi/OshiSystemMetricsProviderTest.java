@@ -14,21 +14,34 @@
 package org.torch.pulse.oshi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.GlobalMemory;
+import oshi.hardware.HWDiskStore;
 import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
 import oshi.hardware.Sensors;
 import oshi.software.os.FileSystem;
 import oshi.software.os.OSFileStore;
@@ -120,6 +133,136 @@ public class OshiSystemMetricsProviderTest {
       // Clear interrupt flag so it doesn't affect other tests
       Thread.interrupted();
     }
+
+    @Test
+    @DisplayName("Should coalesce concurrent callers into one measurement")
+    void testGetCpuUsageSingleFlight() throws Exception {
+      // Arrange
+      CountDownLatch measuring = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      when(mockProcessor.getSystemCpuLoadBetweenTicks(any(long[].class))).thenAnswer(invocation -> {
+        measuring.countDown();
+        release.await();
+        return 0.25;
+      });
+      when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(new long[] {150L, 250L, 350L, 450L});
+      FutureTask<Double> leader = new FutureTask<>(provider::getCpuUsage);
+      List<FutureTask<Double>> followers = new ArrayList<>();
+
+      // Act
+      new Thread(leader).start();
+      measuring.await();
+      for (int i = 0; i < 7; i++) {
+        FutureTask<Double> follower = new FutureTask<>(provider::getCpuUsage);
+        Thread thread = new Thread(follower);
+        thread.start();
+        awaitParkedIn(thread, "awaitCpuMeasurement");
+        followers.add(follower);
+      }
+      release.countDown();
+
+      // Assert
+      assertEquals(25.0, leader.get(), 0.001);
+      for (FutureTask<Double> follower : followers) {
+        assertEquals(25.0, follower.get(), 0.001);
+      }
+      verify(mockProcessor, times(1)).getSystemCpuLoadBetweenTicks(any(long[].class));
+      verify(mockProcessor, times(1)).getSystemCpuLoadTicks();
+    }
+
+    @Test
+    @DisplayName("Should hand the measurement to a waiter when the leader is interrupted")
+    void testGetCpuUsageLeaderInterrupted() throws Exception {
+      // Arrange
+      when(mockProcessor.getSystemCpuLoadBetweenTicks(any(long[].class))).thenReturn(0.25);
+      when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(new long[] {150L, 250L, 350L, 450L});
+      FutureTask<Double> leader = new FutureTask<>(provider::getCpuUsage);
+      FutureTask<Double> follower = new FutureTask<>(provider::getCpuUsage);
+      Thread leaderThread = new Thread(leader);
+      Thread followerThread = new Thread(follower);
+
+      // Act
+      leaderThread.start();
+      awaitParkedIn(leaderThread, "measureCpuUsage");
+      followerThread.start();
+      awaitParkedIn(followerThread, "awaitCpuMeasurement");
+      leaderThread.interrupt();
+
+      // Assert
+      assertEquals(-1.0, leader.get(), 0.001);
+      assertEquals(25.0, follower.get(), 0.001);
+      verify(mockProcessor, times(1)).getSystemCpuLoadBetweenTicks(any(long[].class));
+    }
+
+    /**
+     * Spins until {@code thread} is blocked inside {@code method}, so tests can sequence callers
+     * without sleeping.
+     */
+    private static void awaitParkedIn(Thread thread, String method) throws InterruptedException {
+      while (true) {
+        Thread.State state = thread.getState();
+        if (state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+          for (StackTraceElement frame : thread.getStackTrace()) {
+            if (frame.getMethodName().equals(method)) {
+              return;
+            }
+          }
+        }
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Per-Core CPU Usage Tests")
+  class ProcessorCpuUsageTests {
+
+    @Test
+    @DisplayName("Should report per-core load since the previous call into the same array")
+    void testGetProcessorCpuUsage() {
+      // Arrange
+      when(mockProcessor.getProcessorCpuLoadTicks()).thenReturn(
+          new long[][] {{0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L}, {0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L}},
+          new long[][] {{40L, 0L, 0L, 60L, 0L, 0L, 0L, 0L}, {90L, 0L, 0L, 10L, 0L, 0L, 0L, 0L}});
+      double[] usage = new double[2];
+
+      // Act
+      int baseline = provider.getProcessorCpuUsage(usage);
+      int count = provider.getProcessorCpuUsage(usage);
+
+      // Assert
+      assertEquals(2, baseline);
+      assertEquals(2, count);
+      assertEquals(40.0, usage[0], 0.001);
+      assertEquals(90.0, usage[1], 0.001);
+    }
+  }
+
+  @Nested
+  @DisplayName("CPU Sampling Mode Tests")
+  class CpuSamplingTests {
+
+    @Test
+    @DisplayName("Should return the sampler's latest load without measuring in the caller")
+    void testGetCpuUsageFromSampler() {
+      // Arrange
+      when(mockProcessor.getSystemCpuLoadTicks()).thenReturn(
+          new long[] {0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L},
+          new long[] {30L, 0L, 0L, 70L, 0L, 0L, 0L, 0L});
+      CpuLoadSampler sampler =
+          new CpuLoadSampler(mockProcessor, Duration.ofSeconds(1), Duration.ofSeconds(1));
+      sampler.sample();
+      OshiSystemMetricsProvider samplingProvider = new OshiSystemMetricsProvider(mockHardware,
+          mockOperatingSystem, mockProcessor, mockMemory, mockSensors, sampler);
+
+      // Act
+      double cpuUsage = samplingProvider.getCpuUsage();
+
+      // Assert
+      assertEquals(30.0, cpuUsage, 0.001);
+      verify(mockProcessor, never()).getSystemCpuLoadBetweenTicks(any(long[].class));
+      samplingProvider.close();
+    }
   }
 
   @Nested
@@ -158,6 +301,66 @@ public class OshiSystemMetricsProviderTest {
     }
   }
 
+  @Nested
+  @DisplayName("Disk I/O Tests")
+  class DiskIoTests {
+
+    @Test
+    @DisplayName("Should compute per-device rates from one enumeration per sample")
+    void testGetDiskIo() {
+      // Arrange
+      HWDiskStore mockDisk = mock(HWDiskStore.class);
+      when(mockHardware.getDiskStores()).thenReturn(List.of(mockDisk));
+      when(mockDisk.getName()).thenReturn("/dev/sda");
+      when(mockDisk.getReads()).thenReturn(100L, 130L);
+      when(mockDisk.getWrites()).thenReturn(50L, 60L);
+      when(mockDisk.getReadBytes()).thenReturn(4096L, 8192L);
+      when(mockDisk.getWriteBytes()).thenReturn(0L, 4096L);
+      when(mockDisk.getTransferTime()).thenReturn(1_000L, 1_080L);
+      when(mockDisk.getCurrentQueueLength()).thenReturn(0L, 3L);
+
+      // Act
+      List<DiskIoMetrics> first = provider.getDiskIo();
+      List<DiskIoMetrics> second = provider.getDiskIo();
+
+      // Assert
+      assertEquals(0.0, first.get(0).getIops(), 0.001);
+      DiskIoMetrics disk = second.get(0);
+      assertEquals("/dev/sda", disk.getDevice());
+      assertEquals(3L, disk.getQueueLength());
+      assertEquals(2.0, disk.getAverageServiceTimeMillis(), 0.001);
+      assertTrue(disk.getReadBytesPerSecond() > 0);
+      verify(mockHardware, times(2)).getDiskStores();
+      verify(mockDisk, never()).updateAttributes();
+    }
+  }
+
+  @Nested
+  @DisplayName("Network Interface Tests")
+  class NetworkInterfaceTests {
+
+    @Test
+    @DisplayName("Should re-enumerate interfaces when one disappears")
+    void testHotplug() {
+      // Arrange
+      NetworkIF eth0 = mock(NetworkIF.class);
+      NetworkIF eth1 = mock(NetworkIF.class);
+      when(eth0.getName()).thenReturn("eth0");
+      when(eth0.updateAttributes()).thenReturn(false);
+      when(eth1.getName()).thenReturn("eth1");
+      when(mockHardware.getNetworkIFs()).thenReturn(List.of(eth0), List.of(eth1));
+
+      // Act
+      provider.getNetworkInterfaces();
+      List<NetworkInterfaceMetrics> interfaces = provider.getNetworkInterfaces();
+
+      // Assert
+      assertEquals(1, interfaces.size());
+      assertEquals("eth1", interfaces.get(0).getName());
+      verify(mockHardware, times(2)).getNetworkIFs();
+    }
+  }
+
   @Nested
   @DisplayName("Disk Usage Tests")
   class DiskUsageTests {
@@ -202,5 +405,54 @@ public class OshiSystemMetricsProviderTest {
       verify(mockFs2, times(1)).getTotalSpace();
       verify(mockFs2, times(1)).getUsableSpace();
     }
+
+    @Test
+    @DisplayName("Should reuse cached file stores until the mount table changes")
+    void testMountTableCache(@TempDir Path dir) throws IOException {
+      // Arrange
+      Path mountinfo = dir.resolve("mountinfo");
+      Files.writeString(mountinfo, "22 1 8:1 / / rw - ext4 /dev/sda1 rw\n");
+      provider = new OshiSystemMetricsProvider(mockHardware, mockOperatingSystem, mockProcessor,
+          mockMemory, mockSensors, new long[0], mountinfo, FileStoreFilter.DEFAULT);
+      when(mockFileSystem.getFileStores()).thenReturn(List.of(mockFs1));
+      when(mockFs1.getMount()).thenReturn("/");
+      when(mockFs1.getType()).thenReturn("ext4");
+      when(mockFs1.getTotalSpace()).thenReturn(100L);
+
+      // Act
+      provider.getDiskUsage();
+      provider.getDiskUsage();
+      provider.getDiskUsage();
+      Files.writeString(mountinfo, "22 1 8:1 / / rw - ext4 /dev/sda1 rw\n"
+          + "23 22 8:2 / /data rw - xfs /dev/sda2 rw\n");
+      List<DiskMetrics> result = provider.getDiskUsage();
+
+      // Assert
+      assertEquals(1, result.size());
+      verify(mockFileSystem, times(2)).getFileStores();
+      verify(mockFs1, times(2)).getMount();
+      verify(mockFs1, times(2)).getTotalSpace();
+      verify(mockFs1, never()).updateAttributes();
+    }
+
+    @Test
+    @DisplayName("Should skip file stores rejected by the filter")
+    void testFileStoreFilter() {
+      // Arrange
+      provider = new OshiSystemMetricsProvider(mockHardware, mockOperatingSystem, mockProcessor,
+          mockMemory, mockSensors, new long[0], Path.of("/nonexistent/mountinfo"),
+          new FileStoreFilter(List.of(), List.of("tmpfs"), List.of(), List.of("/var/lib/**")));
+      when(mockFileSystem.getFileStores()).thenReturn(List.of(mockFs1, mockFs2));
+      when(mockFs1.getMount()).thenReturn("/run");
+      when(mockFs1.getType()).thenReturn("tmpfs");
+      when(mockFs2.getMount()).thenReturn("/var/lib/docker/overlay2/abc/merged");
+      when(mockFs2.getType()).thenReturn("overlay");
+
+      // Act
+      List<DiskMetrics> result = provider.getDiskUsage();
+
+      // Assert
+      assertEquals(0, result.size());
+    }
   }
 }
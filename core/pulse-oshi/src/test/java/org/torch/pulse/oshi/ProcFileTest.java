@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ProcFile using JUnit 5.
+ */
+public class ProcFileTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Decodes mount paths as UTF-8, including octal-escaped bytes")
+  void testTokenMountPath() throws IOException {
+    // Arrange: "café bar" with the é and the space escaped, then a raw UTF-8 name.
+    Path mounts = directory.resolve("mounts");
+    Files.write(mounts,
+        "/mnt/caf\\303\\251\\040bar /mnt/données\n".getBytes(StandardCharsets.UTF_8));
+
+    // Act
+    try (ProcFile file = new ProcFile(mounts)) {
+      assertTrue(file.read());
+      file.nextToken();
+      String escaped = file.tokenMountPath();
+      file.nextToken();
+      String raw = file.tokenMountPath();
+
+      // Assert
+      assertEquals("/mnt/café bar", escaped);
+      assertEquals("/mnt/données", raw);
+    }
+  }
+}
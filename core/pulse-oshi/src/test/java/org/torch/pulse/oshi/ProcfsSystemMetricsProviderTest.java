@@ -0,0 +1,359 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.torch.pulse.oshi.PressureMetrics.Resource;
+
+/**
+ * Unit tests for ProcfsSystemMetricsProvider against a fake proc tree.
+ */
+public class ProcfsSystemMetricsProviderTest {
+
+  @TempDir
+  Path root;
+
+  private ProcfsSystemMetricsProvider provider;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    writeStat(0, 0, 0, 0, 0, 0);
+    write("proc/meminfo", """
+        MemTotal:       16384000 kB
+        MemFree:         1024000 kB
+        MemAvailable:    8192000 kB
+        Buffers:          102400 kB
+        """);
+    write("sys/class/thermal/thermal_zone0/type", "acpitz\n");
+    write("sys/class/thermal/thermal_zone0/temp", "27800\n");
+    write("sys/class/thermal/thermal_zone1/type", "x86_pkg_temp\n");
+    write("sys/class/thermal/thermal_zone1/temp", "54500\n");
+    Files.createDirectories(root.resolve("mnt/my disk"));
+    write("proc/self/mounts", """
+        /dev/sda1 / ext4 rw,relatime 0 0
+        proc /proc proc rw,nosuid 0 0
+        sysfs /sys sysfs rw,nosuid 0 0
+        /dev/sdb1 /mnt/my\\040disk xfs rw 0 0
+        """);
+    writeDiskstats(1000, 2000, 0, 0, 5000);
+    writeNetDev(1_000, 10, 4_000_000_000L);
+    provider = new ProcfsSystemMetricsProvider(root);
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  private void write(String relative, String content) throws IOException {
+    Path file = root.resolve(relative);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private void writeNetDev(long received, long drops, long sent) throws IOException {
+    write("proc/net/dev", String.format("""
+        Inter-|   Receive                                                |  Transmit
+         face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs \
+        drop fifo colls carrier compressed
+            lo:     500       5    0    0    0     0          0         0      500       5    0 \
+           0    0     0       0          0
+          eth0: %d      20    1 %d    0     0          0         0 %d      30    0    0    0 \
+            0       0          0
+        """, received, drops, sent));
+  }
+
+  private void writeDiskstats(long reads, long sectorsRead, long writes, long inFlight,
+      long busyMillis) throws IOException {
+    write("proc/diskstats", String.format("""
+           8       0 sda %d 10 %d 300 %d 20 0 400 %d %d 700 0 0 0 0
+           7       0 loop0 0 0 0 0 0 0 0 0 0 0 0 0 0 0 0
+        """, reads, sectorsRead, writes, inFlight, busyMillis));
+  }
+
+  /**
+   * Writes a /proc/stat with two cores; each core gets half of the given busy and idle ticks.
+   */
+  private void writeStat(long user, long system, long idle, long iowait, long core0Busy,
+      long core1Busy) throws IOException {
+    write("proc/stat", String.format("""
+        cpu  %d 0 %d %d %d 0 0 0 0 0
+        cpu0 %d 0 0 %d 0 0 0 0 0 0
+        cpu1 %d 0 0 %d 0 0 0 0 0 0
+        intr 12345 0 0
+        ctxt 987654
+        """, user, system, idle, iowait, core0Busy, idle / 2, core1Busy, idle / 2));
+  }
+
+  @Nested
+  @DisplayName("CPU usage")
+  class CpuUsageTests {
+
+    @Test
+    @DisplayName("Computes usage from the ticks elapsed since the previous call")
+    void testCpuUsage() throws IOException {
+      // Arrange: 30 user + 10 system busy, 50 idle + 10 iowait.
+      writeStat(30, 10, 50, 10, 0, 0);
+
+      // Act
+      double usage = provider.getCpuUsage();
+
+      // Assert
+      assertEquals(40.0, usage, 0.001);
+    }
+
+    @Test
+    @DisplayName("Keeps the previous value when no ticks elapsed")
+    void testNoTicksElapsed() throws IOException {
+      writeStat(30, 10, 50, 10, 0, 0);
+      double first = provider.getCpuUsage();
+
+      double second = provider.getCpuUsage();
+
+      assertEquals(first, second, 0.001);
+    }
+
+    @Test
+    @DisplayName("Computes per-core usage into the caller's array")
+    void testProcessorCpuUsage() throws IOException {
+      writeStat(0, 0, 200, 0, 25, 100);
+      double[] usage = new double[3];
+
+      int count = provider.getProcessorCpuUsage(usage);
+
+      assertEquals(2, count);
+      assertEquals(20.0, usage[0], 0.001);
+      assertEquals(50.0, usage[1], 0.001);
+      assertEquals(0.0, usage[2], 0.001);
+    }
+
+    @Test
+    @DisplayName("Returns -1.0 when /proc/stat cannot be read")
+    void testMissingStat() throws IOException {
+      provider.close();
+      Files.delete(root.resolve("proc/stat"));
+
+      assertEquals(-1.0, provider.getCpuUsage(), 0.001);
+    }
+  }
+
+  @Nested
+  @DisplayName("Memory")
+  class MemoryTests {
+
+    @Test
+    @DisplayName("Reads MemTotal and MemAvailable in bytes")
+    void testMemory() {
+      assertEquals(16_384_000L * 1024, provider.getTotalMemory());
+      assertEquals(8_192_000L * 1024, provider.getAvailableMemory());
+    }
+
+    @Test
+    @DisplayName("Picks up new values on every read")
+    void testMemoryChanges() throws IOException {
+      provider.getAvailableMemory();
+      write("proc/meminfo", "MemTotal: 100 kB\nMemAvailable: 7 kB\n");
+
+      assertEquals(7L * 1024, provider.getAvailableMemory());
+    }
+
+    @Test
+    @DisplayName("Returns -1 when a field is missing")
+    void testMissingField() throws IOException {
+      write("proc/meminfo", "MemTotal: 100 kB\n");
+
+      assertEquals(-1L, provider.getAvailableMemory());
+    }
+  }
+
+  @Test
+  @DisplayName("Prefers the CPU package thermal zone")
+  void testCpuTemperature() {
+    assertEquals(54.5, provider.getCpuTemperature(), 0.001);
+  }
+
+  @Nested
+  @DisplayName("Disk usage")
+  class DiskUsageTests {
+
+    @Test
+    @DisplayName("Lists real file systems and skips pseudo ones")
+    void testDiskUsage() {
+      List<DiskMetrics> disks = provider.getDiskUsage();
+
+      assertEquals(List.of("/", "/mnt/my disk"),
+          disks.stream().map(DiskMetrics::getMountPoint).toList());
+      DiskMetrics rootDisk = disks.get(0);
+      assertTrue(rootDisk.getTotalSpace() > 0);
+      assertTrue(rootDisk.getUsedSpace() <= rootDisk.getTotalSpace());
+    }
+
+    @Test
+    @DisplayName("Refreshes a caller-owned table in place")
+    void testReadDiskUsage() throws IOException {
+      DiskMetricsTable table = new DiskMetricsTable(1);
+      provider.readDiskUsage(table);
+      write("proc/self/mounts", "/dev/sda1 / ext4 rw 0 0\n");
+
+      provider.readDiskUsage(table);
+
+      assertEquals(1, table.size());
+      assertEquals("/", table.mountPoint(0));
+      assertTrue(table.totalSpace(0) > 0);
+    }
+
+    @Test
+    @DisplayName("Re-parses the mount table when it changes")
+    void testMountTableChange() throws IOException {
+      provider.getDiskUsage();
+      write("proc/self/mounts", "/dev/sda1 / ext4 rw 0 0\n");
+
+      List<DiskMetrics> disks = provider.getDiskUsage();
+
+      assertEquals(1, disks.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Computes disk I/O from /proc/diskstats since the previous call")
+  void testDiskIo() throws IOException {
+    writeDiskstats(1100, 2000 + 8 * 100, 100, 2, 5400);
+
+    List<DiskIoMetrics> devices = provider.getDiskIo();
+
+    assertEquals(List.of("sda", "loop0"), devices.stream().map(DiskIoMetrics::getDevice).toList());
+    DiskIoMetrics sda = devices.get(0);
+    assertEquals(2L, sda.getQueueLength());
+    assertEquals(2.0, sda.getAverageServiceTimeMillis(), 0.001);
+    assertTrue(sda.getReadBytesPerSecond() > 0);
+    assertEquals(0.0, devices.get(1).getIops(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Computes interface rates from /proc/net/dev, across a counter reset")
+  void testNetworkInterfaces() throws IOException {
+    writeNetDev(3_000, 10, 100L);
+
+    List<NetworkInterfaceMetrics> interfaces = provider.getNetworkInterfaces();
+
+    assertEquals(List.of("lo", "eth0"),
+        interfaces.stream().map(NetworkInterfaceMetrics::getName).toList());
+    NetworkInterfaceMetrics eth0 = interfaces.get(1);
+    assertTrue(eth0.getBytesReceivedPerSecond() > 0);
+    assertTrue(eth0.getBytesSentPerSecond() > 0);
+    assertEquals(0.0, eth0.getReceiveDropsPerSecond(), 0.001);
+    assertEquals(0.0, interfaces.get(0).getBytesReceivedPerSecond(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Drops interfaces that disappear")
+  void testNetworkHotplug() throws IOException {
+    write("proc/net/dev", "header\nheader\n  eth1: 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n");
+
+    List<NetworkInterfaceMetrics> interfaces = provider.getNetworkInterfaces();
+
+    assertEquals(1, interfaces.size());
+    assertEquals("eth1", interfaces.get(0).getName());
+  }
+
+  @Nested
+  @DisplayName("Pressure")
+  class PressureTests {
+
+    @Test
+    @DisplayName("Parses some and full averages and totals from /proc/pressure")
+    void testPressure() throws IOException {
+      write("proc/pressure/cpu", "some avg10=1.50 avg60=0.75 avg300=0.10 total=123456\n");
+      write("proc/pressure/memory", """
+          some avg10=0.00 avg60=0.00 avg300=0.00 total=10
+          full avg10=12.34 avg60=5.00 avg300=1.25 total=99
+          """);
+
+      PressureMetrics pressure = provider.getPressure();
+
+      assertEquals(1.5, pressure.getSomeAvg10(Resource.CPU), 0.001);
+      assertEquals(0.75, pressure.getSomeAvg60(Resource.CPU), 0.001);
+      assertEquals(0.1, pressure.getSomeAvg300(Resource.CPU), 0.001);
+      assertEquals(123_456L, pressure.getSomeTotalMicros(Resource.CPU));
+      // Kernels before 5.13 have no CPU "full" line.
+      assertEquals(-1.0, pressure.getFullAvg10(Resource.CPU), 0.001);
+      assertEquals(12.34, pressure.getFullAvg10(Resource.MEMORY), 0.001);
+      assertEquals(99L, pressure.getFullTotalMicros(Resource.MEMORY));
+      assertTrue(pressure.isAvailable(Resource.MEMORY));
+      // No io file.
+      assertEquals(-1L, pressure.getSomeTotalMicros(Resource.IO));
+    }
+
+    @Test
+    @DisplayName("Reports null without PSI support")
+    void testNoPressure() {
+      assertNull(provider.getPressure());
+    }
+
+    @Test
+    @DisplayName("Flattens into pressure series, skipping unreported values")
+    void testPressureSeries() throws IOException {
+      write("proc/pressure/io", "some avg10=2.00 avg60=1.00 avg300=0.50 total=7\n");
+      SystemMetrics metrics = new SystemMetrics(0L, 0.0, 0L, 0L, 0.0, List.of(), List.of(),
+          List.of(), null, provider.getPressure(), Set.of());
+      Map<String, Double> series = new HashMap<>();
+
+      SystemMetricsSeries.forEach(metrics, series::put);
+
+      assertEquals(2.0, series.get("pressure.io.some.avg10"), 0.001);
+      assertEquals(7.0, series.get("pressure.io.some.total_us"), 0.001);
+      assertFalse(series.containsKey("pressure.io.full.avg10"));
+      assertFalse(series.containsKey("pressure.cpu.some.avg10"));
+    }
+  }
+
+  @Test
+  @DisplayName("Leaves safepoint tracking off unless enabled before the first JVM read")
+  void testSafepointTrackingIsOptIn() {
+    JvmMetrics jvm = provider.getJvmMetrics();
+
+    assertEquals(-1.0, jvm.getSafepointMillis(), 0.001);
+    assertThrows(IllegalStateException.class, provider::trackSafepoints);
+  }
+
+  @Test
+  @DisplayName("Collects a full snapshot")
+  void testSnapshot() throws IOException {
+    writeStat(50, 0, 50, 0, 0, 0);
+
+    SystemMetrics metrics = provider.snapshot();
+
+    assertEquals(50.0, metrics.getCpuUsage(), 0.001);
+    assertEquals(16_384_000L * 1024, metrics.getTotalMemory());
+    assertEquals(2, metrics.getDiskUsage().size());
+    assertTrue(metrics.getStaleMetrics().isEmpty());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for SharedMetricsPublisher and SharedMetricsReader using JUnit 5.
+ */
+public class SharedMetricsPublisherTest {
+
+  @TempDir
+  Path directory;
+
+  private static SystemMetrics metrics(long timestamp, double cpu, List<DiskMetrics> disks) {
+    return new SystemMetrics(timestamp, cpu, 1_000L, 400L, 50.0, disks, Set.of());
+  }
+
+  @Test
+  @DisplayName("Reader sees the latest published values and series names")
+  void testRoundTrip() throws IOException {
+    // Arrange
+    Path file = directory.resolve("metrics.shm");
+    try (SharedMetricsPublisher publisher = new SharedMetricsPublisher(file);
+        SharedMetricsReader reader = new SharedMetricsReader(file)) {
+      assertFalse(reader.read());
+
+      // Act
+      publisher.publish(metrics(1_000L, 10.0, List.of()));
+      boolean first = reader.read();
+      publisher.publish(metrics(2_000L, 20.0, List.of(new DiskMetrics("/data", 100L, 25L))));
+      boolean second = reader.read();
+
+      // Assert
+      assertTrue(first);
+      assertTrue(second);
+      assertEquals(2_000L, reader.timestamp());
+      assertEquals(20.0, reader.get(SystemMetricsSeries.CPU_USAGE), 0.001);
+      assertEquals(25.0, reader.get(SystemMetricsSeries.diskUsed("/data")), 0.001);
+      assertEquals(7, reader.size());
+      assertEquals(SystemMetricsSeries.CPU_USAGE, reader.name(0));
+      assertTrue(Double.isNaN(reader.get("missing")));
+    }
+  }
+
+  @Test
+  @DisplayName("A restarted publisher continues the sequence in the same file")
+  void testRestart() throws IOException {
+    // Arrange
+    Path file = directory.resolve("metrics.shm");
+    try (SharedMetricsPublisher publisher = new SharedMetricsPublisher(file)) {
+      publisher.publish(metrics(1_000L, 10.0, List.of()));
+    }
+    try (SharedMetricsReader reader = new SharedMetricsReader(file)) {
+      reader.read();
+      long before = reader.sequence();
+
+      // Act
+      try (SharedMetricsPublisher publisher = new SharedMetricsPublisher(file, 1024)) {
+        publisher.publish(metrics(2_000L, 30.0, List.of()));
+      }
+      reader.read();
+
+      // Assert
+      assertTrue(reader.sequence() > before);
+      assertEquals(30.0, reader.get(SystemMetricsSeries.CPU_USAGE), 0.001);
+      assertEquals(SharedMetricsPublisher.DEFAULT_FILE_BYTES, Files.size(file));
+    }
+  }
+
+  @Test
+  @DisplayName("Publishes only the series that fit in a small file")
+  void testOverflow() throws IOException {
+    Path file = directory.resolve("metrics.shm");
+    try (SharedMetricsPublisher publisher = new SharedMetricsPublisher(file, 100);
+        SharedMetricsReader reader = new SharedMetricsReader(file)) {
+      publisher.publish(metrics(1_000L, 10.0, List.of()));
+
+      assertTrue(reader.read());
+      assertTrue(reader.size() > 0 && reader.size() < 4, "size " + reader.size());
+      assertEquals(10.0, reader.get(SystemMetricsSeries.CPU_USAGE), 0.001);
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects a file that was not written by a publisher")
+  void testForeignFile() throws IOException {
+    Path file = Files.write(directory.resolve("other"), new byte[64]);
+
+    assertThrows(IllegalArgumentException.class, () -> new SharedMetricsReader(file));
+  }
+
+  @Test
+  @DisplayName("Never observes a half-written snapshot")
+  void testConsistency() throws Exception {
+    // Arrange: every published value of a snapshot equals its timestamp.
+    Path file = directory.resolve("metrics.shm");
+    AtomicBoolean stop = new AtomicBoolean();
+    AtomicReference<String> failure = new AtomicReference<>();
+    try (SharedMetricsPublisher publisher = new SharedMetricsPublisher(file);
+        SharedMetricsReader reader = new SharedMetricsReader(file)) {
+      publisher.publish(new SystemMetrics(1L, 1.0, 1L, 1L, 1.0, List.of(), Set.of()));
+      Thread writer = Thread.ofPlatform().start(() -> {
+        for (long i = 2; !stop.get(); i++) {
+          publisher.publish(new SystemMetrics(i, i, i, i, i, List.of(), Set.of()));
+        }
+      });
+
+      // Act
+      for (int i = 0; i < 20_000 && failure.get() == null; i++) {
+        if (reader.read()) {
+          for (int j = 0; j < reader.size(); j++) {
+            if (reader.value(j) != reader.timestamp()) {
+              failure.set("value " + reader.value(j) + " at " + reader.timestamp());
+            }
+          }
+        }
+      }
+      stop.set(true);
+      writer.join();
+    }
+
+    // Assert
+    assertEquals(null, failure.get());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SnapshotCollector using JUnit 5 and Mockito.
+ */
+public class SnapshotCollectorTest {
+
+  private OshiSystemMetricsProvider mockProvider;
+  private CountDownLatch release;
+  private SnapshotCollector collector;
+
+  @BeforeEach
+  void setUp() {
+    mockProvider = mock(OshiSystemMetricsProvider.class);
+    release = new CountDownLatch(1);
+    when(mockProvider.getCpuUsage()).thenReturn(42.0);
+    when(mockProvider.getTotalMemory()).thenReturn(16_000L);
+    when(mockProvider.getAvailableMemory()).thenReturn(8_000L);
+    when(mockProvider.getCpuTemperature()).thenReturn(50.0);
+    when(mockProvider.getDiskUsage()).thenReturn(List.of(new DiskMetrics("/data", 100L, 40L)));
+
+    Map<Metric, Duration> timeouts = new EnumMap<>(Metric.class);
+    for (Metric metric : Metric.values()) {
+      timeouts.put(metric, Duration.ofMillis(200));
+    }
+    collector = new SnapshotCollector(mockProvider, timeouts);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    collector.close();
+  }
+
+  @Test
+  @DisplayName("Collects every probe into one snapshot")
+  void testCollect() {
+    SystemMetrics metrics = collector.collect();
+
+    assertEquals(42.0, metrics.getCpuUsage(), 0.001);
+    assertEquals(16_000L, metrics.getTotalMemory());
+    assertEquals(8_000L, metrics.getAvailableMemory());
+    assertEquals(50.0, metrics.getCpuTemperature(), 0.001);
+    assertEquals(1, metrics.getDiskUsage().size());
+    assertTrue(metrics.getStaleMetrics().isEmpty());
+  }
+
+  @Test
+  @DisplayName("Marks a probe that misses its deadline as stale and keeps its last value")
+  void testTimedOutProbeIsStale() {
+    SystemMetrics first = collector.collect();
+    when(mockProvider.getDiskUsage()).thenAnswer(invocation -> {
+      release.await();
+      return List.of();
+    });
+    when(mockProvider.getAvailableMemory()).thenReturn(7_000L);
+
+    long start = System.nanoTime();
+    SystemMetrics second = collector.collect();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertTrue(elapsedMillis < 2_000, "Snapshot should not wait for the hung probe");
+    assertTrue(second.isStale(Metric.DISK_USAGE));
+    assertFalse(second.isStale(Metric.AVAILABLE_MEMORY));
+    assertEquals(first.getDiskUsage(), second.getDiskUsage());
+    assertEquals(7_000L, second.getAvailableMemory());
+  }
+
+  @Test
+  @DisplayName("Does not start a probe again while an earlier run is still in flight")
+  void testHungProbeIsNotRestarted() {
+    when(mockProvider.getCpuUsage()).thenAnswer(invocation -> {
+      release.await();
+      return 10.0;
+    });
+
+    SystemMetrics first = collector.collect();
+    SystemMetrics second = collector.collect();
+
+    assertTrue(first.isStale(Metric.CPU_USAGE));
+    assertTrue(second.isStale(Metric.CPU_USAGE));
+    assertEquals(-1.0, second.getCpuUsage(), 0.001);
+    verify(mockProvider, times(1)).getCpuUsage();
+  }
+
+  @Test
+  @DisplayName("Starts a hung probe once when snapshots are taken concurrently")
+  void testConcurrentSnapshotsShareProbe() throws Exception {
+    when(mockProvider.getCpuUsage()).thenAnswer(invocation -> {
+      release.await();
+      return 10.0;
+    });
+    CountDownLatch ready = new CountDownLatch(1);
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        try {
+          ready.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        collector.collect();
+      });
+      threads[i].start();
+    }
+
+    ready.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    verify(mockProvider, times(1)).getCpuUsage();
+  }
+
+  @Test
+  @DisplayName("Marks a failing probe as stale")
+  void testFailingProbeIsStale() {
+    when(mockProvider.getCpuTemperature()).thenThrow(new IllegalStateException("no sensors"));
+
+    SystemMetrics metrics = collector.collect();
+
+    assertTrue(metrics.isStale(Metric.CPU_TEMPERATURE));
+    assertEquals(-1.0, metrics.getCpuTemperature(), 0.001);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SystemMetricsHolder using JUnit 5 and Mockito.
+ */
+public class SystemMetricsHolderTest {
+
+  private OshiSystemMetricsProvider mockProvider;
+
+  @BeforeEach
+  void setUp() {
+    mockProvider = mock(OshiSystemMetricsProvider.class);
+  }
+
+  private static SystemMetrics metrics(double cpu) {
+    return new SystemMetrics(1_000L, cpu, 100L, 50L, 40.0, List.of(), Set.of());
+  }
+
+  @Test
+  @DisplayName("Returns null before the first snapshot and the latest one afterwards")
+  void testUpdate() {
+    SystemMetricsHolder holder = new SystemMetricsHolder(mockProvider);
+    SystemMetrics first = metrics(1.0);
+    SystemMetrics second = metrics(2.0);
+
+    assertNull(holder.get());
+    holder.update(first);
+    assertSame(first, holder.get());
+    holder.update(second);
+    assertSame(second, holder.get());
+  }
+
+  @Test
+  @DisplayName("Publishes the provider's snapshot on refresh")
+  void testRefresh() {
+    SystemMetrics snapshot = metrics(3.0);
+    when(mockProvider.snapshot()).thenReturn(snapshot);
+    SystemMetricsHolder holder = new SystemMetricsHolder(mockProvider);
+
+    assertSame(snapshot, holder.refresh());
+    assertSame(snapshot, holder.get());
+  }
+
+  @Test
+  @DisplayName("Background refresher keeps publishing, and survives a failed collection")
+  void testBackgroundRefresh() throws InterruptedException {
+    // Arrange
+    SystemMetrics later = metrics(4.0);
+    when(mockProvider.snapshot()).thenThrow(new IllegalStateException("boom"))
+        .thenReturn(later);
+
+    try (SystemMetricsHolder holder = new SystemMetricsHolder(mockProvider)) {
+      // Act
+      holder.start(Duration.ofMillis(5));
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while (holder.get() == null && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+
+      // Assert
+      assertSame(later, holder.get());
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects a non-positive refresh interval")
+  void testInvalidInterval() {
+    try (SystemMetricsHolder holder = new SystemMetricsHolder(mockProvider)) {
+      assertThrows(IllegalArgumentException.class, () -> holder.start(Duration.ZERO));
+      assertNull(holder.get());
+    }
+  }
+}
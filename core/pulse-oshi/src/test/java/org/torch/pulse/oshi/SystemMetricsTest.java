@@ -14,9 +14,12 @@
 package org.torch.pulse.oshi;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -46,6 +49,19 @@ public class SystemMetricsTest {
     assertEquals(disks, systemMetrics.getDiskUsage());
   }
 
+  @Test
+  @DisplayName("Full constructor records timestamp and stale metrics")
+  void testTimestampAndStaleMetrics() {
+    // Act
+    SystemMetrics systemMetrics = new SystemMetrics(1_700_000_000_000L, 1.0, 2L, 1L, -1.0,
+        List.of(), EnumSet.of(Metric.CPU_TEMPERATURE));
+
+    // Assert
+    assertEquals(1_700_000_000_000L, systemMetrics.getTimestamp());
+    assertTrue(systemMetrics.isStale(Metric.CPU_TEMPERATURE));
+    assertFalse(systemMetrics.isStale(Metric.CPU_USAGE));
+  }
+
   @Test
   @DisplayName("toString returns expected format")
   void testToString() {
@@ -74,4 +90,18 @@ public class SystemMetricsTest {
     assertTrue(actualString.contains("Disks: [Disk /data: 500/2000 used]"),
         "Expected disk usage in string");
   }
+
+  @Test
+  @DisplayName("Names pressure series the same under any default locale")
+  void testPressureSeriesLocale() {
+    Locale original = Locale.getDefault();
+    Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+    try {
+      assertEquals("pressure.io.some.avg10",
+          SystemMetricsSeries.pressure(PressureMetrics.Resource.IO, false, "avg10"));
+      assertTrue(PressureMetrics.builder().build().toString().contains("io some="));
+    } finally {
+      Locale.setDefault(original);
+    }
+  }
 }
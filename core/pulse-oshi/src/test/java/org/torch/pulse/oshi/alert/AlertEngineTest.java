@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Unit tests for AlertEngine using JUnit 5.
+ */
+public class AlertEngineTest {
+
+  private final List<AlertEvent> events = new ArrayList<>();
+  private final AlertEngine engine = new AlertEngine(events::add);
+
+  private List<String> drain() {
+    List<String> drained = new ArrayList<>();
+    for (AlertEvent event : events) {
+      drained.add(event.kind() + "@" + event.timestamp());
+    }
+    events.clear();
+    return drained;
+  }
+
+  @Test
+  @DisplayName("Fires after holding for the duration and resolves past the clear threshold")
+  void testDurationAndHysteresis() {
+    // Arrange
+    engine.add("cpu.usage > 90 for 30s clear 80");
+    double[] samples = {95, 95, 70, 95, 95, 95, 95, 85, 92, 79};
+
+    // Act: one sample every 10 seconds.
+    for (int i = 0; i < samples.length; i++) {
+      engine.evaluate("cpu.usage", samples[i], i * 10_000L);
+    }
+
+    // Assert: pending from 30s after the dip, firing at 60s, held at 85 and resolved at 79.
+    assertEquals(List.of("FIRED@60000", "RESOLVED@90000"), drain());
+    assertFalse(engine.isFiring("cpu.usage > 90 for 30s clear 80"));
+  }
+
+  @Test
+  @DisplayName("Evaluates SystemMetrics snapshots by series name")
+  void testSystemMetrics() {
+    engine.add(AlertRule.parse("low-memory", "memory.available < 1GiB"));
+
+    engine.evaluate(new SystemMetrics(1_000L, 5d, 8L << 30, 2L << 30, 40d, List.of(), Set.of()));
+    engine.evaluate(new SystemMetrics(2_000L, 5d, 8L << 30, 1L << 29, 40d, List.of(), Set.of()));
+
+    assertEquals(List.of("FIRED@2000"), drain());
+    assertEquals("low-memory", engine.firing().get(0).name());
+  }
+
+  @Test
+  @DisplayName("Fires a trend rule only while the series is growing")
+  void testGrowing() {
+    engine.add("disk.used_percent:/data > 85 and growing over 1m");
+    SystemMetrics[] samples = new SystemMetrics[8];
+    long[] used = {90, 90, 90, 90, 91, 92, 93, 94};
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = new SystemMetrics(i * 10_000L, 0d, 0L, 0L, 0d,
+          List.of(new DiskMetrics("/data", 100L, used[i])), Set.of());
+    }
+
+    for (SystemMetrics sample : samples) {
+      engine.evaluate(sample);
+    }
+
+    // Flat at first; the fit over the last minute turns upward with the first rise, at 40s.
+    assertEquals(List.of("FIRED@40000"), drain());
+  }
+
+  @Test
+  @DisplayName("Computes the least-squares slope over the sliding window")
+  void testTrendWindow() {
+    TrendWindow trend = new TrendWindow(10_000L);
+    for (int i = 0; i < 2_000; i++) {
+      // Rising 2 per second for the first 1000 s, then falling 1 per second.
+      double value = i < 1_000 ? 2d * i : 2_000d - (i - 1_000);
+      trend.add(i * 1_000L, value);
+    }
+
+    assertEquals(-1d, trend.slope(), 1e-9);
+    assertEquals(10, trend.size());
+  }
+
+  @Test
+  @DisplayName("Ignores NaN samples instead of resolving or resetting on them")
+  void testNaN() {
+    engine.add("cpu.usage > 90 for 20s");
+
+    engine.evaluate("cpu.usage", 95d, 0L);
+    engine.evaluate("cpu.usage", Double.NaN, 10_000L);
+    engine.evaluate("cpu.usage", 95d, 20_000L);
+    engine.evaluate("cpu.usage", Double.NaN, 30_000L);
+
+    assertEquals(List.of("FIRED@20000"), drain());
+    assertTrue(engine.isFiring("cpu.usage > 90 for 20s"));
+  }
+
+  @Test
+  @DisplayName("Expires the rules of a series that stopped reporting")
+  void testStaleSeries() {
+    engine.staleAfter(Duration.ofMinutes(1));
+    engine.add("memory.available < 1GiB");
+    engine.add("cpu.usage > 90 for 1m");
+
+    engine.evaluate(new SystemMetrics(0L, 95d, 8L << 30, 1L << 29, 40d, List.of(), Set.of()));
+    engine.evaluate(new SystemMetrics(30_000L, 95d, 8L << 30, 1L << 29, 40d, List.of(),
+        Set.of(Metric.AVAILABLE_MEMORY)));
+    engine.evaluate(new SystemMetrics(60_000L, 0d, 0L, 0L, 0d, List.of(),
+        Set.of(Metric.CPU_USAGE, Metric.AVAILABLE_MEMORY)));
+    engine.expire(90_000L);
+
+    // Memory fired at once and resolved a minute after its last sample; the CPU rule was still
+    // pending when its samples stopped, so it went back to inactive without an event.
+    List<AlertEvent> resolved = List.copyOf(events);
+    assertEquals(List.of("FIRED@0", "RESOLVED@60000"), drain());
+    assertTrue(Double.isNaN(resolved.get(1).value()));
+    engine.evaluate("cpu.usage", 95d, 100_000L);
+    engine.evaluate("cpu.usage", 95d, 130_000L);
+    assertEquals(List.of(), drain());
+    assertThrows(IllegalArgumentException.class, () -> engine.staleAfter(Duration.ZERO));
+  }
+
+  @Test
+  @DisplayName("Ignores out-of-order samples and survives a failing listener")
+  void testRobustness() {
+    AlertEngine failing = new AlertEngine(event -> {
+      throw new IllegalStateException("listener bug");
+    });
+    failing.add(AlertRule.parse("x > 1"));
+    failing.add(AlertRule.parse("second", "x > 1"));
+
+    failing.evaluate("x", 5d, 1_000L);
+    failing.evaluate("x", 0d, 500L);
+
+    assertTrue(failing.isFiring("x > 1"));
+    assertTrue(failing.isFiring("second"));
+    assertTrue(failing.remove("second"));
+    assertEquals(1, failing.size());
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.alert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for AlertRule using JUnit 5.
+ */
+public class AlertRuleTest {
+
+  @Test
+  @DisplayName("Parses a threshold with duration and hysteresis")
+  void testParseHysteresis() {
+    AlertRule rule = AlertRule.parse("cpu.usage > 90 for 30s clear 80");
+
+    assertEquals("cpu.usage > 90 for 30s clear 80", rule.name());
+    assertEquals("cpu.usage", rule.series());
+    assertEquals(AlertRule.Comparison.ABOVE, rule.comparison());
+    assertEquals(90d, rule.threshold());
+    assertEquals(80d, rule.clearThreshold());
+    assertEquals(Duration.ofSeconds(30), rule.duration());
+    assertNull(rule.trendWindow());
+  }
+
+  @Test
+  @DisplayName("Parses units and trend clauses")
+  void testParseUnitsAndTrend() {
+    AlertRule memory = AlertRule.parse("low-memory", "memory.available < 1GiB");
+    AlertRule disk = AlertRule.parse("disk.used_percent:/data >= 85% and growing over 10m");
+    AlertRule defaulted = AlertRule.parse("disk.used:/ > 1.5TB for 2m and growing");
+
+    assertEquals("low-memory", memory.name());
+    assertEquals(1024d * 1024 * 1024, memory.threshold());
+    assertEquals(AlertRule.Comparison.AT_LEAST, disk.comparison());
+    assertEquals(85d, disk.threshold());
+    assertEquals(Duration.ofMinutes(10), disk.trendWindow());
+    assertEquals(1.5e12, defaulted.threshold());
+    assertEquals(Duration.ofMinutes(2), defaulted.trendWindow());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"cpu.usage", "cpu.usage = 5", "cpu.usage > ninety", "cpu.usage > 5 for",
+      "cpu.usage > 5 for 3d", "cpu.usage > 5 and shrinking", "cpu.usage > 5 clear 6",
+      "memory.available < 1XB", "cpu.usage > 5 soon"})
+  @DisplayName("Rejects malformed rules")
+  void testMalformed(String expression) {
+    assertThrows(IllegalArgumentException.class, () -> AlertRule.parse(expression));
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.ZoneOffset;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the anomaly detectors using JUnit 5.
+ */
+public class AnomalyDetectorTest {
+
+  private static final long HOUR = 3_600_000L;
+  private static final long WEEK = 168 * HOUR;
+  // Monday 2024-01-01 00:00 UTC.
+  private static final long MONDAY = 1_704_067_200_000L;
+
+  @Test
+  @DisplayName("Welford's z-score matches a two-pass computation")
+  void testZScore() {
+    // Arrange: large values with a small spread, where a naive sum of squares loses precision.
+    ZScoreDetector detector = new ZScoreDetector(10);
+    double[] values = new double[1_000];
+    Random random = new Random(42);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1e9 + random.nextGaussian();
+      detector.update(i, values[i]);
+    }
+    double mean = 0;
+    for (double value : values) {
+      mean += value / values.length;
+    }
+    double squares = 0;
+    for (double value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+    double deviation = Math.sqrt(squares / (values.length - 1));
+
+    // Act
+    double score = detector.score(0, mean + 3 * deviation);
+
+    // Assert
+    assertEquals(mean, detector.expected(0), 1e-6);
+    assertEquals(3d, score, 1e-6);
+  }
+
+  @Test
+  @DisplayName("EWMA scores nothing during warm-up and follows a drifting level")
+  void testEwma() {
+    EwmaDetector detector = new EwmaDetector(0.1, 5);
+    for (int i = 0; i < 4; i++) {
+      detector.update(i, 10d + (i % 2));
+    }
+    assertTrue(Double.isNaN(detector.score(4, 100d)));
+
+    for (int i = 4; i < 500; i++) {
+      // The level drifts from 10 to about 60 with a +-1 wobble.
+      detector.update(i, 10d + i / 10d + (i % 2));
+    }
+
+    assertEquals(59.5, detector.expected(500), 1.5);
+    assertTrue(Math.abs(detector.score(500, 60d)) < 3d);
+    assertTrue(detector.score(500, 100d) > 10d);
+  }
+
+  @Test
+  @DisplayName("Scores a change of a perfectly flat series finitely")
+  void testFlatBaseline() {
+    ZScoreDetector detector = new ZScoreDetector(2);
+    for (int i = 0; i < 10; i++) {
+      detector.update(i, 10d);
+    }
+
+    assertEquals(0d, detector.score(10, 10d));
+    assertEquals(-1e6, detector.score(10, 9d), 1e-6);
+    assertEquals(1d, detector.score(10, 10d + Detectors.MIN_DEVIATION), 1e-3);
+  }
+
+  @Test
+  @DisplayName("Counts hours of the week from Monday 00:00 at the given offset")
+  void testHourOfWeek() {
+    SeasonalDetector utc = new SeasonalDetector(0.5, 1, ZoneOffset.UTC);
+    SeasonalDetector tokyo = new SeasonalDetector(0.5, 1, ZoneOffset.ofHours(9));
+
+    assertEquals(0, utc.hourOfWeek(MONDAY));
+    assertEquals(167, utc.hourOfWeek(MONDAY - 1));
+    assertEquals(26, utc.hourOfWeek(MONDAY + 26 * HOUR + 59_000L));
+    assertEquals(9, tokyo.hourOfWeek(MONDAY));
+    assertEquals(72, utc.hourOfWeek(0L));
+  }
+
+  @Test
+  @DisplayName("Compares a nightly batch spike with the same hour in earlier weeks")
+  void testSeasonal() {
+    // Arrange: two weeks of one sample per minute, busy (90) on Sundays at 02:00, idle (10)
+    // otherwise, with a small wobble.
+    SeasonalDetector detector = new SeasonalDetector(0.5, 1, ZoneOffset.UTC);
+    long sundayTwoAm = MONDAY + (6 * 24 + 2) * HOUR;
+    for (long t = MONDAY; t < MONDAY + 2 * WEEK; t += 60_000L) {
+      boolean batch = (t - MONDAY) % WEEK >= sundayTwoAm - MONDAY
+          && (t - MONDAY) % WEEK < sundayTwoAm - MONDAY + HOUR;
+      detector.update(t, (batch ? 90d : 10d) + (t / 60_000L) % 3);
+    }
+    long nextSunday = sundayTwoAm + 2 * WEEK;
+
+    // Act and Assert: the spike is normal at 02:00 on Sunday and anomalous at 02:00 on Monday.
+    assertEquals(91d, detector.expected(nextSunday), 0.5);
+    assertTrue(Math.abs(detector.score(nextSunday, 91d)) < 3d);
+    assertTrue(detector.score(MONDAY + 2 * WEEK + 2 * HOUR, 91d) > 10d);
+  }
+}
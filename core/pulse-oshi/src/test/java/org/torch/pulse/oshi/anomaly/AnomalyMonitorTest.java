@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.anomaly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+
+/**
+ * Unit tests for AnomalyMonitor using JUnit 5.
+ */
+public class AnomalyMonitorTest {
+
+  private final List<Anomaly> anomalies = new ArrayList<>();
+  private final AnomalyMonitor monitor = new AnomalyMonitor(anomalies::add);
+
+  private static SystemMetrics snapshot(long timestamp, double cpu, long dataUsed) {
+    return new SystemMetrics(timestamp, cpu, 100L, 50L, 40d,
+        List.of(new DiskMetrics("/", 100L, 50L), new DiskMetrics("/data", 100L, dataUsed)),
+        Set.of());
+  }
+
+  @Test
+  @DisplayName("Gives every series matching a prefix its own detector")
+  void testPrefixWatch() {
+    // Arrange
+    monitor.watchPrefix("disk.used_percent:", () -> new ZScoreDetector(5), 4d, 0d);
+    for (int i = 0; i < 20; i++) {
+      monitor.evaluate(snapshot(i * 1_000L, 5d, 40L + i % 3));
+    }
+
+    // Act
+    monitor.evaluate(snapshot(20_000L, 5d, 95L));
+
+    // Assert
+    assertEquals(1, anomalies.size());
+    Anomaly anomaly = anomalies.get(0);
+    assertEquals("disk.used_percent:/data", anomaly.series());
+    assertEquals(95d, anomaly.value());
+    assertEquals(41d, anomaly.expected(), 0.1);
+    assertTrue(anomaly.score() > 4d);
+    assertTrue(monitor.detector("disk.used_percent:/") instanceof ZScoreDetector);
+    assertNull(monitor.detector("cpu.usage"));
+  }
+
+  @Test
+  @DisplayName("Skips deviations below the minimum and during warm-up")
+  void testMinDeviation() {
+    monitor.watch("cpu.usage", new EwmaDetector(0.2, 10), 3d, 5d);
+
+    // Arrange: a jump during warm-up, then a series flat for long enough that any change scores
+    // many standard deviations away.
+    monitor.evaluate("cpu.usage", 80d, 0L);
+    for (int i = 1; i < 200; i++) {
+      monitor.evaluate("cpu.usage", 10d, i);
+    }
+
+    // Act: a 1% change stays below the minimum deviation; a jump to 30% does not.
+    monitor.evaluate("cpu.usage", 11d, 200L);
+    monitor.evaluate("cpu.usage", 30d, 201L);
+
+    // Assert
+    assertEquals(1, anomalies.size());
+    assertEquals(30d, anomalies.get(0).value());
+    assertTrue(anomalies.get(0).score() > 3d);
+  }
+
+  @Test
+  @DisplayName("Rejects a series watched twice and non-positive thresholds")
+  void testValidation() {
+    monitor.watch("cpu.usage", new ZScoreDetector(2), 3d);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> monitor.watch("cpu.usage", new ZScoreDetector(2), 3d));
+    assertThrows(IllegalArgumentException.class,
+        () -> monitor.watch("memory.total", new ZScoreDetector(2), 0d));
+  }
+}
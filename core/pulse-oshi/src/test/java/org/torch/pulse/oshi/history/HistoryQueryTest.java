@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HistoryQueryTest {
+
+  private MetricHistory history;
+  private HistoryQuery query;
+
+  @BeforeEach
+  void setUp() {
+    // Raw holds 100 s; 10 s buckets hold 50 min; 1 min buckets hold 10 h.
+    history = new MetricHistory(100, List.of(new RollupSpec(Duration.ofSeconds(10), 300),
+        new RollupSpec(Duration.ofMinutes(1), 600)));
+    query = new HistoryQuery(history);
+    // Two hours of 1 Hz samples whose value is the second of the hour modulo 100.
+    for (int second = 0; second < 7_200; second++) {
+      history.record("cpu", second * 1_000L, second % 100);
+    }
+  }
+
+  @Test
+  @DisplayName("Matches a brute-force aggregate over windows covered by rollups")
+  void testStatsFromRollups() {
+    // Arrange: 70:10 .. 100:10, inside the 10 s tier's retention but outside raw, so the edges
+    // resolve to 10 s buckets and the interior to 1 min buckets.
+    long from = 4_210_000L;
+    long to = 6_010_000L;
+
+    // Act
+    WindowStats stats = query.stats("cpu", from, to);
+
+    // Assert
+    long count = 0;
+    double sum = 0;
+    for (long second = 4_210; second < 6_010; second++) {
+      count++;
+      sum += second % 100;
+    }
+    assertEquals(count, stats.count());
+    assertEquals(sum, stats.sum(), 0.0001);
+    assertEquals(0.0, stats.min(), 0.0);
+    assertEquals(99.0, stats.max(), 0.0);
+    assertEquals(sum / count, query.aggregate("cpu", from, to, Aggregation.AVG), 0.0001);
+  }
+
+  @Test
+  @DisplayName("Uses raw samples at the edges of a recent window")
+  void testStatsAtRawEdges() {
+    // Act
+    WindowStats stats = query.stats("cpu", 7_150_500L, 7_160_500L);
+
+    // Assert: seconds 7151..7160, values 51..60
+    assertEquals(10, stats.count());
+    assertEquals(51.0, stats.min(), 0.0);
+    assertEquals(60.0, stats.max(), 0.0);
+  }
+
+  @Test
+  @DisplayName("Returns an empty result for unknown series and empty windows")
+  void testEmpty() {
+    assertEquals(0L, query.stats("unknown", 0L, 1_000L).count());
+    assertTrue(Double.isNaN(query.aggregate("cpu", 10L, 10L, Aggregation.MAX)));
+  }
+
+  @Test
+  @DisplayName("Computes exact percentiles from raw samples")
+  void testPercentileFromRaw() {
+    // Act: the last 100 s hold the values 0..99 once each.
+    double p95 = query.percentile("cpu", 7_100_000L, 7_200_000L, 95);
+    double p50 = query.percentile("cpu", 7_100_000L, 7_200_000L, 50);
+
+    // Assert
+    assertEquals(94.0, p95, 0.0);
+    assertEquals(49.0, p50, 0.0);
+  }
+
+  @Test
+  @DisplayName("Approximates percentiles from rollups beyond raw retention")
+  void testPercentileFromRollups() {
+    // Act
+    double p95 = query.percentile("cpu", 0L, 7_200_000L, 95);
+
+    // Assert: bucket averages flatten the tails, but the value must stay within range.
+    assertTrue(p95 > 40 && p95 <= 99, "Unexpected p95 " + p95);
+  }
+
+  @Test
+  @DisplayName("Rejects percentiles outside (0, 100]")
+  void testInvalidPercentile() {
+    assertThrows(IllegalArgumentException.class, () -> query.percentile("cpu", 0L, 1L, 0));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+public class MetricHistoryTest {
+
+  @Test
+  @DisplayName("Records every non-stale series of a snapshot")
+  void testRecordSnapshot() {
+    // Arrange
+    MetricHistory history = new MetricHistory();
+    SystemMetrics metrics = new SystemMetrics(5_000L, 25.0, 1_000L, 400L, 50.0,
+        List.of(new DiskMetrics("/data", 200L, 50L)), EnumSet.of(Metric.CPU_TEMPERATURE));
+
+    // Act
+    history.record(metrics);
+
+    // Assert
+    SeriesHistory cpu = history.getSeries(SystemMetricsSeries.CPU_USAGE);
+    assertNotNull(cpu);
+    assertEquals(5_000L, cpu.raw().timestamp(0));
+    assertEquals(25.0, cpu.raw().value(0), 0.0001);
+    assertEquals(25.0,
+        history.getSeries(SystemMetricsSeries.diskUsedPercent("/data")).raw().value(0), 0.0001);
+    assertNull(history.getSeries(SystemMetricsSeries.CPU_TEMPERATURE));
+  }
+
+  @Test
+  @DisplayName("Maintains raw samples and every rollup tier incrementally")
+  void testRollupsFollowRawSamples() {
+    // Arrange
+    MetricHistory history = new MetricHistory(3, List.of(
+        new RollupSpec(Duration.ofSeconds(10), 10), new RollupSpec(Duration.ofSeconds(1), 10)));
+
+    // Act
+    for (int second = 0; second < 12; second++) {
+      history.record("load", second * 1_000L, second);
+    }
+
+    // Assert
+    SeriesHistory series = history.getSeries("load");
+    assertEquals(3, series.raw().size());
+    assertEquals(9_000L, series.raw().timestamp(0));
+    // Tiers are ordered finest first regardless of the order they were given in.
+    assertEquals(1_000L, series.rollup(0).resolutionMillis());
+    assertEquals(10, series.rollup(0).size());
+    RollupRing tenSeconds = series.rollup(1);
+    assertEquals(2, tenSeconds.size());
+    assertEquals(4.5, tenSeconds.avg(0), 0.0001);
+    assertEquals(9.0, tenSeconds.max(0), 0.0001);
+    assertEquals(11.0, tenSeconds.last(1), 0.0001);
+  }
+
+  @Test
+  @DisplayName("Drops samples older than the newest one")
+  void testDropsOutOfOrderSamples() {
+    // Arrange
+    MetricHistory history = new MetricHistory();
+
+    // Act
+    history.record("load", 2_000L, 1.0);
+    history.record("load", 1_000L, 2.0);
+
+    // Assert
+    assertEquals(1, history.getSeries("load").raw().size());
+  }
+
+  @Test
+  @DisplayName("Replays persisted rows, skipping absent columns")
+  void testReplayFromSegmentStore(@TempDir Path directory) throws IOException {
+    // Arrange
+    MetricHistory history = new MetricHistory();
+    try (SegmentStore store = new SegmentStore(directory)) {
+      store.append(1_000L, List.of("a", "b"), new double[] {1.0, 2.0});
+      store.append(2_000L, List.of("a"), new double[] {3.0});
+
+      // Act
+      history.replay(store, 0L, Long.MAX_VALUE);
+    }
+
+    // Assert
+    assertEquals(2, history.getSeries("a").raw().size());
+    assertEquals(1, history.getSeries("b").raw().size());
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RollupRingTest {
+
+  @Test
+  @DisplayName("Folds samples of the same period into one bucket")
+  void testAggregatesWithinBucket() {
+    // Arrange
+    RollupRing ring = new RollupRing(Duration.ofSeconds(10), 4);
+
+    // Act
+    ring.add(10_000L, 5.0);
+    ring.add(12_000L, 1.0);
+    ring.add(19_999L, 3.0);
+
+    // Assert
+    assertEquals(1, ring.size());
+    assertEquals(10_000L, ring.start(0));
+    assertEquals(1.0, ring.min(0), 0.0001);
+    assertEquals(5.0, ring.max(0), 0.0001);
+    assertEquals(3.0, ring.avg(0), 0.0001);
+    assertEquals(3.0, ring.last(0), 0.0001);
+    assertEquals(3L, ring.count(0));
+  }
+
+  @Test
+  @DisplayName("Evicts the oldest bucket once full")
+  void testEvictsOldest() {
+    // Arrange
+    RollupRing ring = new RollupRing(Duration.ofSeconds(1), 2);
+
+    // Act
+    ring.add(1_000L, 1.0);
+    ring.add(2_000L, 2.0);
+    ring.add(3_500L, 3.0);
+
+    // Assert
+    assertEquals(2, ring.size());
+    assertEquals(2_000L, ring.start(0));
+    assertEquals(3_000L, ring.start(1));
+    assertEquals(1, ring.indexAtOrAfter(2_001L));
+    assertEquals(2, ring.indexAtOrAfter(3_001L));
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+public class SegmentStoreTest {
+
+  private static final List<String> COLUMNS = List.of("cpu", "memory");
+
+  @TempDir
+  Path directory;
+
+  // Epoch milliseconds seen by the store's retention; rows in these tests start at 0.
+  private final AtomicLong clock = new AtomicLong(200_000L);
+
+  private SegmentStore open() throws IOException {
+    return open(SegmentStore.DEFAULT_SEGMENT_BYTES, SegmentStore.DEFAULT_RETENTION);
+  }
+
+  private SegmentStore open(int segmentBytes, Duration retention) throws IOException {
+    return new SegmentStore(directory, segmentBytes, retention, clock::get);
+  }
+
+  private static List<double[]> scanAll(SegmentStore store, List<Long> timestamps) {
+    List<double[]> rows = new ArrayList<>();
+    store.scan(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, columns, values) -> {
+      timestamps.add(timestamp);
+      rows.add(values.clone());
+    });
+    return rows;
+  }
+
+  @Nested
+  @DisplayName("Compression Tests")
+  class CompressionTests {
+
+    @Test
+    @DisplayName("Round-trips rows through the Gorilla codec in a few bytes per row")
+    void testCodecRoundTrip() {
+      // Arrange
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      BitWriter writer = new BitWriter(buffer, 0, buffer.capacity(), 0L);
+      GorillaCodec encoder = new GorillaCodec(2);
+      int rows = 3_600;
+
+      // Act
+      for (int i = 0; i < rows; i++) {
+        long jitter = i % 7 == 0 ? 3 : 0;
+        encoder.encode(writer, 1_700_000_000_000L + i * 1_000L + jitter,
+            new double[] {i % 10 == 0 ? 42.5 : 40.0, 8_000_000_000.0});
+      }
+      GorillaCodec decoder = new GorillaCodec(2);
+      BitReader reader = new BitReader(buffer, 0);
+      double[] values = new double[2];
+      long lastTimestamp = 0;
+      for (int i = 0; i < rows; i++) {
+        lastTimestamp = decoder.decode(reader, values);
+      }
+
+      // Assert
+      assertEquals(1_700_000_000_000L + (rows - 1) * 1_000L, lastTimestamp);
+      assertEquals(40.0, values[0], 0.0);
+      assertEquals(8_000_000_000.0, values[1], 0.0);
+      assertEquals(writer.position(), reader.position());
+      assertTrue(writer.position() / 8.0 / rows < 4.0, "Expected under 4 bytes per row");
+    }
+  }
+
+  @Nested
+  @DisplayName("Store Tests")
+  class StoreTests {
+
+    @Test
+    @DisplayName("Persists rows across reopening")
+    void testReopen() throws IOException {
+      // Arrange
+      try (SegmentStore store = open()) {
+        for (int i = 0; i < 100; i++) {
+          store.append(i * 1_000L, COLUMNS, new double[] {i, 100 - i});
+        }
+      }
+
+      // Act
+      List<Long> timestamps = new ArrayList<>();
+      List<double[]> rows;
+      try (SegmentStore store = open()) {
+        store.append(100_000L, COLUMNS, new double[] {100, 0});
+        rows = scanAll(store, timestamps);
+      }
+
+      // Assert
+      assertEquals(101, rows.size());
+      assertEquals(99_000L, timestamps.get(99));
+      assertEquals(100_000L, timestamps.get(100));
+      assertEquals(100.0, rows.get(100)[0], 0.0);
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(1, files.count());
+      }
+    }
+
+    @Test
+    @DisplayName("Discards a partially written row and keeps appending after recovery")
+    void testRecoversTail() throws IOException {
+      // Arrange
+      try (SegmentStore store = open()) {
+        for (int i = 0; i < 10; i++) {
+          store.append(i * 1_000L, COLUMNS, new double[] {i * 1.5, 7});
+        }
+      }
+      Path segment;
+      try (Stream<Path> files = Files.list(directory)) {
+        segment = files.findFirst().orElseThrow();
+      }
+      // Simulate a crash mid-append: garbage bits past the committed length.
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ,
+          StandardOpenOption.WRITE)) {
+        ByteBuffer header = ByteBuffer.allocate(64);
+        channel.read(header, 0);
+        long committedBits = header.getLong(24);
+        long garbageAt = 64 + 24 + committedBits / 8 + 1;
+        channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF, (byte) 0xAB, 0x55}), garbageAt);
+      }
+
+      // Act
+      List<Long> timestamps = new ArrayList<>();
+      List<double[]> rows;
+      try (SegmentStore store = open()) {
+        store.append(10_000L, COLUMNS, new double[] {15, 7});
+        rows = scanAll(store, timestamps);
+      }
+
+      // Assert
+      assertEquals(11, rows.size());
+      assertEquals(13.5, rows.get(9)[0], 0.0);
+      assertEquals(15.0, rows.get(10)[0], 0.0);
+      assertEquals(10_000L, timestamps.get(10));
+    }
+
+    @Test
+    @DisplayName("Rolls over to a new segment when columns change")
+    void testRolloverOnNewColumns() throws IOException {
+      // Arrange
+      SystemMetrics first =
+          new SystemMetrics(1_000L, 10.0, 100L, 50L, 40.0, List.of(), Set.of());
+      SystemMetrics second = new SystemMetrics(2_000L, 20.0, 100L, 40L, 41.0,
+          List.of(new DiskMetrics("/data", 10L, 5L)), Set.of());
+
+      // Act
+      List<String> seenColumns = new ArrayList<>();
+      try (SegmentStore store = open()) {
+        store.append(first);
+        store.append(second);
+        store.scan(1_500L, 3_000L, (timestamp, columns, values) -> seenColumns.addAll(columns));
+
+        // Assert
+        assertEquals(2, store.getSegmentCount());
+      }
+      assertTrue(seenColumns.contains(SystemMetricsSeries.diskUsed("/data")));
+    }
+
+    @Test
+    @DisplayName("Stores stale metrics as NaN without rolling over")
+    void testStaleMetricsStayInSegment() throws IOException {
+      // Arrange
+      List<DiskMetrics> disks = List.of(new DiskMetrics("/data", 10L, 5L));
+      List<Long> timestamps = new ArrayList<>();
+
+      // Act
+      try (SegmentStore store = open()) {
+        for (int i = 0; i < 10; i++) {
+          // Two probes take turns missing their deadline.
+          Set<Metric> stale = Set.of(i % 2 == 0 ? Metric.CPU_USAGE : Metric.DISK_USAGE);
+          store.append(new SystemMetrics(i * 1_000L, 10.0, 100L, 50L, 40.0, disks, stale));
+        }
+        List<Double> used = new ArrayList<>();
+        store.scan(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, columns, values) -> {
+          timestamps.add(timestamp);
+          used.add(values[columns.indexOf(SystemMetricsSeries.diskUsed("/data"))]);
+        });
+
+        // Assert
+        assertEquals(1, store.getSegmentCount());
+        assertEquals(10, timestamps.size());
+        assertEquals(5.0, used.get(0), 0.0);
+        assertTrue(Double.isNaN(used.get(1)));
+      }
+    }
+
+    @Test
+    @DisplayName("Deletes segments that fall out of the retention period")
+    void testRetention() throws IOException {
+      // Arrange: segments just large enough for a handful of rows each.
+      try (SegmentStore store = open(256, Duration.ofSeconds(30))) {
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+          store.append(i * 1_000L, COLUMNS, new double[] {Math.sin(i), i * 3.7});
+        }
+
+        // Assert
+        List<Long> timestamps = new ArrayList<>();
+        scanAll(store, timestamps);
+        assertTrue(timestamps.get(0) >= 199_000L - 30_000L - 60_000L,
+            "Expected old rows to be gone, oldest was " + timestamps.get(0));
+        assertEquals(199_000L, timestamps.get(timestamps.size() - 1));
+      }
+    }
+
+    @Test
+    @DisplayName("Deletes expired segments when reopened after a long downtime")
+    void testRetentionOnOpen() throws IOException {
+      // Arrange
+      try (SegmentStore store = open(256, Duration.ofMinutes(1))) {
+        for (int i = 0; i < 100; i++) {
+          store.append(i * 1_000L, COLUMNS, new double[] {i, i * 3.7});
+        }
+        assertTrue(store.getSegmentCount() > 1);
+      }
+
+      // Act: the agent comes back a day later.
+      clock.set(86_400_000L);
+      List<Long> timestamps = new ArrayList<>();
+      try (SegmentStore store = open(256, Duration.ofMinutes(1))) {
+        scanAll(store, timestamps);
+
+        // Assert
+        assertEquals(0, store.getSegmentCount());
+        assertEquals(List.of(), timestamps);
+        try (Stream<Path> files = Files.list(directory)) {
+          assertEquals(0, files.count());
+        }
+        store.append(86_400_000L, COLUMNS, new double[] {1, 2});
+        assertEquals(1, store.getSegmentCount());
+      }
+    }
+
+    @Test
+    @DisplayName("Skips sealed segments that expired since the last rollover")
+    void testScanSkipsExpiredSegments() throws IOException {
+      // Arrange
+      clock.set(0L);
+      try (SegmentStore store = open(256, Duration.ofHours(1))) {
+        for (int i = 0; i < 200; i++) {
+          store.append(i * 1_000L, COLUMNS, new double[] {Math.sin(i), i * 3.7});
+        }
+        int segments = store.getSegmentCount();
+
+        // Act: no rows for an hour, so no rollover has deleted anything.
+        clock.set(3_600_000L + 150_000L);
+        List<Long> timestamps = new ArrayList<>();
+        scanAll(store, timestamps);
+
+        // Assert
+        assertEquals(segments, store.getSegmentCount());
+        assertTrue(timestamps.get(0) >= 150_000L - 60_000L,
+            "Expected expired rows to be skipped, oldest was " + timestamps.get(0));
+        assertEquals(199_000L, timestamps.get(timestamps.size() - 1));
+      }
+    }
+  }
+}
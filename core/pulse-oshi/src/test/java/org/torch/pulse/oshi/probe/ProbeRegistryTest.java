@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Unit tests for ProbeRegistry using JUnit 5.
+ */
+public class ProbeRegistryTest {
+
+  private static MetricProbe probe(String name, Duration interval) {
+    return new MetricProbe() {
+      @Override
+      public String name() {
+        return name;
+      }
+
+      @Override
+      public CostClass costClass() {
+        return CostClass.CHEAP;
+      }
+
+      @Override
+      public Duration interval() {
+        return interval;
+      }
+
+      @Override
+      public void sample(SystemMetricsProvider provider, SystemMetricsSeries.Visitor out) {}
+    };
+  }
+
+  @Test
+  @DisplayName("Discovers the built-in probes through ServiceLoader")
+  void testLoad() {
+    ProbeRegistry registry = ProbeRegistry.load();
+
+    List<String> names = registry.probes().stream().map(MetricProbe::name).toList();
+    assertTrue(names.containsAll(List.of("cpu", "memory", "pressure", "jvm", "network", "disk.io",
+        "disk.usage", "temperature")), names.toString());
+    assertEquals(CostClass.EXPENSIVE, registry.get("disk.usage").costClass());
+    assertEquals(Duration.ofMinutes(1), registry.get("disk.usage").interval());
+    assertEquals(Duration.ofSeconds(1), registry.get("cpu").interval());
+  }
+
+  @Test
+  @DisplayName("Rejects duplicate names and non-positive intervals")
+  void testRegisterValidation() {
+    ProbeRegistry registry = new ProbeRegistry().register(probe("a", Duration.ofSeconds(1)));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.register(probe("a", Duration.ofSeconds(2))));
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.register(probe("b", Duration.ZERO)));
+  }
+
+  @Test
+  @DisplayName("Unregisters probes by name")
+  void testUnregister() {
+    ProbeRegistry registry = new ProbeRegistry().register(probe("a", Duration.ofSeconds(1)));
+
+    assertTrue(registry.unregister("a"));
+    assertFalse(registry.unregister("a"));
+    assertNull(registry.get("a"));
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.probe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.OshiSystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsProvider;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Unit tests for ProbeScheduler and ProbeSnapshot using JUnit 5 and Mockito.
+ */
+public class ProbeSchedulerTest {
+
+  private OshiSystemMetricsProvider mockProvider;
+  private final ProbeSnapshot snapshot = new ProbeSnapshot();
+
+  @BeforeEach
+  void setUp() {
+    mockProvider = mock(OshiSystemMetricsProvider.class);
+  }
+
+  /**
+   * Probe that emits whatever series the test puts in {@code values}, or throws if told to.
+   */
+  private static class ScriptedProbe implements MetricProbe {
+    private final String name;
+    private final CostClass costClass;
+    private final Duration interval;
+    final List<String> series = new ArrayList<>();
+    double value;
+    boolean fail;
+    final AtomicInteger runs = new AtomicInteger();
+
+    ScriptedProbe(String name, CostClass costClass, Duration interval) {
+      this.name = name;
+      this.costClass = costClass;
+      this.interval = interval;
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+
+    @Override
+    public CostClass costClass() {
+      return costClass;
+    }
+
+    @Override
+    public Duration interval() {
+      return interval;
+    }
+
+    @Override
+    public void sample(SystemMetricsProvider provider, SystemMetricsSeries.Visitor out)
+        throws Exception {
+      runs.incrementAndGet();
+      if (fail) {
+        throw new IllegalStateException("probe failure");
+      }
+      for (String name : series) {
+        out.accept(name, value);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Writes the built-in probes' values under the series names")
+  void testBuiltInProbes() {
+    // Arrange
+    when(mockProvider.getCpuUsage()).thenReturn(42.0);
+    when(mockProvider.getTotalMemory()).thenReturn(1_000L);
+    when(mockProvider.getAvailableMemory()).thenReturn(400L);
+    ProbeRegistry registry = new ProbeRegistry().register(new BuiltInProbes.Cpu())
+        .register(new BuiltInProbes.Memory());
+
+    try (ProbeScheduler scheduler = new ProbeScheduler(registry, mockProvider, snapshot)) {
+      // Act
+      scheduler.runAll();
+    }
+
+    // Assert
+    assertEquals(42.0, snapshot.get(SystemMetricsSeries.CPU_USAGE), 0.001);
+    assertEquals(1_000.0, snapshot.get(SystemMetricsSeries.MEMORY_TOTAL), 0.001);
+    assertEquals(400.0, snapshot.get(SystemMetricsSeries.MEMORY_AVAILABLE), 0.001);
+    assertEquals("memory", snapshot.probe(SystemMetricsSeries.MEMORY_TOTAL));
+    assertEquals(3, snapshot.size());
+  }
+
+  @Test
+  @DisplayName("Drops series a probe stopped emitting and keeps values of a failed run")
+  void testSeriesLifecycle() {
+    // Arrange
+    ScriptedProbe probe = new ScriptedProbe("scripted", CostClass.CHEAP, Duration.ofSeconds(1));
+    probe.series.addAll(List.of("a", "b"));
+    probe.value = 1.0;
+    try (ProbeScheduler scheduler =
+        new ProbeScheduler(new ProbeRegistry().register(probe), mockProvider, snapshot)) {
+      scheduler.runAll();
+
+      // Act
+      probe.series.remove("a");
+      probe.value = 2.0;
+      scheduler.runAll();
+      probe.fail = true;
+      probe.value = 3.0;
+      scheduler.runAll();
+    }
+
+    // Assert
+    assertTrue(Double.isNaN(snapshot.get("a")));
+    assertEquals(-1L, snapshot.timestamp("a"));
+    assertNull(snapshot.probe("a"));
+    assertEquals(2.0, snapshot.get("b"), 0.001);
+    assertEquals(1, snapshot.size());
+  }
+
+  @Test
+  @DisplayName("Runs cheap probes more often than expensive ones")
+  void testIntervals() throws InterruptedException {
+    // Arrange
+    ScriptedProbe cheap = new ScriptedProbe("cheap", CostClass.CHEAP, Duration.ofMillis(10));
+    ScriptedProbe expensive =
+        new ScriptedProbe("expensive", CostClass.EXPENSIVE, Duration.ofSeconds(10));
+    ProbeRegistry registry = new ProbeRegistry().register(cheap).register(expensive);
+
+    try (ProbeScheduler scheduler = new ProbeScheduler(registry, mockProvider, snapshot)) {
+      // Act
+      scheduler.start();
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while ((cheap.runs.get() < 5 || expensive.runs.get() < 1)
+          && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+    }
+
+    // Assert: both start right away, but the expensive probe's next turn is seconds away.
+    assertTrue(cheap.runs.get() >= 5, "Expected the cheap probe to run repeatedly");
+    assertEquals(1, expensive.runs.get(), "Expected the expensive probe to run exactly once");
+  }
+
+  @Test
+  @DisplayName("Skips a turn while the previous run of a probe is still going")
+  void testNoOverlap() throws InterruptedException {
+    // Arrange
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger started = new AtomicInteger();
+    MetricProbe slow = new ScriptedProbe("slow", CostClass.MODERATE, Duration.ofMillis(5)) {
+      @Override
+      public void sample(SystemMetricsProvider provider, SystemMetricsSeries.Visitor out)
+          throws InterruptedException {
+        started.incrementAndGet();
+        firstStarted.countDown();
+        release.await(5, TimeUnit.SECONDS);
+      }
+    };
+
+    int startedWhileRunning;
+    try (ProbeScheduler scheduler =
+        new ProbeScheduler(new ProbeRegistry().register(slow), mockProvider, snapshot)) {
+      // Act
+      scheduler.start();
+      assertTrue(firstStarted.await(5, TimeUnit.SECONDS), "Expected the first run to start");
+      // Ten turns of the probe go by while its first run is blocked.
+      Thread.sleep(50);
+      // Read before releasing: once the run ends, the next tick may legitimately start another.
+      startedWhileRunning = started.get();
+      release.countDown();
+    }
+
+    // Assert
+    assertEquals(1, startedWhileRunning);
+  }
+}
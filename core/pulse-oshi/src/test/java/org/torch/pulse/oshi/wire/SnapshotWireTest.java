@@ -0,0 +1,249 @@
+/*
+ * Copyright 2025 Torch
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.torch.pulse.oshi.wire;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.torch.pulse.oshi.DiskIoMetrics;
+import org.torch.pulse.oshi.DiskMetrics;
+import org.torch.pulse.oshi.JvmMetrics;
+import org.torch.pulse.oshi.Metric;
+import org.torch.pulse.oshi.NetworkInterfaceMetrics;
+import org.torch.pulse.oshi.PressureMetrics;
+import org.torch.pulse.oshi.SystemMetrics;
+import org.torch.pulse.oshi.SystemMetricsSeries;
+
+/**
+ * Unit tests for SnapshotWriter and SnapshotReader using JUnit 5.
+ */
+public class SnapshotWireTest {
+
+  private static SystemMetrics snapshot(long timestamp, double cpu, long usedSpace) {
+    PressureMetrics.Builder pressure = PressureMetrics.builder();
+    for (PressureMetrics.Resource resource : PressureMetrics.Resource.values()) {
+      int i = resource.ordinal();
+      pressure.some(resource, i * 1.5, i * 1.5 + 0.25, i * 1.5 + 0.5, 2_000L * i + timestamp);
+      pressure.full(resource, i * 1.5 + 0.75, i * 1.5 + 1.0, i * 1.5 + 1.25,
+          i == 0 ? -1L : 2_000L * i + 1_000L + timestamp);
+    }
+    JvmMetrics jvm = new JvmMetrics(100L, 200L, 400L, 50L, 60L, new String[] {"G1 Eden Space"},
+        new long[] {10L}, new long[] {20L}, new long[] {-1L}, 3L, 1.5, 0.75, -1d, 12, 10, 14,
+        5_000, 2L, 0.125);
+    return new SystemMetrics(timestamp, cpu, 16_000_000_000L, 8_000_000_000L, 41.5,
+        List.of(new DiskMetrics("/", 500_000L, usedSpace),
+            new DiskMetrics("/mnt/é data", 10L, 1L)),
+        List.of(new DiskIoMetrics("nvme0n1", 1_024.5, 2_048.25, 10.0, 20.0, 2L, 0.5, 12.5)),
+        List.of(new NetworkInterfaceMetrics("eth0", 1.0, 2.0, 3.0, 4.0, 0.0, 0.0, 0.0, 0.0)),
+        jvm, pressure.build(), Set.of(Metric.CPU_TEMPERATURE));
+  }
+
+  private static List<String> series(SystemMetrics metrics) {
+    List<String> series = new ArrayList<>();
+    SystemMetricsSeries.forEach(metrics, (name, value) -> series.add(name + "=" + value));
+    return series;
+  }
+
+  private static void assertSameMetrics(SystemMetrics expected, SystemMetrics actual) {
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getStaleMetrics(), actual.getStaleMetrics());
+    assertEquals(expected.getCpuTemperature(), actual.getCpuTemperature());
+    assertEquals(series(expected), series(actual));
+    assertEquals(expected.getDiskIo().get(0).getUtilization(),
+        actual.getDiskIo().get(0).getUtilization());
+    assertEquals(expected.getJvm().getPoolMax(0), actual.getJvm().getPoolMax(0));
+    assertEquals(expected.getJvm().getPeakThreadCount(), actual.getJvm().getPeakThreadCount());
+  }
+
+  @Test
+  @DisplayName("Round-trips keyframes and deltas")
+  void testRoundTrip() {
+    // Arrange
+    SnapshotWriter writer = new SnapshotWriter(3);
+    SnapshotReader reader = new SnapshotReader();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+    List<SystemMetrics> written = new ArrayList<>();
+    List<Integer> sizes = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      SystemMetrics metrics = snapshot(1_000L * i, 10.0 + i, 1_000L + i);
+      written.add(metrics);
+      sizes.add(writer.write(metrics, buffer));
+    }
+    buffer.flip();
+
+    // Act and Assert
+    for (int i = 0; i < 5; i++) {
+      reader.read(buffer);
+      assertEquals(i % 3 == 0, reader.isKeyframe());
+      assertSameMetrics(written.get(i), reader.toSystemMetrics());
+    }
+    assertFalse(buffer.hasRemaining());
+    // About one byte per field once only a few values move.
+    assertTrue(sizes.get(1) * 2 < sizes.get(0), "Sizes " + sizes);
+  }
+
+  @Test
+  @DisplayName("Exposes the last frame without materializing it")
+  void testFlyweight() {
+    SnapshotWriter writer = new SnapshotWriter();
+    SnapshotReader reader = new SnapshotReader();
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    writer.write(snapshot(7L, 12.5, 42L), buffer);
+    // Disks reorder and one is gone in the delta.
+    writer.write(new SystemMetrics(8L, 13.0, 1L, 1L, 0d,
+        List.of(new DiskMetrics("/mnt/é data", 10L, 2L)), Set.of()), buffer);
+    buffer.flip();
+
+    reader.read(buffer);
+    assertEquals(7L, reader.getTimestamp());
+    assertEquals(12.5, reader.getCpuUsage());
+    assertEquals(2, reader.getDiskCount());
+    assertEquals("/", reader.getDiskMountPoint(0));
+    assertEquals(42L, reader.getDiskUsedSpace(0));
+    assertTrue(reader.isStale(Metric.CPU_TEMPERATURE));
+    assertEquals("nvme0n1", reader.getDiskIoDevice(0));
+    assertEquals(2_048.25, reader.getDiskIoWriteBytesPerSecond(0));
+    assertEquals(2L, reader.getDiskIoQueueLength(0));
+    assertEquals(12.5, reader.getDiskIoUtilization(0));
+    assertEquals("eth0", reader.getNetworkInterfaceName(0));
+    assertEquals(4.0, reader.getNetworkPacketsSentPerSecond(0));
+    assertTrue(reader.hasJvm());
+    assertEquals(400L, reader.getJvmHeapMax());
+    assertEquals(0.75, reader.getJvmGcMaxPauseMillis());
+    assertEquals(14, reader.getJvmPeakThreadCount());
+    assertEquals(0.125, reader.getJvmSafepointMillis());
+    assertEquals(1, reader.getJvmPoolCount());
+    assertEquals("G1 Eden Space", reader.getJvmPoolName(0));
+    assertEquals(-1L, reader.getJvmPoolMax(0));
+    assertTrue(reader.hasPressure());
+    assertEquals(1.75, reader.getPressureSomeAvg60(PressureMetrics.Resource.MEMORY));
+    assertEquals(-1L, reader.getPressureFullTotalMicros(PressureMetrics.Resource.CPU));
+    assertEquals(4_007L, reader.getPressureSomeTotalMicros(PressureMetrics.Resource.IO));
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.getNetworkInterfaceName(1));
+
+    reader.read(buffer);
+    assertFalse(reader.isKeyframe());
+    assertEquals(1, reader.getDiskCount());
+    assertEquals("/mnt/é data", reader.getDiskMountPoint(0));
+    assertEquals(2L, reader.getDiskUsedSpace(0));
+    assertEquals(0, reader.getDiskIoCount());
+    assertFalse(reader.hasJvm());
+    assertFalse(reader.hasPressure());
+    assertThrows(IllegalStateException.class, reader::getJvmHeapUsed);
+    assertThrows(IllegalStateException.class,
+        () -> reader.getPressureSomeAvg10(PressureMetrics.Resource.CPU));
+    assertNull(reader.toSystemMetrics().getJvm());
+  }
+
+  @Test
+  @DisplayName("Pins the stale mask bits independently of the metric declaration order")
+  void testStaleBits() {
+    Metric[] metrics = {Metric.CPU_USAGE, Metric.TOTAL_MEMORY, Metric.AVAILABLE_MEMORY,
+        Metric.CPU_TEMPERATURE, Metric.DISK_USAGE, Metric.DISK_IO, Metric.NETWORK, Metric.JVM,
+        Metric.PRESSURE};
+    for (int bit = 0; bit < metrics.length; bit++) {
+      assertEquals(bit, WireFormat.staleBit(metrics[bit]), metrics[bit].name());
+    }
+  }
+
+  @Test
+  @DisplayName("Rejects deltas after a missed frame until the next keyframe")
+  void testMissedFrame() {
+    SnapshotWriter writer = new SnapshotWriter(3);
+    ByteBuffer[] frames = new ByteBuffer[4];
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = ByteBuffer.allocate(4096);
+      writer.write(snapshot(i, i, i), frames[i]);
+      frames[i].flip();
+    }
+    SnapshotReader reader = new SnapshotReader();
+
+    reader.read(frames[0]);
+    assertThrows(IllegalStateException.class, () -> reader.read(frames[2]));
+    assertThrows(IllegalStateException.class, () -> reader.read(frames[1]));
+    reader.read(frames[3]);
+
+    assertEquals(3L, reader.getTimestamp());
+  }
+
+  @Test
+  @DisplayName("Leaves the buffer unchanged when a frame does not fit")
+  void testOverflow() {
+    SnapshotWriter writer = new SnapshotWriter();
+    SystemMetrics metrics = snapshot(1L, 1.0, 1L);
+    ByteBuffer small = ByteBuffer.allocate(16);
+    ByteBuffer large = ByteBuffer.allocate(SnapshotWriter.maxEncodedBytes(metrics));
+
+    assertThrows(BufferOverflowException.class, () -> writer.write(metrics, small));
+    assertEquals(0, small.position());
+    writer.write(metrics, large);
+    large.flip();
+    SnapshotReader reader = new SnapshotReader();
+    reader.read(large);
+
+    assertTrue(reader.isKeyframe());
+  }
+
+  @Test
+  @DisplayName("Rejects foreign and truncated frames")
+  void testMalformed() {
+    SnapshotReader reader = new SnapshotReader();
+    ByteBuffer frame = ByteBuffer.allocate(4096);
+    new SnapshotWriter().write(snapshot(1L, 1.0, 1L), frame);
+    frame.flip();
+    byte[] bytes = new byte[frame.remaining()];
+    frame.get(bytes);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> reader.read(ByteBuffer.wrap(new byte[] {'{', '"', 'a', '"'})));
+    assertThrows(IllegalArgumentException.class,
+        () -> reader.read(ByteBuffer.wrap(bytes, 0, bytes.length / 2)));
+    ByteBuffer whole = ByteBuffer.wrap(bytes);
+    reader.read(whole);
+    assertArrayEquals(new byte[0], new byte[whole.remaining()]);
+  }
+
+  @Test
+  @DisplayName("Encodes doubles and varints at their boundaries")
+  void testPrimitives() {
+    long[] longs = {0L, 1L, -1L, 63L, -64L, Long.MAX_VALUE, Long.MIN_VALUE};
+    double[] doubles = {0d, -0d, 1d, 0.1, Double.NaN, Double.MIN_VALUE, Double.MAX_VALUE};
+    ByteBuffer buffer = ByteBuffer.allocate(256);
+    for (long value : longs) {
+      WireFormat.putSignedVarLong(buffer, value);
+    }
+    for (double value : doubles) {
+      WireFormat.putXor(buffer, Double.doubleToRawLongBits(value));
+    }
+    buffer.flip();
+
+    for (long value : longs) {
+      assertEquals(value, WireFormat.getSignedVarLong(buffer));
+    }
+    for (double value : doubles) {
+      assertEquals(Double.doubleToRawLongBits(value), WireFormat.getXor(buffer));
+    }
+    assertFalse(buffer.hasRemaining());
+  }
+}